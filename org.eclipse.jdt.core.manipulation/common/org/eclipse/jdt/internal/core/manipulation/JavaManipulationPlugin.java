@@ -54,6 +54,12 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 
 	public static boolean DEBUG_TYPE_CONSTRAINTS;
 
+	public static boolean DEBUG_RIPPLE_METHOD_FINDER;
+
+	public static boolean DEBUG_AST_POOL;
+
+	public static boolean DEBUG_REFACTORING_TELEMETRY;
+
 	//The shared instance.
 	private static JavaManipulationPlugin fgDefault;
 
@@ -186,5 +192,8 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 	public void optionsChanged(DebugOptions options) {
 		DEBUG_AST_PROVIDER= options.getBooleanOption("org.eclipse.jdt.core.manipulation/debug/ASTProvider", false); //$NON-NLS-1$
 		DEBUG_TYPE_CONSTRAINTS= options.getBooleanOption("org.eclipse.jdt.core.manipulation/debug/TypeConstraints", false); //$NON-NLS-1$
+		DEBUG_RIPPLE_METHOD_FINDER= options.getBooleanOption("org.eclipse.jdt.core.manipulation/debug/RippleMethodFinder", false); //$NON-NLS-1$
+		DEBUG_AST_POOL= options.getBooleanOption("org.eclipse.jdt.core.manipulation/debug/ASTPool", false); //$NON-NLS-1$
+		DEBUG_REFACTORING_TELEMETRY= options.getBooleanOption("org.eclipse.jdt.core.manipulation/debug/RefactoringTelemetry", false); //$NON-NLS-1$
 	}
 }
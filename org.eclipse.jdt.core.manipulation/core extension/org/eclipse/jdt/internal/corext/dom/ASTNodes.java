@@ -1832,7 +1832,7 @@ public class ASTNodes {
 
 			ITypeBinding invocationType= getInvocationType(expression.getParent(), methodBinding, parentSummary.invocationQualifier);
 			if (invocationType != null) {
-				TypeEnvironment typeEnvironment= new TypeEnvironment();
+				TypeEnvironment typeEnvironment= TypeEnvironment.getSharedEnvironment(null, false);
 				TypeBindingVisitor visitor= new AmbiguousMethodAnalyzer(typeEnvironment, methodBinding, typeEnvironment.create(parameterTypes));
 				if (!visitor.visit(invocationType)) {
 					return true;
@@ -38,7 +38,7 @@ public class TypeRules {
 	 * @return <code>true</code> iff definedType = typeToAssign is a valid assignment
 	 */
 	public static boolean canAssign(ITypeBinding typeToAssign, ITypeBinding definedType) {
-		TypeEnvironment typeEnvironment= new TypeEnvironment(false, true);
+		TypeEnvironment typeEnvironment= TypeEnvironment.getSharedEnvironment(null, true);
 		TType defined= typeEnvironment.create(definedType);
 		TType toAssign= typeEnvironment.create(typeToAssign);
 		return toAssign.canAssignTo(defined);
@@ -76,6 +76,8 @@ import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.corext.refactoring.base.RefactoringStatusCodes;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaElementUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry.Phase;
 import org.eclipse.jdt.internal.corext.util.JavaConventionsUtil;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.JdtFlags;
@@ -700,28 +702,30 @@ public class Checks {
 	//-------- validateEdit checks ----
 
 	public static RefactoringStatus validateModifiesFiles(IFile[] filesToModify, Object context, IProgressMonitor pm) throws CoreException {
-		RefactoringStatus result= new RefactoringStatus();
-		IStatus status= Resources.checkInSync(filesToModify);
-		if (!status.isOK()) {
-			boolean autoRefresh= Platform.getPreferencesService().getBoolean(ResourcesPlugin.PI_RESOURCES, ResourcesPlugin.PREF_LIGHTWEIGHT_AUTO_REFRESH, false, null);
-			if (autoRefresh) {
-				for (IFile resource : filesToModify) {
-					resource.refreshLocal(IResource.DEPTH_INFINITE, pm);
+		try (RefactoringTelemetry.PhaseTimer timer= RefactoringTelemetry.startActive(Phase.VALIDATE_EDIT)) {
+			RefactoringStatus result= new RefactoringStatus();
+			IStatus status= Resources.checkInSync(filesToModify);
+			if (!status.isOK()) {
+				boolean autoRefresh= Platform.getPreferencesService().getBoolean(ResourcesPlugin.PI_RESOURCES, ResourcesPlugin.PREF_LIGHTWEIGHT_AUTO_REFRESH, false, null);
+				if (autoRefresh) {
+					for (IFile resource : filesToModify) {
+						resource.refreshLocal(IResource.DEPTH_INFINITE, pm);
+					}
+					status= Resources.checkInSync(filesToModify);
+				}
+				if (!status.isOK()) {
+					result.merge(RefactoringStatus.create(status));
 				}
-				status= Resources.checkInSync(filesToModify);
 			}
+			status= Resources.makeCommittable(filesToModify, context);
 			if (!status.isOK()) {
 				result.merge(RefactoringStatus.create(status));
+				if (!result.hasFatalError()) {
+					result.addFatalError(RefactoringCoreMessages.Checks_validateEdit);
+				}
 			}
+			return result;
 		}
-		status= Resources.makeCommittable(filesToModify, context);
-		if (!status.isOK()) {
-			result.merge(RefactoringStatus.create(status));
-			if (!result.hasFatalError()) {
-				result.addFatalError(RefactoringCoreMessages.Checks_validateEdit);
-			}
-		}
-		return result;
 	}
 
 	public static void addModifiedFilesToChecker(IFile[] filesToModify, CheckConditionsContext context) {
@@ -793,7 +797,11 @@ public class Checks {
 	public static boolean isAvailable(IJavaElement javaElement) throws JavaModelException {
 		if (javaElement == null)
 			return false;
-		if (! javaElement.exists())
+		return RefactoringAvailabilityCache.test(RefactoringAvailabilityCache.Query.AVAILABLE, javaElement, Checks::computeIsAvailable);
+	}
+
+	private static boolean computeIsAvailable(IJavaElement javaElement) throws JavaModelException {
+		if (! RefactoringAvailabilityCache.exists(javaElement))
 			return false;
 		if (javaElement.isReadOnly())
 			return false;
@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Memoizes the Java model queries of the refactoring availability testers for a selection, so
+ * that the actions that are updated when the selection changes share the results of queries such
+ * as {@link Checks#isAvailable(IJavaElement)} instead of repeating them for every selected element.
+ * <p>
+ * A session is opened with {@link #open(Object)} for the selection that is tested. Sessions for
+ * the same selection object share their results until a Java element or a resource changes, and
+ * the results of a selection are dropped when a session for another selection is opened. While a
+ * session is open in the current thread, {@link #test(Query, Object, Predicate)} returns the
+ * memoized result of a query. Outside of sessions, queries are always computed.
+ * </p>
+ * <p>
+ * Usage:
+ * </p>
+ * <pre>
+ * try (RefactoringAvailabilityCache cache= RefactoringAvailabilityCache.open(selection)) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class RefactoringAvailabilityCache implements AutoCloseable {
+
+	/**
+	 * The memoized queries.
+	 */
+	public enum Query {
+		EXISTS,
+		AVAILABLE,
+		DELETE,
+		EXTRACT_SUPERTYPE,
+		INFER_TYPE_ARGUMENTS,
+		MOVE_STATIC,
+		PULL_UP,
+		PUSH_DOWN
+	}
+
+	/**
+	 * A query of an element.
+	 *
+	 * @param <T> the type of the element
+	 * @param <E> the type of the exception thrown by the query
+	 */
+	@FunctionalInterface
+	public interface Predicate<T, E extends Exception> {
+
+		/**
+		 * Computes the query.
+		 *
+		 * @param element the element
+		 * @return the result
+		 * @throws E if the query fails
+		 */
+		boolean test(T element) throws E;
+	}
+
+	private record Key(Query query, Object element) {
+	}
+
+	/**
+	 * Drops the current snapshot when a Java element or a resource changes. The listener is only
+	 * registered while there is a snapshot.
+	 */
+	private static final class InvalidationListener implements IElementChangedListener, IResourceChangeListener {
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			invalidate();
+		}
+
+		@Override
+		public void resourceChanged(IResourceChangeEvent event) {
+			invalidate();
+		}
+	}
+
+	private static final ThreadLocal<RefactoringAvailabilityCache> fgActive= new ThreadLocal<>();
+
+	private static final InvalidationListener fgListener= new InvalidationListener();
+
+	/** The snapshot of the last tested selection, or <code>null</code> */
+	private static RefactoringAvailabilityCache fgSnapshot;
+
+	private static boolean fgListening;
+
+	private final WeakReference<Object> fSelection;
+	private final Map<Key, Boolean> fResults= new ConcurrentHashMap<>();
+	private volatile boolean fStale;
+	private int fOpenCount;
+
+	private RefactoringAvailabilityCache(Object selection) {
+		fSelection= new WeakReference<>(selection);
+	}
+
+	/**
+	 * Opens a session for the given selection in the current thread. If a session is already
+	 * open, the returned cache is the cache of that session.
+	 *
+	 * @param selection the tested selection
+	 * @return the cache of the session, which must be closed by the caller
+	 */
+	public static RefactoringAvailabilityCache open(Object selection) {
+		RefactoringAvailabilityCache cache= fgActive.get();
+		if (cache == null) {
+			cache= getSnapshot(selection);
+			fgActive.set(cache);
+		}
+		cache.fOpenCount++;
+		return cache;
+	}
+
+	private static synchronized RefactoringAvailabilityCache getSnapshot(Object selection) {
+		if (fgSnapshot == null || fgSnapshot.fStale || fgSnapshot.fSelection.get() != selection) {
+			fgSnapshot= new RefactoringAvailabilityCache(selection);
+			if (!fgListening) {
+				JavaCore.addElementChangedListener(fgListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+				ResourcesPlugin.getWorkspace().addResourceChangeListener(fgListener, IResourceChangeEvent.POST_CHANGE);
+				fgListening= true;
+			}
+		}
+		return fgSnapshot;
+	}
+
+	private static synchronized void invalidate() {
+		if (fgSnapshot != null) {
+			fgSnapshot.fStale= true;
+			fgSnapshot.fResults.clear();
+			fgSnapshot= null;
+		}
+		if (fgListening) {
+			JavaCore.removeElementChangedListener(fgListener);
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(fgListener);
+			fgListening= false;
+		}
+	}
+
+	/**
+	 * Closes this session.
+	 */
+	@Override
+	public void close() {
+		if (--fOpenCount > 0)
+			return;
+		fgActive.remove();
+	}
+
+	/**
+	 * Returns the result of a query of an element. If a session is open in the current thread, the
+	 * result is computed once per snapshot.
+	 *
+	 * @param <T> the type of the element
+	 * @param <E> the type of the exception thrown by the query
+	 * @param query the query
+	 * @param element the element
+	 * @param predicate computes the query
+	 * @return the result of the query
+	 * @throws E if the query fails, in which case no result is memoized
+	 */
+	public static <T, E extends Exception> boolean test(Query query, T element, Predicate<T, E> predicate) throws E {
+		RefactoringAvailabilityCache cache= fgActive.get();
+		if (cache == null || cache.fStale || element == null)
+			return predicate.test(element);
+		Key key= new Key(query, element);
+		Boolean result= cache.fResults.get(key);
+		if (result == null) {
+			result= Boolean.valueOf(predicate.test(element));
+			if (!cache.fStale)
+				cache.fResults.put(key, result);
+		}
+		return result.booleanValue();
+	}
+
+	/**
+	 * Returns whether an element exists. The result is memoized while a session is open.
+	 *
+	 * @param element the element
+	 * @return <code>true</code> if the element exists
+	 */
+	public static boolean exists(IJavaElement element) {
+		return test(Query.EXISTS, element, IJavaElement::exists);
+	}
+}
@@ -54,6 +54,7 @@ import org.eclipse.jdt.core.dom.StructuralPropertyDescriptor;
 import org.eclipse.jdt.core.dom.SuperMethodInvocation;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringAvailabilityCache.Query;
 import org.eclipse.jdt.internal.corext.refactoring.rename.MethodChecks;
 import org.eclipse.jdt.internal.corext.refactoring.reorg.ReorgUtilsCore;
 import org.eclipse.jdt.internal.corext.refactoring.structure.ASTNodeSearchUtil;
@@ -76,7 +77,11 @@ public final class RefactoringAvailabilityTesterCore  {
 
 
 	public static boolean isDeleteAvailable(final IJavaElement element) {
-		if (!element.exists())
+		return RefactoringAvailabilityCache.test(Query.DELETE, element, RefactoringAvailabilityTesterCore::computeDeleteAvailable);
+	}
+
+	private static boolean computeDeleteAvailable(final IJavaElement element) {
+		if (!RefactoringAvailabilityCache.exists(element))
 			return false;
 		if (element instanceof IJavaModel || element instanceof IJavaProject)
 			return false;
@@ -121,7 +126,11 @@ public final class RefactoringAvailabilityTesterCore  {
 	}
 
 	public static boolean isMoveStaticAvailable(final IMember member) throws JavaModelException {
-		if (!member.exists())
+		return RefactoringAvailabilityCache.test(Query.MOVE_STATIC, member, RefactoringAvailabilityTesterCore::computeMoveStaticAvailable);
+	}
+
+	private static boolean computeMoveStaticAvailable(final IMember member) throws JavaModelException {
+		if (!RefactoringAvailabilityCache.exists(member))
 			return false;
 		final int type= member.getElementType();
 		if (type != IJavaElement.METHOD && type != IJavaElement.FIELD && type != IJavaElement.TYPE)
@@ -366,8 +375,12 @@ public final class RefactoringAvailabilityTesterCore  {
 		return false;
 	}
 
-	public static boolean isExtractSupertypeAvailable(IMember member) throws JavaModelException {
-		if (!member.exists())
+	public static boolean isExtractSupertypeAvailable(final IMember member) throws JavaModelException {
+		return RefactoringAvailabilityCache.test(Query.EXTRACT_SUPERTYPE, member, RefactoringAvailabilityTesterCore::computeExtractSupertypeAvailable);
+	}
+
+	private static boolean computeExtractSupertypeAvailable(IMember member) throws JavaModelException {
+		if (!RefactoringAvailabilityCache.exists(member))
 			return false;
 		final int type= member.getElementType();
 		if (type != IJavaElement.METHOD && type != IJavaElement.FIELD && type != IJavaElement.TYPE)
@@ -440,6 +453,10 @@ public final class RefactoringAvailabilityTesterCore  {
 	}
 
 	public static boolean isInferTypeArgumentsAvailable(final IJavaElement element) throws JavaModelException {
+		return RefactoringAvailabilityCache.test(Query.INFER_TYPE_ARGUMENTS, element, RefactoringAvailabilityTesterCore::computeInferTypeArgumentsAvailable);
+	}
+
+	private static boolean computeInferTypeArgumentsAvailable(final IJavaElement element) throws JavaModelException {
 		if (!Checks.isAvailable(element)) {
 			return false;
 		} else if (element instanceof IJavaProject) {
@@ -511,8 +528,12 @@ public final class RefactoringAvailabilityTesterCore  {
 		return Checks.isAvailable(variable);
 	}
 
-	public static boolean isPullUpAvailable(IMember member) throws JavaModelException {
-		if (!member.exists())
+	public static boolean isPullUpAvailable(final IMember member) throws JavaModelException {
+		return RefactoringAvailabilityCache.test(Query.PULL_UP, member, RefactoringAvailabilityTesterCore::computePullUpAvailable);
+	}
+
+	private static boolean computePullUpAvailable(IMember member) throws JavaModelException {
+		if (!RefactoringAvailabilityCache.exists(member))
 			return false;
 		final int type= member.getElementType();
 		if (type != IJavaElement.METHOD && type != IJavaElement.FIELD && type != IJavaElement.TYPE)
@@ -554,7 +575,11 @@ public final class RefactoringAvailabilityTesterCore  {
 	}
 
 	public static boolean isPushDownAvailable(final IMember member) throws JavaModelException {
-		if (!member.exists())
+		return RefactoringAvailabilityCache.test(Query.PUSH_DOWN, member, RefactoringAvailabilityTesterCore::computePushDownAvailable);
+	}
+
+	private static boolean computePushDownAvailable(final IMember member) throws JavaModelException {
+		if (!RefactoringAvailabilityCache.exists(member))
 			return false;
 		final int type= member.getElementType();
 		if (type != IJavaElement.METHOD && type != IJavaElement.FIELD)
@@ -1223,6 +1223,8 @@ public final class RefactoringCoreMessages extends NLS {
 
 	public static String JavaRefactoringDescriptorComment_textual_move_only;
 
+	public static String LazyCompilationUnitChange_modified;
+
 	public static String LocalTypeAnalyzer_local_type_from_outside;
 
 	public static String LocalTypeAnalyzer_local_type_referenced_outside;
@@ -42,6 +42,8 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
 
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry.Phase;
 import org.eclipse.jdt.internal.corext.util.SearchUtils;
 
 /**
@@ -77,7 +79,7 @@ public class RefactoringSearchEngine {
 			}
 		}
 		ResourceSearchRequestor requestor = new ResourceSearchRequestor();
-		try {
+		try (RefactoringTelemetry.PhaseTimer timer= RefactoringTelemetry.startActive(Phase.SEARCH)) {
 			new SearchEngine().search(pattern, SearchUtils.getDefaultSearchParticipants(), scope, requestor, pm);
 		} catch (CoreException e) {
 			throw new JavaModelException(e);
@@ -141,7 +143,7 @@ public class RefactoringSearchEngine {
 	//TODO: throw CoreException
 	private static SearchResultGroup[] internalSearch(SearchEngine searchEngine, SearchPattern pattern, IJavaSearchScope scope,
 			CollectingSearchRequestor requestor, IProgressMonitor monitor, RefactoringStatus status) throws JavaModelException {
-		try {
+		try (RefactoringTelemetry.PhaseTimer timer= RefactoringTelemetry.startActive(Phase.SEARCH)) {
 			searchEngine.search(pattern, SearchUtils.getDefaultSearchParticipants(), scope, requestor, monitor);
 		} catch (CoreException e) {
 			throw new JavaModelException(e);
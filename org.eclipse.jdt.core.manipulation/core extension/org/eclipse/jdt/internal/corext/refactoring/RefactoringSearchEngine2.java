@@ -15,11 +15,14 @@
 package org.eclipse.jdt.internal.corext.refactoring;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -36,19 +39,31 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.core.refactoring.RefactoringStatusEntry;
 
+import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.search.FieldDeclarationMatch;
+import org.eclipse.jdt.core.search.FieldReferenceMatch;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.MethodDeclarationMatch;
+import org.eclipse.jdt.core.search.MethodReferenceMatch;
 import org.eclipse.jdt.core.search.SearchEngine;
 import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.core.search.TypeDeclarationMatch;
+import org.eclipse.jdt.core.search.TypeReferenceMatch;
 
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry.Phase;
 import org.eclipse.jdt.internal.corext.util.Messages;
 import org.eclipse.jdt.internal.corext.util.SearchUtils;
 
@@ -208,6 +223,9 @@ public final class RefactoringSearchEngine2 {
 	/** The search match granularity */
 	public static final int GRANULARITY_SEARCH_MATCH= 1;
 
+	/** The maximal number of elements combined into one search query */
+	private static final int MAX_ELEMENTS_PER_QUERY= 32;
+
 	/** Should binary matches be filtered? */
 	private boolean fBinary= false;
 
@@ -226,6 +244,9 @@ public final class RefactoringSearchEngine2 {
 	/** The working copy owner, or <code>null</code> */
 	private WorkingCopyOwner fOwner= null;
 
+	/** The number of search queries issued so far */
+	private int fQueryCount= 0;
+
 	/** The search pattern, or <code>null</code> */
 	private SearchPattern fPattern= null;
 
@@ -442,6 +463,15 @@ public final class RefactoringSearchEngine2 {
 		return results;
 	}
 
+	/**
+	 * Returns the number of search queries this engine has issued so far.
+	 *
+	 * @return the number of search queries
+	 */
+	public int getQueryCount() {
+		return fQueryCount;
+	}
+
 	/**
 	 * Returns the refactoring status of this search engine.
 	 *
@@ -487,12 +517,13 @@ public final class RefactoringSearchEngine2 {
 		try {
 			monitor.beginTask("", 1); //$NON-NLS-1$
 			monitor.setTaskName(RefactoringCoreMessages.RefactoringSearchEngine_searching_occurrences);
-			try {
+			try (RefactoringTelemetry.PhaseTimer timer= RefactoringTelemetry.startActive(Phase.SEARCH)) {
 				SearchEngine engine= null;
 				if (fOwner != null)
 					engine= new SearchEngine(fOwner);
 				else
 					engine= new SearchEngine(fWorkingCopies);
+				fQueryCount++;
 				engine.search(fPattern, SearchUtils.getDefaultSearchParticipants(), fScope, getCollector(), Progress.subMonitorSupressed(monitor, 1));
 			} catch (CoreException exception) {
 				throw new JavaModelException(exception);
@@ -502,6 +533,217 @@ public final class RefactoringSearchEngine2 {
 		}
 	}
 
+	/**
+	 * Searches for the matches of several elements with few search queries.
+	 * <p>
+	 * The elements are combined into disjunctive search patterns of at most
+	 * {@value #MAX_ELEMENTS_PER_QUERY} elements, and every pattern is searched once. The elements
+	 * of one pattern have distinct names, so every match is attributed to the element of the kind
+	 * of the match whose name starts at the offset of the match. If a match cannot be attributed
+	 * this way, for example the qualified reference to a type or the implicit reference to
+	 * <code>value()</code> in <code>@Ann(FOO)</code>, the candidate elements are searched again one
+	 * by one.
+	 * </p>
+	 * <p>
+	 * The granularity must be {@link #GRANULARITY_SEARCH_MATCH}. The search pattern is replaced and
+	 * the results of previous queries are discarded. The filtering, scope, working copies and
+	 * status of this engine are used as for {@link #searchPattern(IProgressMonitor)}.
+	 * </p>
+	 *
+	 * @param elements the elements to search for
+	 * @param limitTo determines the nature of the expected matches. This is a combination of {@link org.eclipse.jdt.core.search.IJavaSearchConstants}.
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @return a map from every element to its matches, grouped by resource
+	 * @throws JavaModelException if an error occurs during search
+	 */
+	public Map<IJavaElement, SearchResultGroup[]> searchElements(final IJavaElement[] elements, final int limitTo, IProgressMonitor monitor) throws JavaModelException {
+		Assert.isNotNull(elements);
+		Assert.isTrue(fGranularity == GRANULARITY_SEARCH_MATCH);
+		if (monitor == null)
+			monitor= new NullProgressMonitor();
+		final Map<IJavaElement, List<SearchMatch>> elementMatches= new LinkedHashMap<>();
+		final List<List<IJavaElement>> queries= new ArrayList<>();
+		for (IJavaElement element : elements) {
+			if (elementMatches.put(element, new ArrayList<>()) == null)
+				addToQuery(queries, element);
+		}
+		try {
+			monitor.beginTask("", queries.size()); //$NON-NLS-1$
+			for (List<IJavaElement> query : queries) {
+				final SearchMatch[] matches= searchCombined(query, limitTo, Progress.subMonitor(monitor, 1));
+				if (query.size() == 1) {
+					elementMatches.get(query.get(0)).addAll(Arrays.asList(matches));
+					continue;
+				}
+				final Set<IJavaElement> ambiguous= new LinkedHashSet<>();
+				for (SearchMatch match : matches) {
+					final List<IJavaElement> candidates= getCandidates(query, match);
+					final IJavaElement element= getMatchedElement(candidates, match);
+					if (element != null)
+						elementMatches.get(element).add(match);
+					else
+						ambiguous.addAll(candidates);
+				}
+				for (IJavaElement element : ambiguous) {
+					final List<SearchMatch> list= elementMatches.get(element);
+					list.clear();
+					list.addAll(Arrays.asList(searchCombined(Collections.singletonList(element), limitTo, new NullProgressMonitor())));
+				}
+			}
+		} finally {
+			getCollector().clearResults();
+			monitor.done();
+		}
+		final Map<IJavaElement, SearchResultGroup[]> result= new LinkedHashMap<>();
+		for (Map.Entry<IJavaElement, List<SearchMatch>> entry : elementMatches.entrySet())
+			result.put(entry.getKey(), createGroups(entry.getValue()));
+		return result;
+	}
+
+	/**
+	 * Adds the element to the first query that has room for it and does not contain an element
+	 * with the same name.
+	 *
+	 * @param queries the queries
+	 * @param element the element to add
+	 */
+	private static void addToQuery(final List<List<IJavaElement>> queries, final IJavaElement element) {
+		if (isCombinable(element)) {
+			for (List<IJavaElement> query : queries) {
+				if (query.size() < MAX_ELEMENTS_PER_QUERY && isCombinable(query.get(0)) && !containsName(query, element.getElementName())) {
+					query.add(element);
+					return;
+				}
+			}
+		}
+		final List<IJavaElement> query= new ArrayList<>(4);
+		query.add(element);
+		queries.add(query);
+	}
+
+	private static boolean containsName(final List<IJavaElement> query, final String name) {
+		for (IJavaElement element : query) {
+			if (element.getElementName().equals(name))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Can matches of the element be attributed by the name of the element? Constructors are not
+	 * combinable, since implicit constructor invocations do not contain the name.
+	 *
+	 * @param element the element
+	 * @return <code>true</code> if the element can be combined with others into one query
+	 */
+	private static boolean isCombinable(final IJavaElement element) {
+		try {
+			if (element instanceof IMethod method)
+				return !method.isConstructor();
+			return element instanceof IField || element instanceof IType type && !type.isAnonymous();
+		} catch (JavaModelException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the elements of the query whose kind fits the kind of the match.
+	 *
+	 * @param query the elements of the query
+	 * @param match the search match
+	 * @return the candidate elements, or all elements if no element has the kind of the match
+	 */
+	private static List<IJavaElement> getCandidates(final List<IJavaElement> query, final SearchMatch match) {
+		final Class<? extends IJavaElement> kind;
+		if (match instanceof MethodReferenceMatch || match instanceof MethodDeclarationMatch)
+			kind= IMethod.class;
+		else if (match instanceof FieldReferenceMatch || match instanceof FieldDeclarationMatch)
+			kind= IField.class;
+		else if (match instanceof TypeReferenceMatch || match instanceof TypeDeclarationMatch)
+			kind= IType.class;
+		else
+			return query;
+		final List<IJavaElement> candidates= new ArrayList<>(query.size());
+		for (IJavaElement element : query) {
+			if (kind.isInstance(element))
+				candidates.add(element);
+		}
+		return candidates.isEmpty() ? query : candidates;
+	}
+
+	/**
+	 * Returns the candidate element whose name starts at the offset of the match. The name must
+	 * start at the offset, since a match may cover the names of other elements, for example the
+	 * implicit reference to <code>value()</code> in <code>@Ann(FOO)</code>.
+	 *
+	 * @param candidates the candidate elements, which have distinct names
+	 * @param match the search match
+	 * @return the matched element, or <code>null</code> if the match cannot be attributed
+	 * @throws JavaModelException if the source cannot be read
+	 */
+	private static IJavaElement getMatchedElement(final List<IJavaElement> candidates, final SearchMatch match) throws JavaModelException {
+		final int offset= match.getOffset();
+		final int length= match.getLength();
+		if (candidates.isEmpty() || offset < 0 || length <= 0)
+			return null;
+		final ICompilationUnit unit= SearchUtils.getCompilationUnit(match);
+		if (unit == null)
+			return null;
+		final IBuffer buffer= unit.getBuffer();
+		if (buffer == null || offset + length > buffer.getLength())
+			return null;
+		final String text= buffer.getText(offset, length);
+		for (IJavaElement element : candidates) {
+			final String name= element.getElementName();
+			if (text.startsWith(name) && (name.length() == text.length() || !Character.isJavaIdentifierPart(text.charAt(name.length()))))
+				return element;
+		}
+		return null;
+	}
+
+	/**
+	 * Searches for the disjunction of the patterns of the given elements.
+	 *
+	 * @param elements the elements
+	 * @param limitTo determines the nature of the expected matches
+	 * @param monitor the progress monitor
+	 * @return the filtered search matches
+	 * @throws JavaModelException if an error occurs during search
+	 */
+	private SearchMatch[] searchCombined(final List<IJavaElement> elements, final int limitTo, final IProgressMonitor monitor) throws JavaModelException {
+		SearchPattern pattern= null;
+		for (IJavaElement element : elements) {
+			final SearchPattern elementPattern= SearchPattern.createPattern(element, limitTo, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
+			if (elementPattern != null)
+				pattern= pattern == null ? elementPattern : SearchPattern.createOrPattern(pattern, elementPattern);
+		}
+		getCollector().clearResults();
+		if (pattern == null) {
+			monitor.done();
+			return new SearchMatch[0];
+		}
+		fPattern= pattern;
+		searchPattern(monitor);
+		return getUngroupedMatches();
+	}
+
+	/**
+	 * Groups the search matches by their resource.
+	 *
+	 * @param matches the search matches
+	 * @return the search result groups
+	 */
+	private static SearchResultGroup[] createGroups(final List<SearchMatch> matches) {
+		final Map<IResource, List<SearchMatch>> grouped= new LinkedHashMap<>();
+		for (SearchMatch match : matches)
+			grouped.computeIfAbsent(match.getResource(), resource -> new ArrayList<>(4)).add(match);
+		final SearchResultGroup[] result= new SearchResultGroup[grouped.size()];
+		int index= 0;
+		for (Map.Entry<IResource, List<SearchMatch>> entry : grouped.entrySet())
+			result[index++]= new SearchResultGroup(entry.getKey(), entry.getValue().toArray(new SearchMatch[entry.getValue().size()]));
+		return result;
+	}
+
 	/**
 	 * Performs the search of referenced fields.
 	 *
@@ -516,12 +758,13 @@ public final class RefactoringSearchEngine2 {
 		try {
 			monitor.beginTask("", 1); //$NON-NLS-1$
 			monitor.setTaskName(RefactoringCoreMessages.RefactoringSearchEngine_searching_referenced_fields);
-			try {
+			try (RefactoringTelemetry.PhaseTimer timer= RefactoringTelemetry.startActive(Phase.SEARCH)) {
 				SearchEngine engine= null;
 				if (fOwner != null)
 					engine= new SearchEngine(fOwner);
 				else
 					engine= new SearchEngine(fWorkingCopies);
+				fQueryCount++;
 				engine.searchDeclarationsOfAccessedFields(element, getCollector(), Progress.subMonitorSupressed(monitor, 1));
 			} catch (CoreException exception) {
 				throw new JavaModelException(exception);
@@ -545,12 +788,13 @@ public final class RefactoringSearchEngine2 {
 		try {
 			monitor.beginTask("", 1); //$NON-NLS-1$
 			monitor.setTaskName(RefactoringCoreMessages.RefactoringSearchEngine_searching_referenced_methods);
-			try {
+			try (RefactoringTelemetry.PhaseTimer timer= RefactoringTelemetry.startActive(Phase.SEARCH)) {
 				SearchEngine engine= null;
 				if (fOwner != null)
 					engine= new SearchEngine(fOwner);
 				else
 					engine= new SearchEngine(fWorkingCopies);
+				fQueryCount++;
 				engine.searchDeclarationsOfSentMessages(element, getCollector(), Progress.subMonitorSupressed(monitor, 1));
 			} catch (CoreException exception) {
 				throw new JavaModelException(exception);
@@ -574,12 +818,13 @@ public final class RefactoringSearchEngine2 {
 		try {
 			monitor.beginTask("", 1); //$NON-NLS-1$
 			monitor.setTaskName(RefactoringCoreMessages.RefactoringSearchEngine_searching_referenced_types);
-			try {
+			try (RefactoringTelemetry.PhaseTimer timer= RefactoringTelemetry.startActive(Phase.SEARCH)) {
 				SearchEngine engine= null;
 				if (fOwner != null)
 					engine= new SearchEngine(fOwner);
 				else
 					engine= new SearchEngine(fWorkingCopies);
+				fQueryCount++;
 				engine.searchDeclarationsOfReferencedTypes(element, getCollector(), Progress.subMonitorSupressed(monitor, 1));
 			} catch (CoreException exception) {
 				throw new JavaModelException(exception);
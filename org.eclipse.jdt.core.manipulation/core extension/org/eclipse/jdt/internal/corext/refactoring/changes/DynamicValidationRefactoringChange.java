@@ -15,6 +15,8 @@
 package org.eclipse.jdt.internal.corext.refactoring.changes;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.ChangeDescriptor;
@@ -23,7 +25,9 @@ import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
 
 import org.eclipse.jdt.core.refactoring.descriptors.JavaRefactoringDescriptor;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry;
 
 /**
  * Dynamic validation state change with support for refactoring descriptors.
@@ -35,6 +39,9 @@ public final class DynamicValidationRefactoringChange extends DynamicValidationS
 	/** The refactoring descriptor */
 	private final RefactoringDescriptor fDescriptor;
 
+	/** The telemetry of the processor that creates this change, or <code>null</code> */
+	private final RefactoringTelemetry fTelemetry;
+
 	/**
 	 * Creates a new dynamic validation refactoring change.
 	 *
@@ -47,6 +54,7 @@ public final class DynamicValidationRefactoringChange extends DynamicValidationS
 		super(name);
 		Assert.isNotNull(descriptor);
 		fDescriptor= descriptor;
+		fTelemetry= RefactoringTelemetry.getActive();
 	}
 
 	/**
@@ -64,10 +72,25 @@ public final class DynamicValidationRefactoringChange extends DynamicValidationS
 		Assert.isNotNull(descriptor);
 		Assert.isTrue(!descriptor.validateDescriptor().hasFatalError(), RefactoringCoreMessages.DynamicValidationRefactoringChange_fatal_error);
 		fDescriptor= descriptor;
+		fTelemetry= RefactoringTelemetry.getActive();
 	}
 
 	@Override
 	public ChangeDescriptor getDescriptor() {
 		return new RefactoringChangeDescriptor(fDescriptor);
 	}
+
+	@Override
+	public Change perform(IProgressMonitor pm) throws CoreException {
+		if (fTelemetry == null)
+			return super.perform(pm);
+		// counting walks the whole change tree, so it is only done if the summary is reported
+		if (JavaManipulationPlugin.DEBUG_REFACTORING_TELEMETRY)
+			fTelemetry.countUnits(this);
+		try (RefactoringTelemetry.PhaseTimer timer= fTelemetry.start(RefactoringTelemetry.Phase.PERFORM)) {
+			return super.perform(pm);
+		} finally {
+			fTelemetry.report(fDescriptor);
+		}
+	}
 }
@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.changes;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextChange;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
+import org.eclipse.jdt.internal.corext.util.Messages;
+
+/**
+ * A placeholder for the text change of a compilation unit that is created on demand.
+ * <p>
+ * The text change is created and added as the only child when the children are requested after
+ * the validation data has been initialized, for example when the change is expanded in the
+ * preview, or when the change is performed. Before, the placeholder has no children, so that the
+ * refactoring does not compute the text change while it walks its change tree to collect the
+ * text changes for its participants. The text change is computed from the current contents of
+ * the compilation unit, so the change is only valid as long as the compilation unit has not been
+ * modified since this placeholder has been created, and has not been opened in a dirty editor
+ * since the validation data has been initialized.
+ * </p>
+ */
+public class LazyCompilationUnitChange extends CompositeChange {
+
+	/**
+	 * Creates the text change of a compilation unit.
+	 */
+	@FunctionalInterface
+	public interface ChangeFactory {
+
+		/**
+		 * Creates the text change of the given compilation unit.
+		 *
+		 * @param unit the compilation unit
+		 * @param pm the progress monitor
+		 * @return the text change
+		 * @throws CoreException if the change cannot be created
+		 */
+		TextChange createChange(ICompilationUnit unit, IProgressMonitor pm) throws CoreException;
+	}
+
+	private final ICompilationUnit fUnit;
+	private ChangeFactory fFactory;
+	private TextChange fChange;
+	private boolean fValidationInitialized;
+	private final long fCreationStamp;
+
+	/**
+	 * Creates a new lazy compilation unit change.
+	 *
+	 * @param name the name of the change
+	 * @param unit the compilation unit
+	 * @param factory the factory that creates the text change
+	 */
+	public LazyCompilationUnitChange(String name, ICompilationUnit unit, ChangeFactory factory) {
+		super(name);
+		fUnit= unit;
+		fFactory= factory;
+		fCreationStamp= getModificationStamp();
+	}
+
+	/**
+	 * Returns the compilation unit of this change.
+	 *
+	 * @return the compilation unit
+	 */
+	public ICompilationUnit getCompilationUnit() {
+		return fUnit;
+	}
+
+	/**
+	 * Returns the text change if it has been created.
+	 *
+	 * @return the text change, or <code>null</code>
+	 */
+	protected final TextChange getCreatedChange() {
+		return fChange;
+	}
+
+	/**
+	 * Returns the text change, which is created if necessary.
+	 *
+	 * @param pm the progress monitor
+	 * @return the text change
+	 * @throws CoreException if the change cannot be created, or if the compilation unit has been
+	 *             modified since this change has been created
+	 */
+	public final TextChange createChange(IProgressMonitor pm) throws CoreException {
+		if (fChange == null) {
+			if (isModified())
+				throw new CoreException(new Status(IStatus.ERROR, JavaManipulationPlugin.getPluginId(), getModifiedMessage()));
+			fChange= fFactory.createChange(fUnit, pm);
+			add(fChange);
+			if (fValidationInitialized)
+				fChange.initializeValidationData(pm);
+		}
+		return fChange;
+	}
+
+	/**
+	 * Removes the created text change without disposing it. The next request creates the text
+	 * change with the given factory.
+	 *
+	 * @param factory the factory for the next text change
+	 */
+	protected final void discardChange(ChangeFactory factory) {
+		if (fChange != null) {
+			remove(fChange);
+			fChange= null;
+		}
+		fFactory= factory;
+	}
+
+	/**
+	 * Returns whether the compilation unit is opened in a dirty buffer.
+	 *
+	 * @return <code>true</code> if the file buffer of the unit is dirty
+	 */
+	private boolean isDirty() {
+		IResource resource= fUnit.getResource();
+		if (resource == null)
+			return false;
+		ITextFileBuffer buffer= FileBuffers.getTextFileBufferManager().getTextFileBuffer(resource.getFullPath(), LocationKind.IFILE);
+		return buffer != null && buffer.isDirty();
+	}
+
+	/**
+	 * Returns whether the compilation unit has been modified since this change has been created.
+	 *
+	 * @return <code>true</code> if the modification stamp of the unit has changed
+	 */
+	private boolean isModified() {
+		return getModificationStamp() != fCreationStamp;
+	}
+
+	private long getModificationStamp() {
+		IResource resource= fUnit.getResource();
+		return resource != null ? resource.getModificationStamp() : IResource.NULL_STAMP;
+	}
+
+	private String getModifiedMessage() {
+		return Messages.format(RefactoringCoreMessages.LazyCompilationUnitChange_modified, BasicElementLabels.getFileName(fUnit));
+	}
+
+	@Override
+	public Change[] getChildren() {
+		if (fChange == null && fFactory != null && fValidationInitialized) {
+			try {
+				createChange(new NullProgressMonitor());
+			} catch (CoreException e) {
+				JavaManipulationPlugin.log(e);
+			}
+		}
+		return super.getChildren();
+	}
+
+	@Override
+	public Object getModifiedElement() {
+		return fUnit;
+	}
+
+	@Override
+	public Object[] getAffectedObjects() {
+		return new Object[] { fUnit };
+	}
+
+	@Override
+	public void initializeValidationData(IProgressMonitor pm) {
+		fValidationInitialized= true;
+		if (fChange != null)
+			super.initializeValidationData(pm);
+	}
+
+	@Override
+	public RefactoringStatus isValid(IProgressMonitor pm) throws CoreException {
+		RefactoringStatus result= new RefactoringStatus();
+		IResource resource= fUnit.getResource();
+		if (resource == null || !resource.exists()) {
+			result.addFatalError(Messages.format(RefactoringCoreMessages.Change_does_not_exist, BasicElementLabels.getFileName(fUnit)));
+			return result;
+		}
+		// the text change is computed from the contents at creation time, also if it has been created since
+		if (isModified() || (fValidationInitialized && fChange == null && isDirty())) {
+			result.addFatalError(getModifiedMessage());
+			return result;
+		}
+		if (fChange != null)
+			result.merge(super.isValid(pm));
+		return result;
+	}
+
+	@Override
+	public Change perform(IProgressMonitor pm) throws CoreException {
+		SubMonitor subMonitor= SubMonitor.convert(pm, 2);
+		createChange(subMonitor.split(1));
+		return super.perform(subMonitor.split(1));
+	}
+}
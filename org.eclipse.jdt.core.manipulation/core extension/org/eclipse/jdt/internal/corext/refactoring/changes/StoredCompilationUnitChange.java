@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.changes;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.TextChange;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
+import org.eclipse.jdt.internal.corext.refactoring.util.TextEditStore;
+
+/**
+ * A change of a compilation unit whose text edits are kept in a {@link TextEditStore}.
+ * <p>
+ * The edits are loaded into a {@link org.eclipse.jdt.core.refactoring.CompilationUnitChange} child
+ * when the children are requested after the validation data has been initialized, for example
+ * by the preview, or when the change is performed. Deferred edits of the unit are added after
+ * loading. The edits are released as soon as the change has been performed.
+ * </p>
+ */
+public final class StoredCompilationUnitChange extends LazyCompilationUnitChange {
+
+	private final TextEditStore fStore;
+	private TextEditStore.Entry fEntry;
+
+	/**
+	 * Creates a new stored compilation unit change.
+	 *
+	 * @param name the name of the change
+	 * @param unit the compilation unit
+	 * @param store the store of the edits
+	 * @param entry the entry of the edits in the store
+	 * @param deferred the deferred edits that are added after loading the change
+	 */
+	public StoredCompilationUnitChange(String name, ICompilationUnit unit, TextEditStore store, TextEditStore.Entry entry, List<TextChangeManager.DeferredEdit> deferred) {
+		super(name, unit, (cu, pm) -> load(store, entry, cu, deferred, pm));
+		fStore= store;
+		fEntry= entry;
+	}
+
+	private static TextChange load(TextEditStore store, TextEditStore.Entry entry, ICompilationUnit unit, List<TextChangeManager.DeferredEdit> deferred, IProgressMonitor pm) throws CoreException {
+		TextChange change;
+		try {
+			change= store.load(entry, unit);
+		} catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR, JavaManipulationPlugin.getPluginId(), e.getMessage(), e));
+		}
+		for (TextChangeManager.DeferredEdit edit : deferred)
+			edit.addTo(change, pm);
+		return change;
+	}
+
+	private void release(boolean disposeChange) {
+		TextChange change= getCreatedChange();
+		discardChange(null);
+		if (change != null && disposeChange)
+			change.dispose();
+		fStore.release(fEntry);
+		fEntry= null;
+	}
+
+	@Override
+	public Change perform(IProgressMonitor pm) throws CoreException {
+		try {
+			return super.perform(pm);
+		} finally {
+			release(true);
+		}
+	}
+
+	@Override
+	public void dispose() {
+		// disposes the loaded change
+		super.dispose();
+		release(false);
+	}
+}
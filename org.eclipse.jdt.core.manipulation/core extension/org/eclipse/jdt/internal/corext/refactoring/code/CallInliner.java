@@ -211,7 +211,7 @@ public class CallInliner {
 		fLocals= new ArrayList<>(3);
 		fRewrite= ASTRewrite.create(targetAstRoot.getAST());
 		fRewrite.setTargetSourceRangeComputer(new NoCommentSourceRangeComputer());
-		fTypeEnvironment= new TypeEnvironment();
+		fTypeEnvironment= TypeEnvironment.getEnvironment(unit.getJavaProject(), unit.getOwner(), false);
 		fBlock = null;
 	}
 
@@ -20,9 +20,11 @@
 package org.eclipse.jdt.internal.corext.refactoring.code;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -80,6 +82,7 @@ import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
 import org.eclipse.jdt.internal.corext.refactoring.base.ReferencesInBinaryContext;
 import org.eclipse.jdt.internal.corext.refactoring.changes.DynamicValidationRefactoringChange;
 import org.eclipse.jdt.internal.corext.refactoring.changes.TextChangeCompatibility;
+import org.eclipse.jdt.internal.corext.refactoring.util.CompilationUnitTaskRunner;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaElementUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
 import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
@@ -109,6 +112,19 @@ public class InlineMethodRefactoring extends Refactoring {
 		public static final Mode INLINE_SINGLE= new Mode();
 	}
 
+	/**
+	 * The result of inlining the calls of one compilation unit.
+	 */
+	private static final class InlinedCalls {
+		final RefactoringStatus fStatus;
+		CompilationUnitChange fChange;
+		boolean fDeleteSource= true;
+
+		InlinedCalls(RefactoringStatus status) {
+			fStatus= status;
+		}
+	}
+
 	private ITypeRoot fInitialTypeRoot;
 	private ASTNode fInitialNode;
 	private TextChangeManager fChangeManager;
@@ -288,73 +304,44 @@ public class InlineMethodRefactoring extends Refactoring {
 		checkOverridden(result, Progress.subMonitor(pm, 4));
 		IProgressMonitor sub= Progress.subMonitor(pm, 15);
 		sub.beginTask("", units.length * 3); //$NON-NLS-1$
-		for (ICompilationUnit unit : units) {
-			sub.subTask(Messages.format(RefactoringCoreMessages.InlineMethodRefactoring_processing,  BasicElementLabels.getFileName(unit)));
-			CallInliner inliner= null;
-			try {
-				boolean added= false;
-				MultiTextEdit root= new MultiTextEdit();
-				CompilationUnitChange change= (CompilationUnitChange)fChangeManager.get(unit);
-				change.setEdit(root);
-				BodyDeclaration[] bodies= fTargetProvider.getAffectedBodyDeclarations(unit, Progress.subMonitor(pm, 1));
-				if (bodies.length == 0)
-					continue;
-				inliner= new CallInliner(unit, (CompilationUnit) bodies[0].getRoot(), fSourceProvider);
-				for (BodyDeclaration body : bodies) {
-					inliner.initialize(body);
-					RefactoringStatus nestedInvocations= new RefactoringStatus();
-					ASTNode[] invocations= removeNestedCalls(nestedInvocations, unit,
-						fTargetProvider.getInvocations(body, Progress.subMonitor(sub, 2)));
-					for (ASTNode invocation : invocations) {
-						result.merge(inliner.initialize(invocation, fTargetProvider.getStatusSeverity()));
-						if (result.hasFatalError())
-							break;
-						if (result.getSeverity() < fTargetProvider.getStatusSeverity()) {
-							added= true;
-							TextEditGroup group= new TextEditGroup(RefactoringCoreMessages.InlineMethodRefactoring_edit_inline);
-							change.addTextEditGroup(group);
-							result.merge(inliner.perform(group));
-						} else {
-							fDeleteSource= false;
-						}
-					}
-					// do this after we have inlined the method calls. We still want
-					// to generate the modifications.
-					if (!nestedInvocations.isOK()) {
-						result.merge(nestedInvocations);
-						fDeleteSource= false;
-					}
+		int severity= fTargetProvider.getStatusSeverity();
+		// the calls of each unit are inlined in parallel, assuming that no other unit reports a
+		// status of the target severity. Once one does, the remaining units are processed
+		// sequentially, since the status reported so far decides which calls are inlined.
+		Thread thread= Thread.currentThread();
+		SourceProvider.Snapshot snapshot= fSourceProvider.createSnapshot();
+		Map<Thread, SourceProvider> sourceProviders= new ConcurrentHashMap<>();
+		CompilationUnitTaskRunner.Task<InlinedCalls> task= (unit, monitor) -> {
+			SourceProvider sourceProvider= fSourceProvider;
+			if (Thread.currentThread() != thread) {
+				sourceProvider= sourceProviders.get(Thread.currentThread());
+				if (sourceProvider == null) {
+					sourceProvider= snapshot.createSourceProvider();
+					sourceProviders.put(Thread.currentThread(), sourceProvider);
 				}
-				if (!added) {
-					fChangeManager.remove(unit);
+			}
+			return inlineCalls(unit, sourceProvider, new RefactoringStatus(), monitor);
+		};
+		try (CompilationUnitTaskRunner<InlinedCalls> runner= new CompilationUnitTaskRunner<>(Arrays.asList(units), task, sub)) {
+			for (int i= 0; i < units.length; i++) {
+				ICompilationUnit unit= units[i];
+				sub.subTask(Messages.format(RefactoringCoreMessages.InlineMethodRefactoring_processing,  BasicElementLabels.getFileName(unit)));
+				InlinedCalls calls;
+				if (result.getSeverity() < severity) {
+					calls= runner.get(i);
+					result.merge(calls.fStatus);
 				} else {
-					root.addChild(inliner.getModifications());
-					ImportRewrite rewrite= inliner.getImportEdit();
-					if (rewrite.hasRecordedChanges()) {
-						for (String s : rewrite.getAddedImports()) {
-							for (IType t : unit.getTypes()) {
-								if (s.startsWith(t.getFullyQualifiedName())) {
-									rewrite.removeImport(s);
-								}
-							}
-						}
-						if (rewrite.hasRecordedChanges()) {
-							TextEdit edit= rewrite.rewriteImports(null);
-							if (edit instanceof MultiTextEdit ? edit.getChildrenSize() > 0 : true) {
-								root.addChild(edit);
-								change.addTextEditGroup(
-										new TextEditGroup(RefactoringCoreMessages.InlineMethodRefactoring_edit_import, new TextEdit[] {edit}));
-							}
-						}
-					}
+					runner.close();
+					calls= inlineCalls(unit, fSourceProvider, result, sub);
 				}
-			} finally {
-				if (inliner != null)
-					inliner.dispose();
+				if (calls.fChange != null)
+					fChangeManager.manage(unit, calls.fChange);
+				if (!calls.fDeleteSource)
+					fDeleteSource= false;
+				sub.worked(3);
+				if (sub.isCanceled())
+					throw new OperationCanceledException();
 			}
-			sub.worked(1);
-			if (sub.isCanceled())
-				throw new OperationCanceledException();
 		}
 		result.merge(searchStatus);
 		sub.done();
@@ -517,6 +504,85 @@ public class InlineMethodRefactoring extends Refactoring {
 		}
 	}
 
+	/**
+	 * Inlines the calls of one compilation unit. May be called in any thread, with a source
+	 * provider that is only used by the current thread.
+	 *
+	 * @param unit the compilation unit
+	 * @param sourceProvider the source provider
+	 * @param result the status, which already contains the status of the units processed before
+	 * @param pm the progress monitor
+	 * @return the inlined calls
+	 * @throws CoreException if the unit cannot be read
+	 */
+	private InlinedCalls inlineCalls(ICompilationUnit unit, SourceProvider sourceProvider, RefactoringStatus result, IProgressMonitor pm) throws CoreException {
+		InlinedCalls calls= new InlinedCalls(result);
+		CallInliner inliner= null;
+		try {
+			boolean added= false;
+			MultiTextEdit root= new MultiTextEdit();
+			CompilationUnitChange change= new CompilationUnitChange(unit.getElementName(), unit);
+			change.setEdit(root);
+			calls.fChange= change;
+			BodyDeclaration[] bodies= fTargetProvider.getAffectedBodyDeclarations(unit, Progress.subMonitor(pm, 1));
+			if (bodies.length == 0)
+				return calls;
+			inliner= new CallInliner(unit, (CompilationUnit) bodies[0].getRoot(), sourceProvider);
+			for (BodyDeclaration body : bodies) {
+				inliner.initialize(body);
+				RefactoringStatus nestedInvocations= new RefactoringStatus();
+				ASTNode[] invocations= removeNestedCalls(nestedInvocations, unit,
+					fTargetProvider.getInvocations(body, Progress.subMonitor(pm, 2)));
+				for (ASTNode invocation : invocations) {
+					result.merge(inliner.initialize(invocation, fTargetProvider.getStatusSeverity()));
+					if (result.hasFatalError())
+						break;
+					if (result.getSeverity() < fTargetProvider.getStatusSeverity()) {
+						added= true;
+						TextEditGroup group= new TextEditGroup(RefactoringCoreMessages.InlineMethodRefactoring_edit_inline);
+						change.addTextEditGroup(group);
+						result.merge(inliner.perform(group));
+					} else {
+						calls.fDeleteSource= false;
+					}
+				}
+				// do this after we have inlined the method calls. We still want
+				// to generate the modifications.
+				if (!nestedInvocations.isOK()) {
+					result.merge(nestedInvocations);
+					calls.fDeleteSource= false;
+				}
+			}
+			if (!added) {
+				calls.fChange= null;
+			} else {
+				root.addChild(inliner.getModifications());
+				ImportRewrite rewrite= inliner.getImportEdit();
+				if (rewrite.hasRecordedChanges()) {
+					for (String s : rewrite.getAddedImports()) {
+						for (IType t : unit.getTypes()) {
+							if (s.startsWith(t.getFullyQualifiedName())) {
+								rewrite.removeImport(s);
+							}
+						}
+					}
+					if (rewrite.hasRecordedChanges()) {
+						TextEdit edit= rewrite.rewriteImports(null);
+						if (edit instanceof MultiTextEdit ? edit.getChildrenSize() > 0 : true) {
+							root.addChild(edit);
+							change.addTextEditGroup(
+									new TextEditGroup(RefactoringCoreMessages.InlineMethodRefactoring_edit_import, new TextEdit[] {edit}));
+						}
+					}
+				}
+			}
+			return calls;
+		} finally {
+			if (inliner != null)
+				inliner.dispose();
+		}
+	}
+
 	private ASTNode[] removeNestedCalls(RefactoringStatus status, ICompilationUnit unit, ASTNode[] invocations) {
 		if (invocations.length <= 1)
 			return invocations;
@@ -49,6 +49,7 @@ import org.eclipse.jface.text.TextUtilities;
 
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 
+import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageDeclaration;
@@ -81,6 +82,7 @@ import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.MethodInvocation;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.Name;
+import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.PackageDeclaration;
 import org.eclipse.jdt.core.dom.ParenthesizedExpression;
 import org.eclipse.jdt.core.dom.ReturnStatement;
@@ -104,9 +106,11 @@ import org.eclipse.jdt.internal.corext.codemanipulation.ContextSensitiveImportRe
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.Bindings;
 import org.eclipse.jdt.internal.corext.dom.CodeScopeBuilder;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
 import org.eclipse.jdt.internal.corext.refactoring.code.SourceAnalyzer.NameData;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
 import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringFileBuffers;
 import org.eclipse.jdt.internal.corext.util.CodeFormatterUtil;
 
@@ -171,6 +175,60 @@ public class SourceProvider {
 		fSource= source;
 	}
 
+	/**
+	 * The source of an inlined method, from which source providers for other threads are created.
+	 * <p>
+	 * A source provider keeps the AST of the method and resolves its bindings while inlining a call,
+	 * and DOM ASTs must not be accessed by several threads at a time. A snapshot only keeps the
+	 * source and the range of the method declaration. It is immutable and can be shared, and each
+	 * thread that inlines calls creates its own source provider from it.
+	 * </p>
+	 */
+	public static final class Snapshot {
+
+		private final ITypeRoot fTypeRoot;
+		private final String fSource;
+		private final int fOffset;
+		private final int fLength;
+
+		private Snapshot(ITypeRoot typeRoot, String source, int offset, int length) {
+			fTypeRoot= typeRoot;
+			fSource= source;
+			fOffset= offset;
+			fLength= length;
+		}
+
+		/**
+		 * Parses the source of the snapshot and creates an initialized source provider for it.
+		 *
+		 * @return the source provider
+		 * @throws JavaModelException if the source cannot be analyzed
+		 */
+		public SourceProvider createSourceProvider() throws JavaModelException {
+			RefactoringASTParser parser= new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL);
+			CompilationUnit root;
+			if (fTypeRoot instanceof ICompilationUnit unit)
+				root= parser.parse(fSource, unit, true, false, null);
+			else
+				root= parser.parse(fSource, (IClassFile) fTypeRoot, true, false, null);
+			ASTNode declaration= NodeFinder.perform(root, fOffset, fLength);
+			Assert.isTrue(declaration instanceof MethodDeclaration);
+			SourceProvider result= new SourceProvider(fTypeRoot, new Document(fSource), (MethodDeclaration) declaration);
+			result.checkActivation();
+			result.initialize();
+			return result;
+		}
+	}
+
+	/**
+	 * Creates a snapshot of the inlined method. Must be called after {@link #initialize()}.
+	 *
+	 * @return the snapshot
+	 */
+	public Snapshot createSnapshot() {
+		return new Snapshot(fTypeRoot, fDocument.get(), fDeclaration.getStartPosition(), fDeclaration.getLength());
+	}
+
 	public RefactoringStatus checkActivation() throws JavaModelException {
 		return fAnalyzer.checkActivation();
 	}
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -360,7 +361,11 @@ public abstract class TargetProvider {
 		private boolean matches(IBinding binding) {
 			if (!(binding instanceof IMethodBinding))
 				return false;
-			return fBinding.isEqualTo(((IMethodBinding)binding).getMethodDeclaration());
+			IMethodBinding declaration= ((IMethodBinding)binding).getMethodDeclaration();
+			// the binding of the inlined method is shared by the finders of all threads
+			synchronized (fBinding) {
+				return fBinding.isEqualTo(declaration);
+			}
 		}
 	}
 
@@ -437,10 +442,12 @@ public abstract class TargetProvider {
 
 	private static class MemberTypeTargetProvider extends TargetProvider {
 		private final IMethodBinding fMethodBinding;
-		private Map<BodyDeclaration, BodyData> fCurrentBodies;
+		// the units are processed in parallel, the bodies of each unit are requested once
+		private final Map<BodyDeclaration, BodyData> fCurrentBodies= new ConcurrentHashMap<>();
 		public MemberTypeTargetProvider(IMethodBinding methodBinding) {
 			Assert.isNotNull(methodBinding);
-			fMethodBinding= methodBinding;
+			// resolved here, the invocation finders of other threads must not resolve bindings
+			fMethodBinding= methodBinding.getMethodDeclaration();
 		}
 		@Override
 		public void initialize() {
@@ -490,15 +497,15 @@ public abstract class TargetProvider {
 			ASTNode root= SharedASTProviderCore.getAST(unit, SharedASTProviderCore.WAIT_YES, pm);
 			InvocationFinder finder= new InvocationFinder(fMethodBinding);
 			root.accept(finder);
-			fCurrentBodies= finder.result;
-			Set<BodyDeclaration> result= fCurrentBodies.keySet();
+			fCurrentBodies.putAll(finder.result);
+			Set<BodyDeclaration> result= finder.result.keySet();
 			fastDone(pm);
 			return result.toArray(new BodyDeclaration[result.size()]);
 		}
 
 		@Override
 		public ASTNode[] getInvocations(BodyDeclaration declaration, IProgressMonitor pm) {
-			BodyData data= fCurrentBodies.get(declaration);
+			BodyData data= fCurrentBodies.remove(declaration);
 			Assert.isNotNull(data);
 			fastDone(pm);
 			return data.getInvocations();
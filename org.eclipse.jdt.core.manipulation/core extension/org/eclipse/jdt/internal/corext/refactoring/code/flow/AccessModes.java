@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.code.flow;
+
+/**
+ * The access modes of the local variables of a {@link FlowContext}, packed into one bit set per
+ * access mode.
+ * <p>
+ * A local is {@link FlowInfo#UNUSED} if its bit is set in none of the bit sets. The bit sets are
+ * created when the first bit is set, so the access modes of a single local take a few words
+ * regardless of the number of locals in the context, and merges process 64 locals per step.
+ * </p>
+ */
+final class AccessModes {
+
+	// Indices of the bit sets
+	private static final int READ= 0;
+	private static final int READ_POTENTIAL= 1;
+	private static final int WRITE= 2;
+	private static final int WRITE_POTENTIAL= 3;
+	private static final int UNKNOWN= 4;
+
+	private static final int[] MODES= { FlowInfo.READ, FlowInfo.READ_POTENTIAL, FlowInfo.WRITE, FlowInfo.WRITE_POTENTIAL, FlowInfo.UNKNOWN };
+
+	private final int fLength;
+	private final int fWords;
+	private final long[][] fBits= new long[MODES.length][];
+
+	/**
+	 * Creates access modes in which all locals are unused.
+	 *
+	 * @param length the number of locals
+	 */
+	AccessModes(int length) {
+		fLength= length;
+		fWords= (length + 63) >>> 6;
+	}
+
+	int length() {
+		return fLength;
+	}
+
+	/**
+	 * Returns the access mode of a local.
+	 *
+	 * @param index the index of the local
+	 * @return one of the access mode constants of {@link FlowInfo}
+	 */
+	int get(int index) {
+		int word= index >>> 6;
+		long bit= 1L << index;
+		for (int i= 0; i < MODES.length; i++) {
+			long[] bits= fBits[i];
+			if (bits != null && (bits[word] & bit) != 0)
+				return MODES[i];
+		}
+		return FlowInfo.UNUSED;
+	}
+
+	/**
+	 * Sets the access mode of a local.
+	 *
+	 * @param index the index of the local
+	 * @param mode one of the access mode constants of {@link FlowInfo}
+	 */
+	void set(int index, int mode) {
+		int word= index >>> 6;
+		long bit= 1L << index;
+		for (long[] bits : fBits) {
+			if (bits != null)
+				bits[word]&= ~bit;
+		}
+		int set= getSet(mode);
+		if (set != -1)
+			getBits(set)[word]|= bit;
+	}
+
+	/**
+	 * Returns the indices of the locals whose access mode is one of the given modes.
+	 *
+	 * @param mode any combination of the access mode constants of {@link FlowInfo}
+	 * @return the indices in ascending order
+	 */
+	int[] getIndices(int mode) {
+		long[] selected= new long[fWords];
+		for (int i= 0; i < MODES.length; i++) {
+			long[] bits= fBits[i];
+			if (bits != null && (mode & MODES[i]) != 0) {
+				for (int w= 0; w < fWords; w++)
+					selected[w]|= bits[w];
+			}
+		}
+		if ((mode & FlowInfo.UNUSED) != 0) {
+			for (int w= 0; w < fWords; w++)
+				selected[w]|= ~used(w) & validBits(w);
+		}
+		int count= 0;
+		for (long word : selected)
+			count+= Long.bitCount(word);
+		int[] result= new int[count];
+		int next= 0;
+		for (int w= 0; w < fWords; w++) {
+			long word= selected[w];
+			while (word != 0) {
+				result[next++]= (w << 6) + Long.numberOfTrailingZeros(word);
+				word&= word - 1;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Turns reads and writes into potential reads and writes, as it happens to the accesses that
+	 * follow an open branch statement.
+	 */
+	void openBranch() {
+		moveTo(READ, READ_POTENTIAL);
+		moveTo(WRITE, WRITE_POTENTIAL);
+	}
+
+	private void moveTo(int from, int to) {
+		long[] bits= fBits[from];
+		if (bits == null)
+			return;
+		long[] target= getBits(to);
+		for (int w= 0; w < fWords; w++)
+			target[w]|= bits[w];
+		fBits[from]= null;
+	}
+
+	/**
+	 * Merges the access modes of two alternative execution paths into these access modes: a local
+	 * keeps its mode if it has the same mode on both paths, is read or written potentially if it
+	 * is only read or only written, and is unknown otherwise.
+	 *
+	 * @param other the access modes of the other path, or <code>null</code> if all locals are
+	 *            unused on that path
+	 */
+	void mergeConditional(AccessModes other) {
+		long[][] result= new long[MODES.length][];
+		for (int w= 0; w < fWords; w++) {
+			long aRead= word(READ, w), aReadPotential= word(READ_POTENTIAL, w);
+			long aWrite= word(WRITE, w), aWritePotential= word(WRITE_POTENTIAL, w);
+			long bRead= 0, bReadPotential= 0, bWrite= 0, bWritePotential= 0, bUnknown= 0;
+			if (other != null) {
+				bRead= other.word(READ, w);
+				bReadPotential= other.word(READ_POTENTIAL, w);
+				bWrite= other.word(WRITE, w);
+				bWritePotential= other.word(WRITE_POTENTIAL, w);
+				bUnknown= other.word(UNKNOWN, w);
+			}
+			long aReads= aRead | aReadPotential, aWrites= aWrite | aWritePotential;
+			long bReads= bRead | bReadPotential, bWrites= bWrite | bWritePotential;
+			long unknown= word(UNKNOWN, w) | bUnknown | (aReads & bWrites) | (aWrites & bReads);
+			long read= aRead & bRead;
+			long write= aWrite & bWrite;
+			setWord(result, READ, w, read);
+			setWord(result, READ_POTENTIAL, w, (aReads | bReads) & ~unknown & ~read);
+			setWord(result, WRITE, w, write);
+			setWord(result, WRITE_POTENTIAL, w, (aWrites | bWrites) & ~unknown & ~write);
+			setWord(result, UNKNOWN, w, unknown);
+		}
+		System.arraycopy(result, 0, fBits, 0, MODES.length);
+	}
+
+	/**
+	 * Merges the access modes of a following statement into these access modes to compute the
+	 * locals that are read before they are written: a local that is unused takes the mode of the
+	 * following statement, and a potentially written local takes it if it is read or written
+	 * there.
+	 *
+	 * @param other the access modes of the following statement
+	 */
+	void mergeArguments(AccessModes other) {
+		long[][] result= new long[MODES.length][];
+		for (int w= 0; w < fWords; w++) {
+			long aWritePotential= word(WRITE_POTENTIAL, w);
+			long replace= ~used(w) | (aWritePotential & (other.word(READ, w) | other.word(READ_POTENTIAL, w)));
+			mergeWord(result, other, w, replace, aWritePotential & other.word(WRITE, w));
+		}
+		System.arraycopy(result, 0, fBits, 0, MODES.length);
+	}
+
+	/**
+	 * Merges the access modes of a following statement into these access modes to compute the
+	 * values a local has after the statements: a written local keeps its mode, a potentially
+	 * written local becomes written if it is written by the following statement, and all other
+	 * locals take the mode of the following statement unless they are unused there.
+	 *
+	 * @param other the access modes of the following statement
+	 */
+	void mergeReturnValues(AccessModes other) {
+		long[][] result= new long[MODES.length][];
+		for (int w= 0; w < fWords; w++) {
+			long aWritten= word(WRITE, w) | word(WRITE_POTENTIAL, w);
+			long replace= ~aWritten & other.used(w);
+			mergeWord(result, other, w, replace, word(WRITE_POTENTIAL, w) & other.word(WRITE, w));
+		}
+		System.arraycopy(result, 0, fBits, 0, MODES.length);
+	}
+
+	private void mergeWord(long[][] result, AccessModes other, int w, long replace, long promoteToWrite) {
+		for (int i= 0; i < MODES.length; i++) {
+			long value= (word(i, w) & ~replace) | (other.word(i, w) & replace);
+			if (i == WRITE)
+				value|= promoteToWrite;
+			else if (i == WRITE_POTENTIAL)
+				value&= ~promoteToWrite;
+			setWord(result, i, w, value);
+		}
+	}
+
+	private long word(int set, int w) {
+		long[] bits= fBits[set];
+		return bits != null ? bits[w] : 0;
+	}
+
+	private long used(int w) {
+		long result= 0;
+		for (long[] bits : fBits) {
+			if (bits != null)
+				result|= bits[w];
+		}
+		return result;
+	}
+
+	private long validBits(int w) {
+		int remaining= fLength - (w << 6);
+		return remaining >= 64 ? -1L : (1L << remaining) - 1;
+	}
+
+	private void setWord(long[][] bits, int set, int w, long value) {
+		if (value == 0)
+			return;
+		if (bits[set] == null)
+			bits[set]= new long[fWords];
+		bits[set][w]= value;
+	}
+
+	private long[] getBits(int set) {
+		long[] bits= fBits[set];
+		if (bits == null) {
+			bits= new long[fWords];
+			fBits[set]= bits;
+		}
+		return bits;
+	}
+
+	private static int getSet(int mode) {
+		switch (mode) {
+			case FlowInfo.READ:
+				return READ;
+			case FlowInfo.READ_POTENTIAL:
+				return READ_POTENTIAL;
+			case FlowInfo.WRITE:
+				return WRITE;
+			case FlowInfo.WRITE_POTENTIAL:
+				return WRITE_POTENTIAL;
+			case FlowInfo.UNKNOWN:
+				return UNKNOWN;
+			default:
+				return -1;
+		}
+	}
+}
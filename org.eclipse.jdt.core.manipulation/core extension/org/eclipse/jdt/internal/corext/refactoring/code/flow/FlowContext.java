@@ -104,11 +104,11 @@ public class FlowContext {
 	public int getIndexFromLocal(IVariableBinding local) {
 		if (fLocals == null)
 			return -1;
-		for (int i= 0; i < fLocals.length; i++) {
-			if (fLocals[i] == local)
-				return i;
-		}
-		return -1;
+		// managed locals are stored at the index derived from their variable id
+		int index= local.getVariableId() - fStart;
+		if (index < 0 || index >= fLocals.length || fLocals[index] != local)
+			return -1;
+		return index;
 	}
 
 	void manageLocal(IVariableBinding local) {
@@ -15,11 +15,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.code.flow;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Set;
 
 import org.eclipse.jdt.core.dom.ITypeBinding;
@@ -45,23 +42,6 @@ public abstract class FlowInfo {
 	public static final int WRITE_POTENTIAL=    1 << 4;
 	public static final int UNKNOWN= 			1 << 5;
 
-	// Table to merge access modes for condition statements (e.g branch[x] || branch[y]).
-	private static final int[][] ACCESS_MODE_CONDITIONAL_TABLE= {
-	/*	  					  UNUSED		   READ			    READ_POTENTIAL   WRTIE			  WRITE_POTENTIAL  UNKNOWN */
-	/* UNUSED */			{ UNUSED,		   READ_POTENTIAL,  READ_POTENTIAL,  WRITE_POTENTIAL, WRITE_POTENTIAL, UNKNOWN },
-	/* READ */				{ READ_POTENTIAL,  READ,			READ_POTENTIAL,  UNKNOWN,		  UNKNOWN,         UNKNOWN },
-	/* READ_POTENTIAL */	{ READ_POTENTIAL,  READ_POTENTIAL,  READ_POTENTIAL,  UNKNOWN,		  UNKNOWN,         UNKNOWN },
-	/* WRITE */				{ WRITE_POTENTIAL, UNKNOWN,			UNKNOWN,		 WRITE,			  WRITE_POTENTIAL, UNKNOWN },
-	/* WRITE_POTENTIAL */   { WRITE_POTENTIAL, UNKNOWN,			UNKNOWN,		 WRITE_POTENTIAL, WRITE_POTENTIAL, UNKNOWN },
-	/* UNKNOWN */ 			{ UNKNOWN, 		   UNKNOWN,			UNKNOWN,		 UNKNOWN, 		  UNKNOWN,		   UNKNOWN }
-	};
-
-	// Table to change access mode if there is an open branch statement
-	private static final int[] ACCESS_MODE_OPEN_BRANCH_TABLE= {
-	/*	UNUSED	READ			READ_POTENTIAL  WRTIE				WRITE_POTENTIAL  UNKNOWN */
-		UNUSED,	READ_POTENTIAL,	READ_POTENTIAL,	WRITE_POTENTIAL,	WRITE_POTENTIAL, UNKNOWN
-	};
-
 	// Table to merge return modes for condition statements (y: fReturnKind, x: other.fReturnKind)
 	private static final int[][] RETURN_KIND_CONDITIONAL_TABLE = {
 	/* 						  NOT_POSSIBLE		UNDEFINED		NO_RETURN		PARTIAL_RETURN	VOID_RETURN		VALUE_RETURN	THROW */
@@ -90,7 +70,7 @@ public abstract class FlowInfo {
 	protected static final IVariableBinding[] EMPTY_ARRAY= new IVariableBinding[0];
 
 	protected int fReturnKind;
-	protected int[] fAccessModes;
+	protected AccessModes fAccessModes;
 	protected Set<String> fBranches;
 	//protected Set<ITypeBinding> fExceptions;
 	protected Set<ITypeBinding> fTypeVariables;
@@ -257,16 +237,14 @@ public abstract class FlowInfo {
 	 * @return an array of local variable bindings conforming to the given type.
 	 */
 	public IVariableBinding[] get(FlowContext context, int mode) {
-		List<IVariableBinding> result= new ArrayList<>();
-		int[] locals= getAccessModes();
+		AccessModes locals= getAccessModes();
 		if (locals == null)
 			return EMPTY_ARRAY;
-		for (int i= 0; i < locals.length; i++) {
-			int accessMode= locals[i];
-			if ((accessMode & mode) != 0)
-				result.add(context.getLocalFromIndex(i));
-		}
-		return result.toArray(new IVariableBinding[result.size()]);
+		int[] indices= locals.getIndices(mode);
+		IVariableBinding[] result= new IVariableBinding[indices.length];
+		for (int i= 0; i < indices.length; i++)
+			result[i]= context.getLocalFromIndex(indices[i]);
+		return result;
 	}
 
 	/**
@@ -287,7 +265,7 @@ public abstract class FlowInfo {
 		int index= context.getIndexFromLocal(local);
 		if (index == -1)
 			return unusedMode;
-		return (fAccessModes[index] & mode) != 0;
+		return (fAccessModes.get(index) & mode) != 0;
 	}
 
 	/**
@@ -303,33 +281,31 @@ public abstract class FlowInfo {
 		int index= context.getIndexFromLocal(local);
 		if (index == -1)
 			return UNUSED;
-		return fAccessModes[index];
+		return fAccessModes.get(index);
 	}
 
-	protected int[] getAccessModes() {
+	protected AccessModes getAccessModes() {
 		return fAccessModes;
 	}
 
 	protected void clearAccessMode(IVariableBinding binding, FlowContext context) {
 		if (fAccessModes == null)	// all are unused
 			return;
-		fAccessModes[binding.getVariableId() - context.getStartingIndex()]= UNUSED;
+		fAccessModes.set(binding.getVariableId() - context.getStartingIndex(), UNUSED);
 	}
 
 	protected void mergeAccessModeSequential(FlowInfo otherInfo, FlowContext context) {
 		if (!context.considerAccessMode())
 			return;
 
-		int[] others= otherInfo.fAccessModes;
+		AccessModes others= otherInfo.fAccessModes;
 		if (others == null)	// others are all unused. So nothing to do
 			return;
 
 		// Must not consider return kind since a return statement can't control execution flow
 		// inside a method. It always leaves the method.
-		if (branches()) {
-			for (int i= 0; i < others.length; i++)
-				others[i]= ACCESS_MODE_OPEN_BRANCH_TABLE[getIndex(others[i])];
-		}
+		if (branches())
+			others.openBranch();
 
 		if (fAccessModes == null) {	// all current variables are unused
 			fAccessModes= others;
@@ -337,64 +313,23 @@ public abstract class FlowInfo {
 		}
 
 		if (context.computeArguments()) {
-			handleComputeArguments(others);
+			fAccessModes.mergeArguments(others);
 		} else if (context.computeReturnValues()) {
-			handleComputeReturnValues(others);
+			fAccessModes.mergeReturnValues(others);
 		} else if (context.computeMerge()) {
-			handleMergeValues(others);
-		}
-	}
-
-	private void handleComputeReturnValues(int[] others) {
-		for (int i= 0; i < fAccessModes.length; i++) {
-			int accessmode= fAccessModes[i];
-			int othermode= others[i];
-			if (accessmode == WRITE)
-				continue;
-			if (accessmode == WRITE_POTENTIAL) {
-				if (othermode == WRITE)
-					fAccessModes[i]= WRITE;
-				continue;
-			}
-
-			if (others[i] != UNUSED)
-				fAccessModes[i]= othermode;
-		}
-	}
-
-	private void handleComputeArguments(int[] others) {
-		for (int i= 0; i < fAccessModes.length; i++) {
-			int accessMode= fAccessModes[i];
-			int otherMode= others[i];
-			if (accessMode == UNUSED
-					|| (accessMode == WRITE_POTENTIAL && (otherMode == READ || otherMode == READ_POTENTIAL))) {
-				// Read always supersedes a potential write even if the read is potential as well
-				// (we have to consider the potential read as an argument then).
-				fAccessModes[i]= otherMode;
-			} else if (accessMode == WRITE_POTENTIAL && otherMode == WRITE) {
-				fAccessModes[i]= WRITE;
-			}
-		}
-	}
-
-	private void handleMergeValues(int[] others) {
-		for (int i= 0; i < fAccessModes.length; i++) {
-			fAccessModes[i]= ACCESS_MODE_CONDITIONAL_TABLE
-				[getIndex(fAccessModes[i])]
-				[getIndex(others[i])];
+			fAccessModes.mergeConditional(others);
 		}
 	}
 
 	protected void createAccessModeArray(FlowContext context) {
-		fAccessModes= new int[context.getArrayLength()];
-		Arrays.fill(fAccessModes, UNUSED);
+		fAccessModes= new AccessModes(context.getArrayLength());
 	}
 
 	protected void mergeAccessModeConditional(FlowInfo otherInfo, FlowContext context) {
 		if (!context.considerAccessMode())
 			return;
 
-		int[] others= otherInfo.fAccessModes;
+		AccessModes others= otherInfo.fAccessModes;
 		// first access
 		if (fAccessModes == null) {
 			if (others != null)
@@ -403,20 +338,8 @@ public abstract class FlowInfo {
 				createAccessModeArray(context);
 			return;
 		} else {
-			if (others == null) {
-				for (int i= 0; i < fAccessModes.length; i++) {
-					int unused_index= getIndex(UNUSED);
-					fAccessModes[i]= ACCESS_MODE_CONDITIONAL_TABLE
-						[getIndex(fAccessModes[i])]
-						[unused_index];
-				}
-			} else {
-				for (int i= 0; i < fAccessModes.length; i++) {
-					fAccessModes[i]= ACCESS_MODE_CONDITIONAL_TABLE
-						[getIndex(fAccessModes[i])]
-						[getIndex(others[i])];
-				}
-			}
+			// others == null: all other locals are unused
+			fAccessModes.mergeConditional(others);
 		}
 	}
 
@@ -432,31 +355,7 @@ public abstract class FlowInfo {
 			return;
 		}
 
-		int unused_index= getIndex(UNUSED);
-		for (int i= 0; i < fAccessModes.length; i++) {
-			fAccessModes[i]= ACCESS_MODE_CONDITIONAL_TABLE
-				[getIndex(fAccessModes[i])]
-				[unused_index];
-		}
-	}
-
-	private static int getIndex(int accessMode) {
-		 // Fast log function
-		 switch (accessMode) {
-		 	case UNUSED:
-		 		return 0;
-		 	case READ:
-		 		return 1;
-		 	case READ_POTENTIAL:
-		 		return 2;
-		 	case WRITE:
-		 		return 3;
-		 	case WRITE_POTENTIAL:
-		 		return 4;
-		 	case UNKNOWN:
-		 		return 5;
-		 }
-		 return -1;
+		fAccessModes.mergeConditional(null);
 	}
 }
 
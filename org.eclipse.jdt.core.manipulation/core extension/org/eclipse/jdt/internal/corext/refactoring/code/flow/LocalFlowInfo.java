@@ -25,7 +25,7 @@ class LocalFlowInfo extends FlowInfo {
 		fVariableId= binding.getVariableId();
 		if (context.considerAccessMode()) {
 			createAccessModeArray(context);
-			fAccessModes[fVariableId - context.getStartingIndex()]= localAccessMode;
+			fAccessModes.set(fVariableId - context.getStartingIndex(), localAccessMode);
 			context.manageLocal(binding);
 		}
 	}
@@ -35,13 +35,13 @@ class LocalFlowInfo extends FlowInfo {
 		fVariableId= info.fVariableId;
 		if (context.considerAccessMode()) {
 			createAccessModeArray(context);
-			fAccessModes[fVariableId - context.getStartingIndex()]= localAccessMode;
+			fAccessModes.set(fVariableId - context.getStartingIndex(), localAccessMode);
 		}
 	}
 
 	public void setWriteAccess(FlowContext context) {
 		if (context.considerAccessMode()) {
-			fAccessModes[fVariableId - context.getStartingIndex()]= FlowInfo.WRITE;
+			fAccessModes.set(fVariableId - context.getStartingIndex(), FlowInfo.WRITE);
 		}
 	}
 }
@@ -15,18 +15,21 @@
 package org.eclipse.jdt.internal.corext.refactoring.generics;
 
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 
@@ -48,6 +51,7 @@ import org.eclipse.jdt.internal.corext.refactoring.typeconstraints2.ITypeConstra
 import org.eclipse.jdt.internal.corext.refactoring.typeconstraints2.IndependentTypeVariable2;
 import org.eclipse.jdt.internal.corext.refactoring.typeconstraints2.TTypes;
 import org.eclipse.jdt.internal.corext.refactoring.typeconstraints2.TypeEquivalenceSet;
+import org.eclipse.jdt.internal.corext.refactoring.util.ParallelTaskRunner;
 
 import org.eclipse.jdt.internal.ui.util.Progress;
 
@@ -62,24 +66,58 @@ public class InferTypeArgumentsConstraintsSolver {
 		public static TTypeComparator INSTANCE= new TTypeComparator();
 	}
 
+	/**
+	 * The work-list used by the type constraint solver to hold the set of
+	 * nodes in the constraint graph that remain to be (re-)processed. A
+	 * variable is contained at most once.
+	 */
+	private static class WorkList {
+		private final ArrayDeque<ConstraintVariable2> fQueue= new ArrayDeque<>();
+		private final Set<ConstraintVariable2> fMembers= Collections.newSetFromMap(new IdentityHashMap<>());
+
+		public void addAll(ConstraintVariable2[] cvs) {
+			for (ConstraintVariable2 cv : cvs) {
+				if (fMembers.add(cv))
+					fQueue.addLast(cv);
+			}
+		}
+
+		public ConstraintVariable2 removeFirst() {
+			ConstraintVariable2 cv= fQueue.removeFirst();
+			fMembers.remove(cv);
+			return cv;
+		}
+
+		public boolean isEmpty() {
+			return fQueue.isEmpty();
+		}
+
+		public int size() {
+			return fQueue.size();
+		}
+	}
+
 	private final static String CHOSEN_TYPE= "chosenType"; //$NON-NLS-1$
 
-	private final InferTypeArgumentsTCModel fTCModel;
-	private TypeSetEnvironment fTypeSetEnvironment;
+	/**
+	 * Minimal number of constraint variables for which the independent components of the
+	 * constraint graph are solved in parallel.
+	 */
+	private static int fgParallelSolvingThreshold= 5000;
 
 	/**
-	 * The work-list used by the type constraint solver to hold the set of
-	 * nodes in the constraint graph that remain to be (re-)processed. Entries
-	 * are <code>ConstraintVariable2</code>s.
+	 * Number of batches of components per solver thread, to balance the load of the threads.
 	 */
-	private LinkedList<ConstraintVariable2> fWorkList;
+	private static final int BATCHES_PER_THREAD= 4;
+
+	private final InferTypeArgumentsTCModel fTCModel;
+	private TypeSetEnvironment fTypeSetEnvironment;
 
 	private InferTypeArgumentsUpdate fUpdate;
 
 
 	public InferTypeArgumentsConstraintsSolver(InferTypeArgumentsTCModel typeConstraintFactory) {
 		fTCModel= typeConstraintFactory;
-		fWorkList= new LinkedList<>();
 	}
 
 	public InferTypeArgumentsUpdate solveConstraints(IProgressMonitor pm) {
@@ -120,31 +158,172 @@ public class InferTypeArgumentsConstraintsSolver {
 			fTCModel.createElementEqualsConstraints(typeConstraint.getLeft(), typeConstraint.getRight());
 		}
 
-		initializeTypeEstimates(allConstraintVariables);
-		if (pm.isCanceled())
-			throw new OperationCanceledException();
-		fWorkList.addAll(Arrays.asList(allConstraintVariables));
-		runSolver(Progress.subMonitor(pm, 1));
+		int threads= ParallelTaskRunner.getThreadCount(allConstraintVariables.length);
+		List<List<ConstraintVariable2[]>> batches= null;
+		if (threads > 1 && allConstraintVariables.length >= fgParallelSolvingThreshold)
+			batches= createBatches(computeComponents(allConstraintVariables), allConstraintVariables.length, threads * BATCHES_PER_THREAD);
+		if (batches != null && batches.size() > 1) {
+			solveInParallel(batches, Progress.subMonitor(pm, 1));
+		} else {
+			initializeTypeEstimates(allConstraintVariables, fTypeSetEnvironment);
+			if (pm.isCanceled())
+				throw new OperationCanceledException();
+			WorkList workList= new WorkList();
+			workList.addAll(allConstraintVariables);
+			runSolver(workList, Progress.subMonitor(pm, 1));
+		}
 		chooseTypes(allConstraintVariables, Progress.subMonitor(pm, 1));
 		findCastsToRemove(fTCModel.getCastVariables());
 		return fUpdate;
 	}
 
-	private void initializeTypeEstimates(ConstraintVariable2[] allConstraintVariables) {
+	/**
+	 * Computes the connected components of the constraint graph. Two variables are connected if
+	 * they are used in the same type constraint or belong to the same type equivalence set. The
+	 * type estimates of different components never influence each other.
+	 *
+	 * @param allConstraintVariables all constraint variables
+	 * @return the components, in the order of their first variable in
+	 *         <code>allConstraintVariables</code>
+	 */
+	private List<ConstraintVariable2[]> computeComponents(ConstraintVariable2[] allConstraintVariables) {
+		Map<ConstraintVariable2, ConstraintVariable2> parents= new IdentityHashMap<>();
+		for (ConstraintVariable2 cv : allConstraintVariables) {
+			parents.put(cv, cv);
+			TypeEquivalenceSet set= cv.getTypeEquivalenceSet();
+			if (set != null) {
+				for (ConstraintVariable2 contributing : set.getContributingVariables())
+					union(parents, cv, contributing);
+			}
+		}
+		for (ITypeConstraint2 typeConstraint : fTCModel.getAllTypeConstraints())
+			union(parents, typeConstraint.getLeft(), typeConstraint.getRight());
+
+		Map<ConstraintVariable2, List<ConstraintVariable2>> components= new LinkedHashMap<>();
+		for (ConstraintVariable2 cv : allConstraintVariables)
+			components.computeIfAbsent(find(parents, cv), rep -> new ArrayList<>()).add(cv);
+		List<ConstraintVariable2[]> result= new ArrayList<>(components.size());
+		for (List<ConstraintVariable2> component : components.values())
+			result.add(component.toArray(new ConstraintVariable2[component.size()]));
+		return result;
+	}
+
+	private static ConstraintVariable2 find(Map<ConstraintVariable2, ConstraintVariable2> parents, ConstraintVariable2 cv) {
+		ConstraintVariable2 root= parents.get(cv);
+		if (root == null) {
+			parents.put(cv, cv);
+			return cv;
+		}
+		ConstraintVariable2 parent= parents.get(root);
+		while (parent != root) {
+			root= parent;
+			parent= parents.get(root);
+		}
+		//path compression:
+		ConstraintVariable2 current= cv;
+		while (current != root)
+			current= parents.put(current, root);
+		return root;
+	}
+
+	private static void union(Map<ConstraintVariable2, ConstraintVariable2> parents, ConstraintVariable2 first, ConstraintVariable2 second) {
+		ConstraintVariable2 firstRoot= find(parents, first);
+		ConstraintVariable2 secondRoot= find(parents, second);
+		if (firstRoot != secondRoot)
+			parents.put(firstRoot, secondRoot);
+	}
+
+	/**
+	 * Groups the components into batches of similar size. Batches are solved independently.
+	 *
+	 * @param components the components
+	 * @param variablesCount the number of variables in all components
+	 * @param maxBatches the desired number of batches
+	 * @return the batches
+	 */
+	private static List<List<ConstraintVariable2[]>> createBatches(List<ConstraintVariable2[]> components, int variablesCount, int maxBatches) {
+		int batchSize= Math.max(1, variablesCount / maxBatches);
+		List<List<ConstraintVariable2[]>> batches= new ArrayList<>();
+		List<ConstraintVariable2[]> batch= new ArrayList<>();
+		int size= 0;
+		for (ConstraintVariable2[] component : components) {
+			batch.add(component);
+			size+= component.length;
+			if (size >= batchSize) {
+				batches.add(batch);
+				batch= new ArrayList<>();
+				size= 0;
+			}
+		}
+		if (!batch.isEmpty())
+			batches.add(batch);
+		return batches;
+	}
+
+	/**
+	 * Solves the batches of components in parallel. Every batch gets its own type set environment,
+	 * so that type sets are never shared between threads. The type environment of the model is
+	 * shared, it is safe for concurrent use.
+	 *
+	 * @param batches the batches of components
+	 * @param pm the progress monitor
+	 */
+	private void solveInParallel(List<List<ConstraintVariable2[]>> batches, IProgressMonitor pm) {
+		pm.beginTask("", batches.size()); //$NON-NLS-1$
+		ParallelTaskRunner.Task<List<ConstraintVariable2[]>, Void> task= (batch, monitor) -> {
+			TypeSetEnvironment typeSetEnvironment= new TypeSetEnvironment(fTCModel.getTypeEnvironment());
+			for (ConstraintVariable2[] component : batch) {
+				initializeTypeEstimates(component, typeSetEnvironment);
+				WorkList workList= new WorkList();
+				workList.addAll(component);
+				runSolver(workList, monitor);
+			}
+			return null;
+		};
+		try (ParallelTaskRunner<List<ConstraintVariable2[]>, Void> runner= new ParallelTaskRunner<>(batches, task, pm)) {
+			for (int i= 0; i < batches.size(); i++) {
+				runner.get(i);
+				pm.worked(1);
+			}
+		} catch (CoreException e) {
+			// the solver does not throw checked exceptions
+			throw new IllegalStateException(e);
+		} finally {
+			pm.done();
+		}
+	}
+
+	/**
+	 * Sets the minimal number of constraint variables for which independent components of the
+	 * constraint graph are solved in parallel.
+	 * <p>
+	 * <strong>NOTE:</strong> Use only for testing.
+	 * </p>
+	 *
+	 * @param threshold the minimal number of constraint variables
+	 * @return the previous threshold
+	 */
+	public static int setParallelSolvingThreshold(int threshold) {
+		int previous= fgParallelSolvingThreshold;
+		fgParallelSolvingThreshold= threshold;
+		return previous;
+	}
+
+	private void initializeTypeEstimates(ConstraintVariable2[] allConstraintVariables, TypeSetEnvironment typeSetEnvironment) {
 		for (ConstraintVariable2 cv : allConstraintVariables) {
 			//TODO: not necessary for types that are not used in a TypeConstraint but only as type in CollectionElementVariable
 			//TODO: handle nested element variables; see ParametricStructureComputer.createAndInitVars()
 			TypeEquivalenceSet set= cv.getTypeEquivalenceSet();
 			if (set == null) {
 				set= new TypeEquivalenceSet(cv);
-				set.setTypeEstimate(createInitialEstimate(cv));
+				set.setTypeEstimate(createInitialEstimate(cv, typeSetEnvironment));
 				cv.setTypeEquivalenceSet(set);
 			} else {
 				TypeSet typeEstimate= (TypeSet) cv.getTypeEstimate();
 				if (typeEstimate == null) {
-					typeEstimate= fTypeSetEnvironment.getUniverseTypeSet();
+					typeEstimate= typeSetEnvironment.getUniverseTypeSet();
 					for (ConstraintVariable2 c : set.getContributingVariables()) { //TODO: optimize: just try to find an immutable CV; if not found, use Universe
-						typeEstimate= typeEstimate.intersectedWith(createInitialEstimate(c));
+						typeEstimate= typeEstimate.intersectedWith(createInitialEstimate(c, typeSetEnvironment));
 					}
 					set.setTypeEstimate(typeEstimate);
 				}
@@ -152,7 +331,7 @@ public class InferTypeArgumentsConstraintsSolver {
 		}
 	}
 
-	private TypeSet createInitialEstimate(ConstraintVariable2 cv) {
+	private static TypeSet createInitialEstimate(ConstraintVariable2 cv, TypeSetEnvironment typeSetEnvironment) {
 		// TODO: check assumption: only immutable CVs have a type
 //		ParametricStructure parametricStructure= fElemStructureEnv.elemStructure(cv);
 //		if (parametricStructure != null && parametricStructure != ParametricStructureComputer.ParametricStructure.NONE) {
@@ -163,7 +342,7 @@ public class InferTypeArgumentsConstraintsSolver {
 		if (type == null
 				|| cv instanceof IndependentTypeVariable2
 				|| cv instanceof ArrayTypeVariable2) {
-			return fTypeSetEnvironment.getUniverseTypeSet();
+			return typeSetEnvironment.getUniverseTypeSet();
 			//TODO: solve problem with recursive bounds
 //			TypeVariable tv= (TypeVariable) type;
 //			TType[] bounds= tv.getBounds();
@@ -175,25 +354,25 @@ public class InferTypeArgumentsConstraintsSolver {
 
 		} else if (cv instanceof ArrayElementVariable2) {
 			if (cv.getType() != null && cv.getType().isTypeVariable()) {
-				return fTypeSetEnvironment.getUniverseTypeSet();
+				return typeSetEnvironment.getUniverseTypeSet();
 			} else {
-				return new SingletonTypeSet(type, fTypeSetEnvironment);
+				return new SingletonTypeSet(type, typeSetEnvironment);
 			}
 
 		} else if (type.isVoidType()) {
-			return fTypeSetEnvironment.getEmptyTypeSet();
+			return typeSetEnvironment.getEmptyTypeSet();
 		} else {
-			return new SingletonTypeSet(type, fTypeSetEnvironment);
+			return new SingletonTypeSet(type, typeSetEnvironment);
 		}
 	}
 
-	private void runSolver(IProgressMonitor pm) {
-		pm.beginTask("", fWorkList.size() * 3); //$NON-NLS-1$
-		while (! fWorkList.isEmpty()) {
+	private void runSolver(WorkList workList, IProgressMonitor pm) {
+		pm.beginTask("", workList.size() * 3); //$NON-NLS-1$
+		while (! workList.isEmpty()) {
 			// Get a variable whose type estimate has changed
-			ConstraintVariable2 cv= fWorkList.removeFirst();
+			ConstraintVariable2 cv= workList.removeFirst();
 			List<ITypeConstraint2> usedIn= fTCModel.getUsedIn(cv);
-			processConstraints(usedIn);
+			processConstraints(usedIn, workList);
 			pm.worked(1);
 			if (pm.isCanceled())
 				throw new OperationCanceledException();
@@ -209,13 +388,14 @@ public class InferTypeArgumentsConstraintsSolver {
 	 *
 	 * @param usedIn the <code>List</code> of <code>ITypeConstraint2</code>s
 	 * to process
+	 * @param workList the work list to which variables with changed type estimates are added
 	 */
-	private void processConstraints(List<ITypeConstraint2> usedIn) {
+	private void processConstraints(List<ITypeConstraint2> usedIn, WorkList workList) {
 		Iterator<ITypeConstraint2> iter= usedIn.iterator();
 		while (iter.hasNext()) {
 			ITypeConstraint2 tc= iter.next();
 
-				maintainSimpleConstraint(tc);
+				maintainSimpleConstraint(tc, workList);
 				//TODO: prune tcs which cannot cause further changes
 				// Maybe these should be pruned after a special first loop over all ConstraintVariables,
 				// Since this can only happen once for every CV in the work list.
@@ -224,7 +404,7 @@ public class InferTypeArgumentsConstraintsSolver {
 		}
 	}
 
-	private void maintainSimpleConstraint(ITypeConstraint2 stc) {
+	private void maintainSimpleConstraint(ITypeConstraint2 stc, WorkList workList) {
 		ConstraintVariable2 left= stc.getLeft();
 		ConstraintVariable2 right= stc.getRight();
 
@@ -249,7 +429,7 @@ public class InferTypeArgumentsConstraintsSolver {
 //				throw new IllegalStateException("Type estimate set is now empty for LHS in " + left + " <= " + right + "; estimates were " + leftEstimate + " <= " + rightEstimate); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 
 			leftSet.setTypeEstimate(xsection);
-			fWorkList.addAll(Arrays.asList(leftSet.getContributingVariables()));
+			workList.addAll(leftSet.getContributingVariables());
 		}
 		if (! lhsSuperTypes.containsAll(rightEstimate)) {
 			TypeSet xsection= rightEstimate.intersectedWith(lhsSuperTypes);
@@ -258,7 +438,7 @@ public class InferTypeArgumentsConstraintsSolver {
 //				throw new IllegalStateException("Type estimate set is now empty for RHS in " + left + " <= " + right + "; estimates were " + leftEstimate + " <= " + rightEstimate); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 
 			rightSet.setTypeEstimate(xsection);
-			fWorkList.addAll(Arrays.asList(rightSet.getContributingVariables()));
+			workList.addAll(rightSet.getContributingVariables());
 		}
 	}
 
@@ -20,10 +20,12 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.Assert;
@@ -32,6 +34,8 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IRegion;
 import org.eclipse.jdt.core.IType;
@@ -47,8 +51,10 @@ import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringScopeFactory;
 import org.eclipse.jdt.internal.corext.refactoring.base.ReferencesInBinaryContext;
+import org.eclipse.jdt.internal.corext.refactoring.util.ParallelTaskRunner;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
 import org.eclipse.jdt.internal.corext.util.SearchUtils;
@@ -57,6 +63,11 @@ import org.eclipse.jdt.internal.ui.util.Progress;
 
 public class RippleMethodFinder2 {
 
+	private static final String PHASE_DECLARATIONS= "search for declarations"; //$NON-NLS-1$
+	private static final String PHASE_HIERARCHY= "hierarchy of declarations"; //$NON-NLS-1$
+	private static final String PHASE_PARTITIONING= "partitioning"; //$NON-NLS-1$
+	private static final String PHASE_MARRIED_TYPES= "search for married types"; //$NON-NLS-1$
+
 	private final IMethod fMethod;
 	private Set<IMethod> fDeclarations;
 	private ITypeHierarchy fHierarchy;
@@ -71,6 +82,11 @@ public class RippleMethodFinder2 {
 	private Map<IMethod, SearchMatch> fDeclarationToMatch;
 	private boolean fSearchOnlyInCompilationUnit = false;
 
+	private RefactoringStatus fStatus;
+	private Map<String, Long> fPhaseTimes;
+	private String fCurrentPhase;
+	private long fPhaseStart;
+
 	private static class MultiMap<K, V> {
 		HashMap<K, Collection<V>> fImplementation= new HashMap<>();
 
@@ -87,54 +103,78 @@ public class RippleMethodFinder2 {
 			return fImplementation.get(key);
 		}
 	}
+	/**
+	 * Disjoint sets of types, with path compression and union by rank.
+	 */
 	private static class UnionFind {
-		HashMap<IType, IType> fElementToRepresentative= new HashMap<>();
+		HashMap<IType, IType> fElementToParent= new HashMap<>();
+		HashMap<IType, Integer> fRepresentativeToRank= new HashMap<>();
 
 		public void init(IType type) {
-			fElementToRepresentative.put(type, type);
+			fElementToParent.put(type, type);
+			fRepresentativeToRank.put(type, Integer.valueOf(0));
 		}
 
-		//path compression:
+		/**
+		 * @param element the element
+		 * @return the representative of the set of the element, or <code>null</code> if the
+		 *         element has not been initialized
+		 */
 		public IType find(IType element) {
-			IType root= element;
-			IType rep= fElementToRepresentative.get(root);
-			Set<IType> visited=new HashSet<>();
-			while (rep != null && visited.add(root)) {
-				root= rep;
-				rep= fElementToRepresentative.get(root);
-			}
-			if (rep == null)
+			IType root= fElementToParent.get(element);
+			if (root == null)
 				return null;
 
-			rep= fElementToRepresentative.get(element);
-			while (! rep.equals(root)) {
-				IType temp= element;
-				element= rep;
-				fElementToRepresentative.put(temp, root);
-				rep= fElementToRepresentative.get(element);
+			IType parent= fElementToParent.get(root);
+			while (!parent.equals(root)) {
+				root= parent;
+				parent= fElementToParent.get(root);
+			}
+			//path compression:
+			IType current= element;
+			while (!current.equals(root)) {
+				current= fElementToParent.put(current, root);
 			}
 			return root;
 		}
 
-//		//straightforward:
-//		public IType find(IType element) {
-//			IType current= element;
-//			IType rep= (IType) fElementToRepresentative.get(current);
-//			while (rep != null && ! rep.equals(current)) {
-//				current= rep;
-//				rep= (IType) fElementToRepresentative.get(current);
-//			}
-//			if (rep == null)
-//				return null;
-//			else
-//				return current;
-//		}
-
-		public void union(IType rep1, IType rep2) {
-			fElementToRepresentative.put(rep1, rep2);
+		/**
+		 * Unites the sets of the given elements, which must have been initialized.
+		 *
+		 * @param element1 the first element
+		 * @param element2 the second element
+		 * @return the representative of the united set
+		 */
+		public IType union(IType element1, IType element2) {
+			IType rep1= find(element1);
+			IType rep2= find(element2);
+			if (rep1.equals(rep2))
+				return rep1;
+
+			int rank1= fRepresentativeToRank.get(rep1).intValue();
+			int rank2= fRepresentativeToRank.get(rep2).intValue();
+			if (rank1 < rank2) {
+				fElementToParent.put(rep1, rep2);
+				fRepresentativeToRank.remove(rep1);
+				return rep2;
+			}
+			fElementToParent.put(rep2, rep1);
+			fRepresentativeToRank.remove(rep2);
+			if (rank1 == rank2)
+				fRepresentativeToRank.put(rep1, Integer.valueOf(rank1 + 1));
+			return rep1;
 		}
 	}
 
+	private interface HierarchyRequestor {
+		/**
+		 * @param type the type
+		 * @param hierarchy the type hierarchy of the type
+		 * @return <code>false</code> if no more hierarchies are needed
+		 * @throws JavaModelException if accessing the hierarchy fails
+		 */
+		boolean acceptHierarchy(IType type, ITypeHierarchy hierarchy) throws JavaModelException;
+	}
 
 	private RippleMethodFinder2(IMethod method, boolean excludeBinaries, boolean searchOnlyInCompilationUnit){
 		fMethod= method;
@@ -143,11 +183,12 @@ public class RippleMethodFinder2 {
 		fBinaryRefs= null;
 	}
 
-	private RippleMethodFinder2(IMethod method, ReferencesInBinaryContext binaryRefs) {
+	private RippleMethodFinder2(IMethod method, ReferencesInBinaryContext binaryRefs, RefactoringStatus status) {
 		fMethod= method;
 		fExcludeBinaries= true;
 		fDeclarationToMatch= new HashMap<>();
 		fBinaryRefs= binaryRefs;
+		fStatus= status;
 	}
 
 	public static IMethod[] getRelatedMethods(IMethod method, boolean excludeBinaries, IProgressMonitor pm, WorkingCopyOwner owner) throws CoreException {
@@ -175,18 +216,42 @@ public class RippleMethodFinder2 {
 	}
 
 	public static IMethod[] getRelatedMethods(IMethod method, ReferencesInBinaryContext binaryRefs, IProgressMonitor pm, WorkingCopyOwner owner) throws CoreException {
+		return getRelatedMethods(method, binaryRefs, null, pm, owner);
+	}
+
+	/**
+	 * Finds the methods related to the given method.
+	 *
+	 * @param method the method
+	 * @param binaryRefs the context that collects the related binary methods
+	 * @param status the status to which the time spent in each phase is reported when tracing is
+	 *            enabled, or <code>null</code>
+	 * @param pm the progress monitor
+	 * @param owner the working copy owner, or <code>null</code>
+	 * @return the related methods in source
+	 * @throws CoreException if the search fails
+	 */
+	public static IMethod[] getRelatedMethods(IMethod method, ReferencesInBinaryContext binaryRefs, RefactoringStatus status, IProgressMonitor pm, WorkingCopyOwner owner) throws CoreException {
 		try {
 			if (! MethodChecks.isVirtual(method))
 				return new IMethod[]{ method };
 
-			return new RippleMethodFinder2(method, binaryRefs).getAllRippleMethods(pm, owner);
+			return new RippleMethodFinder2(method, binaryRefs, status).getAllRippleMethods(pm, owner);
 		} finally{
 			pm.done();
 		}
 	}
 
 	private IMethod[] getAllRippleMethods(IProgressMonitor pm, WorkingCopyOwner owner) throws CoreException {
-		IMethod[] rippleMethods= findAllRippleMethods(pm, owner);
+		if (JavaManipulationPlugin.DEBUG_RIPPLE_METHOD_FINDER)
+			fPhaseTimes= new LinkedHashMap<>();
+		IMethod[] rippleMethods;
+		try {
+			rippleMethods= findAllRippleMethods(pm, owner);
+		} finally {
+			startPhase(null);
+		}
+		reportPhaseTimes();
 		if (fDeclarationToMatch == null)
 			return rippleMethods;
 
@@ -206,6 +271,7 @@ public class RippleMethodFinder2 {
 	private IMethod[] findAllRippleMethods(IProgressMonitor pm, WorkingCopyOwner owner) throws CoreException {
 		pm.beginTask("", 4); //$NON-NLS-1$
 
+		startPhase(PHASE_DECLARATIONS);
 		findAllDeclarations(Progress.subMonitor(pm, 1), owner);
 
 		//TODO: report assertion as error status and fall back to only return fMethod
@@ -218,8 +284,10 @@ public class RippleMethodFinder2 {
 			}
 		}
 
+		startPhase(PHASE_HIERARCHY);
 		createHierarchyOfDeclarations(Progress.subMonitor(pm, 1), owner);
 		addMissedSuperTypes();
+		startPhase(PHASE_PARTITIONING);
 		createTypeToMethod();
 		createUnionFind();
 		checkCanceled(pm);
@@ -272,6 +340,7 @@ public class RippleMethodFinder2 {
 		if (! hasRelatedInterfaces && ! hasAlienInterfaces) //no nasty marriage scenarios without interfaces...
 			return toArray(relatedMethods);
 
+		startPhase(PHASE_MARRIED_TYPES);
 		/*
 		 * Go down the hierarchy of the type under rename, and build hierarchies of its sub-types.
 		 * Check if any sub-type implements another interface with the same method name.
@@ -293,6 +362,7 @@ public class RippleMethodFinder2 {
 		HashSet<IType> relatedSubTypes= new HashSet<>();
 		List<IType> relatedTypesToProcess= new ArrayList<>(relatedTypes);
 		while (relatedTypesToProcess.size() > 0) {
+			computeRootHierarchies(pm, owner, relatedTypesToProcess, alienTypes);
 			//TODO: would only need subtype hierarchies of all top-of-ripple relatedTypesToProcess
 			for (IType relatedType : relatedTypesToProcess) {
 				checkCanceled(pm);
@@ -350,28 +420,27 @@ public class RippleMethodFinder2 {
 	 * @param methodHierarchy the type hierarchy of the method under rename
 	 * @param methodTypeSubtypes the sub-types of the type under rename
 	 * @return {@code false} if there can be no married alien types to the method under rename, {@code true} otherwise.
-	 * @throws JavaModelException if creating a type hierarchy fails
+	 * @throws CoreException if creating a type hierarchy fails
 	 */
-	private boolean couldHaveMarriedAlienTypes(IProgressMonitor pm, WorkingCopyOwner owner, ITypeHierarchy methodHierarchy, IType[] methodTypeSubtypes) throws JavaModelException {
+	private boolean couldHaveMarriedAlienTypes(IProgressMonitor pm, WorkingCopyOwner owner, ITypeHierarchy methodHierarchy, IType[] methodTypeSubtypes) throws CoreException {
 		Set<IType> allTypesInMethodHierarchy= new HashSet<>(Arrays.asList(methodHierarchy.getAllClasses()));
 		allTypesInMethodHierarchy.addAll(Arrays.asList(methodHierarchy.getAllInterfaces()));
 
-
-		for (IType methodTypeSubtype : methodTypeSubtypes) {
-			checkCanceled(pm);
-			ITypeHierarchy subtypeHierarchy= methodTypeSubtype.newTypeHierarchy(owner, pm);
+		boolean[] couldHaveMarriedAlienTypes= new boolean[1];
+		computeHierarchies(pm, owner, Arrays.asList(methodTypeSubtypes), (methodTypeSubtype, subtypeHierarchy) -> {
 			IType[] subtypeSuperTypes= subtypeHierarchy.getAllSupertypes(methodTypeSubtype);
 			for (IType subtypeSuperType : subtypeSuperTypes) {
 				checkCanceled(pm);
 				if (!allTypesInMethodHierarchy.contains(subtypeSuperType)) {
 					if (definesSimilarMethod(subtypeSuperType, fMethod)) {
-						return true;
+						couldHaveMarriedAlienTypes[0]= true;
+						return false;
 					}
 				}
 			}
-		}
-
-		return false;
+			return true;
+		});
+		return couldHaveMarriedAlienTypes[0];
 	}
 
 	/**
@@ -401,6 +470,78 @@ public class RippleMethodFinder2 {
 		}
 	}
 
+	/**
+	 * Computes the hierarchies of all roots of the partitions of the given types that are not
+	 * computed yet.
+	 *
+	 * @param pm the progress monitor
+	 * @param owner the working copy owner
+	 * @param relatedTypes the related types
+	 * @param alienTypes the alien types
+	 * @throws CoreException if creating a type hierarchy fails
+	 */
+	private void computeRootHierarchies(IProgressMonitor pm, WorkingCopyOwner owner, Collection<IType> relatedTypes, Collection<IType> alienTypes) throws CoreException {
+		Set<IType> roots= new LinkedHashSet<>();
+		for (Collection<IType> types : List.of(relatedTypes, alienTypes)) {
+			for (IType type : types) {
+				IType rep= fUnionFind.find(type);
+				Collection<IType> repRoots= rep != null ? fRootReps.get(rep) : null;
+				if (repRoots != null) {
+					for (IType root : repRoots) {
+						if (!fRootHierarchies.containsKey(root))
+							roots.add(root);
+					}
+				}
+			}
+		}
+		computeHierarchies(pm, owner, roots, (root, hierarchy) -> {
+			fRootHierarchies.put(root, hierarchy);
+			return true;
+		});
+	}
+
+	/**
+	 * Computes the type hierarchies of the given types concurrently, using a bounded number of
+	 * threads. The requestor is always called in the calling thread.
+	 *
+	 * @param pm the progress monitor
+	 * @param owner the working copy owner
+	 * @param types the types for which to compute the hierarchies
+	 * @param requestor the requestor that receives the hierarchies in the order of the types
+	 * @throws CoreException if creating a type hierarchy fails
+	 */
+	private static void computeHierarchies(IProgressMonitor pm, WorkingCopyOwner owner, Collection<IType> types, HierarchyRequestor requestor) throws CoreException {
+		List<IType> list= new ArrayList<>(types);
+		try (ParallelTaskRunner<IType, ITypeHierarchy> runner= new ParallelTaskRunner<>(list, (type, monitor) -> type.newTypeHierarchy(owner, Progress.subMonitor(monitor, 1)), pm)) {
+			for (int i= 0; i < list.size(); i++) {
+				if (!requestor.acceptHierarchy(list.get(i), runner.get(i)))
+					return;
+			}
+		}
+	}
+
+	private void startPhase(String phase) {
+		if (fPhaseTimes == null)
+			return;
+		long now= System.nanoTime();
+		if (fCurrentPhase != null)
+			fPhaseTimes.merge(fCurrentPhase, Long.valueOf(now - fPhaseStart), Long::sum);
+		fCurrentPhase= phase;
+		fPhaseStart= now;
+	}
+
+	private void reportPhaseTimes() {
+		if (fPhaseTimes == null)
+			return;
+		for (Map.Entry<String, Long> entry : fPhaseTimes.entrySet()) {
+			String message= "RippleMethodFinder2: " + entry.getKey() + " took " + TimeUnit.NANOSECONDS.toMillis(entry.getValue().longValue()) + " ms"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			if (fStatus != null)
+				fStatus.addInfo(message);
+			else
+				System.out.println(message);
+		}
+	}
+
 	private ITypeHierarchy hierarchy(IProgressMonitor pm, WorkingCopyOwner owner, IType type)
 			throws JavaModelException {
 		ITypeHierarchy hierarchy= getCachedHierarchy(type, owner, Progress.subMonitor(pm, 1));
@@ -526,8 +667,7 @@ public class RippleMethodFinder2 {
 				Collection<IMethod> superMethods= fTypeToMethod.get(supertype);
 				for (IMethod superMethod : superMethods) {
 					if (JavaModelUtil.isVisibleInHierarchy(superMethod, anchor.getPackageFragment())) {
-						IType rep= fUnionFind.find(anchor);
-						fUnionFind.union(rep, superRep);
+						fUnionFind.union(anchor, superRep);
 						// current type is no root anymore
 						fRootTypes.remove(anchor);
 						uniteWithSupertypes(supertype, supertype);
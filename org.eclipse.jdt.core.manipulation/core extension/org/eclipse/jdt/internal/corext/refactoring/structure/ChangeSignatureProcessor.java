@@ -157,6 +157,8 @@ import org.eclipse.jdt.internal.corext.refactoring.util.JavaElementUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavadocUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry.Phase;
 import org.eclipse.jdt.internal.corext.refactoring.util.ResourceUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
 import org.eclipse.jdt.internal.corext.refactoring.util.TightSourceRangeComputer;
@@ -203,6 +205,7 @@ public class ChangeSignatureProcessor extends RefactoringProcessor implements ID
 	private ITypeHierarchy fCachedTypeHierarchy= null;
 	private boolean fDelegateUpdating;
 	private boolean fDelegateDeprecation;
+	private final RefactoringTelemetry fTelemetry= new RefactoringTelemetry();
 
 	public ChangeSignatureProcessor(JavaRefactoringArguments arguments, RefactoringStatus status) throws JavaModelException {
 		this((IMethod) null);
@@ -721,7 +724,7 @@ public class ChangeSignatureProcessor extends RefactoringProcessor implements ID
 
 	@Override
 	public RefactoringStatus checkInitialConditions(IProgressMonitor monitor) throws CoreException {
-		try {
+		try (RefactoringTelemetry.PhaseTimer timer= fTelemetry.start(Phase.CHECK_INITIAL_CONDITIONS)) {
 			monitor.beginTask("", 5); //$NON-NLS-1$
 			RefactoringStatus result= Checks.checkIfCuBroken(fMethod);
 			if (result.hasFatalError())
@@ -801,7 +804,7 @@ public class ChangeSignatureProcessor extends RefactoringProcessor implements ID
 
 	@Override
 	public RefactoringStatus checkFinalConditions(IProgressMonitor pm, CheckConditionsContext context) throws CoreException, OperationCanceledException {
-		try {
+		try (RefactoringTelemetry.PhaseTimer timer= fTelemetry.start(Phase.CHECK_FINAL_CONDITIONS)) {
 			pm.beginTask(RefactoringCoreMessages.ChangeSignatureRefactoring_checking_preconditions, 8);
 			RefactoringStatus result= new RefactoringStatus();
 			clearManagers();
@@ -1173,7 +1176,7 @@ public class ChangeSignatureProcessor extends RefactoringProcessor implements ID
 	@Override
 	public Change createChange(IProgressMonitor pm) {
 		pm.beginTask("", 1); //$NON-NLS-1$
-		try {
+		try (RefactoringTelemetry.PhaseTimer timer= fTelemetry.start(Phase.CREATE_CHANGE)) {
 			return new DynamicValidationRefactoringChange(createDescriptor(), doGetRefactoringChangeName(), getAllChanges());
 		} finally {
 			clearManagers();
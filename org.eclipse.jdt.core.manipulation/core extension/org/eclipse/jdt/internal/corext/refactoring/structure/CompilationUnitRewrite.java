@@ -332,8 +332,10 @@ public class CompilationUnitRewrite {
 	}
 
 	public CompilationUnit getRoot() {
-		if (fRoot == null)
-			fRoot= new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parse(fCu, fOwner, fResolveBindings, fStatementsRecovery, fBindingsRecovery, null);
+		if (fRoot == null) {
+			// the AST is only changed through the ASTRewrite, so it can be shared with other rewrites
+			fRoot= new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parseShared(fCu, fOwner, fResolveBindings, fStatementsRecovery, fBindingsRecovery, null);
+		}
 		return fRoot;
 	}
 
@@ -14,9 +14,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.structure;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.runtime.Assert;
@@ -55,6 +57,7 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchPattern;
 
 import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelsCore;
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.corext.dom.ModifierRewrite;
 import org.eclipse.jdt.internal.corext.dom.VariableDeclarationRewrite;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
@@ -63,6 +66,7 @@ import org.eclipse.jdt.internal.corext.refactoring.RefactoringSearchEngine2;
 import org.eclipse.jdt.internal.corext.refactoring.SearchResultGroup;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+import org.eclipse.jdt.internal.corext.util.JdtFlags;
 import org.eclipse.jdt.internal.corext.util.LRUMap;
 import org.eclipse.jdt.internal.corext.util.Messages;
 import org.eclipse.jdt.internal.corext.util.SearchUtils;
@@ -459,6 +463,9 @@ public final class MemberVisibilityAdjustor {
 	/** The type hierarchy cache */
 	private final Map<IType, ITypeHierarchy> fTypeHierarchies= new LRUMap<>(10);
 
+	/** The number of search queries issued so far */
+	private int fSearchCount= 0;
+
 	/** The visibility message severity */
 	private int fVisibilitySeverity= RefactoringStatus.WARNING;
 
@@ -500,35 +507,72 @@ public final class MemberVisibilityAdjustor {
 	/**
 	 * Check whether anyone accesses the members of the moved type from the
 	 * outside. Those may need to have their visibility adjusted.
-	 * @param member the member
+	 * <p>
+	 * The references to all members are searched with few combined queries
+	 * instead of one query per member.
+	 * </p>
+	 * @param type the moved type
 	 * @param monitor the progress monitor to use
 	 * @throws JavaModelException if an error occurs
 	 */
-	private void adjustMemberVisibility(final IMember member, final IProgressMonitor monitor) throws JavaModelException {
+	private void adjustMemberVisibility(final IType type, final IProgressMonitor monitor) throws JavaModelException {
+		final List<IMember> members= new ArrayList<>();
+		collectMembersToCheck(type, members);
+		if (members.isEmpty())
+			return;
+		final Map<IJavaElement, SearchResultGroup[]> references= findReferences(members, monitor);
+		for (IMember member : members) {
+			if (fAdjustments.get(member) == null && isReferencedFromOutside(member, references.get(member))) {
+				// check whether the member is still visible from the
+				// destination. As we are moving a type, the destination is
+				// a package or another type.
+				adjustIncomingVisibility(fReferencing, member, Progress.subMonitor(monitor, 1));
+			}
+		}
+	}
 
+	/**
+	 * Collects the non-public members of the moved type whose references have
+	 * to be checked, members of member types first.
+	 * @param member the member
+	 * @param members the list to add the members to
+	 * @throws JavaModelException if an error occurs
+	 */
+	private void collectMembersToCheck(final IMember member, final List<IMember> members) throws JavaModelException {
 		if (member instanceof IType) {
 			// recursively check accessibility of member type's members
 			final IJavaElement[] typeMembers= member.getChildren();
 			for (IJavaElement typeMember : typeMembers) {
 				if (! (typeMember instanceof IInitializer))
-					adjustMemberVisibility((IMember) typeMember, monitor);
+					collectMembersToCheck((IMember) typeMember, members);
 			}
 		}
 
 		if (member.equals(fReferenced) || Modifier.isPublic(member.getFlags()))
 			return;
+		members.add(member);
+	}
 
-		for (SearchResultGroup reference : findReferences(member, monitor)) {
+	/**
+	 * Is the member referenced from outside the moved member?
+	 * @param member the member
+	 * @param references the references to the member, or <code>null</code>
+	 * @return <code>true</code> if it is referenced from outside, <code>false</code> otherwise
+	 * @throws JavaModelException if an error occurs
+	 */
+	private boolean isReferencedFromOutside(final IMember member, final SearchResultGroup[] references) throws JavaModelException {
+		if (references == null)
+			return false;
+		// the combined search covers the scope of the most visible member
+		final IJavaSearchScope scope= JdtFlags.isPrivate(member) ? RefactoringScopeFactory.create(member) : null;
+		for (SearchResultGroup reference : references) {
 			for (SearchMatch searchResult : reference.getSearchResults()) {
 				final IJavaElement referenceToMember= (IJavaElement) searchResult.getElement();
-				if (fAdjustments.get(member) == null && referenceToMember instanceof IMember && !isInsideMovedMember(referenceToMember)) {
-					// check whether the member is still visible from the
-					// destination. As we are moving a type, the destination is
-					// a package or another type.
-					adjustIncomingVisibility(fReferencing, member, Progress.subMonitor(monitor, 1));
-				}
+				if (referenceToMember instanceof IMember && !isInsideMovedMember(referenceToMember) && (scope == null || scope.encloses(referenceToMember)))
+					return true;
 			}
 		}
+		return false;
 	}
 
 	/**
@@ -545,23 +589,23 @@ public final class MemberVisibilityAdjustor {
 	}
 
 	/**
-	 * Finds references to the specified member.
-	 * @param member the member
+	 * Finds references to the specified members.
+	 * @param members the members
 	 * @param monitor the progress monitor to use
-	 * @return the search result groups
+	 * @return the search result groups of each member
 	 * @throws JavaModelException if an error occurs during search
 	 */
-	private SearchResultGroup[] findReferences(final IMember member, final IProgressMonitor monitor) throws JavaModelException {
-		SearchPattern pattern= SearchPattern.createPattern(member, IJavaSearchConstants.REFERENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
-		if (pattern == null) {
-			return new SearchResultGroup[0];
-		}
-		final RefactoringSearchEngine2 engine= new RefactoringSearchEngine2(pattern);
+	private Map<IJavaElement, SearchResultGroup[]> findReferences(final List<IMember> members, final IProgressMonitor monitor) throws JavaModelException {
+		final IMember[] elements= members.toArray(new IMember[members.size()]);
+		final RefactoringSearchEngine2 engine= new RefactoringSearchEngine2();
 		engine.setOwner(fOwner);
 		engine.setFiltering(true, true);
-		engine.setScope(RefactoringScopeFactory.create(member));
-		engine.searchPattern(Progress.subMonitor(monitor, 1));
-		return (SearchResultGroup[]) engine.getResults();
+		engine.setScope(RefactoringScopeFactory.create(elements));
+		try {
+			return engine.searchElements(elements, IJavaSearchConstants.REFERENCES, Progress.subMonitor(monitor, 1));
+		} finally {
+			fSearchCount+= engine.getQueryCount();
+		}
 	}
 
 	/**
@@ -710,10 +754,10 @@ public final class MemberVisibilityAdjustor {
 	 * @throws JavaModelException if an error occurs during search
 	 */
 	public void adjustVisibility(final IProgressMonitor monitor) throws JavaModelException {
+		final RefactoringSearchEngine2 engine= new RefactoringSearchEngine2(SearchPattern.createPattern(fReferenced, IJavaSearchConstants.REFERENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE));
 		try {
 			monitor.beginTask("", 7); //$NON-NLS-1$
 			monitor.setTaskName(RefactoringCoreMessages.MemberVisibilityAdjustor_checking);
-			final RefactoringSearchEngine2 engine= new RefactoringSearchEngine2(SearchPattern.createPattern(fReferenced, IJavaSearchConstants.REFERENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE));
 			engine.setScope(fScope);
 			engine.setStatus(fStatus);
 			engine.setOwner(fOwner);
@@ -744,6 +788,9 @@ public final class MemberVisibilityAdjustor {
 				adjustOutgoingVisibility((SearchResultGroup[]) engine.getResults(), Progress.subMonitor(monitor, 1));
 			}
 		} finally {
+			fSearchCount+= engine.getQueryCount();
+			if (JavaManipulationPlugin.DEBUG_REFACTORING_TELEMETRY)
+				System.out.println("MemberVisibilityAdjustor: " + fSearchCount + " searches for " + getLabel(fReferenced)); //$NON-NLS-1$ //$NON-NLS-2$
 			monitor.done();
 		}
 	}
@@ -981,6 +1028,15 @@ public final class MemberVisibilityAdjustor {
 		return fAdjustments;
 	}
 
+	/**
+	 * Returns the number of search queries issued by {@link #adjustVisibility(IProgressMonitor)}.
+	 *
+	 * @return the number of search queries
+	 */
+	public int getSearchCount() {
+		return fSearchCount;
+	}
+
 	/**
 	 * Returns a compilation unit rewrite for the specified compilation unit.
 	 *
@@ -170,6 +170,7 @@ import org.eclipse.jdt.internal.corext.refactoring.structure.MemberVisibilityAdj
 import org.eclipse.jdt.internal.corext.refactoring.tagging.IDelegateUpdating;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavadocUtil;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTPool;
 import org.eclipse.jdt.internal.corext.refactoring.util.ResourceUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
@@ -1669,7 +1670,7 @@ public final class MoveInstanceMethodProcessor extends MoveProcessor implements
 		Assert.isNotNull(fTarget);
 		final RefactoringStatus status= new RefactoringStatus();
 		fChangeManager= new TextChangeManager();
-		try {
+		try (RefactoringASTPool astPool= RefactoringASTPool.open(getRefactoring())) {
 			monitor.beginTask("", 5); //$NON-NLS-1$
 			monitor.setTaskName(RefactoringCoreMessages.MoveInstanceMethodProcessor_checking);
 			status.merge(Checks.checkIfCuBroken(fMethod));
@@ -132,6 +132,7 @@ import org.eclipse.jdt.internal.corext.refactoring.structure.MemberVisibilityAdj
 import org.eclipse.jdt.internal.corext.refactoring.tagging.IDelegateUpdating;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaElementUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTPool;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.JdtFlags;
 import org.eclipse.jdt.internal.corext.util.Messages;
@@ -145,7 +146,6 @@ public final class MoveStaticMembersProcessor extends MoveProcessor implements I
 
 	private static final String ATTRIBUTE_DELEGATE="delegate"; //$NON-NLS-1$
 	private static final String ATTRIBUTE_DEPRECATE="deprecate"; //$NON-NLS-1$
-	private static final String TRACKED_POSITION_PROPERTY= "MoveStaticMembersProcessor.trackedPosition"; //$NON-NLS-1$
 
 	private IMember[] fMembersToMove;
 	private IType fDestinationType;
@@ -160,6 +160,8 @@ public final class MoveStaticMembersProcessor extends MoveProcessor implements I
 	private BodyDeclaration[] fMemberDeclarations;
 	private boolean fDelegateUpdating;
 	private boolean fDelegateDeprecation;
+	/** The references to the moved members, or <code>null</code> if not searched in advance */
+	private Map<IJavaElement, SearchResultGroup[]> fMemberReferences;
 
 	private static class TypeReferenceFinder extends ASTVisitor {
 		List<IBinding> fResult= new ArrayList<>();
@@ -375,7 +377,7 @@ public final class MoveStaticMembersProcessor extends MoveProcessor implements I
 	@Override
 	public RefactoringStatus checkFinalConditions(IProgressMonitor pm, CheckConditionsContext context) throws CoreException {
 		fTarget= null;
-		try {
+		try (RefactoringASTPool astPool= RefactoringASTPool.open(getRefactoring())) {
 			pm.beginTask(RefactoringCoreMessages.MoveMembersRefactoring_checking, 10);
 
 			RefactoringStatus result= new RefactoringStatus();
@@ -711,7 +713,49 @@ public final class MoveStaticMembersProcessor extends MoveProcessor implements I
 		return BasicElementLabels.getJavaCodeString(accessingType.getFullyQualifiedName('.'));
 	}
 
-	private static SearchResultGroup[] getReferences(IMember member, IProgressMonitor monitor, RefactoringStatus status) throws JavaModelException {
+	/**
+	 * Searches the references to all moved members whose visibility from the referencing types has
+	 * to be checked. The members are searched with few combined queries instead of one query per member.
+	 *
+	 * @param monitor the progress monitor
+	 * @param status the status of the search
+	 * @return the references of the members
+	 * @throws JavaModelException if the search fails
+	 */
+	private Map<IJavaElement, SearchResultGroup[]> findMemberReferences(IProgressMonitor monitor, RefactoringStatus status) throws JavaModelException {
+		List<IMember> members= new ArrayList<>();
+		for (IMember member : fMembersToMove)
+			collectMembersToCheck(member, members);
+		if (members.isEmpty()) {
+			monitor.done();
+			return Collections.emptyMap();
+		}
+		final RefactoringSearchEngine2 engine= new RefactoringSearchEngine2();
+		engine.setFiltering(true, true);
+		engine.setScope(RefactoringScopeFactory.create(members.toArray(new IMember[members.size()])));
+		engine.setStatus(status);
+		return engine.searchElements(members.toArray(new IJavaElement[members.size()]), IJavaSearchConstants.REFERENCES, monitor);
+	}
+
+	private void collectMembersToCheck(IMember member, List<IMember> members) throws JavaModelException {
+		if (member instanceof IType) {
+			for (IJavaElement typeMember : member.getChildren()) {
+				if (!(typeMember instanceof IInitializer))
+					collectMembersToCheck((IMember) typeMember, members);
+			}
+		}
+		if (!(JdtFlags.isPublic(member) && JdtFlags.isPublic(fDestinationType)))
+			members.add(member);
+	}
+
+	private SearchResultGroup[] getReferences(IMember member, IProgressMonitor monitor, RefactoringStatus status) throws JavaModelException {
+		if (fMemberReferences != null) {
+			SearchResultGroup[] references= fMemberReferences.get(member);
+			if (references != null) {
+				monitor.done();
+				return references;
+			}
+		}
 		SearchPattern pattern= SearchPattern.createPattern(member, IJavaSearchConstants.REFERENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
 		if (pattern == null) {
 			return new SearchResultGroup[0];
@@ -814,7 +858,8 @@ public final class MoveStaticMembersProcessor extends MoveProcessor implements I
 		try {
 			Map<IMember, IncomingMemberVisibilityAdjustment> adjustments= new HashMap<>();
 			IProgressMonitor sub= Progress.subMonitorSupressed(monitor, 1);
-			sub.beginTask(RefactoringCoreMessages.MoveMembersRefactoring_creating, fMembersToMove.length);
+			sub.beginTask(RefactoringCoreMessages.MoveMembersRefactoring_creating, fMembersToMove.length + 1);
+			fMemberReferences= findMemberReferences(Progress.subMonitor(sub, 1), status);
 			Set<IMember> rewritten= new HashSet<>();
 			for (IMember member : fMembersToMove) {
 				final MemberVisibilityAdjustor adjustor= new MemberVisibilityAdjustor(fDestinationType, member);
@@ -846,6 +891,7 @@ public final class MoveStaticMembersProcessor extends MoveProcessor implements I
 				rewritten.addAll(adjustments.keySet());
 				adjustor.rewriteVisibility(new NullProgressMonitor());
 			}
+			fMemberReferences= null;
 
 			// First update references in moved members, in order to extract the
 			// source.
@@ -984,6 +1030,8 @@ public final class MoveStaticMembersProcessor extends MoveProcessor implements I
 		boolean targetNeedsSourceImport= false;
 		boolean isSourceNotTarget= fSource != fTarget;
 		Set<IBinding> exclude= new HashSet<>();
+		// the AST may be shared, so the positions are not stored as node properties
+		Map<BodyDeclaration, ITrackedNodePosition> trackedPositions= new HashMap<>();
 		for (BodyDeclaration declaration : members) {
 			if (declaration instanceof AbstractTypeDeclaration) {
 				AbstractTypeDeclaration type= (AbstractTypeDeclaration) declaration;
@@ -1042,8 +1090,7 @@ public final class MoveStaticMembersProcessor extends MoveProcessor implements I
 				}
 				ModifierRewrite.create(fSource.getASTRewrite(), declaration).setModifiers(modifiers, null);
 			}
-			ITrackedNodePosition trackedPosition= fSource.getASTRewrite().track(declaration);
-			declaration.setProperty(TRACKED_POSITION_PROPERTY, trackedPosition);
+			trackedPositions.put(declaration, fSource.getASTRewrite().track(declaration));
 			targetNeedsSourceImport|= analyzer.targetNeedsSourceImport();
 			status.merge(analyzer.getStatus());
 		}
@@ -1063,14 +1110,13 @@ public final class MoveStaticMembersProcessor extends MoveProcessor implements I
 		TextEdit edit= fSource.getASTRewrite().rewriteAST(document, fSource.getCu().getOptions(true));
 		edit.apply(document, TextEdit.UPDATE_REGIONS);
 		for (int i= 0; i < members.length; i++) {
-			updatedMemberSources[i]= getUpdatedMember(document, members[i]);
+			updatedMemberSources[i]= getUpdatedMember(document, trackedPositions.get(members[i]));
 		}
 		fSource.clearASTRewrite();
 		return updatedMemberSources;
 	}
 
-	private String getUpdatedMember(IDocument document, BodyDeclaration declaration) throws BadLocationException {
-		ITrackedNodePosition trackedPosition= (ITrackedNodePosition) declaration.getProperty(TRACKED_POSITION_PROPERTY);
+	private String getUpdatedMember(IDocument document, ITrackedNodePosition trackedPosition) throws BadLocationException {
 		return Strings.trimIndentation(document.get(trackedPosition.getStartPosition(), trackedPosition.getLength()), fPreferences.tabWidth, fPreferences.indentWidth, false);
 	}
 
@@ -13,38 +13,86 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types;
 
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jdt.core.BindingKey;
+import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeParameter;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.IBinding;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.internal.corext.util.JavaElementDeltas;
 
 /**
  * A type environment comprises a set of {@link TType}s that stand for Java {@link ITypeBinding}s.
  * In contrast to type bindings, TTypes of the same type environment also work across project boundaries and
  * across compiler environments, i.e. a type environment can handle bindings from multiple {@link ASTParser} sessions.
+ * <p>
+ * Type environments are safe for concurrent use. Environments that do not remember subtypes can be
+ * shared between refactorings, see {@link #getSharedEnvironment(IJavaProject, boolean)}.
+ * </p>
  *
  * @see TType
  */
 public class TypeEnvironment {
 
+	private static class SharedEnvironmentKey {
+		private final IJavaProject fProject;
+		private final boolean fRemoveCaptures;
+
+		public SharedEnvironmentKey(IJavaProject project, boolean removeCaptures) {
+			fProject= project;
+			fRemoveCaptures= removeCaptures;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other)
+				return true;
+			if (! (other instanceof SharedEnvironmentKey))
+				return false;
+			SharedEnvironmentKey otherKey= (SharedEnvironmentKey) other;
+			return Objects.equals(fProject, otherKey.fProject) && fRemoveCaptures == otherKey.fRemoveCaptures;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(fProject) * 2 + (fRemoveCaptures ? 1 : 0);
+		}
+	}
+
+	/**
+	 * The shared environments. Softly referenced, so that they are released under memory pressure.
+	 * Guarded by itself.
+	 */
+	private static final Map<SharedEnvironmentKey, SoftReference<TypeEnvironment>> fgSharedEnvironments= new HashMap<>();
+
+	/**
+	 * Flushes the shared environments on type structure changes, or <code>null</code> if no
+	 * shared environment has been requested yet. Guarded by {@link #fgSharedEnvironments}.
+	 */
+	private static IElementChangedListener fgSharedEnvironmentsFlusher;
+
 	private static class ProjectKeyPair {
 		private final IJavaProject fProject;
 		private final String fBindingKey;
@@ -104,8 +152,12 @@ public class TypeEnvironment {
 		"java.lang.Double",  //$NON-NLS-1$
 		"java.lang.Byte"};  //$NON-NLS-1$
 
-	private TType OBJECT_TYPE= null;
+	private volatile TType OBJECT_TYPE= null;
 
+	/*
+	 * The maps below are only modified while holding the lock on this environment: TTypes are
+	 * entered before they are initialized, so that recursive bindings resolve to the same TType.
+	 */
 	private List<Map<TType, ArrayType>>      fArrayTypes= new ArrayList<>();
 	private Map<IJavaElement, StandardType>  fStandardTypes= new HashMap<>();
 	private Map<IJavaElement, GenericType>   fGenericTypes= new HashMap<>();
@@ -117,14 +169,8 @@ public class TypeEnvironment {
 	private Map<TType, SuperWildcardType>    fSuperWildcardTypes= new HashMap<>();
 	private UnboundWildcardType fUnboundWildcardType= null;
 
-	private static final int MAX_ENTRIES= 1024;
-	private Map<TypeTuple, Boolean> fSubTypeCache= new LinkedHashMap<>(50, 0.75f, true) {
-		private static final long serialVersionUID= 1L;
-		@Override
-		protected boolean removeEldestEntry(Map.Entry<TypeTuple, Boolean> eldest) {
-			return size() > MAX_ENTRIES;
-		}
-	};
+	private static final int MAX_ENTRIES= 64 * 1024;
+	private final Map<TypeTuple, Boolean> fSubTypeCache= new ConcurrentHashMap<>();
 
 	/**
 	 * Map from TType to its known subtypes, or <code>null</code> iff subtype
@@ -182,11 +228,73 @@ public class TypeEnvironment {
 		fRemoveCapures= removeCapures;
 	}
 
-	Map<TypeTuple, Boolean> getSubTypeCache() {
-		return fSubTypeCache;
+	/**
+	 * Returns a type environment that does not remember subtypes and is shared by all clients
+	 * working on the given project. The environment is discarded when types, their super types or
+	 * the class path change, and it can be released under memory pressure. It must only be used for
+	 * bindings of the primary working copy owner, see
+	 * {@link #getEnvironment(IJavaProject, WorkingCopyOwner, boolean)}.
+	 *
+	 * @param project the project, or <code>null</code> if the bindings can come from any project
+	 * @param removeCaptures if <code>true</code>, capture types are replaced by their wildcard type
+	 * @return the shared type environment
+	 */
+	public static TypeEnvironment getSharedEnvironment(IJavaProject project, boolean removeCaptures) {
+		SharedEnvironmentKey key= new SharedEnvironmentKey(project, removeCaptures);
+		synchronized (fgSharedEnvironments) {
+			SoftReference<TypeEnvironment> reference= fgSharedEnvironments.get(key);
+			TypeEnvironment environment= reference != null ? reference.get() : null;
+			if (environment == null) {
+				if (fgSharedEnvironmentsFlusher == null) {
+					fgSharedEnvironmentsFlusher= TypeEnvironment::flushSharedEnvironments;
+					JavaCore.addElementChangedListener(fgSharedEnvironmentsFlusher, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+				}
+				environment= new TypeEnvironment(false, removeCaptures);
+				fgSharedEnvironments.put(key, new SoftReference<>(environment));
+			}
+			return environment;
+		}
 	}
 
-	public TType create(ITypeBinding binding) {
+	/**
+	 * Returns a type environment for bindings that have been resolved with the given working copy
+	 * owner. Bindings of the primary owner use the {@link #getSharedEnvironment(IJavaProject, boolean)
+	 * shared environment}. Bindings of other owners get a new environment: their working copies may
+	 * contain types and super types that do not exist in the Java model, and the shared environments
+	 * are only discarded when the Java model changes.
+	 *
+	 * @param project the project, or <code>null</code> if the bindings can come from any project
+	 * @param owner the working copy owner of the bindings, or <code>null</code> for the primary owner
+	 * @param removeCaptures if <code>true</code>, capture types are replaced by their wildcard type
+	 * @return the type environment
+	 */
+	public static TypeEnvironment getEnvironment(IJavaProject project, WorkingCopyOwner owner, boolean removeCaptures) {
+		if (owner == null)
+			return getSharedEnvironment(project, removeCaptures);
+		return new TypeEnvironment(false, removeCaptures);
+	}
+
+	private static void flushSharedEnvironments(ElementChangedEvent event) {
+		// changes inside method bodies do not change any TType
+		if (!JavaElementDeltas.isTypeStructureChange(event))
+			return;
+		synchronized (fgSharedEnvironments) {
+			fgSharedEnvironments.clear();
+		}
+	}
+
+	Boolean getCachedSubTypeResult(TypeTuple tuple) {
+		return fSubTypeCache.get(tuple);
+	}
+
+	void cacheSubTypeResult(TypeTuple tuple, boolean isSubType) {
+		if (fSubTypeCache.size() >= MAX_ENTRIES) {
+			fSubTypeCache.clear();
+		}
+		fSubTypeCache.put(tuple, Boolean.valueOf(isSubType));
+	}
+
+	public synchronized TType create(ITypeBinding binding) {
 		if (binding.isPrimitive()) {
 			return createPrimitiveType(binding);
 		} else if (binding.isArray()) {
@@ -219,7 +327,7 @@ public class TypeEnvironment {
 		return createStandardType(binding);
 	}
 
-	public TType[] create(ITypeBinding[] bindings) {
+	public synchronized TType[] create(ITypeBinding[] bindings) {
 		TType[] result= new TType[bindings.length];
 		for (int i= 0; i < bindings.length; i++) {
 			result[i]= create(bindings[i]);
@@ -241,7 +349,7 @@ public class TypeEnvironment {
 		return OBJECT_TYPE;
 	}
 
-	public void initializeJavaLangObject(IJavaProject project) {
+	public synchronized void initializeJavaLangObject(IJavaProject project) {
 		if (OBJECT_TYPE != null)
 			return;
 
@@ -249,7 +357,7 @@ public class TypeEnvironment {
 		Assert.isTrue(objectType.isJavaLangObject());
 	}
 
-	void initializeJavaLangObject(ITypeBinding object) {
+	synchronized void initializeJavaLangObject(ITypeBinding object) {
 		if (OBJECT_TYPE != null)
 			return;
 
@@ -266,7 +374,7 @@ public class TypeEnvironment {
 		return null;
 	}
 
-	StandardType createBoxed(PrimitiveType type, IJavaProject focus) {
+	synchronized StandardType createBoxed(PrimitiveType type, IJavaProject focus) {
 		String fullyQualifiedName= BOXED_PRIMITIVE_NAMES[type.getId()];
 		return createStandardType(fullyQualifiedName, focus);
 	}
@@ -287,8 +395,21 @@ public class TypeEnvironment {
 		return null;
 	}
 
-	Map<TType, ArrayList<TType>> getSubTypes() {
-		return fSubTypes;
+	/**
+	 * Returns the known direct subtypes of a type. Subtypes are added while other threads create
+	 * TTypes, so a copy is returned.
+	 *
+	 * @param type the type
+	 * @return a copy of the direct subtypes
+	 * @throws IllegalStateException if this environment does not remember subtypes
+	 */
+	synchronized TType[] getSubTypes(TType type) throws IllegalStateException {
+		if (fSubTypes == null)
+			throw new IllegalStateException("This TypeEnvironment does not remember subtypes"); //$NON-NLS-1$
+		List<TType> subtypes= fSubTypes.get(type);
+		if (subtypes == null)
+			return TType.EMPTY_TYPE_ARRAY;
+		return subtypes.toArray(new TType[subtypes.size()]);
 	}
 
 	private void cacheSubType(TType supertype, TType result) {
@@ -338,7 +459,7 @@ public class TypeEnvironment {
 		return result;
 	}
 
-	public ArrayType createArrayType(TType elementType, int dimensions) {
+	public synchronized ArrayType createArrayType(TType elementType, int dimensions) {
 		Assert.isTrue(! elementType.isArrayType());
 		Assert.isTrue(! elementType.isAnonymous());
 		Assert.isTrue(dimensions > 0);
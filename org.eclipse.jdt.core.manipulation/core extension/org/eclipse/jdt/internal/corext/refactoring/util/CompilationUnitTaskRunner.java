@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.util;
+
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+
+/**
+ * Computes a result for each of a list of compilation units on a bounded number of threads, and
+ * hands the results to the calling thread in the order of the list.
+ * <p>
+ * The task must only work on its own compilation unit, e.g. create its own AST or
+ * {@link org.eclipse.jdt.core.dom.rewrite.ImportRewrite}, and must not touch shared state such as
+ * a {@link TextChangeManager}. The caller merges the results, which makes the outcome independent
+ * of the number of threads. Only a few results are computed ahead of the caller, so at most a few
+ * ASTs are alive at any time.
+ * </p>
+ * <p>
+ * Usage:
+ * </p>
+ * <pre>
+ * try (CompilationUnitTaskRunner&lt;TextEdit&gt; runner= new CompilationUnitTaskRunner&lt;&gt;(cus, task, pm)) {
+ *     for (int i= 0; i &lt; cus.size(); i++)
+ *         merge(cus.get(i), runner.get(i));
+ * }
+ * </pre>
+ *
+ * @param <T> the type of the results
+ * @see ParallelTaskRunner
+ */
+public final class CompilationUnitTaskRunner<T> extends ParallelTaskRunner<ICompilationUnit, T> {
+
+	/**
+	 * A task that computes the result for one compilation unit.
+	 *
+	 * @param <T> the type of the result
+	 */
+	@FunctionalInterface
+	public interface Task<T> extends ParallelTaskRunner.Task<ICompilationUnit, T> {
+
+		/**
+		 * Computes the result for the given compilation unit. This method may be called in any
+		 * thread.
+		 *
+		 * @param unit the compilation unit
+		 * @param pm a progress monitor that only reports cancellation
+		 * @return the result, may be <code>null</code>
+		 * @throws CoreException if the result cannot be computed
+		 */
+		@Override
+		T compute(ICompilationUnit unit, IProgressMonitor pm) throws CoreException;
+	}
+
+	/**
+	 * Creates a new runner. No result is computed before the first call to {@link #get(int)}.
+	 *
+	 * @param units the compilation units
+	 * @param task the task
+	 * @param pm the progress monitor that is checked for cancellation
+	 */
+	public CompilationUnitTaskRunner(List<ICompilationUnit> units, Task<T> task, IProgressMonitor pm) {
+		super(units, task, pm);
+	}
+}
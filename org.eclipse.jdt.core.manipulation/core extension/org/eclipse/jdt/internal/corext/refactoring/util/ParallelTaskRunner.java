@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Computes a result for each of a list of elements on a bounded number of threads, and hands the
+ * results to the calling thread in the order of the list.
+ * <p>
+ * The task must only work on its own element and must not touch state that is shared with the
+ * caller or with the other elements. The caller merges the results, which makes the outcome
+ * independent of the number of threads. Only a few results are computed ahead of the caller.
+ * </p>
+ * <p>
+ * A runner should be closed when the results are no longer needed. Idle threads end after a few
+ * seconds, so a runner that serves requests for an open-ended time does not keep its threads
+ * alive.
+ * </p>
+ * <p>
+ * Usage:
+ * </p>
+ * <pre>
+ * try (ParallelTaskRunner&lt;E, T&gt; runner= new ParallelTaskRunner&lt;&gt;(elements, task, pm)) {
+ *     for (int i= 0; i &lt; elements.size(); i++)
+ *         merge(elements.get(i), runner.get(i));
+ * }
+ * </pre>
+ *
+ * @param <E> the type of the elements
+ * @param <T> the type of the results
+ * @see CompilationUnitTaskRunner
+ */
+public class ParallelTaskRunner<E, T> implements AutoCloseable {
+
+	/**
+	 * A task that computes the result for one element.
+	 *
+	 * @param <E> the type of the element
+	 * @param <T> the type of the result
+	 */
+	@FunctionalInterface
+	public interface Task<E, T> {
+
+		/**
+		 * Computes the result for the given element. This method may be called in any thread.
+		 *
+		 * @param element the element
+		 * @param pm a progress monitor that only reports cancellation
+		 * @return the result, may be <code>null</code>
+		 * @throws CoreException if the result cannot be computed
+		 */
+		T compute(E element, IProgressMonitor pm) throws CoreException;
+	}
+
+	/**
+	 * Maximal number of threads that compute results.
+	 */
+	public static final int MAX_THREADS= 4;
+
+	/**
+	 * Default number of results computed ahead of the caller per thread.
+	 */
+	private static final int RESULTS_AHEAD_PER_THREAD= 2;
+
+	/**
+	 * Interval in milliseconds in which the progress monitor is checked for cancellation while
+	 * waiting for a result.
+	 */
+	private static final long CANCELLATION_POLL_INTERVAL= 100;
+
+	/**
+	 * Time in seconds after which an idle thread ends.
+	 */
+	private static final long IDLE_THREAD_TIMEOUT= 5;
+
+	private final List<? extends E> fElements;
+	private final Task<? super E, ? extends T> fTask;
+	private final IProgressMonitor fMonitor;
+	private final IProgressMonitor fCancelMonitor;
+	private final ThreadPoolExecutor fExecutor;
+	private final List<Future<T>> fFutures;
+	private final int fAhead;
+	private volatile boolean fClosed;
+
+	/**
+	 * Creates a new runner. No result is computed before the first call to {@link #get(int)}.
+	 *
+	 * @param elements the elements
+	 * @param task the task
+	 * @param pm the progress monitor that is checked for cancellation
+	 */
+	public ParallelTaskRunner(List<? extends E> elements, Task<? super E, ? extends T> task, IProgressMonitor pm) {
+		this(elements, task, RESULTS_AHEAD_PER_THREAD, pm);
+	}
+
+	/**
+	 * Creates a new runner. No result is computed before the first call to {@link #get(int)}.
+	 *
+	 * @param elements the elements
+	 * @param task the task
+	 * @param resultsAheadPerThread the number of results computed ahead of the caller per thread
+	 * @param pm the progress monitor that is checked for cancellation
+	 */
+	public ParallelTaskRunner(List<? extends E> elements, Task<? super E, ? extends T> task, int resultsAheadPerThread, IProgressMonitor pm) {
+		fElements= elements;
+		fTask= task;
+		fMonitor= pm;
+		// progress monitors are not thread safe, only forward the cancellation
+		fCancelMonitor= new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return fClosed || pm.isCanceled();
+			}
+		};
+		int threads= getThreadCount(elements.size());
+		if (threads > 1) {
+			fExecutor= new ThreadPoolExecutor(threads, threads, IDLE_THREAD_TIMEOUT, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+			fExecutor.allowCoreThreadTimeOut(true);
+		} else {
+			fExecutor= null;
+		}
+		fFutures= new ArrayList<>(elements.size());
+		fAhead= threads * resultsAheadPerThread;
+	}
+
+	/**
+	 * Returns the number of threads that compute the results for the given number of elements.
+	 *
+	 * @param size the number of elements
+	 * @return the number of threads, <code>1</code> if the results are computed by the caller
+	 */
+	public static int getThreadCount(int size) {
+		return Math.max(1, Math.min(Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()), size));
+	}
+
+	/**
+	 * Returns the result for the element at the given index. Results must be requested in
+	 * ascending order of their index, and each result at most once.
+	 *
+	 * @param index the index of the element
+	 * @return the result of the task
+	 * @throws CoreException if the task failed
+	 * @throws OperationCanceledException if the progress monitor has been canceled
+	 */
+	public T get(int index) throws CoreException {
+		if (fMonitor.isCanceled())
+			throw new OperationCanceledException();
+		if (fExecutor == null)
+			return fTask.compute(fElements.get(index), fMonitor);
+
+		for (int i= fFutures.size(); i < fElements.size() && i <= index + fAhead; i++) {
+			E element= fElements.get(i);
+			fFutures.add(fExecutor.submit(() -> fTask.compute(element, fCancelMonitor)));
+		}
+		Future<T> future= fFutures.set(index, null);
+		Assert.isNotNull(future);
+		try {
+			while (true) {
+				try {
+					return future.get(CANCELLATION_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					if (fMonitor.isCanceled())
+						throw new OperationCanceledException();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof CoreException coreException)
+				throw coreException;
+			if (cause instanceof RuntimeException runtimeException)
+				throw runtimeException;
+			if (cause instanceof Error error)
+				throw error;
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * Stops the computation of results that have not been requested, and waits until the tasks
+	 * that are running have finished or noticed the cancellation. Afterwards, the caller may
+	 * touch the state of any element again.
+	 */
+	@Override
+	public void close() {
+		fClosed= true;
+		if (fExecutor == null)
+			return;
+		fExecutor.shutdownNow();
+		try {
+			while (!fExecutor.awaitTermination(CANCELLATION_POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+				// wait for the running tasks
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -38,8 +38,11 @@ public class RefactoringASTParser {
 
 	private ASTParser fParser;
 
+	private final int fLevel;
+
 	public RefactoringASTParser(int level) {
 		fParser= ASTParser.newParser(level);
+		fLevel= level;
 	}
 
 	public CompilationUnit parse(ITypeRoot typeRoot, boolean resolveBindings) {
@@ -63,6 +66,36 @@ public class RefactoringASTParser {
 			fParser.setWorkingCopyOwner(owner);
 		fParser.setCompilerOptions(getCompilerOptions(typeRoot));
 		CompilationUnit result= (CompilationUnit) fParser.createAST(pm);
+		RefactoringTelemetry.countParsedAST();
+		return result;
+	}
+
+	/**
+	 * Parses the given compilation unit. If a {@link RefactoringASTPool} session is open in the
+	 * current thread, the AST is taken from and added to the pool of the session.
+	 * <p>
+	 * The returned AST may be shared with the other contributors of the refactoring. It must not be
+	 * modified. Changes must be recorded with an {@link org.eclipse.jdt.core.dom.rewrite.ASTRewrite}
+	 * that is created with {@link org.eclipse.jdt.core.dom.rewrite.ASTRewrite#create(org.eclipse.jdt.core.dom.AST)}.
+	 * </p>
+	 *
+	 * @param unit the compilation unit
+	 * @param owner the working copy owner, or <code>null</code>
+	 * @param resolveBindings whether bindings are to be resolved
+	 * @param statementsRecovery whether statements recovery should be enabled
+	 * @param bindingsRecovery whether bindings recovery should be enabled
+	 * @param pm an {@link IProgressMonitor}, or <code>null</code>
+	 * @return the parsed CompilationUnit, which must not be modified
+	 */
+	public CompilationUnit parseShared(ICompilationUnit unit, WorkingCopyOwner owner, boolean resolveBindings, boolean statementsRecovery, boolean bindingsRecovery, IProgressMonitor pm) {
+		RefactoringASTPool pool= RefactoringASTPool.getActivePool();
+		if (pool == null)
+			return parse(unit, owner, resolveBindings, statementsRecovery, bindingsRecovery, pm);
+		CompilationUnit result= pool.get(unit, owner, fLevel, resolveBindings, statementsRecovery, bindingsRecovery);
+		if (result == null) {
+			result= parse(unit, owner, resolveBindings, statementsRecovery, bindingsRecovery, pm);
+			pool.put(unit, owner, fLevel, resolveBindings, statementsRecovery, bindingsRecovery, result);
+		}
 		return result;
 	}
 
@@ -83,6 +116,7 @@ public class RefactoringASTParser {
 		fParser.setProject(originalCu.getJavaProject());
 		fParser.setCompilerOptions(getCompilerOptions(originalCu));
 		CompilationUnit newCUNode= (CompilationUnit) fParser.createAST(pm);
+		RefactoringTelemetry.countParsedAST();
 		return newCUNode;
 	}
 
@@ -104,6 +138,7 @@ public class RefactoringASTParser {
 		fParser.setProject(originalCf.getJavaProject());
 		fParser.setCompilerOptions(getCompilerOptions(originalCf));
 		CompilationUnit newCUNode= (CompilationUnit) fParser.createAST(pm);
+		RefactoringTelemetry.countParsedAST();
 		return newCUNode;
 	}
 
@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.util;
+
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+import org.eclipse.ltk.core.refactoring.Refactoring;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+
+/**
+ * A pool of ASTs that is shared by all contributors of a refactoring session in the current
+ * thread, so that a compilation unit that is needed by the processor, its delegates and the
+ * processors of similarly named elements is parsed only once.
+ * <p>
+ * A session is started with {@link #open()} and ends when the outermost session of the thread is
+ * closed. While a session is open, {@link RefactoringASTParser#parseShared} returns pooled ASTs of
+ * compilation units whose source has not changed since they were parsed. Only callers that do not
+ * modify the AST opt in to the pool, see e.g.
+ * {@link org.eclipse.jdt.internal.corext.refactoring.structure.CompilationUnitRewrite#getRoot()}.
+ * Other parses are not pooled. At most {@link #MAX_POOLED_ASTS} ASTs are kept, and the garbage
+ * collector may drop them earlier.
+ * </p>
+ * <p>
+ * A {@link RefactoringBatch} keeps its pool between the refactorings of the batch. The pool is
+ * bound to the refactoring that is being performed rather than to a thread, since the conditions
+ * of a refactoring may be checked and its change be created in different threads. The sessions
+ * that are opened with {@link #open(Refactoring)} for that refactoring use the pool of the batch.
+ * </p>
+ * <p>
+ * Usage:
+ * </p>
+ * <pre>
+ * try (RefactoringASTPool pool= RefactoringASTPool.open(getRefactoring())) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class RefactoringASTPool implements AutoCloseable {
+
+	/**
+	 * Maximal number of ASTs kept in a pool.
+	 */
+	public static final int MAX_POOLED_ASTS= 8;
+
+	private static final ThreadLocal<RefactoringASTPool> fgActivePool= new ThreadLocal<>();
+
+	/** The retained pools of the refactorings that are performed in a batch */
+	private static final Map<Refactoring, RefactoringASTPool> fgBoundPools= Collections.synchronizedMap(new WeakHashMap<>());
+
+	private record Key(ICompilationUnit unit, WorkingCopyOwner owner, int level, boolean resolveBindings, boolean statementsRecovery, boolean bindingsRecovery) {
+	}
+
+	private record PooledAST(String source, SoftReference<CompilationUnit> ast) {
+	}
+
+	private final Map<Key, PooledAST> fASTs= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, PooledAST> eldest) {
+			return size() > MAX_POOLED_ASTS;
+		}
+	};
+
+	private final boolean fRetained;
+
+	private int fOpenCount;
+	private int fParseCount;
+	private int fReuseCount;
+
+	private RefactoringASTPool(boolean retained) {
+		fRetained= retained;
+	}
+
+	/**
+	 * Creates a pool that keeps its ASTs when its outermost session is closed, so that it can be
+	 * activated again. The pool must be released with {@link #release()}.
+	 *
+	 * @return the pool
+	 */
+	static RefactoringASTPool createRetained() {
+		return new RefactoringASTPool(true);
+	}
+
+	/**
+	 * Opens a session in the current thread. If a session is already open, the returned pool is
+	 * the pool of that session.
+	 *
+	 * @return the pool of the session, which must be closed by the caller
+	 */
+	public static RefactoringASTPool open() {
+		RefactoringASTPool pool= fgActivePool.get();
+		if (pool == null) {
+			pool= new RefactoringASTPool(false);
+			fgActivePool.set(pool);
+		}
+		pool.fOpenCount++;
+		return pool;
+	}
+
+	/**
+	 * Opens a session in the current thread for the given refactoring. If the refactoring is
+	 * performed in a {@link RefactoringBatch}, the session uses the pool of the batch.
+	 *
+	 * @param refactoring the refactoring, or <code>null</code>
+	 * @return the pool of the session, which must be closed by the caller
+	 */
+	public static RefactoringASTPool open(Refactoring refactoring) {
+		RefactoringASTPool pool= refactoring != null ? fgBoundPools.get(refactoring) : null;
+		return pool != null ? pool.activate() : open();
+	}
+
+	/**
+	 * Binds a retained pool to a refactoring until {@link #unbind(Refactoring)} is called.
+	 *
+	 * @param refactoring the refactoring
+	 * @param pool the retained pool
+	 */
+	static void bind(Refactoring refactoring, RefactoringASTPool pool) {
+		fgBoundPools.put(refactoring, pool);
+	}
+
+	/**
+	 * Removes the pool that is bound to a refactoring.
+	 *
+	 * @param refactoring the refactoring
+	 */
+	static void unbind(Refactoring refactoring) {
+		fgBoundPools.remove(refactoring);
+	}
+
+	/**
+	 * Opens a session of this pool in the current thread. If a session of another pool is already
+	 * open, the returned pool is the pool of that session.
+	 *
+	 * @return the pool of the session, which must be closed by the caller
+	 */
+	RefactoringASTPool activate() {
+		if (fgActivePool.get() != null)
+			return open();
+		fgActivePool.set(this);
+		fOpenCount++;
+		return this;
+	}
+
+	/**
+	 * Returns the pool of the session that is open in the current thread.
+	 *
+	 * @return the pool, or <code>null</code> if no session is open
+	 */
+	public static RefactoringASTPool getActivePool() {
+		return fgActivePool.get();
+	}
+
+	/**
+	 * Closes this session. The pooled ASTs are released when the outermost session is closed,
+	 * unless the pool is retained.
+	 */
+	@Override
+	public void close() {
+		if (--fOpenCount > 0)
+			return;
+		fgActivePool.remove();
+		if (!fRetained)
+			release();
+	}
+
+	/**
+	 * Drops the pooled ASTs with resolved bindings. Their bindings become stale when any
+	 * compilation unit changes, even if the source of their own unit has not changed.
+	 */
+	synchronized void discardResolvedASTs() {
+		fASTs.keySet().removeIf(Key::resolveBindings);
+	}
+
+	/**
+	 * Releases the pooled ASTs.
+	 */
+	synchronized void release() {
+		fASTs.clear();
+		if (JavaManipulationPlugin.DEBUG_AST_POOL)
+			System.out.println("RefactoringASTPool: " + fParseCount + " ASTs parsed, " + fReuseCount + " parses avoided"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/**
+	 * Returns the number of ASTs parsed in this session.
+	 *
+	 * @return the number of ASTs that have been added to the pool
+	 */
+	public synchronized int getParseCount() {
+		return fParseCount;
+	}
+
+	/**
+	 * Returns the number of parses avoided in this session.
+	 *
+	 * @return the number of times a pooled AST has been returned
+	 */
+	public synchronized int getReuseCount() {
+		return fReuseCount;
+	}
+
+	synchronized CompilationUnit get(ICompilationUnit unit, WorkingCopyOwner owner, int level, boolean resolveBindings, boolean statementsRecovery, boolean bindingsRecovery) {
+		Key key= new Key(unit, owner, level, resolveBindings, statementsRecovery, bindingsRecovery);
+		PooledAST pooled= fASTs.get(key);
+		if (pooled == null)
+			return null;
+		CompilationUnit ast= pooled.ast().get();
+		if (ast == null || !Objects.equals(pooled.source(), getSource(unit))) {
+			fASTs.remove(key);
+			return null;
+		}
+		fReuseCount++;
+		return ast;
+	}
+
+	synchronized void put(ICompilationUnit unit, WorkingCopyOwner owner, int level, boolean resolveBindings, boolean statementsRecovery, boolean bindingsRecovery, CompilationUnit ast) {
+		fParseCount++;
+		String source= getSource(unit);
+		if (source != null)
+			fASTs.put(new Key(unit, owner, level, resolveBindings, statementsRecovery, bindingsRecovery), new PooledAST(source, new SoftReference<>(ast)));
+	}
+
+	private static String getSource(ICompilationUnit unit) {
+		try {
+			return unit.getSource();
+		} catch (JavaModelException e) {
+			return null;
+		}
+	}
+}
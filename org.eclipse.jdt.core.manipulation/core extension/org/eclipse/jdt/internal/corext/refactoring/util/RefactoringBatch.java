@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ltk.core.refactoring.Refactoring;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+
+/**
+ * A batch of refactorings that are performed one after the other, e.g. the refactorings of a
+ * refactoring history.
+ * <p>
+ * The refactorings of a batch share one {@link RefactoringASTPool}. ASTs without bindings are
+ * reused as long as the source of their compilation unit does not change. ASTs with resolved
+ * bindings are only shared within a refactoring, since the bindings become stale when the
+ * refactoring changes any compilation unit. The batch also records the duration of each
+ * refactoring, which is printed when the
+ * <code>org.eclipse.jdt.core.manipulation/debug/RefactoringTelemetry</code> option is set.
+ * </p>
+ * <p>
+ * The pool is passed to the refactoring that is being performed, not to a thread: the processors
+ * of that refactoring use it when they open a session with
+ * {@link RefactoringASTPool#open(Refactoring)}, in whichever thread they run. The methods of a
+ * batch may therefore be called in different threads, but not concurrently.
+ * </p>
+ */
+public final class RefactoringBatch implements AutoCloseable {
+
+	/**
+	 * The duration of a refactoring of the batch.
+	 *
+	 * @param description the description of the refactoring
+	 * @param duration the duration in milliseconds
+	 * @param parsedASTs the number of ASTs parsed by the refactoring
+	 * @param reusedASTs the number of parses avoided by the refactoring
+	 */
+	public record Timing(String description, long duration, int parsedASTs, int reusedASTs) {
+	}
+
+	private final RefactoringASTPool fPool= RefactoringASTPool.createRetained();
+	private final List<Timing> fTimings= new ArrayList<>();
+
+	private Refactoring fRefactoring;
+	private String fDescription;
+	private long fStartTime;
+	private int fParseCount;
+	private int fReuseCount;
+
+	/**
+	 * Starts the next refactoring of the batch. A refactoring that has not been ended, e.g.
+	 * because it failed, is ended first.
+	 *
+	 * @param refactoring the refactoring
+	 * @param description the description of the refactoring
+	 */
+	public void beginRefactoring(Refactoring refactoring, String description) {
+		endRefactoring();
+		fRefactoring= refactoring;
+		RefactoringASTPool.bind(refactoring, fPool);
+		fDescription= description;
+		fParseCount= fPool.getParseCount();
+		fReuseCount= fPool.getReuseCount();
+		fStartTime= System.nanoTime();
+	}
+
+	/**
+	 * Ends the current refactoring of the batch and records its duration. Does nothing if no
+	 * refactoring has been started.
+	 */
+	public void endRefactoring() {
+		if (fRefactoring == null)
+			return;
+		long duration= TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fStartTime);
+		RefactoringASTPool.unbind(fRefactoring);
+		fRefactoring= null;
+		fPool.discardResolvedASTs();
+		Timing timing= new Timing(fDescription, duration, fPool.getParseCount() - fParseCount, fPool.getReuseCount() - fReuseCount);
+		fTimings.add(timing);
+		if (JavaManipulationPlugin.DEBUG_REFACTORING_TELEMETRY)
+			System.out.println("RefactoringBatch: " + timing.description() + ": " + timing.duration() + " ms, " + timing.parsedASTs() + " ASTs parsed, " + timing.reusedASTs() + " parses avoided"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+
+	/**
+	 * Returns the durations of the refactorings that have been ended.
+	 *
+	 * @return the timings in the order in which the refactorings have been performed
+	 */
+	public List<Timing> getTimings() {
+		return Collections.unmodifiableList(fTimings);
+	}
+
+	/**
+	 * Ends the current refactoring and releases the pooled ASTs.
+	 */
+	@Override
+	public void close() {
+		endRefactoring();
+		fPool.release();
+		if (JavaManipulationPlugin.DEBUG_REFACTORING_TELEMETRY) {
+			long total= 0;
+			for (Timing timing : fTimings)
+				total+= timing.duration();
+			System.out.println("RefactoringBatch: " + fTimings.size() + " refactorings, " + total + " ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+}
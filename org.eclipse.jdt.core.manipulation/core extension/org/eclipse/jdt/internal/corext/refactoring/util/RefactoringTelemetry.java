@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
+import org.eclipse.ltk.core.refactoring.TextChange;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.corext.refactoring.changes.LazyCompilationUnitChange;
+
+/**
+ * Records where a refactoring spends its time: the duration of each {@link Phase}, the number of
+ * searches and parsed ASTs, and the number of compilation units touched by the change.
+ * <p>
+ * A processor owns one instance and measures its phases with {@link #start(Phase)}. While a phase
+ * runs, the instance is the active telemetry of the current thread, so that shared code such as the
+ * search engines, {@link RefactoringASTParser} and <code>Checks.validateModifiesFiles</code> report
+ * to it without knowing the processor. Processors that run inside a phase of another
+ * processor, e.g. processors of delegates or similarly named elements, report to the outer
+ * processor. Work done in other threads is not recorded.
+ * </p>
+ * <p>
+ * Phases may be nested: the search and validation phases are also part of the phase that triggers
+ * them. The summary is printed and added to the comment of the refactoring descriptor when the
+ * <code>org.eclipse.jdt.core.manipulation/debug/RefactoringTelemetry</code> option is set, see
+ * {@link #report(RefactoringDescriptor)}.
+ * </p>
+ * <p>
+ * Usage:
+ * </p>
+ * <pre>
+ * try (RefactoringTelemetry.PhaseTimer timer= getTelemetry().start(Phase.CHECK_INITIAL_CONDITIONS)) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class RefactoringTelemetry {
+
+	/**
+	 * The phases of a refactoring.
+	 */
+	public enum Phase {
+		CHECK_INITIAL_CONDITIONS("checkInitialConditions"), //$NON-NLS-1$
+		SEARCH("search"), //$NON-NLS-1$
+		CHECK_FINAL_CONDITIONS("checkFinalConditions"), //$NON-NLS-1$
+		CREATE_CHANGE("createChange"), //$NON-NLS-1$
+		VALIDATE_EDIT("validateModifiesFiles"), //$NON-NLS-1$
+		PERFORM("perform"); //$NON-NLS-1$
+
+		private final String fLabel;
+
+		Phase(String label) {
+			fLabel= label;
+		}
+
+		@Override
+		public String toString() {
+			return fLabel;
+		}
+	}
+
+	/**
+	 * Measures one run of a phase. Closing the timer ends the run.
+	 */
+	public static final class PhaseTimer implements AutoCloseable {
+
+		private final RefactoringTelemetry fTelemetry;
+		private final Phase fPhase;
+		private final boolean fBound;
+
+		private PhaseTimer(RefactoringTelemetry telemetry, Phase phase) {
+			fTelemetry= telemetry;
+			fPhase= phase;
+			fBound= telemetry != null && fgActive.get() == null;
+			if (fBound)
+				fgActive.set(telemetry);
+			if (telemetry != null)
+				telemetry.begin(phase);
+		}
+
+		@Override
+		public void close() {
+			if (fTelemetry == null)
+				return;
+			fTelemetry.end(fPhase);
+			if (fBound)
+				fgActive.remove();
+		}
+	}
+
+	private static final ThreadLocal<RefactoringTelemetry> fgActive= new ThreadLocal<>();
+
+	private static final PhaseTimer NO_TIMER= new PhaseTimer(null, null);
+
+	private static final String LINE_DELIMITER= System.getProperty("line.separator", "\n"); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private final long[] fDurations= new long[Phase.values().length];
+	private final long[] fStartTimes= new long[Phase.values().length];
+	private final int[] fDepths= new int[Phase.values().length];
+
+	private int fSearchCount;
+	private int fASTCount;
+	private int fUnitCount;
+
+	/**
+	 * Starts a run of the given phase in the current thread. If another telemetry is active in the
+	 * current thread, the run is recorded by the active telemetry. Nested runs of the same phase
+	 * are measured once.
+	 *
+	 * @param phase the phase
+	 * @return the timer, which must be closed by the caller
+	 */
+	public PhaseTimer start(Phase phase) {
+		RefactoringTelemetry active= fgActive.get();
+		return new PhaseTimer(active != null ? active : this, phase);
+	}
+
+	/**
+	 * Starts a run of the given phase in the active telemetry of the current thread.
+	 *
+	 * @param phase the phase
+	 * @return the timer, which must be closed by the caller and does nothing if no telemetry
+	 *         is active
+	 */
+	public static PhaseTimer startActive(Phase phase) {
+		RefactoringTelemetry active= fgActive.get();
+		return active != null ? new PhaseTimer(active, phase) : NO_TIMER;
+	}
+
+	/**
+	 * Returns the telemetry that is active in the current thread.
+	 *
+	 * @return the active telemetry, or <code>null</code> if no phase is running
+	 */
+	public static RefactoringTelemetry getActive() {
+		return fgActive.get();
+	}
+
+	/**
+	 * Records that an AST has been parsed in the current thread.
+	 */
+	public static void countParsedAST() {
+		RefactoringTelemetry active= fgActive.get();
+		if (active != null)
+			active.fASTCount++;
+	}
+
+	private void begin(Phase phase) {
+		int index= phase.ordinal();
+		if (fDepths[index]++ == 0)
+			fStartTimes[index]= System.nanoTime();
+		if (phase == Phase.SEARCH)
+			fSearchCount++;
+	}
+
+	private void end(Phase phase) {
+		int index= phase.ordinal();
+		if (--fDepths[index] == 0)
+			fDurations[index]+= System.nanoTime() - fStartTimes[index];
+	}
+
+	/**
+	 * Records the compilation units touched by the given change. Lazily created changes are
+	 * counted without creating them.
+	 *
+	 * @param change the change
+	 */
+	public void countUnits(Change change) {
+		fUnitCount= 0;
+		addUnits(change);
+	}
+
+	private void addUnits(Change change) {
+		if (change instanceof LazyCompilationUnitChange || change instanceof TextChange) {
+			fUnitCount++;
+		} else if (change instanceof CompositeChange composite) {
+			for (Change child : composite.getChildren())
+				addUnits(child);
+		}
+	}
+
+	/**
+	 * Returns the time spent in the given phase.
+	 *
+	 * @param phase the phase
+	 * @return the duration in milliseconds
+	 */
+	public long getDuration(Phase phase) {
+		return TimeUnit.NANOSECONDS.toMillis(fDurations[phase.ordinal()]);
+	}
+
+	/**
+	 * Returns the number of searches.
+	 *
+	 * @return the number of runs of the search phase
+	 */
+	public int getSearchCount() {
+		return fSearchCount;
+	}
+
+	/**
+	 * Returns the number of parsed ASTs.
+	 *
+	 * @return the number of ASTs parsed by {@link RefactoringASTParser}
+	 */
+	public int getASTCount() {
+		return fASTCount;
+	}
+
+	/**
+	 * Returns the number of compilation units touched by the change.
+	 *
+	 * @return the number of units
+	 * @see #countUnits(Change)
+	 */
+	public int getUnitCount() {
+		return fUnitCount;
+	}
+
+	/**
+	 * Returns a one-line summary of the recorded data.
+	 *
+	 * @return the summary
+	 */
+	public String getSummary() {
+		StringBuilder buffer= new StringBuilder();
+		for (Phase phase : Phase.values()) {
+			if (buffer.length() > 0)
+				buffer.append(", "); //$NON-NLS-1$
+			buffer.append(phase).append(' ').append(getDuration(phase)).append(" ms"); //$NON-NLS-1$
+		}
+		buffer.append("; ").append(fSearchCount).append(" searches"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append(", ").append(fASTCount).append(" ASTs parsed"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append(", ").append(fUnitCount).append(" units touched"); //$NON-NLS-1$ //$NON-NLS-2$
+		return buffer.toString();
+	}
+
+	/**
+	 * Prints the summary and appends it to the comment of the given descriptor, which is stored in
+	 * the refactoring history, if the telemetry debug option is set.
+	 *
+	 * @param descriptor the descriptor of the performed refactoring
+	 */
+	public void report(RefactoringDescriptor descriptor) {
+		if (!JavaManipulationPlugin.DEBUG_REFACTORING_TELEMETRY)
+			return;
+		String summary= getSummary();
+		System.out.println("RefactoringTelemetry: " + descriptor.getDescription() + ": " + summary); //$NON-NLS-1$ //$NON-NLS-2$
+		String comment= descriptor.getComment();
+		descriptor.setComment(comment == null || comment.isEmpty() ? summary : comment + LINE_DELIMITER + summary);
+	}
+}
@@ -14,33 +14,98 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.util;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.TextChange;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.corext.refactoring.changes.LazyCompilationUnitChange;
+import org.eclipse.jdt.internal.corext.refactoring.changes.StoredCompilationUnitChange;
+
 
 /**
  * A <code>TextChangeManager</code> manages associations between <code>ICompilationUnit</code>
  * or <code>IFile</code> and <code>TextChange</code> objects.
+ * <p>
+ * A manager can be limited to a number of changes that are kept in memory. The edits of the
+ * least recently used changes beyond that limit are moved to a {@link TextEditStore} and loaded
+ * again by {@link #get(ICompilationUnit)}. Clients of such a manager must not hold on to a change
+ * across calls to {@link #get(ICompilationUnit)}, since the change may have been stored in the
+ * meantime.
+ * </p>
+ * <p>
+ * Edits that are expensive to compute can be added as {@link DeferredEdit}s. They are computed
+ * when the change of their compilation unit is needed, which for the changes returned by
+ * {@link #getAllChangesLazily()} is when the change is expanded in the preview or performed.
+ * </p>
  */
 public class TextChangeManager {
 
-	private Map<ICompilationUnit, TextChange> fMap= new HashMap<>(10);
+	/**
+	 * An edit of a compilation unit that is computed on demand.
+	 */
+	@FunctionalInterface
+	public interface DeferredEdit {
+
+		/**
+		 * Adds the edit to the change of its compilation unit.
+		 *
+		 * @param change the change of the compilation unit
+		 * @param pm the progress monitor
+		 * @throws CoreException if the edit cannot be computed
+		 */
+		void addTo(TextChange change, IProgressMonitor pm) throws CoreException;
+	}
+
+	private Map<ICompilationUnit, TextChange> fMap= new LinkedHashMap<>(16, 0.75f, true);
 
 	private final boolean fKeepExecutedTextEdits;
 
+	private final int fMaxChangesInMemory;
+
+	private TextEditStore fStore;
+
+	private Map<ICompilationUnit, TextEditStore.Entry> fStored= new HashMap<>();
+
+	private Map<ICompilationUnit, List<DeferredEdit>> fDeferred= new HashMap<>();
+
 	public TextChangeManager() {
 		this(false);
 	}
 
 	public TextChangeManager(boolean keepExecutedTextEdits) {
+		this(keepExecutedTextEdits, 0);
+	}
+
+	/**
+	 * Creates a new text change manager that keeps at most <code>maxChangesInMemory</code>
+	 * changes in memory.
+	 *
+	 * @param keepExecutedTextEdits whether the created changes keep their executed edits
+	 * @param maxChangesInMemory the number of changes kept in memory, or <code>0</code> to keep
+	 *            all changes in memory
+	 */
+	public TextChangeManager(boolean keepExecutedTextEdits, int maxChangesInMemory) {
 		fKeepExecutedTextEdits= keepExecutedTextEdits;
+		fMaxChangesInMemory= maxChangesInMemory;
 	}
 
 	/**
@@ -51,9 +116,22 @@ public class TextChangeManager {
 	 * @param change the change associated with the compilation unit
 	 */
 	public void manage(ICompilationUnit cu, TextChange change) {
+		releaseStored(cu);
 		fMap.put(cu, change);
 	}
 
+	/**
+	 * Adds an edit of the given compilation unit that is computed when the change of the unit is
+	 * needed. Deferred edits are added in the order in which they have been added to this manager,
+	 * after all other edits.
+	 *
+	 * @param cu the compilation unit
+	 * @param edit the deferred edit
+	 */
+	public void addDeferred(ICompilationUnit cu, DeferredEdit edit) {
+		fDeferred.computeIfAbsent(cu, key -> new ArrayList<>()).add(edit);
+	}
+
 	/**
 	 * Returns the <code>TextChange</code> associated with the given compilation unit.
 	 * If the manager does not already manage an association it creates a one.
@@ -64,13 +142,84 @@ public class TextChangeManager {
 	public TextChange get(ICompilationUnit cu) {
 		TextChange result= fMap.get(cu);
 		if (result == null) {
-			result= new CompilationUnitChange(cu.getElementName(), cu);
-			result.setKeepPreviewEdits(fKeepExecutedTextEdits);
+			result= loadStored(cu);
+			if (result == null)
+				result= createChange(cu);
 			fMap.put(cu, result);
+			storeEldest(cu);
 		}
 		return result;
 	}
 
+	private TextChange createChange(ICompilationUnit cu) {
+		TextChange result= new CompilationUnitChange(cu.getElementName(), cu);
+		result.setKeepPreviewEdits(fKeepExecutedTextEdits);
+		return result;
+	}
+
+	private static TextChange addDeferredEdits(TextChange change, List<DeferredEdit> edits, IProgressMonitor pm) throws CoreException {
+		for (DeferredEdit edit : edits)
+			edit.addTo(change, pm);
+		return change;
+	}
+
+	private void addDeferredEdits(ICompilationUnit cu) {
+		List<DeferredEdit> edits= fDeferred.remove(cu);
+		if (edits != null) {
+			try {
+				addDeferredEdits(get(cu), edits, new NullProgressMonitor());
+			} catch (CoreException e) {
+				JavaManipulationPlugin.log(e);
+			}
+		}
+	}
+
+	private TextChange loadStored(ICompilationUnit cu) {
+		TextEditStore.Entry entry= fStored.remove(cu);
+		if (entry == null)
+			return null;
+		try {
+			return fStore.load(entry, cu);
+		} catch (IOException e) {
+			// cannot happen unless the temporary file has been tampered with
+			throw new IllegalStateException(e);
+		} finally {
+			fStore.release(entry);
+		}
+	}
+
+	private void releaseStored(ICompilationUnit cu) {
+		TextEditStore.Entry entry= fStored.remove(cu);
+		if (entry != null)
+			fStore.release(entry);
+	}
+
+	private void storeEldest(ICompilationUnit recent) {
+		if (fMaxChangesInMemory <= 0 || fMap.size() <= fMaxChangesInMemory)
+			return;
+		for (Iterator<Map.Entry<ICompilationUnit, TextChange>> iter= fMap.entrySet().iterator(); iter.hasNext() && fMap.size() > fMaxChangesInMemory;) {
+			Map.Entry<ICompilationUnit, TextChange> entry= iter.next();
+			if (entry.getKey().equals(recent) || !TextEditStore.canStore(entry.getValue()))
+				continue;
+			if (!store(entry.getKey(), entry.getValue()))
+				return;
+			iter.remove();
+		}
+	}
+
+	private boolean store(ICompilationUnit cu, TextChange change) {
+		if (fStore == null)
+			fStore= new TextEditStore();
+		try {
+			fStored.put(cu, fStore.store(change));
+			return true;
+		} catch (IOException e) {
+			// keep the change in memory
+			JavaManipulationPlugin.log(e);
+			return false;
+		}
+	}
+
 	/**
 	 * Removes the <code>TextChange</code> managed under the given key
 	 * <code>unit</code>.
@@ -79,15 +228,24 @@ public class TextChangeManager {
 	 * @return the removed <code>TextChange</code>.
 	 */
 	public TextChange remove(ICompilationUnit unit) {
-		return fMap.remove(unit);
+		addDeferredEdits(unit);
+		TextChange result= fMap.remove(unit);
+		if (result == null)
+			result= loadStored(unit);
+		return result;
 	}
 
 	/**
-	 * Returns all text changes managed by this instance.
+	 * Returns all text changes managed by this instance. Stored changes are loaded into memory
+	 * and deferred edits are computed.
 	 *
 	 * @return all text changes managed by this instance
 	 */
 	public TextChange[] getAllChanges(){
+		for (ICompilationUnit cu : fDeferred.keySet().toArray(new ICompilationUnit[fDeferred.size()]))
+			addDeferredEdits(cu);
+		for (ICompilationUnit cu : fStored.keySet().toArray(new ICompilationUnit[fStored.size()]))
+			fMap.put(cu, loadStored(cu));
 		Set<ICompilationUnit> cuSet= fMap.keySet();
 		ICompilationUnit[] cus= cuSet.toArray(new ICompilationUnit[cuSet.size()]);
 		// sort by cu name:
@@ -104,13 +262,55 @@ public class TextChangeManager {
 		return textChanges;
 	}
 
+	/**
+	 * Returns all changes managed by this instance, sorted by compilation unit name. Changes with
+	 * deferred edits are returned as {@link LazyCompilationUnitChange}s, which compute the edits
+	 * on demand. If this manager limits the changes in memory, the edits of all changes that can
+	 * be stored are moved to the store and returned as {@link StoredCompilationUnitChange}s, which
+	 * load them on demand. The returned changes are no longer managed by this instance.
+	 *
+	 * @return all changes managed by this instance
+	 */
+	public Change[] getAllChangesLazily() {
+		if (fMaxChangesInMemory > 0) {
+			for (Iterator<Map.Entry<ICompilationUnit, TextChange>> iter= fMap.entrySet().iterator(); iter.hasNext();) {
+				Map.Entry<ICompilationUnit, TextChange> entry= iter.next();
+				if (TextEditStore.canStore(entry.getValue()) && store(entry.getKey(), entry.getValue()))
+					iter.remove();
+			}
+		}
+		ICompilationUnit[] cus= getAllCompilationUnits();
+		Arrays.sort(cus, (o1, o2) -> o1.getElementName().compareTo(o2.getElementName()));
+
+		Change[] changes= new Change[cus.length];
+		for (int i= 0; i < changes.length; i++) {
+			ICompilationUnit cu= cus[i];
+			List<DeferredEdit> deferred= fDeferred.getOrDefault(cu, Collections.emptyList());
+			TextEditStore.Entry entry= fStored.get(cu);
+			TextChange change= fMap.get(cu);
+			if (entry != null)
+				changes[i]= new StoredCompilationUnitChange(cu.getElementName(), cu, fStore, entry, deferred);
+			else if (deferred.isEmpty())
+				changes[i]= change;
+			else
+				changes[i]= new LazyCompilationUnitChange(cu.getElementName(), cu, (unit, pm) -> addDeferredEdits(change != null ? change : createChange(unit), deferred, pm));
+		}
+		fMap.clear();
+		fStored.clear();
+		fDeferred.clear();
+		return changes;
+	}
+
 	/**
 	 * Returns all compilation units managed by this instance.
 	 *
 	 * @return all compilation units managed by this instance
 	 */
 	public ICompilationUnit[] getAllCompilationUnits(){
-		return fMap.keySet().toArray(new ICompilationUnit[fMap.size()]);
+		Set<ICompilationUnit> cus= new LinkedHashSet<>(fMap.keySet());
+		cus.addAll(fStored.keySet());
+		cus.addAll(fDeferred.keySet());
+		return cus.toArray(new ICompilationUnit[cus.size()]);
 	}
 
 	/**
@@ -118,6 +318,10 @@ public class TextChangeManager {
 	 */
 	public void clear() {
 		fMap.clear();
+		for (TextEditStore.Entry entry : fStored.values())
+			fStore.release(entry);
+		fStored.clear();
+		fDeferred.clear();
 	}
 
 	/**
@@ -127,7 +331,7 @@ public class TextChangeManager {
 	 * @return <code>true</code> if any text changes are managed for the specified compilation unit and <code>false</code> otherwise
 	 */
 	public boolean containsChangesIn(ICompilationUnit cu){
-		return fMap.containsKey(cu);
+		return fMap.containsKey(cu) || fStored.containsKey(cu) || fDeferred.containsKey(cu);
 	}
 }
 
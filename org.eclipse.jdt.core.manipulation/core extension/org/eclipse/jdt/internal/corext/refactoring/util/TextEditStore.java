@@ -0,0 +1,402 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.TextEditGroup;
+
+import org.eclipse.jface.text.IRegion;
+
+import org.eclipse.ltk.core.refactoring.CategorizedTextEditGroup;
+import org.eclipse.ltk.core.refactoring.GroupCategory;
+import org.eclipse.ltk.core.refactoring.GroupCategorySet;
+import org.eclipse.ltk.core.refactoring.TextChange;
+import org.eclipse.ltk.core.refactoring.TextEditChangeGroup;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+
+/**
+ * A temporary file that holds the text edits of compilation unit changes while they are not
+ * needed in memory.
+ * <p>
+ * Only changes whose edit trees consist of {@link MultiTextEdit}s, {@link ReplaceEdit}s,
+ * {@link InsertEdit}s and {@link DeleteEdit}s can be stored, see {@link #canStore(TextChange)}.
+ * The file is created when the first change is stored and deleted as soon as no stored change is
+ * left. The space of released changes is reused by the changes stored later. This class is thread
+ * safe.
+ * </p>
+ */
+public final class TextEditStore {
+
+	/**
+	 * The location of a stored change in the store.
+	 */
+	public static final class Entry {
+
+		private final long fPosition;
+		private final int fLength;
+
+		private Entry(long position, int length) {
+			fPosition= position;
+			fLength= length;
+		}
+	}
+
+	private static final byte MULTI= 0;
+	private static final byte REPLACE= 1;
+	private static final byte INSERT= 2;
+	private static final byte DELETE= 3;
+
+	private FileChannel fChannel;
+	private Path fFile;
+	private long fSize;
+	private int fLiveEntries;
+	private final TreeMap<Long, Long> fFreeSpace= new TreeMap<>();
+
+	/**
+	 * Can the given change be stored?
+	 *
+	 * @param change the change
+	 * @return <code>true</code> if the change can be stored and loaded without loss
+	 */
+	public static boolean canStore(TextChange change) {
+		if (change.getClass() != CompilationUnitChange.class)
+			return false;
+		TextEdit root= change.getEdit();
+		Map<TextEdit, Integer> indices= new IdentityHashMap<>();
+		if (root != null) {
+			if (root.getClass() != MultiTextEdit.class || !collectEdits(root, indices))
+				return false;
+		}
+		for (TextEditChangeGroup group : change.getTextEditChangeGroups()) {
+			TextEditGroup editGroup= group.getTextEditGroup();
+			if (editGroup.getClass() != TextEditGroup.class && editGroup.getClass() != CategorizedTextEditGroup.class)
+				return false;
+			for (TextEdit edit : editGroup.getTextEdits()) {
+				if (!indices.containsKey(edit))
+					return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean collectEdits(TextEdit edit, Map<TextEdit, Integer> indices) {
+		Class<?> kind= edit.getClass();
+		if (kind != MultiTextEdit.class && kind != ReplaceEdit.class && kind != InsertEdit.class && kind != DeleteEdit.class)
+			return false;
+		indices.put(edit, Integer.valueOf(indices.size()));
+		for (TextEdit child : edit.getChildren()) {
+			if (!collectEdits(child, indices))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Stores the given change.
+	 *
+	 * @param change the change, which must be storable
+	 * @return the entry of the change
+	 * @throws IOException if the change cannot be written
+	 * @see #canStore(TextChange)
+	 */
+	public Entry store(TextChange change) throws IOException {
+		ByteArrayOutputStream bytes= new ByteArrayOutputStream();
+		try (DataOutputStream output= new DataOutputStream(bytes)) {
+			writeChange((CompilationUnitChange) change, output);
+		}
+		byte[] data= bytes.toByteArray();
+		synchronized (this) {
+			if (fChannel == null) {
+				fFile= Files.createTempFile("jdtTextEdits", ".bin"); //$NON-NLS-1$ //$NON-NLS-2$
+				fFile.toFile().deleteOnExit();
+				fChannel= FileChannel.open(fFile, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+				fSize= 0;
+			}
+			ByteBuffer buffer= ByteBuffer.wrap(data);
+			long position= allocate(data.length);
+			while (buffer.hasRemaining())
+				fChannel.write(buffer, position + buffer.position());
+			fLiveEntries++;
+			return new Entry(position, data.length);
+		}
+	}
+
+	private long allocate(int length) {
+		for (Map.Entry<Long, Long> free : fFreeSpace.entrySet()) {
+			long position= free.getKey().longValue();
+			long freeLength= free.getValue().longValue();
+			if (freeLength >= length) {
+				fFreeSpace.remove(free.getKey());
+				if (freeLength > length)
+					fFreeSpace.put(Long.valueOf(position + length), Long.valueOf(freeLength - length));
+				return position;
+			}
+		}
+		long position= fSize;
+		fSize+= length;
+		return position;
+	}
+
+	private void free(long position, long length) throws IOException {
+		Map.Entry<Long, Long> before= fFreeSpace.floorEntry(Long.valueOf(position));
+		if (before != null && before.getKey().longValue() + before.getValue().longValue() == position) {
+			fFreeSpace.remove(before.getKey());
+			position= before.getKey().longValue();
+			length+= before.getValue().longValue();
+		}
+		Long after= fFreeSpace.remove(Long.valueOf(position + length));
+		if (after != null)
+			length+= after.longValue();
+		if (position + length == fSize) {
+			fSize= position;
+			fChannel.truncate(fSize);
+		} else {
+			fFreeSpace.put(Long.valueOf(position), Long.valueOf(length));
+		}
+	}
+
+	/**
+	 * Loads a stored change. The entry stays valid until it is released.
+	 *
+	 * @param entry the entry of the change
+	 * @param unit the compilation unit of the change
+	 * @return a new change with the stored edits and groups
+	 * @throws IOException if the change cannot be read
+	 */
+	public CompilationUnitChange load(Entry entry, ICompilationUnit unit) throws IOException {
+		ByteBuffer buffer= ByteBuffer.allocate(entry.fLength);
+		synchronized (this) {
+			if (fChannel == null)
+				throw new IOException("Text edit store has been deleted"); //$NON-NLS-1$
+			while (buffer.hasRemaining()) {
+				if (fChannel.read(buffer, entry.fPosition + buffer.position()) < 0)
+					throw new IOException("Unexpected end of text edit store"); //$NON-NLS-1$
+			}
+		}
+		try (DataInputStream input= new DataInputStream(new ByteArrayInputStream(buffer.array()))) {
+			return readChange(input, unit);
+		}
+	}
+
+	/**
+	 * Releases a stored change. Its space is reused by the next changes that are stored, and the
+	 * file of the store is deleted once all changes are released.
+	 *
+	 * @param entry the entry of the change
+	 */
+	public synchronized void release(Entry entry) {
+		if (entry == null || fChannel == null)
+			return;
+		if (--fLiveEntries > 0) {
+			try {
+				free(entry.fPosition, entry.fLength);
+			} catch (IOException e) {
+				JavaManipulationPlugin.log(e);
+			}
+			return;
+		}
+		try {
+			fChannel.close();
+		} catch (IOException e) {
+			JavaManipulationPlugin.log(e);
+		}
+		fChannel= null;
+		fFile= null;
+		fFreeSpace.clear();
+	}
+
+	private static void writeChange(CompilationUnitChange change, DataOutputStream output) throws IOException {
+		writeString(change.getName(), output);
+		output.writeBoolean(change.isEnabled());
+		output.writeBoolean(change.getKeepPreviewEdits());
+		output.writeInt(change.getSaveMode());
+		writeString(change.getTextType(), output);
+
+		Map<TextEdit, Integer> indices= new IdentityHashMap<>();
+		TextEdit root= change.getEdit();
+		output.writeBoolean(root != null);
+		if (root != null) {
+			collectEdits(root, indices);
+			writeEdit(root, output);
+		}
+
+		TextEditChangeGroup[] groups= change.getTextEditChangeGroups();
+		output.writeInt(groups.length);
+		for (TextEditChangeGroup group : groups) {
+			TextEditGroup editGroup= group.getTextEditGroup();
+			writeString(editGroup.getName(), output);
+			output.writeBoolean(group.isEnabled());
+			if (editGroup instanceof CategorizedTextEditGroup categorized) {
+				List<GroupCategory> categories= categorized.getGroupCategorySet().asList();
+				output.writeInt(categories.size());
+				for (GroupCategory category : categories) {
+					writeString(category.getId(), output);
+					writeString(category.getName(), output);
+					writeString(category.getDescription(), output);
+				}
+			} else {
+				output.writeInt(-1);
+			}
+			TextEdit[] edits= editGroup.getTextEdits();
+			output.writeInt(edits.length);
+			for (TextEdit edit : edits)
+				output.writeInt(indices.get(edit).intValue());
+		}
+	}
+
+	private static void writeEdit(TextEdit edit, DataOutputStream output) throws IOException {
+		if (edit instanceof ReplaceEdit replace) {
+			output.writeByte(REPLACE);
+			output.writeInt(replace.getOffset());
+			output.writeInt(replace.getLength());
+			writeString(replace.getText(), output);
+		} else if (edit instanceof InsertEdit insert) {
+			output.writeByte(INSERT);
+			output.writeInt(insert.getOffset());
+			writeString(insert.getText(), output);
+		} else if (edit instanceof DeleteEdit) {
+			output.writeByte(DELETE);
+			output.writeInt(edit.getOffset());
+			output.writeInt(edit.getLength());
+		} else {
+			output.writeByte(MULTI);
+			boolean explicitRegion= hasExplicitRegion(edit);
+			output.writeBoolean(explicitRegion);
+			if (explicitRegion) {
+				output.writeInt(edit.getOffset());
+				output.writeInt(edit.getLength());
+			}
+		}
+		TextEdit[] children= edit.getChildren();
+		output.writeInt(children.length);
+		for (TextEdit child : children)
+			writeEdit(child, output);
+	}
+
+	/**
+	 * Returns whether the given multi text edit has been created with a region. The region of a
+	 * multi text edit without an explicit region covers its children, so an explicit region that
+	 * equals the covered region is not detected. Loading such an edit without the region only
+	 * allows more children to be added to it.
+	 *
+	 * @param multi the multi text edit
+	 * @return <code>true</code> if the region differs from the region covered by the children
+	 */
+	private static boolean hasExplicitRegion(TextEdit multi) {
+		TextEdit[] children= multi.getChildren();
+		if (children.length == 0)
+			return multi.getOffset() != 0 || multi.getLength() != 0;
+		IRegion coverage= TextEdit.getCoverage(children);
+		return multi.getOffset() != coverage.getOffset() || multi.getLength() != coverage.getLength();
+	}
+
+	private static CompilationUnitChange readChange(DataInputStream input, ICompilationUnit unit) throws IOException {
+		CompilationUnitChange change= new CompilationUnitChange(readString(input), unit);
+		change.setEnabled(input.readBoolean());
+		change.setKeepPreviewEdits(input.readBoolean());
+		change.setSaveMode(input.readInt());
+		String textType= readString(input);
+		if (textType != null)
+			change.setTextType(textType);
+
+		List<TextEdit> edits= new ArrayList<>();
+		if (input.readBoolean())
+			change.setEdit(readEdit(input, edits));
+
+		int groupCount= input.readInt();
+		for (int i= 0; i < groupCount; i++) {
+			String name= readString(input);
+			boolean enabled= input.readBoolean();
+			int categoryCount= input.readInt();
+			GroupCategory[] categories= categoryCount < 0 ? null : new GroupCategory[categoryCount];
+			for (int j= 0; j < categoryCount; j++)
+				categories[j]= new GroupCategory(readString(input), readString(input), readString(input));
+			TextEdit[] groupEdits= new TextEdit[input.readInt()];
+			for (int j= 0; j < groupEdits.length; j++)
+				groupEdits[j]= edits.get(input.readInt());
+			TextEditGroup editGroup= categories == null ? new TextEditGroup(name, groupEdits) : new CategorizedTextEditGroup(name, groupEdits, new GroupCategorySet(categories));
+			TextEditChangeGroup group= new TextEditChangeGroup(change, editGroup);
+			group.setEnabled(enabled);
+			change.addTextEditChangeGroup(group);
+		}
+		return change;
+	}
+
+	private static TextEdit readEdit(DataInputStream input, List<TextEdit> edits) throws IOException {
+		TextEdit edit;
+		switch (input.readByte()) {
+			case REPLACE:
+				edit= new ReplaceEdit(input.readInt(), input.readInt(), readString(input));
+				break;
+			case INSERT:
+				edit= new InsertEdit(input.readInt(), readString(input));
+				break;
+			case DELETE:
+				edit= new DeleteEdit(input.readInt(), input.readInt());
+				break;
+			default:
+				edit= input.readBoolean() ? new MultiTextEdit(input.readInt(), input.readInt()) : new MultiTextEdit();
+				break;
+		}
+		edits.add(edit);
+		int childCount= input.readInt();
+		for (int i= 0; i < childCount; i++)
+			edit.addChild(readEdit(input, edits));
+		return edit;
+	}
+
+	private static void writeString(String value, DataOutputStream output) throws IOException {
+		if (value == null) {
+			output.writeInt(-1);
+			return;
+		}
+		byte[] bytes= value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		int length= input.readInt();
+		if (length < 0)
+			return null;
+		byte[] bytes= new byte[length];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
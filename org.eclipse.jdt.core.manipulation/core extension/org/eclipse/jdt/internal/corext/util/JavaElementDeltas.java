@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+
+/**
+ * Classifies Java element deltas for caches that only depend on the types of the Java model and
+ * their relationships, e.g. caches of type environments or of overridden methods.
+ * <p>
+ * The classification is conservative: a delta that may change a type, a super type, an import or
+ * the class path is always reported, whereas changes inside method bodies, field initializers and
+ * comments are not.
+ * </p>
+ */
+public final class JavaElementDeltas {
+
+	private static final int CLASSPATH_CHANGE_FLAGS= IJavaElementDelta.F_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_ADDED_TO_CLASSPATH
+			| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+			| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+			| IJavaElementDelta.F_OPENED
+			| IJavaElementDelta.F_CLOSED;
+
+	private JavaElementDeltas() {
+	}
+
+	/**
+	 * Tells whether an event may have changed the types of the Java model, their super types or the
+	 * class path.
+	 *
+	 * @param event the event
+	 * @return <code>false</code> if the event is known to leave all types and super types unchanged
+	 */
+	public static boolean isTypeStructureChange(ElementChangedEvent event) {
+		return isChange(event.getDelta(), false);
+	}
+
+	/**
+	 * Tells whether an event may have changed the types of the Java model, their super types, the
+	 * class path, or the signatures or modifiers of methods.
+	 *
+	 * @param event the event
+	 * @return <code>false</code> if the event is known to leave all types, super types and method
+	 *         signatures unchanged
+	 */
+	public static boolean isTypeStructureOrMethodChange(ElementChangedEvent event) {
+		return isChange(event.getDelta(), true);
+	}
+
+	private static boolean isChange(IJavaElementDelta delta, boolean methods) {
+		if (delta == null)
+			return false;
+		int kind= delta.getKind();
+		int flags= delta.getFlags();
+		int elementType= delta.getElement().getElementType();
+		if (kind != IJavaElementDelta.CHANGED) {
+			switch (elementType) {
+				case IJavaElement.FIELD:
+				case IJavaElement.INITIALIZER:
+				case IJavaElement.LOCAL_VARIABLE:
+				case IJavaElement.ANNOTATION:
+					return false;
+				case IJavaElement.METHOD:
+					return methods;
+				default:
+					// types, imports, compilation units, class files, packages and roots
+					return true;
+			}
+		}
+		if ((flags & CLASSPATH_CHANGE_FLAGS) != 0)
+			return true;
+		switch (elementType) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if ((flags & IJavaElementDelta.F_REORDER) != 0)
+					return true;
+				break;
+			case IJavaElement.CLASS_FILE:
+				return true;
+			case IJavaElement.COMPILATION_UNIT:
+				// a content change without fine grained deltas can be anything
+				if ((flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED)) == IJavaElementDelta.F_CONTENT)
+					return true;
+				break;
+			case IJavaElement.TYPE:
+				if ((flags & (IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MODIFIERS | IJavaElementDelta.F_CONTENT)) != 0)
+					return true;
+				break;
+			case IJavaElement.METHOD:
+				return methods && (flags & IJavaElementDelta.F_MODIFIERS) != 0;
+			case IJavaElement.IMPORT_CONTAINER:
+				return true;
+			default:
+				return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isChange(child, methods))
+				return true;
+		}
+		return false;
+	}
+}
@@ -15,10 +15,13 @@
 
 package org.eclipse.jdt.internal.corext.util;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -35,6 +38,12 @@ import org.eclipse.jdt.core.Signature;
 
 /**
  * Finds overriding and overridden methods based on the Java model.
+ * <p>
+ * Overridden methods and the substituted parameter types of methods are memoized for the lifetime
+ * of the tester, i.e. for the lifetime of its hierarchy. Testers handed out by
+ * {@link SuperTypeHierarchyCache#getMethodOverrideTester(IType)} are discarded together with their
+ * hierarchy, and their memoized results are flushed whenever methods or their signatures change.
+ * </p>
  */
 // @see JDTUIHelperClasses
 public class MethodOverrideTester {
@@ -79,12 +88,45 @@ public class MethodOverrideTester {
 		}
 	}
 
+	/**
+	 * Key for memoized look-ups of an overridden method in a type and its super types.
+	 */
+	private static final class MethodInType {
+		private final IType fType;
+		private final IMethod fMethod;
+
+		public MethodInType(IType type, IMethod method) {
+			fType= type;
+			fMethod= method;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * fType.hashCode() + fMethod.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof MethodInType)) {
+				return false;
+			}
+			MethodInType other= (MethodInType) obj;
+			return fType.equals(other.fType) && fMethod.equals(other.fMethod);
+		}
+	}
+
 	private final IType fFocusType;
 	private final ITypeHierarchy fHierarchy;
 
 	private Map <IMethod, Substitutions> fMethodSubstitutions;
 	private Map<IType, Substitutions> fTypeVariableSubstitutions;
 
+	private final Map<IMethod, Optional<IMethod>> fOverriddenMethods= new ConcurrentHashMap<>();
+	private final Map<IMethod, Optional<IMethod>> fVisibleOverriddenMethods= new ConcurrentHashMap<>();
+	private final Map<MethodInType, Optional<IMethod>> fOverriddenMethodsInHierarchy= new ConcurrentHashMap<>();
+	private final Map<IMethod, String[]> fSubstitutedParameterTypes= new ConcurrentHashMap<>();
+	private final Map<IMethod, String[]> fErasedParameterTypes= new ConcurrentHashMap<>();
+
 	public MethodOverrideTester(IType focusType, ITypeHierarchy hierarchy) {
 		if (focusType == null || hierarchy == null) {
 			throw new IllegalArgumentException();
@@ -103,6 +145,21 @@ public class MethodOverrideTester {
 		return fHierarchy;
 	}
 
+	/**
+	 * Discards all memoized results. Needs to be called when members of types in the hierarchy
+	 * changed, but the hierarchy itself is still valid.
+	 */
+	public void flushMemoizedResults() {
+		fOverriddenMethods.clear();
+		fVisibleOverriddenMethods.clear();
+		fOverriddenMethodsInHierarchy.clear();
+		fSubstitutedParameterTypes.clear();
+		fErasedParameterTypes.clear();
+		synchronized (this) {
+			fMethodSubstitutions= null;
+		}
+	}
+
 	/**
 	 * Finds the method that declares the given method. A declaring method is the 'original' method declaration that does
 	 * not override nor implement a method. <code>null</code> is returned it the given method does not override
@@ -131,6 +188,16 @@ public class MethodOverrideTester {
 	 * @throws JavaModelException if a problem occurs
 	 */
 	public IMethod findOverriddenMethod(IMethod overriding, boolean testVisibility) throws JavaModelException {
+		Map<IMethod, Optional<IMethod>> memo= testVisibility ? fVisibleOverriddenMethods : fOverriddenMethods;
+		Optional<IMethod> memoized= memo.get(overriding);
+		if (memoized == null) {
+			memoized= Optional.ofNullable(internalFindOverriddenMethod(overriding, testVisibility));
+			memo.put(overriding, memoized);
+		}
+		return memoized.orElse(null);
+	}
+
+	private IMethod internalFindOverriddenMethod(IMethod overriding, boolean testVisibility) throws JavaModelException {
 		int flags= overriding.getFlags();
 		if (Flags.isPrivate(flags) || Flags.isStatic(flags) || overriding.isConstructor()) {
 			return null;
@@ -164,6 +231,16 @@ public class MethodOverrideTester {
 	 * @throws JavaModelException if a problem occurs
 	 */
 	public IMethod findOverriddenMethodInHierarchy(IType type, IMethod overriding) throws JavaModelException {
+		MethodInType key= new MethodInType(type, overriding);
+		Optional<IMethod> memoized= fOverriddenMethodsInHierarchy.get(key);
+		if (memoized == null) {
+			memoized= Optional.ofNullable(internalFindOverriddenMethodInHierarchy(type, overriding));
+			fOverriddenMethodsInHierarchy.put(key, memoized);
+		}
+		return memoized.orElse(null);
+	}
+
+	private IMethod internalFindOverriddenMethodInHierarchy(IType type, IMethod overriding) throws JavaModelException {
 		IMethod method= findOverriddenMethodInType(type, overriding);
 		if (method != null) {
 			return method;
@@ -329,35 +406,43 @@ public class MethodOverrideTester {
 	}
 
 	private boolean hasCompatibleParameterTypes(IMethod overriding, IMethod overridden) throws JavaModelException {
-		String[] overriddenParamTypes= overridden.getParameterTypes();
-		String[] overridingParamTypes= overriding.getParameterTypes();
-
-		String[] substitutedOverriding= new String[overridingParamTypes.length];
-		boolean testErasure= false;
-
-		for (int i= 0; i < overridingParamTypes.length; i++) {
-			String overriddenParamSig= overriddenParamTypes[i];
-			String overriddenParamName= getSubstitutedTypeName(overriddenParamSig, overridden);
-			String overridingParamName= getSubstitutedTypeName(overridingParamTypes[i], overriding);
-			substitutedOverriding[i]= overridingParamName;
-			if (!overriddenParamName.equals(overridingParamName)) {
-				testErasure= true;
-				break;
+		String[] overridingParamNames= getSubstitutedParameterTypes(overriding);
+		if (Arrays.equals(getSubstitutedParameterTypes(overridden), overridingParamNames)) {
+			return true;
+		}
+		return Arrays.equals(getErasedParameterTypes(overridden), overridingParamNames);
+	}
+
+	/*
+	 * Returns the substituted type names of a method's parameters
+	 */
+	private String[] getSubstitutedParameterTypes(IMethod method) throws JavaModelException {
+		String[] names= fSubstitutedParameterTypes.get(method);
+		if (names == null) {
+			String[] paramTypes= method.getParameterTypes();
+			names= new String[paramTypes.length];
+			for (int i= 0; i < paramTypes.length; i++) {
+				names[i]= getSubstitutedTypeName(paramTypes[i], method);
 			}
+			fSubstitutedParameterTypes.put(method, names);
 		}
-		if (testErasure) {
-			for (int i= 0; i < overridingParamTypes.length; i++) {
-				String overriddenParamSig= overriddenParamTypes[i];
-				String overriddenParamName= getErasedTypeName(overriddenParamSig, overridden);
-				String overridingParamName= substitutedOverriding[i];
-				if (overridingParamName == null)
-					overridingParamName= getSubstitutedTypeName(overridingParamTypes[i], overriding);
-				if (!overriddenParamName.equals(overridingParamName)) {
-					return false;
-				}
+		return names;
+	}
+
+	/*
+	 * Returns the erased type names of a method's parameters
+	 */
+	private String[] getErasedParameterTypes(IMethod method) throws JavaModelException {
+		String[] names= fErasedParameterTypes.get(method);
+		if (names == null) {
+			String[] paramTypes= method.getParameterTypes();
+			names= new String[paramTypes.length];
+			for (int i= 0; i < paramTypes.length; i++) {
+				names[i]= getErasedTypeName(paramTypes[i], method);
 			}
+			fErasedParameterTypes.put(method, names);
 		}
-		return true;
+		return names;
 	}
 
 	private String getVariableSubstitution(IMember context, String variableName) throws JavaModelException {
@@ -411,9 +496,9 @@ public class MethodOverrideTester {
 	/*
 	 * Returns the substitutions for a method's type parameters
 	 */
-	private Substitutions getMethodSubstitions(IMethod method) throws JavaModelException {
+	private synchronized Substitutions getMethodSubstitions(IMethod method) throws JavaModelException {
 		if (fMethodSubstitutions == null) {
-			fMethodSubstitutions= new LRUMap<>(3);
+			fMethodSubstitutions= new HashMap<>();
 		}
 
 		Substitutions s= fMethodSubstitutions.get(method);
@@ -437,7 +522,7 @@ public class MethodOverrideTester {
 	/*
 	 * Returns the substitutions for a type's type parameters
 	 */
-	private Substitutions getTypeSubstitions(IType type) throws JavaModelException {
+	private synchronized Substitutions getTypeSubstitions(IType type) throws JavaModelException {
 		if (fTypeVariableSubstitutions == null) {
 			fTypeVariableSubstitutions= new HashMap<>();
 			computeSubstitutions(fFocusType, null, null);
@@ -14,29 +14,48 @@
 package org.eclipse.jdt.internal.corext.util;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 
 /**
  * A thread-safe cache for super type hierarchies.
+ * <p>
+ * The cache is bounded by the estimated size of the cached hierarchies, i.e. the number of types
+ * they contain, and evicts the least recently used hierarchies first. Every type contained in a
+ * cached hierarchy is indexed, so lookups don't need to scan the cached hierarchies and never
+ * block. If several threads request a hierarchy that is not cached yet, it is computed only once.
+ * </p>
  */
 // @see JDTUIHelperClasses
 public class SuperTypeHierarchyCache {
 
 	private static class HierarchyCacheEntry implements ITypeHierarchyChangedListener {
 
-		private ITypeHierarchy fTypeHierarchy;
-		private long fLastAccess;
+		private volatile ITypeHierarchy fTypeHierarchy;
+		private final IType[] fTypes;
+		private volatile long fLastAccess;
 
 		public HierarchyCacheEntry(ITypeHierarchy hierarchy) {
 			fTypeHierarchy= hierarchy;
+			fTypes= hierarchy.getAllTypes();
 			fTypeHierarchy.addTypeHierarchyChangedListener(this);
 			markAsAccessed();
 		}
@@ -50,8 +69,19 @@ public class SuperTypeHierarchyCache {
 			return fTypeHierarchy;
 		}
 
+		public IType[] getTypes() {
+			return fTypes;
+		}
+
+		/**
+		 * @return the estimated size of the hierarchy, measured in the number of contained types
+		 */
+		public int getWeight() {
+			return fTypes.length;
+		}
+
 		public void markAsAccessed() {
-			fLastAccess= System.currentTimeMillis();
+			fLastAccess= fgAccessClock.incrementAndGet();
 		}
 
 		public long getLastAccess() {
@@ -59,15 +89,19 @@ public class SuperTypeHierarchyCache {
 		}
 
 		public void dispose() {
-			if (fTypeHierarchy != null) {
-				fTypeHierarchy.removeTypeHierarchyChangedListener(this);
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			if (hierarchy != null) {
+				hierarchy.removeTypeHierarchyChangedListener(this);
 				fTypeHierarchy= null;
 			}
 		}
 
 		@Override
 		public String toString() {
-			return "Super hierarchy of: " + fTypeHierarchy.getType().getElementName(); //$NON-NLS-1$
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			if (hierarchy == null)
+				return "Disposed super hierarchy"; //$NON-NLS-1$
+			return "Super hierarchy of: " + hierarchy.getType().getElementName(); //$NON-NLS-1$
 		}
 
 	}
@@ -75,11 +109,46 @@ public class SuperTypeHierarchyCache {
 
 	private static final int CACHE_SIZE= 8;
 
-	private static ArrayList<HierarchyCacheEntry> fgHierarchyCache= new ArrayList<>(CACHE_SIZE);
-	private static Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(CACHE_SIZE);
+	/**
+	 * Upper bound for the estimated size of all cached hierarchies, measured in the number of types
+	 * they contain. The most recently added hierarchy is always kept, even if it exceeds the bound
+	 * on its own.
+	 */
+	private static final int MAX_CACHED_TYPES= 20000;
+
+	/**
+	 * All cached hierarchies. Modifications are guarded by the set itself.
+	 */
+	private static final Set<HierarchyCacheEntry> fgHierarchyCache= new HashSet<>();
+	/**
+	 * Maps every type contained in a cached hierarchy to the entry of that hierarchy. Only
+	 * modified while holding the lock of {@link #fgHierarchyCache}, but read without locking.
+	 */
+	private static final Map<IType, HierarchyCacheEntry> fgTypeIndex= new ConcurrentHashMap<>();
+	/**
+	 * Hierarchies currently computed, by focus type.
+	 */
+	private static final Map<IType, FutureTask<ITypeHierarchy>> fgPendingHierarchies= new ConcurrentHashMap<>();
+	private static final Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(CACHE_SIZE);
+	/**
+	 * Flushes the results memoized by the cached method override testers when types, methods or
+	 * their signatures change. Changes of the hierarchies themselves remove the testers together
+	 * with their hierarchy, and changes inside method bodies do not affect the results.
+	 */
+	private static final IElementChangedListener fgMemberChangeListener= event -> {
+		if (JavaElementDeltas.isTypeStructureOrMethodChange(event))
+			flushMethodOverrideTesters();
+	};
+	/** Guarded by {@link #fgMethodOverrideTesterCache} */
+	private static boolean fgMemberChangeListenerInstalled= false;
+
+	private static final AtomicLong fgAccessClock= new AtomicLong();
+	/** Sum of the weights of all cached hierarchies, guarded by {@link #fgHierarchyCache} */
+	private static int fgCachedTypes= 0;
 
-	private static int fgCacheHits= 0;
-	private static int fgCacheMisses= 0;
+	private static final AtomicInteger fgCacheHits= new AtomicInteger();
+	private static final AtomicInteger fgCacheMisses= new AtomicInteger();
+	private static final AtomicInteger fgCacheEvictions= new AtomicInteger();
 
 	/**
 	 * Returns a super type hierarchy that contains the given type.
@@ -108,12 +177,24 @@ public class SuperTypeHierarchyCache {
 				if (test == null) {
 					test= new MethodOverrideTester(type, hierarchy);
 					fgMethodOverrideTesterCache.put(type, test);
+					if (!fgMemberChangeListenerInstalled) {
+						JavaCore.addElementChangedListener(fgMemberChangeListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+						fgMemberChangeListenerInstalled= true;
+					}
 				}
 			}
 		}
 		return test;
 	}
 
+	private static void flushMethodOverrideTesters() {
+		synchronized (fgMethodOverrideTesterCache) {
+			for (MethodOverrideTester tester : fgMethodOverrideTesterCache.values()) {
+				tester.flushMemoizedResults();
+			}
+		}
+	}
+
 	private static void removeMethodOverrideTester(ITypeHierarchy hierarchy) {
 		synchronized (fgMethodOverrideTesterCache) {
 			for (Iterator<MethodOverrideTester> iter= fgMethodOverrideTesterCache.values().iterator(); iter.hasNext();) {
@@ -139,43 +220,93 @@ public class SuperTypeHierarchyCache {
 	 */
 	public static ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
 		ITypeHierarchy hierarchy= findTypeHierarchyInCache(type);
-		if (hierarchy == null) {
-			fgCacheMisses++;
-			hierarchy= type.newSupertypeHierarchy(progressMonitor);
-			addTypeHierarchyToCache(hierarchy);
-		} else {
-			fgCacheHits++;
+		if (hierarchy != null) {
+			fgCacheHits.incrementAndGet();
+			return hierarchy;
+		}
+		return computeTypeHierarchy(type, progressMonitor);
+	}
+
+	private static ITypeHierarchy computeTypeHierarchy(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
+		while (true) {
+			FutureTask<ITypeHierarchy> task= new FutureTask<>(() -> type.newSupertypeHierarchy(progressMonitor));
+			FutureTask<ITypeHierarchy> pending= fgPendingHierarchies.putIfAbsent(type, task);
+			if (pending == null) {
+				try {
+					// the hierarchy might have been added since the last look-up
+					ITypeHierarchy hierarchy= findTypeHierarchyInCache(type);
+					if (hierarchy != null) {
+						fgCacheHits.incrementAndGet();
+						return hierarchy;
+					}
+					fgCacheMisses.incrementAndGet();
+					task.run();
+					hierarchy= getResult(task);
+					addTypeHierarchyToCache(hierarchy);
+					return hierarchy;
+				} finally {
+					fgPendingHierarchies.remove(type, task);
+				}
+			}
+			// another thread is computing the same hierarchy, wait for its result
+			try {
+				ITypeHierarchy hierarchy= getResult(pending);
+				fgCacheHits.incrementAndGet();
+				return hierarchy;
+			} catch (OperationCanceledException e) {
+				// the other computation got canceled, compute the hierarchy ourselves
+				if (progressMonitor != null && progressMonitor.isCanceled()) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	private static ITypeHierarchy getResult(FutureTask<ITypeHierarchy> task) throws JavaModelException {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof JavaModelException) {
+				throw (JavaModelException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
 		}
-		return hierarchy;
 	}
 
 	private static void addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
 		synchronized (fgHierarchyCache) {
-			int nEntries= fgHierarchyCache.size();
-			if (nEntries >= CACHE_SIZE) {
-				// find obsolete entries or remove entry that was least recently accessed
+			// remove obsolete entries and entries that are contained in the new hierarchy
+			for (HierarchyCacheEntry entry : new ArrayList<>(fgHierarchyCache)) {
+				ITypeHierarchy curr= entry.getTypeHierarchy();
+				if (curr == null || !curr.exists() || hierarchy.contains(curr.getType())) {
+					removeHierarchyEntryFromCache(entry);
+				}
+			}
+			HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
+			fgHierarchyCache.add(newEntry);
+			fgCachedTypes+= newEntry.getWeight();
+			for (IType type : newEntry.getTypes()) {
+				fgTypeIndex.put(type, newEntry);
+			}
+			// evict the least recently accessed entries until the cache fits into its bounds again
+			while (fgCachedTypes > MAX_CACHED_TYPES && fgHierarchyCache.size() > 1) {
 				HierarchyCacheEntry oldest= null;
-				ArrayList<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>(CACHE_SIZE);
 				for (HierarchyCacheEntry entry : fgHierarchyCache) {
-					ITypeHierarchy curr= entry.getTypeHierarchy();
-					if (!curr.exists() || hierarchy.contains(curr.getType())) {
-						obsoleteHierarchies.add(entry);
-					} else {
-						if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
-							oldest= entry;
-						}
+					if (entry != newEntry && (oldest == null || entry.getLastAccess() < oldest.getLastAccess())) {
+						oldest= entry;
 					}
 				}
-				if (!obsoleteHierarchies.isEmpty()) {
-					for (HierarchyCacheEntry obsoleteHierarchie : obsoleteHierarchies) {
-						removeHierarchyEntryFromCache(obsoleteHierarchie);
-					}
-				} else if (oldest != null) {
-					removeHierarchyEntryFromCache(oldest);
-				}
+				removeHierarchyEntryFromCache(oldest);
+				fgCacheEvictions.incrementAndGet();
 			}
-			HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
-			fgHierarchyCache.add(newEntry);
 		}
 	}
 
@@ -191,28 +322,33 @@ public class SuperTypeHierarchyCache {
 
 
 	private static ITypeHierarchy findTypeHierarchyInCache(IType type) {
-		synchronized (fgHierarchyCache) {
-			for (int i= fgHierarchyCache.size() - 1; i>= 0; i--) {
-				HierarchyCacheEntry curr= fgHierarchyCache.get(i);
-				ITypeHierarchy hierarchy= curr.getTypeHierarchy();
-				if (!hierarchy.exists()) {
-					removeHierarchyEntryFromCache(curr);
-				} else {
-					if (hierarchy.contains(type)) {
-						curr.markAsAccessed();
-						return hierarchy;
-					}
-				}
-			}
+		HierarchyCacheEntry entry= fgTypeIndex.get(type);
+		if (entry == null) {
+			return null;
 		}
-		return null;
+		ITypeHierarchy hierarchy= entry.getTypeHierarchy();
+		if (hierarchy == null || !hierarchy.exists()) {
+			removeHierarchyEntryFromCache(entry);
+			return null;
+		}
+		entry.markAsAccessed();
+		return hierarchy;
 	}
 
 	private static void removeHierarchyEntryFromCache(HierarchyCacheEntry entry) {
 		synchronized (fgHierarchyCache) {
-			removeMethodOverrideTester(entry.getTypeHierarchy());
+			if (!fgHierarchyCache.remove(entry)) {
+				return;
+			}
+			fgCachedTypes-= entry.getWeight();
+			for (IType type : entry.getTypes()) {
+				fgTypeIndex.remove(type, entry);
+			}
+			ITypeHierarchy hierarchy= entry.getTypeHierarchy();
+			if (hierarchy != null) {
+				removeMethodOverrideTester(hierarchy);
+			}
 			entry.dispose();
-			fgHierarchyCache.remove(entry);
 		}
 	}
 
@@ -222,7 +358,7 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheHits() {
-		return fgCacheHits;
+		return fgCacheHits.get();
 	}
 
 	/**
@@ -230,7 +366,36 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheMisses() {
-		return fgCacheMisses;
+		return fgCacheMisses.get();
+	}
+
+	/**
+	 * Gets the number of hierarchies that were removed from the cache to keep it in its bounds.
+	 * @return the number of evicted hierarchies
+	 */
+	public static int getCacheEvictions() {
+		return fgCacheEvictions.get();
+	}
+
+	/**
+	 * Gets the estimated size of all cached hierarchies, measured in the number of types they
+	 * contain.
+	 * @return the number of types in all cached hierarchies
+	 */
+	public static int getCachedTypesCount() {
+		synchronized (fgHierarchyCache) {
+			return fgCachedTypes;
+		}
+	}
+
+	/**
+	 * Gets the number of cached hierarchies.
+	 * @return the number of cached hierarchies
+	 */
+	public static int getCachedHierarchiesCount() {
+		synchronized (fgHierarchyCache) {
+			return fgHierarchyCache.size();
+		}
 	}
 
 	private SuperTypeHierarchyCache() {
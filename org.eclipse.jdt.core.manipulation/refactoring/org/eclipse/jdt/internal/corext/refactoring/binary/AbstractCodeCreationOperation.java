@@ -13,9 +13,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.binary;
 
-import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URI;
 import java.util.List;
 
@@ -83,18 +84,20 @@ public abstract class AbstractCodeCreationOperation implements IWorkspaceRunnabl
 	 *             if an error occurs while creating the compilation unit
 	 */
 	protected void createCompilationUnit(final IFileStore store, final String name, final String content, final IProgressMonitor monitor) throws CoreException {
-		OutputStream stream= null;
+		Writer writer= null;
 		try {
-			stream= new BufferedOutputStream(store.getChild(name).openOutputStream(EFS.NONE, Progress.subMonitor(monitor, 1)));
+			// encode while writing instead of copying the content into a byte array first
+			writer= new BufferedWriter(new OutputStreamWriter(store.getChild(name).openOutputStream(EFS.NONE, Progress.subMonitor(monitor, 1))));
 			try {
-				stream.write(content.getBytes());
+				writer.write(content);
+				writer.flush();
 			} catch (IOException exception) {
 				throw new CoreException(new Status(IStatus.ERROR, JavaManipulationPlugin.getPluginId(), 0, exception.getLocalizedMessage(), exception));
 			}
 		} finally {
-			if (stream != null) {
+			if (writer != null) {
 				try {
-					stream.close();
+					writer.close();
 				} catch (IOException exception) {
 					// Do nothing
 				}
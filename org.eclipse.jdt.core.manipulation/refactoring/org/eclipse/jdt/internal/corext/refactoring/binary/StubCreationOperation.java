@@ -14,12 +14,16 @@
 package org.eclipse.jdt.internal.corext.refactoring.binary;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.filesystem.IFileStore;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 
 import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.IOrdinaryClassFile;
@@ -27,6 +31,7 @@ import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IType;
 
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
+import org.eclipse.jdt.internal.corext.refactoring.util.ParallelTaskRunner;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 
 import org.eclipse.jdt.internal.ui.util.Progress;
@@ -34,14 +39,68 @@ import org.eclipse.jdt.internal.ui.util.Progress;
 /**
  * Operation, which run, creates structurally equivalent stub types for a list
  * of binary package fragments.
+ * <p>
+ * The stubs are generated on a bounded number of threads, a few class files ahead of the thread
+ * that runs the operation. The compilation units are created in the thread that runs the
+ * operation, in the order of the packages and their class files.
+ * </p>
  *
  * @since 3.2
  */
 public class StubCreationOperation extends AbstractCodeCreationOperation {
 
+	/**
+	 * Generates the stubs of a list of class files ahead of the thread that creates the
+	 * compilation units.
+	 */
+	private final class StubQueue implements AutoCloseable {
+
+		private final Map<IClassFile, Integer> fIndexes;
+		private final ParallelTaskRunner<IClassFile, String> fRunner;
+		private int fNext;
+
+		StubQueue(List<IClassFile> files, IProgressMonitor monitor) {
+			fIndexes= new HashMap<>(files.size());
+			for (int index= 0; index < files.size(); index++)
+				fIndexes.putIfAbsent(files.get(index), Integer.valueOf(index));
+			fRunner= new ParallelTaskRunner<>(files, (file, pm) -> file instanceof IOrdinaryClassFile ordinary ? createStub(ordinary, pm) : null, STUBS_AHEAD_PER_THREAD, monitor);
+		}
+
+		/**
+		 * Returns the stub of a class file.
+		 *
+		 * @param file the class file
+		 * @param monitor the progress monitor to use if the stub is generated in the calling thread
+		 * @return the stub, or <code>null</code> if no compilation unit is created for the class file
+		 * @throws CoreException if the stub cannot be generated
+		 */
+		String getStub(IOrdinaryClassFile file, IProgressMonitor monitor) throws CoreException {
+			Integer index= fIndexes.get(file);
+			// the runner hands out each stub once and in the order of the list
+			if (index == null || index.intValue() < fNext)
+				return createStub(file, monitor);
+			fNext= index.intValue() + 1;
+			return fRunner.get(index.intValue());
+		}
+
+		@Override
+		public void close() {
+			fRunner.close();
+		}
+	}
+
+	/**
+	 * Number of stubs generated ahead of the thread that creates the compilation units per
+	 * thread.
+	 */
+	private static final int STUBS_AHEAD_PER_THREAD= 4;
+
 	/** Should stubs for private member be generated as well? */
 	protected final boolean fStubInvisible;
 
+	/** The stubs generated ahead, or <code>null</code> if the operation is not running */
+	private StubQueue fQueue;
+
 	/**
 	 * Creates a new stub creation operation.
 	 *
@@ -75,6 +134,36 @@ public class StubCreationOperation extends AbstractCodeCreationOperation {
 		return RefactoringCoreMessages.StubCreationOperation_creating_type_stubs;
 	}
 
+	@Override
+	public void run(IProgressMonitor monitor) throws CoreException {
+		if (monitor == null)
+			monitor= new NullProgressMonitor();
+		final List<IClassFile> files= new ArrayList<>();
+		for (IPackageFragment fragment : fPackages)
+			files.addAll(List.of(fragment.getClassFiles()));
+		try (StubQueue queue= new StubQueue(files, monitor)) {
+			fQueue= queue;
+			super.run(monitor);
+		} finally {
+			fQueue= null;
+		}
+	}
+
+	/**
+	 * Generates the stub of a class file. This method may be called in any thread.
+	 *
+	 * @param file the class file
+	 * @param monitor the progress monitor to use
+	 * @return the stub, or <code>null</code> if the class file does not contain a top level type
+	 * @throws CoreException if an error occurs
+	 */
+	private String createStub(IOrdinaryClassFile file, IProgressMonitor monitor) throws CoreException {
+		final IType type= file.getType();
+		if (type.isAnonymous() || type.isLocal() || type.isMember())
+			return null;
+		return new StubCreator(fStubInvisible).createStub(type, monitor);
+	}
+
 	/**
 	 * Runs the stub generation on the specified class file.
 	 *
@@ -93,11 +182,11 @@ public class StubCreationOperation extends AbstractCodeCreationOperation {
 			monitor.beginTask(RefactoringCoreMessages.StubCreationOperation_creating_type_stubs, 2);
 			IProgressMonitor subProgressMonitor= Progress.subMonitor(monitor, 1);
 			if (file instanceof IOrdinaryClassFile) {
-				final IType type= ((IOrdinaryClassFile) file).getType();
-				if (type.isAnonymous() || type.isLocal() || type.isMember())
+				final IOrdinaryClassFile classFile= (IOrdinaryClassFile) file;
+				String source= fQueue != null ? fQueue.getStub(classFile, subProgressMonitor) : createStub(classFile, subProgressMonitor);
+				if (source == null)
 					return;
-				String source= new StubCreator(fStubInvisible).createStub(type, subProgressMonitor);
-				createCompilationUnit(parent, type.getElementName() + JavaModelUtil.DEFAULT_CU_SUFFIX, source, monitor);
+				createCompilationUnit(parent, classFile.getType().getElementName() + JavaModelUtil.DEFAULT_CU_SUFFIX, source, monitor);
 			}
 		} finally {
 			monitor.done();
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.code;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.AnnotationTypeDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.EnumDeclaration;
+import org.eclipse.jdt.core.dom.NodeFinder;
+import org.eclipse.jdt.core.dom.RecordDeclaration;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.internal.corext.refactoring.code.SnippetFinder.Match;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
+
+/**
+ * Counts the duplicates of the nodes selected for Extract Method in the types that the refactoring
+ * does not search itself: the other types of the compilation unit and the types of other
+ * compilation units of the same package or project. Anonymous classes are searched as part of the
+ * type that declares them, like in the refactoring.
+ * <p>
+ * The search only remembers the source ranges of the selected nodes and parses its own ASTs. It
+ * does not touch the AST of the refactoring and can therefore run in a background job while the
+ * refactoring wizard is open. A compilation unit is only parsed with bindings if its structural
+ * hashes contain the hash of the first selected node.
+ * </p>
+ *
+ * @see ExtractMethodRefactoring#createDuplicateSnippetSearch()
+ */
+public final class DuplicateSnippetSearch {
+
+	private final ICompilationUnit fUnit;
+	private final int[] fOffsets;
+	private final int[] fLengths;
+	private final int fSearchedTypeOffset;
+
+	DuplicateSnippetSearch(ICompilationUnit unit, ASTNode[] snippet, AbstractTypeDeclaration searchedType) {
+		fUnit= unit;
+		fOffsets= new int[snippet.length];
+		fLengths= new int[snippet.length];
+		for (int i= 0; i < snippet.length; i++) {
+			fOffsets[i]= snippet[i].getStartPosition();
+			fLengths[i]= snippet[i].getLength();
+		}
+		fSearchedTypeOffset= searchedType.getStartPosition();
+	}
+
+	/**
+	 * Returns the compilation unit of the selected nodes.
+	 *
+	 * @return the compilation unit
+	 */
+	public ICompilationUnit getCompilationUnit() {
+		return fUnit;
+	}
+
+	/**
+	 * Counts the duplicates in the compilation units of the package of the selection.
+	 *
+	 * @param pm the progress monitor
+	 * @return the number of duplicates outside the type searched by the refactoring
+	 * @throws CoreException if a compilation unit cannot be read
+	 */
+	public int countDuplicatesInPackage(IProgressMonitor pm) throws CoreException {
+		IPackageFragment pack= (IPackageFragment) fUnit.getAncestor(IJavaElement.PACKAGE_FRAGMENT);
+		return countDuplicates(pack.getCompilationUnits(), pm);
+	}
+
+	/**
+	 * Counts the duplicates in the compilation units of the source folders of the project of the
+	 * selection.
+	 *
+	 * @param pm the progress monitor
+	 * @return the number of duplicates outside the type searched by the refactoring
+	 * @throws CoreException if a compilation unit cannot be read
+	 */
+	public int countDuplicatesInProject(IProgressMonitor pm) throws CoreException {
+		List<ICompilationUnit> units= new ArrayList<>();
+		for (IPackageFragmentRoot root : fUnit.getJavaProject().getPackageFragmentRoots()) {
+			if (root.getKind() != IPackageFragmentRoot.K_SOURCE)
+				continue;
+			for (IJavaElement pack : root.getChildren())
+				units.addAll(Arrays.asList(((IPackageFragment) pack).getCompilationUnits()));
+		}
+		return countDuplicates(units.toArray(new ICompilationUnit[units.size()]), pm);
+	}
+
+	/**
+	 * Counts the duplicates in the given compilation units.
+	 *
+	 * @param units the compilation units to search
+	 * @param pm the progress monitor
+	 * @return the number of duplicates outside the type searched by the refactoring
+	 * @throws CoreException if a compilation unit cannot be read
+	 * @throws OperationCanceledException if the progress monitor has been canceled
+	 */
+	public int countDuplicates(ICompilationUnit[] units, IProgressMonitor pm) throws CoreException {
+		SubMonitor progress= SubMonitor.convert(pm, units.length + 1);
+		RefactoringASTParser parser= new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL);
+		CompilationUnit root= parser.parse(fUnit, true, progress.split(1));
+		ASTNode[] snippet= new ASTNode[fOffsets.length];
+		for (int i= 0; i < snippet.length; i++) {
+			snippet[i]= NodeFinder.perform(root, fOffsets[i], fLengths[i]);
+			if (snippet[i] == null || snippet[i].getStartPosition() != fOffsets[i] || snippet[i].getLength() != fLengths[i])
+				return 0; // the unit has been modified since the selection has been analyzed
+		}
+
+		StructuralHashIndex rootHashIndex= new StructuralHashIndex(root);
+		int snippetHash= rootHashIndex.getHash(snippet[0]);
+
+		int count= 0;
+		for (ICompilationUnit unit : units) {
+			SubMonitor unitProgress= SubMonitor.convert(progress.split(1), 2);
+			CompilationUnit ast= root;
+			StructuralHashIndex hashIndex;
+			if (unit.equals(fUnit)) {
+				hashIndex= rootHashIndex;
+			} else {
+				// the hashes do not depend on bindings, so most units are only parsed without them
+				hashIndex= new StructuralHashIndex(parser.parse(unit, false, unitProgress.split(1)));
+				if (hashIndex.getNodes(snippetHash).isEmpty())
+					continue;
+				ast= parser.parse(unit, true, unitProgress.split(1));
+				hashIndex= new StructuralHashIndex(ast);
+			}
+			for (AbstractTypeDeclaration type : getTypes(ast)) {
+				if (ast == root && type.getStartPosition() == fSearchedTypeOffset)
+					continue;
+				for (Match match : SnippetFinder.perform(type, snippet, hashIndex)) {
+					if (!match.isInvalidNode())
+						count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	private static List<AbstractTypeDeclaration> getTypes(CompilationUnit ast) {
+		final List<AbstractTypeDeclaration> result= new ArrayList<>();
+		ast.accept(new ASTVisitor() {
+			@Override
+			public boolean visit(TypeDeclaration node) {
+				result.add(node);
+				return true;
+			}
+
+			@Override
+			public boolean visit(EnumDeclaration node) {
+				result.add(node);
+				return true;
+			}
+
+			@Override
+			public boolean visit(AnnotationTypeDeclaration node) {
+				result.add(node);
+				return true;
+			}
+
+			@Override
+			public boolean visit(RecordDeclaration node) {
+				result.add(node);
+				return true;
+			}
+		});
+		return result;
+	}
+}
@@ -923,13 +923,27 @@ public class ExtractMethodRefactoring extends Refactoring {
 	}
 
 	private void initializeDuplicates() {
+		fDuplicates= findValidDuplicates(getSearchedType());
+		fReplaceDuplicates= fDuplicates.size() > 0 && !fAnalyzer.isLiteralNodeSelected();
+	}
+
+	private AbstractTypeDeclaration getSearchedType() {
 		ASTNode start= fAnalyzer.getEnclosingBodyDeclaration();
 		while (!(start instanceof AbstractTypeDeclaration )) {
 			start= start.getParent();
 		}
+		return (AbstractTypeDeclaration) start;
+	}
 
-		fDuplicates= findValidDuplicates(start);
-		fReplaceDuplicates= fDuplicates.size() > 0 && !fAnalyzer.isLiteralNodeSelected();
+	/**
+	 * Creates a search for duplicates of the selection outside of the type in which the refactoring
+	 * replaces duplicates. The search does not access the AST of this refactoring and may be run in
+	 * a background thread. Must only be called after the initial conditions have been checked.
+	 *
+	 * @return the search
+	 */
+	public DuplicateSnippetSearch createDuplicateSnippetSearch() {
+		return new DuplicateSnippetSearch(fCUnit, fAnalyzer.getSelectedNodes(), getSearchedType());
 	}
 
 	private List<SnippetFinder.Match> findValidDuplicates(ASTNode startNode) {
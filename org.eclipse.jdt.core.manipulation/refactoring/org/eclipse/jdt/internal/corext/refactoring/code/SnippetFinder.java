@@ -36,6 +36,7 @@ import org.eclipse.jdt.core.dom.IBinding;
 import org.eclipse.jdt.core.dom.IVariableBinding;
 import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.QualifiedName;
+import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SuperFieldAccess;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
@@ -116,6 +117,12 @@ public class SnippetFinder extends GenericVisitor {
 		}
 	}
 
+	/**
+	 * Matches the nodes of a candidate against the snippet. Candidates are only matched if their
+	 * {@link StructuralHashIndex structural hash} is the hash of the snippet node, so matching
+	 * subtrees must have equal hashes: this matcher may only relax the comparison of names, which
+	 * are not hashed.
+	 */
 	private class Matcher extends ASTMatcher {
 		@Override
 		public boolean match(SimpleName candidate, Object s) {
@@ -151,20 +158,41 @@ public class SnippetFinder extends GenericVisitor {
 	private List<Match> fResult= new ArrayList<>(2);
 	private Match fMatch;
 	private ASTNode[] fSnippet;
+	private int[] fSnippetHashes;
+	private StructuralHashIndex fHashIndex;
 	private int fIndex;
 	private Matcher fMatcher;
 	private int fTypes;
 
-	private SnippetFinder(ASTNode[] snippet) {
+	private SnippetFinder(ASTNode[] snippet, StructuralHashIndex hashIndex) {
 		super(true);
 		fSnippet= snippet;
+		fSnippetHashes= new int[snippet.length];
+		for (int i= 0; i < snippet.length; i++)
+			fSnippetHashes[i]= hashIndex.getHash(snippet[i]);
+		fHashIndex= hashIndex;
 		fMatcher= new Matcher();
 		reset();
 	}
 
 	public static List<Match> perform(ASTNode start, ASTNode[] snippet) {
+		return perform(start, snippet, new StructuralHashIndex(start));
+	}
+
+	/**
+	 * Finds the duplicates of a snippet in a type.
+	 *
+	 * @param start the type declaration or anonymous class declaration to search in
+	 * @param snippet the nodes of the snippet, which may belong to another AST
+	 * @param hashIndex the structural hashes of the subtrees of <code>start</code> or of one
+	 *            of its ancestors
+	 * @return the duplicates
+	 */
+	public static List<Match> perform(ASTNode start, ASTNode[] snippet, StructuralHashIndex hashIndex) {
 		Assert.isTrue(start instanceof AbstractTypeDeclaration || start instanceof AnonymousClassDeclaration);
-		SnippetFinder finder= new SnippetFinder(snippet);
+		SnippetFinder finder= new SnippetFinder(snippet, hashIndex);
+		if (!finder.hasCandidates())
+			return finder.fResult;
 		start.accept(finder);
 		for (Iterator<Match> iter = finder.fResult.iterator(); iter.hasNext();) {
 			Match match = iter.next();
@@ -243,6 +271,19 @@ public class SnippetFinder extends GenericVisitor {
 		super.endVisit(node);
 	}
 
+	@Override
+	public boolean visit(RecordDeclaration node) {
+		if (++fTypes > 1)
+			return false;
+		return super.visit(node);
+	}
+
+	@Override
+	public void endVisit(RecordDeclaration node) {
+		--fTypes;
+		super.endVisit(node);
+	}
+
 	@Override
 	protected boolean visitNode(ASTNode node) {
 		if (matches(node)) {
@@ -255,9 +296,20 @@ public class SnippetFinder extends GenericVisitor {
 		return true;
 	}
 
+	private boolean hasCandidates() {
+		for (ASTNode candidate : fHashIndex.getNodes(fSnippetHashes[0])) {
+			if (!isSnippetNode(candidate))
+				return true;
+		}
+		return false;
+	}
+
 	private boolean matches(ASTNode node) {
 		if (isSnippetNode(node))
 			return false;
+		// only subtrees with the structural hash of the snippet node can match it
+		if (fHashIndex.getHash(node) != fSnippetHashes[fIndex])
+			return false;
 		if (node.subtreeMatch(fMatcher, fSnippet[fIndex]) && fMatch.hasCorrectNesting(node)) {
 			fMatch.add(node);
 			fIndex++;
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.code;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.ChildListPropertyDescriptor;
+import org.eclipse.jdt.core.dom.ChildPropertyDescriptor;
+import org.eclipse.jdt.core.dom.Javadoc;
+import org.eclipse.jdt.core.dom.StructuralPropertyDescriptor;
+
+/**
+ * Structural hashes of all subtrees of an AST, indexed by hash.
+ * <p>
+ * The hash of a subtree covers the node types, the operators, literals and modifiers, and the
+ * shape of the subtree, but no names. Subtrees that {@link SnippetFinder} considers equal, in
+ * particular subtrees that differ only in the names of local variables, therefore have equal
+ * hashes, and only subtrees with the hash of a snippet have to be matched against it. Javadoc
+ * comments are hashed by their node type only, since the matcher does not compare their tags.
+ * Hashes do not depend on the AST or its bindings, so subtrees of different ASTs can be compared
+ * as well. Since equal hashes are a necessary condition for a match, the hash must not cover
+ * anything that the matcher of {@link SnippetFinder} does not compare.
+ * </p>
+ */
+public final class StructuralHashIndex {
+
+	private static final class HashComputer extends ASTVisitor {
+
+		private final Map<ASTNode, Integer> fHashes;
+
+		HashComputer(Map<ASTNode, Integer> hashes) {
+			super(true);
+			fHashes= hashes;
+		}
+
+		@Override
+		public boolean visit(Javadoc node) {
+			return false;
+		}
+
+		@Override
+		public void postVisit(ASTNode node) {
+			fHashes.put(node, Integer.valueOf(computeHash(node)));
+		}
+
+		private int computeHash(ASTNode node) {
+			int hash= node.getNodeType();
+			if (node.getNodeType() == ASTNode.JAVADOC)
+				return hash;
+			for (Object property : node.structuralPropertiesForType()) {
+				StructuralPropertyDescriptor descriptor= (StructuralPropertyDescriptor) property;
+				Object value= node.getStructuralProperty(descriptor);
+				if (descriptor instanceof ChildPropertyDescriptor) {
+					hash= 31 * hash + getChildHash((ASTNode) value);
+				} else if (descriptor instanceof ChildListPropertyDescriptor) {
+					List<?> children= (List<?>) value;
+					for (Object child : children)
+						hash= 31 * hash + getChildHash((ASTNode) child);
+					hash= 31 * hash + children.size();
+				} else if (node.getNodeType() != ASTNode.SIMPLE_NAME) {
+					hash= 31 * hash + Objects.hashCode(value);
+				}
+			}
+			return hash;
+		}
+
+		private int getChildHash(ASTNode child) {
+			if (child == null)
+				return 0;
+			Integer hash= fHashes.get(child);
+			return hash != null ? hash.intValue() : child.getNodeType();
+		}
+	}
+
+	private final Map<ASTNode, Integer> fHashes= new IdentityHashMap<>();
+	private final Map<Integer, List<ASTNode>> fNodes= new HashMap<>();
+
+	/**
+	 * Computes the hashes of all subtrees of the given node.
+	 *
+	 * @param root the root of the indexed subtrees
+	 */
+	public StructuralHashIndex(ASTNode root) {
+		root.accept(new HashComputer(fHashes));
+		for (Map.Entry<ASTNode, Integer> entry : fHashes.entrySet())
+			fNodes.computeIfAbsent(entry.getValue(), hash -> new ArrayList<>(2)).add(entry.getKey());
+	}
+
+	/**
+	 * Computes the structural hash of a subtree.
+	 *
+	 * @param node the root of the subtree
+	 * @return the hash
+	 */
+	public static int hash(ASTNode node) {
+		Map<ASTNode, Integer> hashes= new IdentityHashMap<>();
+		node.accept(new HashComputer(hashes));
+		return hashes.get(node).intValue();
+	}
+
+	/**
+	 * Returns the hash of an indexed subtree.
+	 *
+	 * @param node the root of the subtree
+	 * @return the hash
+	 */
+	public int getHash(ASTNode node) {
+		Integer hash= fHashes.get(node);
+		return hash != null ? hash.intValue() : hash(node);
+	}
+
+	/**
+	 * Returns the indexed subtrees with the given hash.
+	 *
+	 * @param hash the hash
+	 * @return the roots of the subtrees in no particular order
+	 */
+	public List<ASTNode> getNodes(int hash) {
+		List<ASTNode> nodes= fNodes.get(Integer.valueOf(hash));
+		return nodes != null ? Collections.unmodifiableList(nodes) : Collections.emptyList();
+	}
+}
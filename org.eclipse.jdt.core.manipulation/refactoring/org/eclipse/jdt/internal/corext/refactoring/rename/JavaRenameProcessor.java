@@ -30,6 +30,9 @@ import org.eclipse.ltk.core.refactoring.participants.SharableParticipants;
 import org.eclipse.ltk.core.refactoring.participants.ValidateEditChecker;
 
 import org.eclipse.jdt.internal.corext.refactoring.tagging.INameUpdating;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTPool;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry.Phase;
 
 import org.eclipse.jdt.ui.refactoring.IRefactoringSaveModes;
 
@@ -38,6 +41,7 @@ public abstract class JavaRenameProcessor extends RenameProcessor implements INa
 
 	private String fNewElementName;
 	private RenameModifications fRenameModifications;
+	private final RefactoringTelemetry fTelemetry= new RefactoringTelemetry();
 
 	@Override
 	public final RefactoringParticipant[] loadParticipants(RefactoringStatus status, SharableParticipants shared) throws CoreException {
@@ -48,16 +52,29 @@ public abstract class JavaRenameProcessor extends RenameProcessor implements INa
 	public final RefactoringStatus checkFinalConditions(IProgressMonitor pm, CheckConditionsContext context) throws CoreException, OperationCanceledException {
 		ResourceChangeChecker checker= context.getChecker(ResourceChangeChecker.class);
 		IResourceChangeDescriptionFactory deltaFactory= checker.getDeltaFactory();
-		RefactoringStatus result= doCheckFinalConditions(pm, context);
-		if (result.hasFatalError())
+		// processors of delegates and similarly named elements join the session of the outermost processor
+		try (RefactoringASTPool astPool= RefactoringASTPool.open(getRefactoring());
+				RefactoringTelemetry.PhaseTimer timer= fTelemetry.start(Phase.CHECK_FINAL_CONDITIONS)) {
+			RefactoringStatus result= doCheckFinalConditions(pm, context);
+			if (result.hasFatalError())
+				return result;
+			for (IFile f : getChangedFiles()) {
+				deltaFactory.change(f);
+			}
+			fRenameModifications= computeRenameModifications();
+			fRenameModifications.buildDelta(deltaFactory);
+			fRenameModifications.buildValidateEdits(context.getChecker(ValidateEditChecker.class));
 			return result;
-		for (IFile f : getChangedFiles()) {
-			deltaFactory.change(f);
 		}
-		fRenameModifications= computeRenameModifications();
-		fRenameModifications.buildDelta(deltaFactory);
-		fRenameModifications.buildValidateEdits(context.getChecker(ValidateEditChecker.class));
-		return result;
+	}
+
+	/**
+	 * Returns the telemetry that records the phases of this processor.
+	 *
+	 * @return the telemetry
+	 */
+	protected final RefactoringTelemetry getTelemetry() {
+		return fTelemetry;
 	}
 
 	protected abstract RenameModifications computeRenameModifications() throws CoreException;
@@ -13,7 +13,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.rename;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
@@ -28,6 +33,13 @@ import org.eclipse.jdt.core.compiler.ITerminalSymbols;
 import org.eclipse.jdt.core.compiler.InvalidInputException;
 
 
+/**
+ * Finds occurrences of names in comments and string literals. A scanner can look for several
+ * names at once. All occurrences of all names are found in a single pass over each token.
+ * <p>
+ * {@link #findMatches(ICompilationUnit)} can be called concurrently from several threads.
+ * </p>
+ */
 public class RefactoringScanner {
 
 	private static int NO_MATCH= 0;
@@ -38,10 +50,12 @@ public class RefactoringScanner {
 
 		private int fStartPosition;
 		private boolean fQualified;
+		private int fNameIndex;
 
-		private TextMatch(int startPosition, boolean qualified) {
+		private TextMatch(int startPosition, boolean qualified, int nameIndex) {
 			fStartPosition= startPosition;
 			fQualified= qualified;
+			fNameIndex= nameIndex;
 		}
 
 		/**
@@ -54,34 +68,147 @@ public class RefactoringScanner {
 		public boolean isQualified() {
 			return fQualified;
 		}
+
+		/**
+		 * @return the index of the matched name in the names the scanner looks for
+		 */
+		public int getNameIndex() {
+			return fNameIndex;
+		}
 	}
 
-	private final String fName;
-	private final String fQualifier;
+	/**
+	 * Aho-Corasick automaton over the names to find. State <code>0</code> is the root.
+	 */
+	private static class NameAutomaton {
+
+		private static final int[] NO_NAMES= new int[0];
+
+		private final List<Map<Character, Integer>> fTransitions= new ArrayList<>();
+		private final List<int[]> fNamesEndingIn= new ArrayList<>();
+		private int[] fFailures;
+
+		public NameAutomaton(String[] names) {
+			addState();
+			for (int i= 0; i < names.length; i++) {
+				int state= 0;
+				String name= names[i];
+				for (int j= 0; j < name.length(); j++) {
+					Integer next= fTransitions.get(state).get(name.charAt(j));
+					if (next == null) {
+						next= addState();
+						fTransitions.get(state).put(name.charAt(j), next);
+					}
+					state= next;
+				}
+				fNamesEndingIn.set(state, append(fNamesEndingIn.get(state), i));
+			}
+			computeFailures();
+		}
+
+		private int addState() {
+			fTransitions.add(new HashMap<>());
+			fNamesEndingIn.add(NO_NAMES);
+			return fTransitions.size() - 1;
+		}
+
+		private void computeFailures() {
+			fFailures= new int[fTransitions.size()];
+			ArrayDeque<Integer> queue= new ArrayDeque<>(fTransitions.get(0).values());
+			while (!queue.isEmpty()) {
+				int state= queue.removeFirst();
+				for (Map.Entry<Character, Integer> transition : fTransitions.get(state).entrySet()) {
+					int next= transition.getValue();
+					if (state != 0)
+						fFailures[next]= step(fFailures[state], transition.getKey());
+					int[] inherited= fNamesEndingIn.get(fFailures[next]);
+					for (int name : inherited)
+						fNamesEndingIn.set(next, append(fNamesEndingIn.get(next), name));
+					queue.addLast(next);
+				}
+			}
+		}
+
+		private static int[] append(int[] array, int value) {
+			int[] result= new int[array.length + 1];
+			System.arraycopy(array, 0, result, 0, array.length);
+			result[array.length]= value;
+			return result;
+		}
+
+		public int step(int state, char ch) {
+			while (true) {
+				Integer next= fTransitions.get(state).get(ch);
+				if (next != null)
+					return next;
+				if (state == 0)
+					return 0;
+				state= fFailures[state];
+			}
+		}
+
+		/**
+		 * @param state a state
+		 * @return the indices of the names that end when the automaton reaches the given state
+		 */
+		public int[] getNamesEndingIn(int state) {
+			return fNamesEndingIn.get(state);
+		}
+	}
+
+	private final String[] fNames;
+	private final String[] fQualifiers;
+	private final NameAutomaton fAutomaton;
 
-	private IScanner fScanner;
 	private Set<TextMatch> fMatches; //Set<TextMatch>
 
 
 	public RefactoringScanner(String name, String qualifier) {
-		Assert.isNotNull(name);
-		Assert.isNotNull(qualifier);
-		fName= name;
-		fQualifier= qualifier;
+		this(new String[] { name }, new String[] { qualifier });
+	}
+
+	/**
+	 * Creates a scanner that looks for several names at once.
+	 *
+	 * @param names the names to find
+	 * @param qualifiers the qualifiers of the names, in the same order as the names
+	 */
+	public RefactoringScanner(String[] names, String[] qualifiers) {
+		Assert.isTrue(names.length == qualifiers.length);
+		for (int i= 0; i < names.length; i++) {
+			Assert.isNotNull(names[i]);
+			Assert.isNotNull(qualifiers[i]);
+		}
+		fNames= names;
+		fQualifiers= qualifiers;
+		fAutomaton= names.length > 1 ? new NameAutomaton(names) : null;
 	}
 
 	public void scan(ICompilationUnit cu)	throws JavaModelException {
+		fMatches= findMatches(cu);
+	}
+
+	/**
+	 * Scans the given compilation unit. Unlike {@link #scan(ICompilationUnit)}, this method does
+	 * not change the state of the scanner.
+	 *
+	 * @param cu the compilation unit
+	 * @return the matches in the compilation unit
+	 * @throws JavaModelException if the contents of the compilation unit cannot be read
+	 */
+	public Set<TextMatch> findMatches(ICompilationUnit cu) throws JavaModelException {
 		char[] chars= cu.getBuffer().getCharacters();
-		fMatches= new HashSet<>();
+		Set<TextMatch> matches= new HashSet<>();
+		IScanner scanner;
 		IJavaProject javaProject= cu.getJavaProject();
         if (javaProject != null) {
             String sourceLevel = javaProject.getOption(JavaCore.COMPILER_SOURCE, true);
             String complianceLevel = javaProject.getOption(JavaCore.COMPILER_COMPLIANCE, true);
-            fScanner = ToolFactory.createScanner(true, true, true, sourceLevel, complianceLevel);
+            scanner = ToolFactory.createScanner(true, true, true, sourceLevel, complianceLevel);
         } else {
-        	fScanner= ToolFactory.createScanner(true, true, false, true);
+        	scanner= ToolFactory.createScanner(true, true, false, true);
         }
-		fScanner.setSource(chars);
+		scanner.setSource(chars);
 
 //		IImportContainer importContainer= cu.getImportContainer();
 //		if (importContainer.exists())
@@ -89,8 +216,8 @@ public class RefactoringScanner {
 //		else
 //			fNoFlyZone= null;
 
-		doScan();
-		fScanner= null;
+		doScan(scanner, matches);
+		return matches;
 	}
 
 	/**
@@ -104,24 +231,23 @@ public class RefactoringScanner {
 	public void scan(String text) {
 		char[] chars= text.toCharArray();
 		fMatches= new HashSet<>();
-		fScanner= ToolFactory.createScanner(true, true, false, true);
-		fScanner.setSource(chars);
-		doScan();
-		fScanner= null;
+		IScanner scanner= ToolFactory.createScanner(true, true, false, true);
+		scanner.setSource(chars);
+		doScan(scanner, fMatches);
 	}
 
-	private void doScan() {
+	private void doScan(IScanner scanner, Set<TextMatch> matches) {
 		try{
-			int token = fScanner.getNextToken();
+			int token = scanner.getNextToken();
 			while (token != ITerminalSymbols.TokenNameEOF) {
 				switch (token) {
 					case ITerminalSymbols.TokenNameStringLiteral :
 					case ITerminalSymbols.TokenNameCOMMENT_JAVADOC :
 					case ITerminalSymbols.TokenNameCOMMENT_LINE :
 					case ITerminalSymbols.TokenNameCOMMENT_BLOCK :
-						parseCurrentToken();
+						parseCurrentToken(scanner, matches);
 				}
-				token = fScanner.getNextToken();
+				token = scanner.getNextToken();
 			}
 		} catch (InvalidInputException e){
 			//ignore
@@ -144,22 +270,38 @@ public class RefactoringScanner {
 		return true;
 	}
 
-	private void parseCurrentToken() {
+	private void parseCurrentToken(IScanner scanner, Set<TextMatch> matches) {
 		// only works for references without whitespace
-		String value = new String(fScanner.getRawTokenSource());
-		int start= fScanner.getCurrentTokenStartPosition();
-		int index= value.indexOf(fName);
-		while (index != -1) {
-			if (isWholeWord(value, index, index + fName.length())) {
-				int ok= isQualifierOK(value, index);
-				if (ok > NO_MATCH)
-					addMatch(start + index, ok);
+		String value = new String(scanner.getRawTokenSource());
+		int start= scanner.getCurrentTokenStartPosition();
+		if (fAutomaton == null) {
+			if (fNames.length == 0)
+				return;
+			String name= fNames[0];
+			int index= value.indexOf(name);
+			while (index != -1) {
+				checkMatch(value, start, index, 0, matches);
+				index= value.indexOf(name, index + 1);
+			}
+		} else {
+			int state= 0;
+			for (int i= 0; i < value.length(); i++) {
+				state= fAutomaton.step(state, value.charAt(i));
+				for (int nameIndex : fAutomaton.getNamesEndingIn(state))
+					checkMatch(value, start, i + 1 - fNames[nameIndex].length(), nameIndex, matches);
 			}
-			index= value.indexOf(fName, index + 1);
 		}
 	}
 
-	private int isQualifierOK(String value, int nameStart) {
+	private void checkMatch(String value, int tokenStart, int index, int nameIndex, Set<TextMatch> matches) {
+		if (isWholeWord(value, index, index + fNames[nameIndex].length())) {
+			int ok= isQualifierOK(value, index, fQualifiers[nameIndex]);
+			if (ok > NO_MATCH)
+				matches.add(new TextMatch(tokenStart + index, ok == MATCH_QUALIFIED, nameIndex));
+		}
+	}
+
+	private int isQualifierOK(String value, int nameStart, String qualifier) {
 		// only works for references without whitespace
 		int qualifierAfter= nameStart - 1;
 		if (qualifierAfter < 0)
@@ -173,21 +315,21 @@ public class RefactoringScanner {
 
 		boolean canFinish= charBeforeName == '#';
 		// work through the qualifier from back to front
-		for (int i= 0; i < fQualifier.length() ; i++) {
+		for (int i= 0; i < qualifier.length() ; i++) {
 			int qualifierCharPos= qualifierAfter - 1 - i;
 			if (qualifierCharPos < 0)
 				// the position does not exist, return OK if last read char was a non-separator
 				return canFinish ? MATCH_UNQUALIFIED : NO_MATCH;
 
 			char qualifierChar= value.charAt(qualifierCharPos);
-			char goalQualifierChar= fQualifier.charAt(fQualifier.length() - 1 - i);
+			char goalQualifierChar= qualifier.charAt(qualifier.length() - 1 - i);
 			if (qualifierChar != goalQualifierChar)
 				// the chars do not match. return OK if last read char was a non-separator and the current one a non-qualifier
 				return (canFinish && !isQualifierPart(qualifierChar)) ? MATCH_UNQUALIFIED : NO_MATCH;
 
 			canFinish= ! isQualifierSeparator(qualifierChar);
 		}
-		int beforeQualifierPos= qualifierAfter - fQualifier.length() - 1;
+		int beforeQualifierPos= qualifierAfter - qualifier.length() - 1;
 		if (beforeQualifierPos >= 0) {
 			char beforeQualifierChar= value.charAt(beforeQualifierPos);
 			if (Character.isJavaIdentifierPart(beforeQualifierChar)) {
@@ -220,10 +362,6 @@ public class RefactoringScanner {
 		return ".#".indexOf(c) != -1; //$NON-NLS-1$
 	}
 
-	private void addMatch(int matchStart, int matchCode) {
-		fMatches.add(new TextMatch(matchStart, matchCode == MATCH_QUALIFIED));
-	}
-
 	/**
 	 * @return Set of TextMatch
 	 */
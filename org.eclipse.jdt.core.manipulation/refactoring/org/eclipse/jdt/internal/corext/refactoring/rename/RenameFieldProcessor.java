@@ -95,6 +95,8 @@ import org.eclipse.jdt.internal.corext.refactoring.tagging.IReferenceUpdating;
 import org.eclipse.jdt.internal.corext.refactoring.tagging.ITextUpdating;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaElementUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry.Phase;
 import org.eclipse.jdt.internal.corext.refactoring.util.ResourceUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
@@ -504,14 +506,16 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 
 	@Override
 	public RefactoringStatus checkInitialConditions(IProgressMonitor pm) throws CoreException {
-		IField primary= (IField) fField.getPrimaryElement();
-		if (primary == null || !primary.exists()) {
-			String message= Messages.format(RefactoringCoreMessages.RenameFieldRefactoring_deleted, BasicElementLabels.getFileName(fField.getCompilationUnit()));
-			return RefactoringStatus.createFatalErrorStatus(message);
-		}
-		assignField(primary);
+		try (RefactoringTelemetry.PhaseTimer timer= getTelemetry().start(Phase.CHECK_INITIAL_CONDITIONS)) {
+			IField primary= (IField) fField.getPrimaryElement();
+			if (primary == null || !primary.exists()) {
+				String message= Messages.format(RefactoringCoreMessages.RenameFieldRefactoring_deleted, BasicElementLabels.getFileName(fField.getCompilationUnit()));
+				return RefactoringStatus.createFatalErrorStatus(message);
+			}
+			assignField(primary);
 
-		return Checks.checkIfCuBroken(fField);
+			return Checks.checkIfCuBroken(fField);
+		}
 	}
 
 	@Override
@@ -764,7 +768,7 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 
 	@Override
 	public Change createChange(IProgressMonitor monitor) throws CoreException {
-		try {
+		try (RefactoringTelemetry.PhaseTimer timer= getTelemetry().start(Phase.CREATE_CHANGE)) {
 			monitor.beginTask(RefactoringCoreMessages.RenameFieldRefactoring_checking, 1);
 			TextChange[] changes= fChangeManager.getAllChanges();
 			RenameJavaElementDescriptor descriptor= createRefactoringDescriptor();
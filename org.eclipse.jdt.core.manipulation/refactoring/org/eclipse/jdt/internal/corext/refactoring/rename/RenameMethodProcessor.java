@@ -86,6 +86,8 @@ import org.eclipse.jdt.internal.corext.refactoring.structure.CompilationUnitRewr
 import org.eclipse.jdt.internal.corext.refactoring.tagging.IDelegateUpdating;
 import org.eclipse.jdt.internal.corext.refactoring.tagging.IReferenceUpdating;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry.Phase;
 import org.eclipse.jdt.internal.corext.refactoring.util.ResourceUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
 import org.eclipse.jdt.internal.corext.util.CollectionsUtil;
@@ -254,9 +256,9 @@ public abstract class RenameMethodProcessor extends JavaRenameProcessor implemen
 		return fMethod;
 	}
 
-	private void initializeMethodsToRename(IProgressMonitor pm, ReferencesInBinaryContext binaryRefs) throws CoreException {
+	private void initializeMethodsToRename(IProgressMonitor pm, ReferencesInBinaryContext binaryRefs, RefactoringStatus status) throws CoreException {
 		if (fMethodsToRename == null) {
-			IMethod[] rippleMethods= RippleMethodFinder2.getRelatedMethods(getMethod(), binaryRefs, pm, null);
+			IMethod[] rippleMethods= RippleMethodFinder2.getRelatedMethods(getMethod(), binaryRefs, status, pm, null);
 			fMethodsToRename= new HashSet<>();
 			for (IMethod method : rippleMethods) {
 				if (!method.isLambdaMethod()) {
@@ -321,19 +323,21 @@ public abstract class RenameMethodProcessor extends JavaRenameProcessor implemen
 
 	@Override
 	public RefactoringStatus checkInitialConditions(IProgressMonitor pm) throws CoreException {
-		if (! fMethod.exists()){
-			String message= Messages.format(RefactoringCoreMessages.RenameMethodRefactoring_deleted,
-								BasicElementLabels.getFileName(fMethod.getCompilationUnit()));
-			return RefactoringStatus.createFatalErrorStatus(message);
-		}
+		try (RefactoringTelemetry.PhaseTimer timer= getTelemetry().start(Phase.CHECK_INITIAL_CONDITIONS)) {
+			if (! fMethod.exists()){
+				String message= Messages.format(RefactoringCoreMessages.RenameMethodRefactoring_deleted,
+									BasicElementLabels.getFileName(fMethod.getCompilationUnit()));
+				return RefactoringStatus.createFatalErrorStatus(message);
+			}
 
-		RefactoringStatus result= Checks.checkAvailability(fMethod);
-		if (result.hasFatalError())
-				return result;
-		result.merge(Checks.checkIfCuBroken(fMethod));
-		if (JdtFlags.isNative(fMethod))
-			result.addError(RefactoringCoreMessages.RenameMethodRefactoring_no_native);
-		return result;
+			RefactoringStatus result= Checks.checkAvailability(fMethod);
+			if (result.hasFatalError())
+					return result;
+			result.merge(Checks.checkIfCuBroken(fMethod));
+			if (JdtFlags.isNative(fMethod))
+				result.addError(RefactoringCoreMessages.RenameMethodRefactoring_no_native);
+			return result;
+		}
 	}
 
 	@Override
@@ -398,7 +402,7 @@ public abstract class RenameMethodProcessor extends JavaRenameProcessor implemen
 			String binaryRefsDescription= Messages.format(RefactoringCoreMessages.ReferencesInBinaryContext_ref_in_binaries_description , BasicElementLabels.getJavaElementName(getCurrentElementName()));
 			ReferencesInBinaryContext binaryRefs= new ReferencesInBinaryContext(binaryRefsDescription);
 
-			initializeMethodsToRename(Progress.subMonitor(pm, 1), binaryRefs);
+			initializeMethodsToRename(Progress.subMonitor(pm, 1), binaryRefs, result);
 			pm.setTaskName(RefactoringCoreMessages.RenameMethodRefactoring_taskName_searchingForReferences);
 			fOccurrences= getOccurrences(Progress.subMonitor(pm, 3), result, binaryRefs);
 			binaryRefs.addErrorIfNecessary(result);
@@ -740,7 +744,7 @@ public abstract class RenameMethodProcessor extends JavaRenameProcessor implemen
 
 	@Override
 	public Change createChange(IProgressMonitor monitor) throws CoreException {
-		try {
+		try (RefactoringTelemetry.PhaseTimer timer= getTelemetry().start(Phase.CREATE_CHANGE)) {
 			final TextChange[] changes= fChangeManager.getAllChanges();
 			final List<TextChange> list= new ArrayList<>(changes.length);
 			list.addAll(Arrays.asList(changes));
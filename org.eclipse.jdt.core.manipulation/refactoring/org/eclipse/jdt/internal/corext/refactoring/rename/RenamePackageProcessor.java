@@ -16,17 +16,18 @@ package org.eclipse.jdt.internal.corext.refactoring.rename;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -97,10 +98,14 @@ import org.eclipse.jdt.internal.corext.refactoring.tagging.IReferenceUpdating;
 import org.eclipse.jdt.internal.corext.refactoring.tagging.ITextUpdating;
 import org.eclipse.jdt.internal.corext.refactoring.util.Changes;
 import org.eclipse.jdt.internal.corext.refactoring.util.CommentAnalyzer;
+import org.eclipse.jdt.internal.corext.refactoring.util.CompilationUnitTaskRunner;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaElementUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
+import org.eclipse.jdt.internal.corext.refactoring.util.ParallelTaskRunner;
 import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameFinder;
 import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameSearchResult;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry.Phase;
 import org.eclipse.jdt.internal.corext.refactoring.util.ResourceUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
 import org.eclipse.jdt.internal.corext.util.Messages;
@@ -120,6 +125,12 @@ public class RenamePackageProcessor extends JavaRenameProcessor implements
 	private static final String ATTRIBUTE_PATTERNS= "patterns"; //$NON-NLS-1$
 	private static final String ATTRIBUTE_HIERARCHICAL= "hierarchical"; //$NON-NLS-1$
 
+	/**
+	 * The number of compilation unit changes kept in memory while the change is created. The
+	 * edits of further compilation units are kept in a temporary file.
+	 */
+	private static final int MAX_CHANGES_IN_MEMORY= 200;
+
 	private IPackageFragment fPackage;
 
 	private TextChangeManager fChangeManager;
@@ -422,7 +433,7 @@ public class RenamePackageProcessor extends JavaRenameProcessor implements
 			if (result.hasFatalError())
 				return result;
 
-			fChangeManager= new TextChangeManager();
+			fChangeManager= new TextChangeManager(false, MAX_CHANGES_IN_MEMORY);
 			fImportsManager= new ImportsManager();
 
 			IProgressMonitor subPm= Progress.subMonitor(pm, 16);
@@ -437,7 +448,9 @@ public class RenamePackageProcessor extends JavaRenameProcessor implements
 				new PackageRenamer(fPackage, this, fChangeManager, fImportsManager).doRename(subPm, result);
 			}
 
-			fImportsManager.rewriteImports(fChangeManager, Progress.subMonitor(pm, 3));
+			// the import rewrites are computed when their changes are previewed or performed
+			fImportsManager.addDeferredImportRewrites(fChangeManager);
+			pm.worked(3);
 
 			if (fUpdateTextualMatches) {
 				pm.subTask(RefactoringCoreMessages.RenamePackageRefactoring_searching_text);
@@ -590,11 +603,11 @@ public class RenamePackageProcessor extends JavaRenameProcessor implements
 
 	@Override
 	public Change createChange(IProgressMonitor monitor) throws CoreException {
-		try {
+		try (RefactoringTelemetry.PhaseTimer timer= getTelemetry().start(Phase.CREATE_CHANGE)) {
 			monitor.beginTask(RefactoringCoreMessages.RenamePackageRefactoring_creating_change, 1);
 			final RenameJavaElementDescriptor descriptor= createRefactoringDescriptor();
 			final DynamicValidationRefactoringChange result= new DynamicValidationRefactoringChange(descriptor, RefactoringCoreMessages.RenamePackageRefactoring_change_name);
-			result.addAll(fChangeManager.getAllChanges());
+			result.addAll(fChangeManager.getAllChangesLazily());
 			fRenamePackageChange= new RenamePackageChange( fPackage, getNewElementName(),  fRenameSubpackages);
 			result.add(fRenamePackageChange);
 			monitor.worked(1);
@@ -1051,8 +1064,27 @@ public class RenamePackageProcessor extends JavaRenameProcessor implements
 			}
 		}
 
+		/**
+		 * Number of import rewrites that are computed ahead of the requested one. A rewrite that
+		 * is requested further ahead is computed on its own.
+		 */
+		private static final int IMPORT_REWRITES_AHEAD= 2 * ParallelTaskRunner.MAX_THREADS;
+
 		private HashMap<ICompilationUnit, ImportChange> fImportChanges= new HashMap<>();
 
+		/** The units with deferred import rewrites, in the order in which the changes are performed */
+		private List<ICompilationUnit> fDeferredUnits;
+		/** Computes the import rewrites of the deferred units from {@link #fRunnerStart} on, or <code>null</code> */
+		private CompilationUnitTaskRunner<TextEdit> fRunner;
+		/** The index of the first deferred unit of the runner */
+		private int fRunnerStart;
+		/** The index of the next deferred unit whose import rewrite is taken from the runner */
+		private int fNextUnit;
+		/** The progress monitor of the current request, or <code>null</code> */
+		private IProgressMonitor fMonitor;
+		/** Import rewrites that have been taken from the runner before they were requested, by unit; a value may be <code>null</code> */
+		private HashMap<ICompilationUnit, TextEdit> fImportEditsAhead;
+
 		public ImportChange getImportChange(ICompilationUnit cu) {
 			ImportChange importChange= fImportChanges.get(cu);
 			if (importChange == null) {
@@ -1062,37 +1094,100 @@ public class RenamePackageProcessor extends JavaRenameProcessor implements
 			return importChange;
 		}
 
-		public void rewriteImports(TextChangeManager changeManager, IProgressMonitor pm) throws CoreException {
-			for (Entry<ICompilationUnit, ImportChange> entry : fImportChanges.entrySet()) {
-				ICompilationUnit cu= entry.getKey();
-				ImportChange importChange= entry.getValue();
-				ImportRewrite importRewrite= StubUtility.createImportRewrite(cu, true);
-				importRewrite.setFilterImplicitImports(false);
-				for (String toRemove : importChange.fStaticToRemove) {
-					importRewrite.removeStaticImport(toRemove);
-				}
-				for (String toRemove : importChange.fToRemove) {
-					importRewrite.removeImport(toRemove);
-				}
-				for (String[] toAdd : importChange.fStaticToAdd) {
-					importRewrite.addStaticImport(toAdd[0], toAdd[1], true);
-				}
-				for (String toAdd : importChange.fToAdd) {
-					importRewrite.addImport(toAdd);
-				}
+		public void addDeferredImportRewrites(TextChangeManager changeManager) {
+			// the lazy changes are performed in the order of the unit names
+			fDeferredUnits= new ArrayList<>(fImportChanges.keySet());
+			fDeferredUnits.sort(Comparator.comparing(ICompilationUnit::getElementName));
+			fImportEditsAhead= new HashMap<>();
+			for (ICompilationUnit cu : fDeferredUnits) {
+				changeManager.addDeferred(cu, (change, pm) -> {
+					TextEdit importEdit= getImportEdit(cu, pm);
+					if (importEdit != null) {
+						String name= RefactoringCoreMessages.RenamePackageRefactoring_update_imports;
+						try {
+							TextChangeCompatibility.addTextEdit(change, name, importEdit);
+						} catch (MalformedTreeException e) {
+							JavaManipulationPlugin.logErrorMessage("MalformedTreeException while processing cu " + cu); //$NON-NLS-1$
+							throw e;
+						}
+					}
+				});
+			}
+		}
 
-				if (importRewrite.hasRecordedChanges()) {
-					TextEdit importEdit= importRewrite.rewriteImports(pm);
-					String name= RefactoringCoreMessages.RenamePackageRefactoring_update_imports;
+		/**
+		 * Returns the import rewrite of a unit. While the changes are performed in order, the
+		 * rewrites are taken from one runner over the deferred units, which computes the
+		 * rewrites of the following units in parallel. The runner is closed after the rewrite of
+		 * the last unit, or when a request fails. Rewrites that are requested out of order, for
+		 * example by the preview, are computed on their own.
+		 *
+		 * @param cu the unit
+		 * @param pm the progress monitor
+		 * @return the import edit, or <code>null</code> if the imports are unchanged
+		 * @throws CoreException if the imports cannot be rewritten
+		 */
+		private synchronized TextEdit getImportEdit(ICompilationUnit cu, IProgressMonitor pm) throws CoreException {
+			if (fImportEditsAhead.containsKey(cu))
+				return fImportEditsAhead.remove(cu);
+			int index= fDeferredUnits.indexOf(cu);
+			if (index < fNextUnit || index > fNextUnit + IMPORT_REWRITES_AHEAD)
+				return createImportEdit(cu, pm);
+			if (fRunner == null) {
+				fRunnerStart= fNextUnit;
+				// the runner outlives the requests, so it checks the monitor of the current one
+				IProgressMonitor monitor= new NullProgressMonitor() {
+					@Override
+					public boolean isCanceled() {
+						IProgressMonitor current= fMonitor;
+						return current != null && current.isCanceled();
+					}
+				};
+				fRunner= new CompilationUnitTaskRunner<>(fDeferredUnits.subList(fRunnerStart, fDeferredUnits.size()), this::createImportEdit, monitor);
+			}
+			fMonitor= pm;
+			boolean failed= true;
+			try {
+				for (; fNextUnit < index; fNextUnit++) {
 					try {
-						TextChangeCompatibility.addTextEdit(changeManager.get(cu), name, importEdit);
-					} catch (MalformedTreeException e) {
-						JavaManipulationPlugin.logErrorMessage("MalformedTreeException while processing cu " + cu); //$NON-NLS-1$
-						throw e;
+						fImportEditsAhead.put(fDeferredUnits.get(fNextUnit), fRunner.get(fNextUnit - fRunnerStart));
+					} catch (CoreException e) {
+						// computed again and reported when the rewrite is requested
 					}
 				}
+				fNextUnit++;
+				TextEdit result= fRunner.get(index - fRunnerStart);
+				failed= false;
+				return result;
+			} finally {
+				fMonitor= null;
+				if (failed || fNextUnit == fDeferredUnits.size()) {
+					fRunner.close();
+					fRunner= null;
+				}
 			}
 		}
+
+		private TextEdit createImportEdit(ICompilationUnit cu, IProgressMonitor pm) throws CoreException {
+			ImportChange importChange= fImportChanges.get(cu);
+			ImportRewrite importRewrite= StubUtility.createImportRewrite(cu, true);
+			importRewrite.setFilterImplicitImports(false);
+			for (String toRemove : importChange.fStaticToRemove) {
+				importRewrite.removeStaticImport(toRemove);
+			}
+			for (String toRemove : importChange.fToRemove) {
+				importRewrite.removeImport(toRemove);
+			}
+			for (String[] toAdd : importChange.fStaticToAdd) {
+				importRewrite.addStaticImport(toAdd[0], toAdd[1], true);
+			}
+			for (String toAdd : importChange.fToAdd) {
+				importRewrite.addImport(toAdd);
+			}
+			if (!importRewrite.hasRecordedChanges())
+				return null;
+			return importRewrite.rewriteImports(pm);
+		}
 	}
 
 	private RefactoringStatus initialize(JavaRefactoringArguments extended) {
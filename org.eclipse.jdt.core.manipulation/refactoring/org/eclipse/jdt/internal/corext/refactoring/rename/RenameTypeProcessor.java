@@ -114,11 +114,14 @@ import org.eclipse.jdt.internal.corext.refactoring.tagging.IReferenceUpdating;
 import org.eclipse.jdt.internal.corext.refactoring.tagging.ISimilarDeclarationUpdating;
 import org.eclipse.jdt.internal.corext.refactoring.tagging.ITextUpdating;
 import org.eclipse.jdt.internal.corext.refactoring.util.Changes;
+import org.eclipse.jdt.internal.corext.refactoring.util.CompilationUnitTaskRunner;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaElementUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
 import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameFinder;
 import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameSearchResult;
 import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry.Phase;
 import org.eclipse.jdt.internal.corext.refactoring.util.ResourceUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
@@ -455,14 +458,16 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 
 	@Override
 	public RefactoringStatus checkInitialConditions(IProgressMonitor pm) throws CoreException {
-		IType primary= (IType) fType.getPrimaryElement();
-		if (primary == null || !primary.exists()) {
-			String qualifiedTypeName= JavaElementLabelsCore.getElementLabel(fType, JavaElementLabelsCore.F_FULLY_QUALIFIED);
-			String message= Messages.format(RefactoringCoreMessages.RenameTypeRefactoring_does_not_exist, new String[] { BasicElementLabels.getJavaElementName(qualifiedTypeName), BasicElementLabels.getFileName(fType.getCompilationUnit())});
-			return RefactoringStatus.createFatalErrorStatus(message);
+		try (RefactoringTelemetry.PhaseTimer timer= getTelemetry().start(Phase.CHECK_INITIAL_CONDITIONS)) {
+			IType primary= (IType) fType.getPrimaryElement();
+			if (primary == null || !primary.exists()) {
+				String qualifiedTypeName= JavaElementLabelsCore.getElementLabel(fType, JavaElementLabelsCore.F_FULLY_QUALIFIED);
+				String message= Messages.format(RefactoringCoreMessages.RenameTypeRefactoring_does_not_exist, new String[] { BasicElementLabels.getJavaElementName(qualifiedTypeName), BasicElementLabels.getFileName(fType.getCompilationUnit())});
+				return RefactoringStatus.createFatalErrorStatus(message);
+			}
+			fType= primary;
+			return Checks.checkIfCuBroken(fType);
 		}
-		fType= primary;
-		return Checks.checkIfCuBroken(fType);
 	}
 
 	@Override
@@ -875,7 +880,7 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 	private RefactoringStatus analyseEnclosedTypes() throws CoreException {
 		final ISourceRange typeRange= fType.getSourceRange();
 		final RefactoringStatus result= new RefactoringStatus();
-		CompilationUnit cuNode= new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parse(fType.getCompilationUnit(), false);
+		CompilationUnit cuNode= new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parseShared(fType.getCompilationUnit(), null, false, false, false, null);
 		cuNode.accept(new ASTVisitor(){
 
 			@Override
@@ -1036,7 +1041,7 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 
 	@Override
 	public Change createChange(IProgressMonitor monitor) throws CoreException {
-		try {
+		try (RefactoringTelemetry.PhaseTimer timer= getTelemetry().start(Phase.CREATE_CHANGE)) {
 			monitor.beginTask(RefactoringCoreMessages.RenameTypeRefactoring_creating_change, 4);
 			String project= null;
 			IJavaProject javaProject= fType.getJavaProject();
@@ -1280,13 +1285,32 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 	// --------- Similar names
 
 	/**
-	 * Creates and initializes the refactoring processors for similarly named elements
+	 * Creates and initializes the refactoring processors for similarly named elements. The
+	 * compilation units with local variables to rename are parsed ahead of the sequential checks.
 	 * @param progressMonitor progress monitor
 	 * @param context context
 	 * @return status
 	 * @throws CoreException should not happen
 	 */
 	private RefactoringStatus initializeSimilarElementsRenameProcessors(IProgressMonitor progressMonitor, CheckConditionsContext context) throws CoreException {
+		final List<ICompilationUnit> cusWithLocals= getCompilationUnitsWithSelectedLocals();
+		try (CompilationUnitTaskRunner<CompilationUnit> parser= new CompilationUnitTaskRunner<>(cusWithLocals,
+				(cu, pm) -> new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parse(cu, true, pm), progressMonitor)) {
+			return initializeSimilarElementsRenameProcessors(progressMonitor, context, cusWithLocals, parser);
+		}
+	}
+
+	/**
+	 * Creates and initializes the refactoring processors for similarly named elements
+	 * @param progressMonitor progress monitor
+	 * @param context context
+	 * @param cusWithLocals the compilation units with selected local variables, in the order of the elements
+	 * @param parser the parser of the compilation units with selected local variables
+	 * @return status
+	 * @throws CoreException should not happen
+	 */
+	private RefactoringStatus initializeSimilarElementsRenameProcessors(IProgressMonitor progressMonitor, CheckConditionsContext context, List<ICompilationUnit> cusWithLocals,
+			CompilationUnitTaskRunner<CompilationUnit> parser) throws CoreException {
 
 		Assert.isNotNull(fPreloadedElementToName);
 		Assert.isNotNull(fPreloadedElementToSelection);
@@ -1299,6 +1323,7 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 
 		CompilationUnit currentResolvedCU= null;
 		ICompilationUnit currentCU= null;
+		int nextCUWithLocals= 0;
 
 		int current= 0;
 		final int max= fPreloadedElementToName.size();
@@ -1342,8 +1367,10 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 			if (element instanceof ILocalVariable) {
 				final ILocalVariable currentLocal= (ILocalVariable) element;
 
-				if (currentResolvedCU == null)
-					currentResolvedCU= new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parse(currentCU, true);
+				if (currentResolvedCU == null) {
+					Assert.isTrue(currentCU.equals(cusWithLocals.get(nextCUWithLocals)));
+					currentResolvedCU= parser.get(nextCUWithLocals++);
+				}
 
 				processor= createLocalRenameProcessor(currentLocal, newName, currentResolvedCU);
 
@@ -1433,6 +1460,18 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 		return status;
 	}
 
+	private List<ICompilationUnit> getCompilationUnitsWithSelectedLocals() {
+		List<ICompilationUnit> result= new ArrayList<>();
+		for (IJavaElement element : fPreloadedElementToName.keySet()) {
+			if (element instanceof ILocalVariable && fPreloadedElementToSelection.get(element).booleanValue()) {
+				ICompilationUnit cu= (ICompilationUnit) element.getAncestor(IJavaElement.COMPILATION_UNIT);
+				if (result.isEmpty() || !result.get(result.size() - 1).equals(cu))
+					result.add(cu);
+			}
+		}
+		return result;
+	}
+
 	private void checkCUCompleteConditions(final RefactoringStatus status, CompilationUnit currentResolvedCU, ICompilationUnit currentCU, List<RefactoringProcessor> processors) throws CoreException {
 
 		// check local variable conditions
@@ -1712,15 +1751,18 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 			}
 		}
 
+		final List<TextMatchUpdater.Request> requests= new ArrayList<>();
 		for (Entry<IJavaElement, String> entry : fFinalSimilarElementToName.entrySet()) {
 			IJavaElement element= entry.getKey();
 			if (element instanceof IField) {
 				final IField field= (IField) element;
 				final String newName= entry.getValue();
-				TextMatchUpdater.perform(monitor, RefactoringScopeFactory.create(field), field.getElementName(), field.getDeclaringType().getFullyQualifiedName(), newName, manager,
-						new SearchResultGroup[0], forbiddenSimpleNames.contains(field.getElementName()));
+				requests.add(new TextMatchUpdater.Request(RefactoringScopeFactory.create(field), field.getElementName(), field.getDeclaringType().getFullyQualifiedName(), newName,
+						new SearchResultGroup[0], forbiddenSimpleNames.contains(field.getElementName())));
 			}
 		}
+		// scan every compilation unit once for all fields
+		TextMatchUpdater.perform(monitor, manager, requests.toArray(new TextMatchUpdater.Request[requests.size()]));
 	}
 
 	// ------ UI interaction
@@ -15,8 +15,10 @@ package org.eclipse.jdt.internal.corext.refactoring.rename;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
@@ -49,12 +51,54 @@ import org.eclipse.jdt.internal.corext.refactoring.SearchResultGroup;
 import org.eclipse.jdt.internal.corext.refactoring.changes.TextChangeCompatibility;
 import org.eclipse.jdt.internal.corext.refactoring.rename.RefactoringScanner.TextMatch;
 import org.eclipse.jdt.internal.corext.refactoring.tagging.ITextUpdating;
+import org.eclipse.jdt.internal.corext.refactoring.util.CompilationUnitTaskRunner;
 import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
 
 import org.eclipse.jdt.internal.ui.util.Progress;
 
+/**
+ * Updates textual occurrences of renamed names in comments and string literals.
+ * <p>
+ * Several names can be updated at once. Every compilation unit is then scanned only once for
+ * all names. The compilation units are scanned in parallel; the text edits are added to the
+ * {@link TextChangeManager} in the calling thread.
+ * </p>
+ */
 public class TextMatchUpdater {
 
+	/**
+	 * A name whose textual occurrences are to be updated.
+	 */
+	public static final class Request {
+
+		private final IJavaSearchScope fScope;
+		private final String fCurrentName;
+		private final String fCurrentQualifier;
+		private final String fNewName;
+		private final SearchResultGroup[] fReferences;
+		private final boolean fOnlyQualified;
+
+		/**
+		 * @param scope the scope in which occurrences are updated
+		 * @param currentName the current name
+		 * @param currentQualifier the current qualifier of the name
+		 * @param newName the new name
+		 * @param references the Java references to the name; textual matches at their positions
+		 *            are not updated
+		 * @param onlyQualified <code>true</code> to update only qualified occurrences
+		 */
+		public Request(IJavaSearchScope scope, String currentName, String currentQualifier, String newName, SearchResultGroup[] references, boolean onlyQualified) {
+			Assert.isNotNull(scope);
+			Assert.isNotNull(references);
+			fScope= scope;
+			fCurrentName= currentName;
+			fCurrentQualifier= currentQualifier;
+			fNewName= newName;
+			fReferences= references;
+			fOnlyQualified= onlyQualified;
+		}
+	}
+
 	private static final String TEXT_EDIT_LABEL= RefactoringCoreMessages.TextMatchUpdater_update;
 
 	private static final GroupCategorySet TEXTUAL_MATCHES= new GroupCategorySet(
@@ -62,55 +106,73 @@ public class TextMatchUpdater {
 			RefactoringCoreMessages.TextMatchUpdater_textualMatches_name,
 			RefactoringCoreMessages.TextMatchUpdater_textualMatches_description));
 
-	private final IJavaSearchScope fScope;
+	private static final Comparator<TextMatch> MATCH_ORDER= Comparator.comparingInt(TextMatch::getNameIndex).thenComparingInt(TextMatch::getStartPosition);
+
 	private final TextChangeManager fManager;
-	private final SearchResultGroup[] fReferences;
-	private final boolean fOnlyQualified;
+	private final Request[] fRequests;
 
 	private final RefactoringScanner fScanner;
-	private final String fNewName;
-	private final int fCurrentNameLength;
 
-	private TextMatchUpdater(TextChangeManager manager, IJavaSearchScope scope, String currentName, String currentQualifier, String newName, SearchResultGroup[] references, boolean onlyQualified){
+	private TextMatchUpdater(TextChangeManager manager, Request[] requests){
 		Assert.isNotNull(manager);
-		Assert.isNotNull(scope);
-		Assert.isNotNull(references);
 		fManager= manager;
-		fScope= scope;
-		fReferences= references;
-		fOnlyQualified= onlyQualified;
+		fRequests= requests;
 
-		fNewName= newName;
-		fCurrentNameLength= currentName.length();
-		fScanner= new RefactoringScanner(currentName, currentQualifier);
+		String[] names= new String[requests.length];
+		String[] qualifiers= new String[requests.length];
+		for (int i= 0; i < requests.length; i++) {
+			names[i]= requests[i].fCurrentName;
+			qualifiers[i]= requests[i].fCurrentQualifier;
+		}
+		fScanner= new RefactoringScanner(names, qualifiers);
 	}
 
 	public static void perform(IProgressMonitor pm, IJavaSearchScope scope, String currentName, String currentQualifier, String newName, TextChangeManager manager, SearchResultGroup[] references, boolean onlyQualified) throws JavaModelException{
-		new TextMatchUpdater(manager, scope, currentName, currentQualifier, newName, references, onlyQualified).updateTextMatches(pm);
+		perform(pm, manager, new Request[] { new Request(scope, currentName, currentQualifier, newName, references, onlyQualified) });
 	}
 
 	public static void perform(IProgressMonitor pm, IJavaSearchScope scope, ITextUpdating processor, TextChangeManager manager, SearchResultGroup[] references) throws JavaModelException{
-		new TextMatchUpdater(manager, scope, processor.getCurrentElementName(), processor.getCurrentElementQualifier(), processor.getNewElementName(), references, false).updateTextMatches(pm);
+		perform(pm, scope, processor.getCurrentElementName(), processor.getCurrentElementQualifier(), processor.getNewElementName(), manager, references, false);
+	}
+
+	/**
+	 * Updates the textual occurrences of several names in one pass over the compilation units.
+	 *
+	 * @param pm the progress monitor
+	 * @param manager the text change manager to which the updates are added
+	 * @param requests the names to update
+	 * @throws JavaModelException if a compilation unit cannot be read
+	 */
+	public static void perform(IProgressMonitor pm, TextChangeManager manager, Request[] requests) throws JavaModelException {
+		if (requests.length == 0) {
+			pm.done();
+			return;
+		}
+		new TextMatchUpdater(manager, requests).updateTextMatches(pm);
 	}
 
 	private void updateTextMatches(IProgressMonitor pm) throws JavaModelException {
 		try{
 			IProject[] projectsInScope= getProjectsInScope();
 
-			pm.beginTask("", projectsInScope.length); //$NON-NLS-1$
+			pm.beginTask("", projectsInScope.length + 10); //$NON-NLS-1$
+			List<ICompilationUnit> cus= new ArrayList<>();
 			for (IProject project : projectsInScope) {
 				if (pm.isCanceled())
 					throw new OperationCanceledException();
-				addTextMatches(project, Progress.subMonitor(pm, 1));
+				addCompilationUnits(project, cus, Progress.subMonitor(pm, 1));
 			}
+			addTextMatches(cus, Progress.subMonitor(pm, 10));
 		} finally{
 			pm.done();
 		}
 	}
 
 	private IProject[] getProjectsInScope() {
-		IPath[] enclosingProjects= fScope.enclosingProjectsAndJars();
-		Set<IPath> enclosingProjectSet= new HashSet<>(Arrays.asList(enclosingProjects));
+		Set<IPath> enclosingProjectSet= new LinkedHashSet<>();
+		for (Request request : fRequests) {
+			enclosingProjectSet.addAll(Arrays.asList(request.fScope.enclosingProjectsAndJars()));
+		}
 		ArrayList<IProject> projectsInScope= new ArrayList<>();
 		for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
 			if (enclosingProjectSet.contains(project.getFullPath())) {
@@ -121,7 +183,7 @@ public class TextMatchUpdater {
 		return projectsInScope.toArray(new IProject[projectsInScope.size()]);
 	}
 
-	private void addTextMatches(IResource resource, IProgressMonitor pm) throws JavaModelException{
+	private void addCompilationUnits(IResource resource, List<ICompilationUnit> cus, IProgressMonitor pm) throws JavaModelException{
 		try{
 			String task= RefactoringCoreMessages.TextMatchUpdater_searching + resource.getFullPath();
 			if (resource instanceof IFile){
@@ -131,9 +193,9 @@ public class TextMatchUpdater {
 					return;
 				if (! element.exists())
 					return;
-				if (! fScope.encloses(element))
+				if (! isInScope(element))
 					return;
-				addCuTextMatches((ICompilationUnit) element);
+				cus.add((ICompilationUnit) element);
 
 			} else if (resource instanceof IContainer){
 				IResource[] members= ((IContainer) resource).members();
@@ -142,7 +204,7 @@ public class TextMatchUpdater {
 				for (IResource member : members) {
 					if (pm.isCanceled())
 						throw new OperationCanceledException();
-					addTextMatches(member, Progress.subMonitor(pm, 1));
+					addCompilationUnits(member, cus, Progress.subMonitor(pm, 1));
 				}
 			}
 		} catch (JavaModelException e){
@@ -154,43 +216,95 @@ public class TextMatchUpdater {
 		}
 	}
 
-	private void addCuTextMatches(ICompilationUnit cu) throws JavaModelException{
-		fScanner.scan(cu);
-		Set<TextMatch> matches= fScanner.getMatches(); //Set of TextMatch
+	private boolean isInScope(IJavaElement element) {
+		for (Request request : fRequests) {
+			if (request.fScope.encloses(element))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Scans the compilation units for all names and adds the text updates. With more than one
+	 * thread available, the compilation units are scanned concurrently, and the updates are added
+	 * in the order of <code>cus</code>.
+	 *
+	 * @param cus the compilation units
+	 * @param pm the progress monitor
+	 * @throws JavaModelException if a compilation unit cannot be read
+	 */
+	private void addTextMatches(List<ICompilationUnit> cus, IProgressMonitor pm) throws JavaModelException {
+		pm.beginTask("", cus.size()); //$NON-NLS-1$
+		try (CompilationUnitTaskRunner<Set<TextMatch>> runner= new CompilationUnitTaskRunner<>(cus, (cu, monitor) -> fScanner.findMatches(cu), pm)) {
+			for (int i= 0; i < cus.size(); i++) {
+				addCuTextMatches(cus.get(i), runner.get(i));
+				pm.worked(1);
+			}
+		} catch (JavaModelException e) {
+			throw e;
+		} catch (CoreException e) {
+			throw new JavaModelException(e);
+		} finally {
+			pm.done();
+		}
+	}
+
+	private void addCuTextMatches(ICompilationUnit cu, Set<TextMatch> matches) {
 		if (matches.isEmpty())
 			return;
 
+		removeOutOfScopeMatches(cu, matches);
 		removeReferences(cu, matches);
-		if (!matches.isEmpty())
-			addTextUpdates(cu, matches);
+		if (!matches.isEmpty()) {
+			List<TextMatch> sortedMatches= new ArrayList<>(matches);
+			sortedMatches.sort(MATCH_ORDER);
+			addTextUpdates(cu, sortedMatches);
+		}
+	}
+
+	private void removeOutOfScopeMatches(ICompilationUnit cu, Set<TextMatch> matches) {
+		if (fRequests.length == 1)
+			return; // the compilation unit has been checked to be in the scope
+		Boolean[] inScope= new Boolean[fRequests.length];
+		for (Iterator<TextMatch> iter= matches.iterator(); iter.hasNext();) {
+			int nameIndex= iter.next().getNameIndex();
+			if (inScope[nameIndex] == null)
+				inScope[nameIndex]= Boolean.valueOf(fRequests[nameIndex].fScope.encloses(cu));
+			if (!inScope[nameIndex].booleanValue())
+				iter.remove();
+		}
 	}
 
 	private void removeReferences(ICompilationUnit cu, Set<TextMatch> matches) {
-		for (SearchResultGroup group : fReferences) {
-			if (cu.equals(group.getCompilationUnit())) {
-				removeReferences(matches, group);
+		for (int i= 0; i < fRequests.length; i++) {
+			for (SearchResultGroup group : fRequests[i].fReferences) {
+				if (cu.equals(group.getCompilationUnit())) {
+					removeReferences(matches, group, i);
+				}
 			}
 		}
 	}
 
-	private void removeReferences(Set<TextMatch> matches, SearchResultGroup group) {
+	private void removeReferences(Set<TextMatch> matches, SearchResultGroup group, int nameIndex) {
+		int currentNameLength= fRequests[nameIndex].fCurrentName.length();
 		for (SearchMatch searchResult : group.getSearchResults()) {
 			//int start= searchResults[r].getStart(); // doesn't work for pack.ReferencedType
-			int unqualifiedStart= searchResult.getOffset() + searchResult.getLength() - fCurrentNameLength;
+			int unqualifiedStart= searchResult.getOffset() + searchResult.getLength() - currentNameLength;
 			for (Iterator<TextMatch> iter= matches.iterator(); iter.hasNext();) {
 				TextMatch element= iter.next();
-				if (element.getStartPosition() == unqualifiedStart)
+				if (element.getNameIndex() == nameIndex && element.getStartPosition() == unqualifiedStart)
 					iter.remove();
 			}
 		}
 	}
 
-	private void addTextUpdates(ICompilationUnit cu, Set<TextMatch> matches) {
+	private void addTextUpdates(ICompilationUnit cu, List<TextMatch> matches) {
 		for (TextMatch match : matches) {
-			if (!match.isQualified() && fOnlyQualified)
+			Request request= fRequests[match.getNameIndex()];
+			if (!match.isQualified() && request.fOnlyQualified)
 				continue;
 			int matchStart= match.getStartPosition();
-			ReplaceEdit edit= new ReplaceEdit(matchStart, fCurrentNameLength, fNewName);
+			ReplaceEdit edit= new ReplaceEdit(matchStart, request.fCurrentName.length(), request.fNewName);
 			try {
 				TextChangeCompatibility.addTextEdit(fManager.get(cu), TEXT_EDIT_LABEL, edit, TEXTUAL_MATCHES);
 			} catch (MalformedTreeException e) {
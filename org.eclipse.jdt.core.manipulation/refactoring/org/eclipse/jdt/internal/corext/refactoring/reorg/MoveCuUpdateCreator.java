@@ -75,6 +75,12 @@ import org.eclipse.jdt.internal.ui.util.Progress;
 
 public class MoveCuUpdateCreator {
 
+	/**
+	 * The number of compilation unit changes kept in memory while the reference updates are
+	 * created. The edits of further compilation units are kept in a temporary file.
+	 */
+	private static int fgMaxChangesInMemory= 200;
+
 	private final String fNewPackage;
 	private ICompilationUnit[] fCus;
 	private IPackageFragment fDestination;
@@ -94,10 +100,26 @@ public class MoveCuUpdateCreator {
 		fNewPackage= fDestination.isDefaultPackage() ? "" : fDestination.getElementName() + '.'; //$NON-NLS-1$
 	}
 
+	/**
+	 * Sets the number of compilation unit changes kept in memory while the reference updates are
+	 * created.
+	 * <p>
+	 * <strong>NOTE:</strong> Use only for testing.
+	 * </p>
+	 *
+	 * @param maxChangesInMemory the number of changes kept in memory
+	 * @return the previous number
+	 */
+	public static int setMaxChangesInMemory(int maxChangesInMemory) {
+		int previous= fgMaxChangesInMemory;
+		fgMaxChangesInMemory= maxChangesInMemory;
+		return previous;
+	}
+
 	public TextChangeManager createChangeManager(IProgressMonitor pm, RefactoringStatus status) throws JavaModelException{
 		pm.beginTask("", 5); //$NON-NLS-1$
 		try{
-			TextChangeManager changeManager= new TextChangeManager();
+			TextChangeManager changeManager= new TextChangeManager(false, fgMaxChangesInMemory);
 			addUpdates(changeManager, Progress.subMonitor(pm, 4), status);
 			addImportRewriteUpdates(changeManager);
 			return changeManager;
@@ -111,14 +133,17 @@ public class MoveCuUpdateCreator {
 
 	}
 
-	private void addImportRewriteUpdates(TextChangeManager changeManager) throws CoreException {
+	private void addImportRewriteUpdates(TextChangeManager changeManager) {
+		// the import rewrites parse their compilation units, so they are computed when their
+		// changes are previewed or performed
 		for (Map.Entry<ICompilationUnit, ImportRewrite> entry : fImportRewrites.entrySet()) {
 			ICompilationUnit cu = entry.getKey();
 			ImportRewrite importRewrite= entry.getValue();
 			if (importRewrite != null && importRewrite.hasRecordedChanges()) {
-				TextChangeCompatibility.addTextEdit(changeManager.get(cu), RefactoringCoreMessages.MoveCuUpdateCreator_update_imports, importRewrite.rewriteImports(null));
+				changeManager.addDeferred(cu, (change, pm) -> TextChangeCompatibility.addTextEdit(change, RefactoringCoreMessages.MoveCuUpdateCreator_update_imports, importRewrite.rewriteImports(pm)));
 			}
 		}
+		fImportRewrites.clear();
 	}
 
 	private void addUpdates(TextChangeManager changeManager, IProgressMonitor pm, RefactoringStatus status) throws CoreException {
@@ -1440,7 +1440,7 @@ public final class ReorgPolicyFactory {
 				}
 				// </workaround>
 
-				composite.merge(new CompositeChange(RefactoringCoreMessages.MoveRefactoring_reorganize_elements, fChangeManager.getAllChanges()));
+				composite.merge(new CompositeChange(RefactoringCoreMessages.MoveRefactoring_reorganize_elements, fChangeManager.getAllChangesLazily()));
 
 				Change fileMove= createSimpleMoveChange(Progress.subMonitor(pm, 1));
 				if (fileMove instanceof CompositeChange) {
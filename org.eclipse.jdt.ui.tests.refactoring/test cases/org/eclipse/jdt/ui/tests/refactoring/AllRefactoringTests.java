@@ -109,13 +109,19 @@ import org.junit.runners.Suite;
 
 	//--binaries
 	BinaryReferencesTests.class,
+	StubCreationOperationTests.class,
 
 	// validate edit
 //	ValidateEditTests.class,
 
 	//--helpers
 	RenamingNameSuggestorTests.class,
-	DelegateCreatorTests.class
+	DelegateCreatorTests.class,
+	RefactoringASTPoolTests.class,
+	RefactoringBatchTests.class,
+	ExtractMethodDuplicateSearchTests.class,
+	RefactoringTelemetryTests.class,
+	RefactoringSearchEngineTests.class
 })
 public class AllRefactoringTests {
 }
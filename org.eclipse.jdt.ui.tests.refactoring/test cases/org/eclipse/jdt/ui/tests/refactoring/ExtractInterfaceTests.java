@@ -14,8 +14,10 @@
 package org.eclipse.jdt.ui.tests.refactoring;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Hashtable;
 
@@ -26,21 +28,30 @@ import org.junit.Test;
 import org.eclipse.jdt.testplugin.JavaProjectHelper;
 import org.eclipse.jdt.testplugin.TestOptions;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
+
 import org.eclipse.ltk.core.refactoring.Refactoring;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.core.refactoring.participants.ProcessorBasedRefactoring;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
 
 import org.eclipse.jdt.internal.core.manipulation.CodeTemplateContextType;
 import org.eclipse.jdt.internal.core.manipulation.StubUtility;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.corext.refactoring.structure.ExtractInterfaceProcessor;
+import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TType;
+import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TypeEnvironment;
 
 import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
 
@@ -1112,5 +1123,53 @@ public class ExtractInterfaceTests extends GenericRefactoringTest {
 		validateFailingTest("A", "I", true, RefactoringStatus.FATAL);
 	}
 
+	private static TType createSharedType(IType type) {
+		ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+		parser.setProject(type.getJavaProject());
+		IBinding[] bindings= parser.createBindings(new IJavaElement[] { type }, null);
+		return TypeEnvironment.getSharedEnvironment(type.getJavaProject(), false).create((ITypeBinding) bindings[0]);
+	}
+
+	@Test
+	public void testTwiceOnSameProject() throws Exception {
+		ICompilationUnit cu= getPackageP().createCompilationUnit("A.java",
+				"package p;\n" +
+				"public class A {\n" +
+				"\tpublic void m() {\n" +
+				"\t}\n" +
+				"\tpublic void n() {\n" +
+				"\t}\n" +
+				"\tvoid use(A a) {\n" +
+				"\t\ta.n();\n" +
+				"\t}\n" +
+				"}\n", true, null);
+		IType clas= cu.getType("A");
+
+		// the first refactoring is not performed, so its interface only exists in its working copies
+		ExtractInterfaceProcessor processor= new ExtractInterfaceProcessor(clas, JavaPreferencesSettings.getCodeGenerationSettings(clas.getJavaProject()));
+		Refactoring ref= new ProcessorBasedRefactoring(processor);
+		processor.setTypeName("I");
+		processor.setReplace(true);
+		processor.setExtractedMembers(getMethods(clas, new String[] { "m" }, new String[][] { new String[0] }));
+		assertFalse(ref.checkAllConditions(new NullProgressMonitor()).hasFatalError());
+		ref.createChange(new NullProgressMonitor()).dispose();
+
+		// the shared environment does not know the super types of the working copies
+		assertEquals(0, createSharedType(clas).getInterfaces().length);
+
+		processor= new ExtractInterfaceProcessor(clas, JavaPreferencesSettings.getCodeGenerationSettings(clas.getJavaProject()));
+		ref= new ProcessorBasedRefactoring(processor);
+		processor.setTypeName("J");
+		processor.setReplace(true);
+		processor.setExtractedMembers(getMethods(clas, new String[] { "n" }, new String[][] { new String[0] }));
+		assertNull("was supposed to pass", performRefactoring(ref));
+
+		String source= cu.getSource();
+		assertTrue(source, source.contains("public class A implements J {"));
+		assertTrue(source, source.contains("void use(J a) {"));
+		assertFalse(source, getPackageP().getCompilationUnit("I.java").exists());
+		assertEquals(0, createSharedType(clas).getInterfaces().length);
+	}
+
 
 }
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+
+import org.eclipse.jdt.internal.corext.refactoring.code.DuplicateSnippetSearch;
+import org.eclipse.jdt.internal.corext.refactoring.code.ExtractMethodRefactoring;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+public class ExtractMethodDuplicateSearchTests {
+
+	private static final String SELECTION= "System.out.println(i * 2);";
+
+	@Rule
+	public RefactoringTestSetup fts= new RefactoringTestSetup();
+
+	private ICompilationUnit fUnit;
+
+	@Before
+	public void setUp() throws Exception {
+		fUnit= fts.getPackageP().createCompilationUnit("A.java",
+				"package p;\n" +
+				"public class A {\n" +
+				"\tvoid m(int i) {\n" +
+				"\t\t" + SELECTION + "\n" +
+				"\t\tSystem.out.println(i * 2);\n" +
+				"\t}\n" +
+				"}\n" +
+				"class A2 {\n" +
+				"\tvoid m(int a) {\n" +
+				"\t\tSystem.out.println(a * 2);\n" +
+				"\t}\n" +
+				"}\n", true, null);
+	}
+
+	private DuplicateSnippetSearch createSearch() throws Exception {
+		ExtractMethodRefactoring refactoring= new ExtractMethodRefactoring(fUnit, fUnit.getSource().indexOf(SELECTION), SELECTION.length());
+		RefactoringStatus status= refactoring.checkInitialConditions(new NullProgressMonitor());
+		assertFalse(status.toString(), status.hasFatalError());
+		return refactoring.createDuplicateSnippetSearch();
+	}
+
+	private void createSiblingUnits() throws Exception {
+		fts.getPackageP().createCompilationUnit("B.java",
+				"package p;\n" +
+				"class B {\n" +
+				"\tvoid n(int k) {\n" +
+				"\t\tSystem.out.println(k * 2);\n" +
+				"\t\tSystem.out.println(k * 3);\n" +
+				"\t}\n" +
+				"\tRunnable r= new Runnable() {\n" +
+				"\t\tpublic void run() {\n" +
+				"\t\t\tint l= 3;\n" +
+				"\t\t\tSystem.out.println(l * 2);\n" +
+				"\t\t}\n" +
+				"\t};\n" +
+				"}\n", true, null);
+		fts.getPackageQ().createCompilationUnit("C.java",
+				"package q;\n" +
+				"class C {\n" +
+				"\tvoid n(int k) {\n" +
+				"\t\tSystem.out.println(k * 2);\n" +
+				"\t}\n" +
+				"}\n", true, null);
+		fts.getPackageQ().createCompilationUnit("D.java",
+				"package q;\n" +
+				"class D {\n" +
+				"\tvoid n(long k) {\n" +
+				"\t\tSystem.out.println(k * 2);\n" +
+				"\t\tSystem.out.println(k + 2);\n" +
+				"\t}\n" +
+				"}\n", true, null);
+	}
+
+	@Test
+	public void testDuplicatesInSameUnit() throws Exception {
+		// the duplicate in the searched type is replaced by the refactoring and not counted
+		assertEquals(1, createSearch().countDuplicatesInPackage(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void testDuplicatesInPackage() throws Exception {
+		createSiblingUnits();
+		// A2, the method of B and the anonymous class in B
+		assertEquals(3, createSearch().countDuplicatesInPackage(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void testDuplicatesInProject() throws Exception {
+		createSiblingUnits();
+		// as in the package, and C; the local of D has another type
+		assertEquals(4, createSearch().countDuplicatesInProject(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void testModifiedUnit() throws Exception {
+		DuplicateSnippetSearch search= createSearch();
+		fUnit.getBuffer().setContents(fUnit.getSource().replace(SELECTION, "\t" + SELECTION));
+		assertEquals(0, search.countDuplicatesInPackage(new NullProgressMonitor()));
+	}
+}
@@ -46,6 +46,7 @@ import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaCore;
 
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringAvailabilityTester;
+import org.eclipse.jdt.internal.corext.refactoring.generics.InferTypeArgumentsConstraintsSolver;
 import org.eclipse.jdt.internal.corext.refactoring.generics.InferTypeArgumentsRefactoring;
 
 import org.eclipse.jdt.ui.tests.refactoring.infra.ZipTools;
@@ -272,6 +273,17 @@ public class InferTypeArgumentsTests extends GenericRefactoringTest {
 
 	}
 
+	@Test
+	public void testJUnitSolvedInParallel() throws Exception {
+		// same as testJUnit, but independent components are solved in parallel
+		int threshold= InferTypeArgumentsConstraintsSolver.setParallelSolvingThreshold(1);
+		try {
+			testJUnit();
+		} finally {
+			InferTypeArgumentsConstraintsSolver.setParallelSolvingThreshold(threshold);
+		}
+	}
+
 	@Test
 	public void testJUnitWithCloneNotRaw() throws Exception {
 		fAssumeCloneReturnsSameType= true;
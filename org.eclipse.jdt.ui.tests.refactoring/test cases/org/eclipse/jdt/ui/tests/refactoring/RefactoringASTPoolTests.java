@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTPool;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+public class RefactoringASTPoolTests {
+
+	@Rule
+	public RefactoringTestSetup fts= new RefactoringTestSetup();
+
+	private ICompilationUnit fUnit;
+
+	@Before
+	public void setUp() throws Exception {
+		fUnit= createUnit("A");
+	}
+
+	@After
+	public void tearDown() {
+		assertNull("Session left open", RefactoringASTPool.getActivePool());
+	}
+
+	private ICompilationUnit createUnit(String name) throws Exception {
+		return fts.getPackageP().createCompilationUnit(name + ".java", "package p;\nclass " + name + " {\n}\n", true, null);
+	}
+
+	private static CompilationUnit parseShared(ICompilationUnit unit, boolean resolveBindings) {
+		return new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parseShared(unit, null, resolveBindings, false, false, null);
+	}
+
+	private static String getTypeName(CompilationUnit ast) {
+		return ((TypeDeclaration) ast.types().get(0)).getName().getIdentifier();
+	}
+
+	@Test
+	public void testReuseWithinSession() throws Exception {
+		try (RefactoringASTPool pool= RefactoringASTPool.open()) {
+			CompilationUnit ast= parseShared(fUnit, false);
+			assertSame(ast, parseShared(fUnit, false));
+			try (RefactoringASTPool nested= RefactoringASTPool.open()) {
+				assertSame(pool, nested);
+				assertSame(ast, parseShared(fUnit, false));
+			}
+			assertSame(pool, RefactoringASTPool.getActivePool());
+			assertEquals(1, pool.getParseCount());
+			assertEquals(2, pool.getReuseCount());
+
+			// different settings and plain parses do not use the pooled AST
+			assertNotSame(ast, parseShared(fUnit, true));
+			assertNotSame(ast, new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parse(fUnit, false));
+			assertEquals(2, pool.getParseCount());
+		}
+	}
+
+	@Test
+	public void testNoReuseAcrossSessions() throws Exception {
+		CompilationUnit ast;
+		try (RefactoringASTPool pool= RefactoringASTPool.open()) {
+			ast= parseShared(fUnit, false);
+		}
+		assertNull(RefactoringASTPool.getActivePool());
+		try (RefactoringASTPool pool= RefactoringASTPool.open()) {
+			assertNotSame(ast, parseShared(fUnit, false));
+			assertEquals(0, pool.getReuseCount());
+		}
+		// without a session, nothing is pooled
+		assertNotSame(parseShared(fUnit, false), parseShared(fUnit, false));
+	}
+
+	@Test
+	public void testInvalidationOnSourceChange() throws Exception {
+		try (RefactoringASTPool pool= RefactoringASTPool.open()) {
+			CompilationUnit ast= parseShared(fUnit, false);
+			fUnit.getBuffer().setContents("package p;\nclass B {\n}\n");
+			CompilationUnit changed= parseShared(fUnit, false);
+			assertNotSame(ast, changed);
+			assertEquals("B", getTypeName(changed));
+			assertSame(changed, parseShared(fUnit, false));
+			assertEquals(2, pool.getParseCount());
+			assertEquals(1, pool.getReuseCount());
+		} finally {
+			fUnit.getBuffer().setContents("package p;\nclass A {\n}\n");
+		}
+	}
+
+	@Test
+	public void testEviction() throws Exception {
+		ICompilationUnit[] units= new ICompilationUnit[RefactoringASTPool.MAX_POOLED_ASTS + 1];
+		units[0]= fUnit;
+		for (int i= 1; i < units.length; i++)
+			units[i]= createUnit("A" + i);
+
+		try (RefactoringASTPool pool= RefactoringASTPool.open()) {
+			CompilationUnit[] asts= new CompilationUnit[units.length];
+			for (int i= 0; i < units.length - 1; i++)
+				asts[i]= parseShared(units[i], false);
+			// the first AST is the most recently used one when the pool overflows
+			assertSame(asts[0], parseShared(units[0], false));
+			asts[units.length - 1]= parseShared(units[units.length - 1], false);
+
+			assertSame(asts[0], parseShared(units[0], false));
+			assertNotSame(asts[1], parseShared(units[1], false));
+			assertEquals(units.length + 1, pool.getParseCount());
+		}
+	}
+}
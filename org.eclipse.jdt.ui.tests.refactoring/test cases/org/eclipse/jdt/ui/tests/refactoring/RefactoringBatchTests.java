@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.CheckConditionsOperation;
+import org.eclipse.ltk.core.refactoring.PerformRefactoringOperation;
+import org.eclipse.ltk.core.refactoring.Refactoring;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.refactoring.IJavaRefactorings;
+import org.eclipse.jdt.core.refactoring.descriptors.RenameJavaElementDescriptor;
+
+import org.eclipse.jdt.internal.core.refactoring.descriptors.RefactoringSignatureDescriptorFactory;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTPool;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringBatch;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringBatch.Timing;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+public class RefactoringBatchTests {
+
+	@Rule
+	public RefactoringTestSetup fts= new RefactoringTestSetup();
+
+	private ICompilationUnit fA;
+	private ICompilationUnit fB;
+	private ICompilationUnit fC;
+
+	@Before
+	public void setUp() throws Exception {
+		IPackageFragment pack= fts.getPackageP();
+		fA= pack.createCompilationUnit("A.java", "package p;\npublic class A {\n\tint f;\n\tint get() {\n\t\treturn f;\n\t}\n}\n", true, null);
+		fB= pack.createCompilationUnit("B.java", "package p;\npublic class B {\n\tvoid m() {\n\t}\n\tvoid use() {\n\t\tm();\n\t}\n}\n", true, null);
+		fC= pack.createCompilationUnit("C.java", "package p;\nclass C {\n}\n", true, null);
+	}
+
+	/**
+	 * Runs a callable in a new thread, like the wizard that performs a refactoring history.
+	 */
+	private static <T> T runInNewThread(Callable<T> callable) throws Exception {
+		ExecutorService executor= Executors.newSingleThreadExecutor();
+		try {
+			return executor.submit(callable).get();
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static Refactoring createRenameRefactoring(String id, IJavaElement element, String newName) throws Exception {
+		RenameJavaElementDescriptor descriptor= RefactoringSignatureDescriptorFactory.createRenameJavaElementDescriptor(id);
+		descriptor.setJavaElement(element);
+		descriptor.setNewName(newName);
+		descriptor.setUpdateReferences(true);
+		RefactoringStatus status= new RefactoringStatus();
+		Refactoring refactoring= descriptor.createRefactoring(status);
+		assertTrue(status.toString(), status.isOK());
+		return refactoring;
+	}
+
+	private static void perform(Refactoring refactoring) throws Exception {
+		RefactoringStatus status= runInNewThread(() -> {
+			PerformRefactoringOperation op= new PerformRefactoringOperation(refactoring, CheckConditionsOperation.ALL_CONDITIONS);
+			JavaCore.run(op, new NullProgressMonitor());
+			assertFalse("Validation check failed: " + op.getValidationStatus(), op.getValidationStatus().hasFatalError());
+			return op.getConditionStatus();
+		});
+		assertFalse(status.toString(), status.hasFatalError());
+	}
+
+	/**
+	 * Parses the unit <code>C</code> without bindings in a session of a refactoring, in a new
+	 * thread.
+	 */
+	private CompilationUnit parseInSession(Refactoring refactoring) throws Exception {
+		return runInNewThread(() -> {
+			try (RefactoringASTPool pool= RefactoringASTPool.open(refactoring)) {
+				return new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parseShared(fC, null, false, false, false, null);
+			}
+		});
+	}
+
+	@Test
+	public void testHistoryReusesASTs() throws Exception {
+		Refactoring first= createRenameRefactoring(IJavaRefactorings.RENAME_FIELD, fA.getType("A").getField("f"), "g");
+		Refactoring second= createRenameRefactoring(IJavaRefactorings.RENAME_METHOD, fB.getType("B").getMethod("m", new String[0]), "n");
+
+		CompilationUnit ast;
+		List<Timing> timings;
+		try (RefactoringBatch batch= new RefactoringBatch()) {
+			batch.beginRefactoring(first, "first");
+			// the pool of the batch is not bound to the thread that begins the refactoring
+			assertNull(RefactoringASTPool.getActivePool());
+			ast= parseInSession(first);
+			perform(first);
+			batch.endRefactoring();
+
+			batch.beginRefactoring(second, "second");
+			assertSame(ast, parseInSession(second));
+			perform(second);
+			batch.endRefactoring();
+
+			// after the refactoring has ended, its sessions no longer use the pool of the batch
+			assertNotSame(ast, parseInSession(second));
+			timings= batch.getTimings();
+		}
+
+		assertEquals(2, timings.size());
+		assertEquals("first", timings.get(0).description());
+		assertTrue(timings.get(0).parsedASTs() >= 1);
+		assertEquals("second", timings.get(1).description());
+		assertTrue(timings.get(1).reusedASTs() >= 1);
+
+		assertTrue(fA.getSource(), fA.getSource().contains("return g;"));
+		assertTrue(fB.getSource(), fB.getSource().contains("\t\tn();"));
+	}
+}
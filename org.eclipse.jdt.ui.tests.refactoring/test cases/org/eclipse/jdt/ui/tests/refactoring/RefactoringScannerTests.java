@@ -98,6 +98,20 @@ public class RefactoringScannerTests extends GenericRefactoringTest {
 		helper("B.java", 6);
 	}
 
+	@Test
+	public void testSeveralNames() throws Exception{
+		RefactoringScanner scanner= new RefactoringScanner(new String[] { "TestPattern", "Pattern", "Other" }, new String[] { "org.eclipse", "", "org.eclipse" });
+		String text= "/* TestPattern Pattern org.eclipse.Other TestPatterns */ class A { String s= \"OtherPattern\"; }";
+		scanner.scan(text);
+
+		ArrayList<String> matchesList= new ArrayList<>();
+		for (TextMatch element : scanner.getMatches()) {
+			matchesList.add(element.getStartPosition() + ":" + element.getNameIndex());
+		}
+		Collections.sort(matchesList);
+		assertEquals("results", "[15:1, 35:2, 3:0]", matchesList.toString());
+	}
+
 	@Test
 	public void testQualifier() throws Exception{
 		helper2("C.java", new Position[] {
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringSearchEngine2;
+import org.eclipse.jdt.internal.corext.refactoring.SearchResultGroup;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+public class RefactoringSearchEngineTests {
+
+	@Rule
+	public RefactoringTestSetup fts= new RefactoringTestSetup();
+
+	private RefactoringSearchEngine2 createEngine() throws Exception {
+		RefactoringSearchEngine2 engine= new RefactoringSearchEngine2();
+		engine.setFiltering(true, true);
+		engine.setScope(SearchEngine.createJavaSearchScope(new IJavaElement[] { fts.getProject() }));
+		return engine;
+	}
+
+	private static List<Integer> getOffsets(SearchResultGroup[] groups) {
+		List<Integer> offsets= new ArrayList<>();
+		for (SearchResultGroup group : groups) {
+			for (SearchMatch match : group.getSearchResults())
+				offsets.add(Integer.valueOf(match.getOffset()));
+		}
+		Collections.sort(offsets);
+		return offsets;
+	}
+
+	private List<Integer> searchAlone(IJavaElement element) throws Exception {
+		RefactoringSearchEngine2 engine= createEngine();
+		engine.setPattern(new IJavaElement[] { element }, IJavaSearchConstants.REFERENCES);
+		engine.searchPattern(new NullProgressMonitor());
+		return getOffsets((SearchResultGroup[]) engine.getResults());
+	}
+
+	@Test
+	public void testImplicitAnnotationValue() throws Exception {
+		IPackageFragment pack= fts.getPackageP();
+		ICompilationUnit ann= pack.createCompilationUnit("Ann.java", "package p;\npublic @interface Ann {\n\tString value();\n}\n", true, null);
+		String str= """
+			package p;
+			public class A {
+				static final String FOO= "foo";
+				@Ann(FOO)
+				void m() {
+				}
+				@Ann(value= FOO)
+				void n() {
+				}
+				String s= FOO;
+			}
+			""";
+		ICompilationUnit a= pack.createCompilationUnit("A.java", str, true, null);
+		IMethod value= ann.getType("Ann").getMethod("value", new String[0]);
+		IField foo= a.getType("A").getField("FOO");
+
+		// the implicit reference to value() in @Ann(FOO) covers the name of FOO
+		Map<IJavaElement, SearchResultGroup[]> references= createEngine().searchElements(new IJavaElement[] { value, foo }, IJavaSearchConstants.REFERENCES, null);
+		List<Integer> valueOffsets= getOffsets(references.get(value));
+		List<Integer> fooOffsets= getOffsets(references.get(foo));
+		assertEquals(2, valueOffsets.size());
+		assertEquals(3, fooOffsets.size());
+		assertEquals(searchAlone(value), valueOffsets);
+		assertEquals(searchAlone(foo), fooOffsets);
+	}
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.CheckConditionsOperation;
+import org.eclipse.ltk.core.refactoring.PerformRefactoringOperation;
+import org.eclipse.ltk.core.refactoring.Refactoring;
+import org.eclipse.ltk.core.refactoring.RefactoringCore;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.history.IRefactoringHistoryListener;
+import org.eclipse.ltk.core.refactoring.history.IRefactoringHistoryService;
+import org.eclipse.ltk.core.refactoring.history.RefactoringHistoryEvent;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.refactoring.IJavaRefactorings;
+import org.eclipse.jdt.core.refactoring.descriptors.RenameJavaElementDescriptor;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.core.refactoring.descriptors.RefactoringSignatureDescriptorFactory;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry.Phase;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringTelemetry.PhaseTimer;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+public class RefactoringTelemetryTests {
+
+	@Rule
+	public RefactoringTestSetup fts= new RefactoringTestSetup();
+
+	private final boolean fDebugTelemetry= JavaManipulationPlugin.DEBUG_REFACTORING_TELEMETRY;
+
+	@After
+	public void tearDown() {
+		JavaManipulationPlugin.DEBUG_REFACTORING_TELEMETRY= fDebugTelemetry;
+		assertNull("Phase left open", RefactoringTelemetry.getActive());
+	}
+
+	@Test
+	public void testNestedPhases() throws Exception {
+		RefactoringTelemetry outer= new RefactoringTelemetry();
+		RefactoringTelemetry inner= new RefactoringTelemetry();
+		try (PhaseTimer finalConditions= outer.start(Phase.CHECK_FINAL_CONDITIONS)) {
+			assertSame(outer, RefactoringTelemetry.getActive());
+			try (PhaseTimer search= outer.start(Phase.SEARCH)) {
+				Thread.sleep(50);
+				// a processor that runs inside the phase of another processor reports to the outer one
+				try (PhaseTimer nested= inner.start(Phase.SEARCH)) {
+					assertSame(outer, RefactoringTelemetry.getActive());
+					RefactoringTelemetry.countParsedAST();
+					Thread.sleep(50);
+				}
+				try (PhaseTimer nested= RefactoringTelemetry.startActive(Phase.VALIDATE_EDIT)) {
+					assertSame(outer, RefactoringTelemetry.getActive());
+				}
+			}
+			assertSame(outer, RefactoringTelemetry.getActive());
+		}
+		assertNull(RefactoringTelemetry.getActive());
+
+		assertEquals(2, outer.getSearchCount());
+		assertEquals(1, outer.getASTCount());
+		assertEquals(0, inner.getSearchCount());
+		assertEquals(0, inner.getASTCount());
+		assertEquals(0, inner.getDuration(Phase.SEARCH));
+		// nested runs of a phase are measured once, so the search cannot take longer than the
+		// phase that contains it
+		assertTrue(outer.getDuration(Phase.SEARCH) >= 100);
+		assertTrue(outer.getDuration(Phase.SEARCH) <= outer.getDuration(Phase.CHECK_FINAL_CONDITIONS));
+
+		// without an active telemetry, nothing is recorded
+		try (PhaseTimer timer= RefactoringTelemetry.startActive(Phase.SEARCH)) {
+			assertNull(RefactoringTelemetry.getActive());
+			RefactoringTelemetry.countParsedAST();
+		}
+		assertEquals(2, outer.getSearchCount());
+		assertEquals(1, outer.getASTCount());
+	}
+
+	/**
+	 * Performs a rename of a field and returns the comments of the descriptors that are added to
+	 * the refactoring history.
+	 */
+	private List<String> renameAndGetHistoryComments() throws Exception {
+		ICompilationUnit unit= fts.getPackageP().createCompilationUnit("A.java", "package p;\npublic class A {\n\tint f;\n\tint get() {\n\t\treturn f;\n\t}\n}\n", true, null);
+		RenameJavaElementDescriptor descriptor= RefactoringSignatureDescriptorFactory.createRenameJavaElementDescriptor(IJavaRefactorings.RENAME_FIELD);
+		descriptor.setJavaElement(unit.getType("A").getField("f"));
+		descriptor.setNewName("g");
+		descriptor.setUpdateReferences(true);
+		RefactoringStatus status= new RefactoringStatus();
+		Refactoring refactoring= descriptor.createRefactoring(status);
+		assertTrue(status.toString(), status.isOK());
+
+		List<String> comments= new ArrayList<>();
+		IRefactoringHistoryListener listener= event -> {
+			if (event.getEventType() == RefactoringHistoryEvent.PUSHED)
+				comments.add(event.getDescriptor().requestDescriptor(new NullProgressMonitor()).getComment());
+		};
+		IRefactoringHistoryService service= RefactoringCore.getHistoryService();
+		service.connect();
+		service.addHistoryListener(listener);
+		try {
+			PerformRefactoringOperation op= new PerformRefactoringOperation(refactoring, CheckConditionsOperation.ALL_CONDITIONS);
+			JavaCore.run(op, new NullProgressMonitor());
+			assertFalse(op.getConditionStatus().toString(), op.getConditionStatus().hasFatalError());
+		} finally {
+			service.removeHistoryListener(listener);
+			service.disconnect();
+		}
+		assertTrue(unit.getSource(), unit.getSource().contains("return g;"));
+		assertEquals(1, comments.size());
+		return comments;
+	}
+
+	@Test
+	public void testSummaryInHistoryComment() throws Exception {
+		JavaManipulationPlugin.DEBUG_REFACTORING_TELEMETRY= true;
+		String comment= renameAndGetHistoryComments().get(0);
+		// the summary is appended to the comment of the processor before the history reads it
+		String[] lines= comment.split("\\R");
+		assertTrue(comment, lines.length > 1);
+		String summary= lines[lines.length - 1];
+		assertTrue(summary, summary.startsWith(Phase.CHECK_INITIAL_CONDITIONS + " "));
+		assertTrue(summary, summary.contains(", " + Phase.PERFORM + " "));
+		assertTrue(summary, summary.endsWith(", 1 units touched"));
+	}
+
+	@Test
+	public void testNoSummaryWithoutDebugOption() throws Exception {
+		JavaManipulationPlugin.DEBUG_REFACTORING_TELEMETRY= false;
+		String comment= renameAndGetHistoryComments().get(0);
+		assertFalse(comment, comment.contains(Phase.PERFORM.toString()));
+	}
+}
@@ -58,6 +58,7 @@ import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.CheckConditionsOperation;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
 import org.eclipse.ltk.core.refactoring.CreateChangeOperation;
 import org.eclipse.ltk.core.refactoring.IResourceMapper;
 import org.eclipse.ltk.core.refactoring.IUndoManager;
@@ -88,6 +89,7 @@ import org.eclipse.jdt.core.refactoring.descriptors.RenameJavaElementDescriptor;
 
 import org.eclipse.jdt.internal.core.refactoring.descriptors.RefactoringSignatureDescriptorFactory;
 import org.eclipse.jdt.internal.corext.refactoring.base.RefactoringStatusCodes;
+import org.eclipse.jdt.internal.corext.refactoring.changes.LazyCompilationUnitChange;
 import org.eclipse.jdt.internal.corext.refactoring.rename.RenamePackageProcessor;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaElementUtil;
 
@@ -1476,4 +1478,146 @@ public class RenamePackageTests extends GenericRefactoringTest {
 				new String[][] { new String[] { "ATest" }, new String[] { "AllTests" }}
 		});
 	}
+
+	private ICompilationUnit[] createImportingUnits(IPackageFragment pack, int count) throws Exception {
+		ICompilationUnit[] cus= new ICompilationUnit[count];
+		for (int i= 0; i < count; i++) {
+			String str= """
+				package q;
+				import r.A;
+				public class C%d {
+					A a;
+				}
+				""".formatted(i);
+			cus[i]= pack.createCompilationUnit("C" + i + ".java", str, true, null);
+		}
+		return cus;
+	}
+
+	private Change createChange(IPackageFragment pack, String newName) throws Exception {
+		Refactoring refactoring= createRefactoring(createRefactoringDescriptor(pack, newName));
+		RefactoringStatus status= refactoring.checkAllConditions(new NullProgressMonitor());
+		assertTrue(status.toString(), status.isOK());
+		Change change= refactoring.createChange(new NullProgressMonitor());
+		assertNoLazyChangeCreated(change);
+		change.initializeValidationData(new NullProgressMonitor());
+		return change;
+	}
+
+	private static void assertNoLazyChangeCreated(Change change) {
+		if (change instanceof LazyCompilationUnitChange lazy) {
+			// the children of a lazy change are only created once the validation data is initialized
+			assertEquals(lazy.getName(), 0, lazy.getChildren().length);
+		} else if (change instanceof CompositeChange composite) {
+			for (Change child : composite.getChildren())
+				assertNoLazyChangeCreated(child);
+		}
+	}
+
+	private static LazyCompilationUnitChange findLazyChange(Change change, ICompilationUnit cu) {
+		if (change instanceof LazyCompilationUnitChange lazy)
+			return cu.equals(lazy.getCompilationUnit()) ? lazy : null;
+		if (change instanceof CompositeChange composite) {
+			for (Change child : composite.getChildren()) {
+				LazyCompilationUnitChange lazy= findLazyChange(child, cu);
+				if (lazy != null)
+					return lazy;
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void testLazyImportRewrites() throws Exception {
+		IPackageFragment r= getRoot().createPackageFragment("r", true, null);
+		r.createCompilationUnit("A.java", "package r;\npublic class A {\n}\n", true, null);
+		IPackageFragment q= getRoot().createPackageFragment("q", true, null);
+		// more units than import rewrites are computed ahead
+		ICompilationUnit[] cus= createImportingUnits(q, 11);
+
+		Change change= createChange(r, "p1");
+		try {
+			for (ICompilationUnit cu : cus)
+				assertNotNull(cu.getElementName(), findLazyChange(change, cu));
+			assertFalse(change.isValid(new NullProgressMonitor()).hasFatalError());
+			performChange(change);
+		} finally {
+			change.dispose();
+		}
+
+		for (int i= 0; i < cus.length; i++) {
+			String expected= """
+				package q;
+				import p1.A;
+				public class C%d {
+					A a;
+				}
+				""".formatted(i);
+			assertEqualLines(cus[i].getElementName(), expected, cus[i].getSource());
+		}
+	}
+
+	@Test
+	public void testLazyImportRewritesOutOfOrder() throws Exception {
+		IPackageFragment r= getRoot().createPackageFragment("r", true, null);
+		r.createCompilationUnit("A.java", "package r;\npublic class A {\n}\n", true, null);
+		IPackageFragment q= getRoot().createPackageFragment("q", true, null);
+		ICompilationUnit[] cus= createImportingUnits(q, 21);
+
+		Change change= createChange(r, "p1");
+		try {
+			// as when the preview shows a unit far ahead, and then the one after the first
+			findLazyChange(change, cus[20]).createChange(new NullProgressMonitor());
+			findLazyChange(change, cus[5]).createChange(new NullProgressMonitor());
+			findLazyChange(change, cus[1]).createChange(new NullProgressMonitor());
+			assertFalse(change.isValid(new NullProgressMonitor()).hasFatalError());
+			performChange(change);
+		} finally {
+			change.dispose();
+		}
+
+		for (int i= 0; i < cus.length; i++) {
+			String expected= """
+				package q;
+				import p1.A;
+				public class C%d {
+					A a;
+				}
+				""".formatted(i);
+			assertEqualLines(cus[i].getElementName(), expected, cus[i].getSource());
+		}
+	}
+
+	@Test
+	public void testLazyChangeOfModifiedUnit() throws Exception {
+		IPackageFragment r= getRoot().createPackageFragment("r", true, null);
+		r.createCompilationUnit("A.java", "package r;\npublic class A {\n}\n", true, null);
+		IPackageFragment q= getRoot().createPackageFragment("q", true, null);
+		ICompilationUnit[] cus= createImportingUnits(q, 2);
+
+		Change change= createChange(r, "p1");
+		try {
+			// materialize the text change of the second unit before the units are modified
+			assertEquals(1, findLazyChange(change, cus[1]).getChildren().length);
+			assertFalse(change.isValid(new NullProgressMonitor()).hasFatalError());
+
+			for (ICompilationUnit cu : cus) {
+				String source= cu.getSource().replace("A a;", "A a, b;");
+				((IFile) cu.getResource()).setContents(new ByteArrayInputStream(source.getBytes(ENCODING)), true, false, null);
+
+				LazyCompilationUnitChange lazy= findLazyChange(change, cu);
+				assertTrue(cu.getElementName(), lazy.isValid(new NullProgressMonitor()).hasFatalError());
+			}
+			assertTrue(change.isValid(new NullProgressMonitor()).hasFatalError());
+			try {
+				findLazyChange(change, cus[0]).createChange(new NullProgressMonitor());
+				Assert.fail("Change of modified unit created");
+			} catch (CoreException e) {
+				// expected
+			}
+		} finally {
+			change.dispose();
+		}
+		assertTrue(r.exists());
+	}
 }
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.IOrdinaryClassFile;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.internal.corext.refactoring.binary.StubCreationOperation;
+import org.eclipse.jdt.internal.corext.refactoring.binary.StubCreator;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+public class StubCreationOperationTests {
+
+	private static final String[] PACKAGES= { "java.io", "java.lang", "java.lang.reflect", "java.util" };
+
+	@Rule
+	public RefactoringTestSetup fts= new RefactoringTestSetup();
+
+	private Path fOutput;
+
+	@Before
+	public void setUp() throws IOException {
+		fOutput= Files.createTempDirectory("stubs");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		try (Stream<Path> paths= Files.walk(fOutput)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).toList())
+				Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testSameStubsAsSequentialGeneration() throws Exception {
+		IPackageFragmentRoot library= fts.getJRELibrary();
+		List<IPackageFragment> packages= new ArrayList<>();
+		for (String name : PACKAGES) {
+			IPackageFragment fragment= library.getPackageFragment(name);
+			assertTrue(name, fragment.exists());
+			packages.add(fragment);
+		}
+
+		new StubCreationOperation(fOutput.toUri(), packages, true).run(new NullProgressMonitor());
+
+		int stubs= 0;
+		for (IPackageFragment fragment : packages) {
+			Path folder= fOutput.resolve(fragment.getElementName().replace('.', '/'));
+			for (IClassFile file : fragment.getClassFiles()) {
+				IType type= ((IOrdinaryClassFile) file).getType();
+				if (type.isAnonymous() || type.isLocal() || type.isMember())
+					continue;
+				String expected= new StubCreator(true).createStub(type, new NullProgressMonitor());
+				Path stub= folder.resolve(type.getElementName() + ".java");
+				assertEquals(type.getFullyQualifiedName(), expected, Files.readString(stub));
+				stubs++;
+			}
+			try (Stream<Path> files= Files.list(folder)) {
+				assertEquals(fragment.getElementName(), countTopLevelTypes(fragment), files.filter(Files::isRegularFile).count());
+			}
+		}
+		assertTrue(stubs > 100);
+	}
+
+	private static long countTopLevelTypes(IPackageFragment fragment) throws Exception {
+		long count= 0;
+		for (IClassFile file : fragment.getClassFiles()) {
+			IType type= ((IOrdinaryClassFile) file).getType();
+			if (!type.isAnonymous() && !type.isLocal() && !type.isMember())
+				count++;
+		}
+		return count;
+	}
+}
@@ -19,6 +19,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Map;
 
@@ -38,6 +39,8 @@ import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.ui.PlatformUI;
 
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
 import org.eclipse.ltk.core.refactoring.Refactoring;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.core.refactoring.participants.MoveArguments;
@@ -56,11 +59,13 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringAvailabilityTester;
+import org.eclipse.jdt.internal.corext.refactoring.changes.StoredCompilationUnitChange;
 import org.eclipse.jdt.internal.corext.refactoring.reorg.IConfirmQuery;
 import org.eclipse.jdt.internal.corext.refactoring.reorg.IReorgDestination;
 import org.eclipse.jdt.internal.corext.refactoring.reorg.IReorgPolicy.IMovePolicy;
 import org.eclipse.jdt.internal.corext.refactoring.reorg.IReorgQueries;
 import org.eclipse.jdt.internal.corext.refactoring.reorg.JavaMoveProcessor;
+import org.eclipse.jdt.internal.corext.refactoring.reorg.MoveCuUpdateCreator;
 import org.eclipse.jdt.internal.corext.refactoring.reorg.ReorgDestinationFactory;
 import org.eclipse.jdt.internal.corext.refactoring.reorg.ReorgPolicyFactory;
 
@@ -1170,6 +1175,101 @@ public class MoveTest extends GenericRefactoringTest {
 						new MoveArguments(otherPackage.getResource(), processor.getUpdateReferences())});
 	}
 
+	private ICompilationUnit[] createReferencingUnits(IPackageFragment pack, int count) throws Exception {
+		ICompilationUnit[] cus= new ICompilationUnit[count];
+		for (int i= 0; i < count; i++) {
+			String str= """
+				package r;
+				import p.A;
+				public class Ref%d {
+					A a;
+					p.A b;
+				}
+				""".formatted(i);
+			cus[i]= pack.createCompilationUnit("Ref" + i + ".java", str, false, new NullProgressMonitor());
+		}
+		return cus;
+	}
+
+	private static StoredCompilationUnitChange findStoredChange(Change change, ICompilationUnit cu) {
+		if (change instanceof StoredCompilationUnitChange stored)
+			return cu.equals(stored.getCompilationUnit()) ? stored : null;
+		if (change instanceof CompositeChange composite) {
+			for (Change child : composite.getChildren()) {
+				StoredCompilationUnitChange stored= findStoredChange(child, cu);
+				if (stored != null)
+					return stored;
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void testDestination_yes_cuToOtherPackageWithStoredChanges() throws Exception {
+		ICompilationUnit cuA= getPackageP().createCompilationUnit("A.java", "package p;public class A{}", false, new NullProgressMonitor());
+		IPackageFragment r= getRoot().createPackageFragment("r", true, new NullProgressMonitor());
+		ICompilationUnit[] refs= createReferencingUnits(r, 3);
+
+		int maxChangesInMemory= MoveCuUpdateCreator.setMaxChangesInMemory(1);
+		try {
+			JavaMoveProcessor processor= verifyEnabled(new IResource[0], new IJavaElement[] { cuA }, createReorgQueries());
+			verifyValidDestination(processor, getPackageQ());
+			RefactoringStatus status= performRefactoring(processor, true);
+			assertNull(status);
+		} finally {
+			MoveCuUpdateCreator.setMaxChangesInMemory(maxChangesInMemory);
+		}
+
+		assertFalse("source file exists after moving", cuA.exists());
+		assertTrue("new file does not exist after moving", getPackageQ().getCompilationUnit("A.java").exists());
+		for (int i= 0; i < refs.length; i++) {
+			String str= """
+				package r;
+				import q.A;
+				public class Ref%d {
+					A a;
+					q.A b;
+				}
+				""".formatted(i);
+			assertEqualLines(refs[i].getElementName(), str, refs[i].getSource());
+		}
+	}
+
+	@Test
+	public void testDestination_no_cuToOtherPackageWithModifiedStoredChange() throws Exception {
+		ICompilationUnit cuA= getPackageP().createCompilationUnit("A.java", "package p;public class A{}", false, new NullProgressMonitor());
+		IPackageFragment r= getRoot().createPackageFragment("r", true, new NullProgressMonitor());
+		ICompilationUnit[] refs= createReferencingUnits(r, 2);
+
+		int maxChangesInMemory= MoveCuUpdateCreator.setMaxChangesInMemory(1);
+		Change change= null;
+		try {
+			JavaMoveProcessor processor= verifyEnabled(new IResource[0], new IJavaElement[] { cuA }, createReorgQueries());
+			verifyValidDestination(processor, getPackageQ());
+			Refactoring refactoring= new MoveRefactoring(processor);
+			RefactoringStatus status= refactoring.checkAllConditions(new NullProgressMonitor());
+			assertTrue(status.toString(), status.isOK());
+			change= refactoring.createChange(new NullProgressMonitor());
+			// the edits are not loaded while the refactoring creates its change
+			for (ICompilationUnit ref : refs)
+				assertEquals(ref.getElementName(), 0, findStoredChange(change, ref).getChildren().length);
+			change.initializeValidationData(new NullProgressMonitor());
+			assertFalse(change.isValid(new NullProgressMonitor()).hasFatalError());
+
+			String source= refs[0].getSource().replace("A a;", "A a, c;");
+			((IFile) refs[0].getResource()).setContents(new ByteArrayInputStream(source.getBytes(ENCODING)), true, false, null);
+
+			assertTrue(findStoredChange(change, refs[0]).isValid(new NullProgressMonitor()).hasFatalError());
+			assertFalse(findStoredChange(change, refs[1]).isValid(new NullProgressMonitor()).hasFatalError());
+			assertTrue(change.isValid(new NullProgressMonitor()).hasFatalError());
+		} finally {
+			MoveCuUpdateCreator.setMaxChangesInMemory(maxChangesInMemory);
+			if (change != null)
+				change.dispose();
+		}
+		assertTrue("source file does not exist", cuA.exists());
+	}
+
 	@Test
 	public void testDestination_yes_cuToOtherPackageWithMultiRootBug109145() throws Exception {
 		ParticipantTesting.reset();
@@ -19,6 +19,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 	TrackPositionTest.class,
+	TextChangeManagerTest.class,
 	TextDiffContentTest.class
 })
 public class AllTests {
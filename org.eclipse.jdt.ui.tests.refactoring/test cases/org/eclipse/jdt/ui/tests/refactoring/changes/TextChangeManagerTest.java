@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring.changes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.GroupCategory;
+import org.eclipse.ltk.core.refactoring.GroupCategorySet;
+import org.eclipse.ltk.core.refactoring.TextChange;
+import org.eclipse.ltk.core.refactoring.TextEditChangeGroup;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IPackageFragment;
+
+import org.eclipse.jdt.internal.corext.refactoring.changes.LazyCompilationUnitChange;
+import org.eclipse.jdt.internal.corext.refactoring.changes.StoredCompilationUnitChange;
+import org.eclipse.jdt.internal.corext.refactoring.changes.TextChangeCompatibility;
+import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+public class TextChangeManagerTest {
+
+	private static final GroupCategorySet CATEGORIES= new GroupCategorySet(new GroupCategory("id", "name", "description"));
+
+	@Rule
+	public RefactoringTestSetup fts= new RefactoringTestSetup();
+
+	private ICompilationUnit[] fUnits;
+
+	@Before
+	public void setUp() throws Exception {
+		IPackageFragment pack= fts.getPackageP();
+		fUnits= new ICompilationUnit[3];
+		String[] names= { "B", "A", "C" };
+		for (int i= 0; i < names.length; i++) {
+			String name= names[i];
+			fUnits[i]= pack.createCompilationUnit(name + ".java", "package p;\nclass " + name + " {\n\tint f;\n}\n", true, null);
+		}
+	}
+
+	/**
+	 * Adds edits of all kinds to the change of the unit.
+	 *
+	 * @return a description of the edits of the change
+	 */
+	private static String addEdits(TextChangeManager manager, ICompilationUnit unit) {
+		TextChange change= manager.get(unit);
+		TextChangeCompatibility.addTextEdit(change, "rename", new ReplaceEdit(26, 1, "g"));
+		TextChangeCompatibility.addTextEdit(change, "insert", new InsertEdit(28, "\n\tint h;"), CATEGORIES);
+		TextChangeCompatibility.addTextEdit(change, "delete", new DeleteEdit(0, 11));
+		return describe(change);
+	}
+
+	private static String describe(TextChange change) {
+		StringBuilder buf= new StringBuilder(change.getName());
+		TextEdit root= change.getEdit();
+		if (root != null)
+			describe(root, buf);
+		for (TextEditChangeGroup group : change.getTextEditChangeGroups()) {
+			buf.append("\ngroup ").append(group.getName()).append(' ').append(group.isEnabled());
+			GroupCategorySet categories= group.getGroupCategorySet();
+			if (categories != null)
+				buf.append(' ').append(categories.asList().get(0).getId());
+			for (TextEdit edit : group.getTextEdits())
+				describe(edit, buf);
+		}
+		return buf.toString();
+	}
+
+	private static void describe(TextEdit edit, StringBuilder buf) {
+		buf.append('\n').append(edit.getClass().getSimpleName()).append(' ').append(edit.getOffset()).append(' ').append(edit.getLength());
+		if (edit instanceof ReplaceEdit replace)
+			buf.append(' ').append(replace.getText());
+		else if (edit instanceof InsertEdit insert)
+			buf.append(' ').append(insert.getText());
+		for (TextEdit child : edit.getChildren())
+			describe(child, buf);
+	}
+
+	private static String describeChild(Change change) {
+		LazyCompilationUnitChange lazy= (LazyCompilationUnitChange) change;
+		// the child is not created before the validation data is initialized
+		assertEquals(0, lazy.getChildren().length);
+		lazy.initializeValidationData(new NullProgressMonitor());
+		Change[] children= lazy.getChildren();
+		assertEquals(1, children.length);
+		return describe((TextChange) children[0]);
+	}
+
+	@Test
+	public void testStoredChangesKeepEdits() throws Exception {
+		TextChangeManager manager= new TextChangeManager(false, 1);
+		Map<ICompilationUnit, String> expected= new HashMap<>();
+		for (ICompilationUnit unit : fUnits)
+			expected.put(unit, addEdits(manager, unit));
+
+		for (ICompilationUnit unit : fUnits) {
+			assertTrue(manager.containsChangesIn(unit));
+			assertEquals(expected.get(unit), describe(manager.get(unit)));
+		}
+		// edit a change that has been stored and loaded again
+		TextChangeCompatibility.addTextEdit(manager.get(fUnits[0]), "more", new InsertEdit(20, " "));
+		String edited= describe(manager.get(fUnits[0]));
+		manager.get(fUnits[1]);
+		assertEquals(edited, describe(manager.get(fUnits[0])));
+	}
+
+	@Test
+	public void testStoredMultiTextEditRegions() throws Exception {
+		TextChangeManager manager= new TextChangeManager(false, 1);
+		TextChange change= manager.get(fUnits[0]);
+		MultiTextEdit root= new MultiTextEdit(0, 31);
+		MultiTextEdit multi= new MultiTextEdit(20, 10);
+		multi.addChild(new ReplaceEdit(26, 1, "g"));
+		root.addChild(multi);
+		MultiTextEdit undefined= new MultiTextEdit();
+		undefined.addChild(new InsertEdit(5, "x"));
+		root.addChild(undefined);
+		change.setEdit(root);
+		String expected= describe(change);
+		// store the change
+		addEdits(manager, fUnits[1]);
+
+		TextEdit loaded= manager.get(fUnits[0]).getEdit();
+		assertEquals(expected, describe(manager.get(fUnits[0])));
+		try {
+			loaded.getChildren()[1].addChild(new InsertEdit(11, "y"));
+			fail("Region of multi text edit not restored");
+		} catch (MalformedTreeException e) {
+			// expected
+		}
+		// the region of a multi text edit without an explicit region grows with its children
+		loaded.getChildren()[0].addChild(new InsertEdit(8, "y"));
+		assertEquals(3, loaded.getChildren()[0].getLength());
+	}
+
+	@Test
+	public void testGetAllChanges() throws Exception {
+		TextChangeManager manager= new TextChangeManager(false, 1);
+		List<String> expected= new ArrayList<>();
+		for (ICompilationUnit unit : fUnits)
+			expected.add(addEdits(manager, unit));
+
+		TextChange[] changes= manager.getAllChanges();
+		assertEquals(3, changes.length);
+		// sorted by compilation unit name
+		assertEquals(expected.get(1), describe(changes[0]));
+		assertEquals(expected.get(0), describe(changes[1]));
+		assertEquals(expected.get(2), describe(changes[2]));
+	}
+
+	@Test
+	public void testGetAllChangesLazily() throws Exception {
+		TextChangeManager manager= new TextChangeManager(false, 1);
+		List<String> expected= new ArrayList<>();
+		for (ICompilationUnit unit : fUnits)
+			expected.add(addEdits(manager, unit));
+
+		Change[] changes= manager.getAllChangesLazily();
+		try {
+			assertEquals(3, changes.length);
+			assertEquals(0, manager.getAllCompilationUnits().length);
+			for (Change change : changes)
+				assertTrue(change.getClass().getName(), change instanceof StoredCompilationUnitChange);
+			// sorted by compilation unit name
+			assertEquals(expected.get(1), describeChild(changes[0]));
+			assertEquals(expected.get(0), describeChild(changes[1]));
+			assertEquals(expected.get(2), describeChild(changes[2]));
+		} finally {
+			for (Change change : changes)
+				change.dispose();
+		}
+	}
+
+	@Test
+	public void testRemoveAndClearStoredChanges() throws Exception {
+		TextChangeManager manager= new TextChangeManager(false, 1);
+		String expected= addEdits(manager, fUnits[0]);
+		addEdits(manager, fUnits[1]);
+
+		TextChange removed= manager.remove(fUnits[0]);
+		assertEquals(expected, describe(removed));
+		assertFalse(manager.containsChangesIn(fUnits[0]));
+		assertEquals(1, manager.getAllCompilationUnits().length);
+
+		addEdits(manager, fUnits[2]);
+		manager.clear();
+		assertEquals(0, manager.getAllCompilationUnits().length);
+		for (ICompilationUnit unit : fUnits) {
+			assertFalse(manager.containsChangesIn(unit));
+			assertNull(manager.get(unit).getEdit());
+		}
+	}
+
+	@Test
+	public void testFailingDeferredEdit() throws Exception {
+		TextChangeManager manager= new TextChangeManager(false, 1);
+		String source= fUnits[0].getSource();
+		addEdits(manager, fUnits[0]);
+		addEdits(manager, fUnits[1]);
+		manager.addDeferred(fUnits[0], (change, pm) -> {
+			throw new CoreException(new Status(IStatus.ERROR, "org.eclipse.jdt.ui.tests.refactoring", "failing deferred edit"));
+		});
+
+		Change[] changes= manager.getAllChangesLazily();
+		Change change= changes[1];
+		assertEquals(fUnits[0], change.getModifiedElement());
+		try {
+			change.initializeValidationData(new NullProgressMonitor());
+			assertFalse(change.isValid(new NullProgressMonitor()).hasFatalError());
+			change.perform(new NullProgressMonitor());
+			fail("Deferred edit did not fail");
+		} catch (CoreException e) {
+			assertEquals("failing deferred edit", e.getStatus().getMessage());
+		} finally {
+			for (Change each : changes)
+				each.dispose();
+		}
+		assertEquals(source, fUnits[0].getSource());
+	}
+}
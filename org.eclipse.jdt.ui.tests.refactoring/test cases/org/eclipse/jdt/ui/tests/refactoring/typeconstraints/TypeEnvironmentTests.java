@@ -15,6 +15,7 @@ package org.eclipse.jdt.ui.tests.refactoring.typeconstraints;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
@@ -22,6 +23,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -340,6 +344,124 @@ public class TypeEnvironmentTests extends AbstractJunit4CUTestCase {
 		testBindings(collector.getResult());
 	}
 
+	//---- sharing ----------------------------------------------------------
+
+	private ITypeBinding[] createFieldTypeBindings(ICompilationUnit unit) {
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		parser.setProject(unit.getJavaProject());
+		parser.setResolveBindings(true);
+		parser.setSource(unit);
+		TypeBindingCollector collector= new TypeBindingCollector();
+		parser.createAST(null).accept(collector);
+		return collector.getResult();
+	}
+
+	@Test
+	public void testSharedEnvironment() throws Exception {
+		IJavaProject project= mts.getProject();
+		TypeEnvironment shared= TypeEnvironment.getSharedEnvironment(project, false);
+		assertSame("Not shared", shared, TypeEnvironment.getSharedEnvironment(project, false));
+		assertNotSame("Shared with different capture handling", shared, TypeEnvironment.getSharedEnvironment(project, true));
+
+		ICompilationUnit unit= MyTestSetup.getGenericPackage().createCompilationUnit("Shared.java",
+				"package generic;\npublic class Shared {\n}\n", true, null);
+		try {
+			assertNotSame("Not discarded after change", shared, TypeEnvironment.getSharedEnvironment(project, false));
+		} finally {
+			unit.delete(true, null);
+		}
+	}
+
+	@Test
+	public void testConcurrentCreation() throws Exception {
+		ICompilationUnit unit= MyTestSetup.getGenericPackage().createCompilationUnit("Concurrent.java",
+				"package generic;\n" +
+				"import java.util.*;\n" +
+				"public class Concurrent<T extends Comparable<T>> {\n" +
+				"	List<String> f1;\n" +
+				"	Map<String, List<? extends Number>> f2;\n" +
+				"	Collection<? super Integer> f3;\n" +
+				"	ArrayList<Object>[] f4;\n" +
+				"	Concurrent<T> f5;\n" +
+				"	T f6;\n" +
+				"}\n", true, null);
+		ExecutorService executor= Executors.newFixedThreadPool(4);
+		try {
+			ITypeBinding[] bindings= createFieldTypeBindings(unit);
+			TypeEnvironment environment= new TypeEnvironment();
+			List<Future<TType[]>> futures= new ArrayList<>();
+			for (int i= 0; i < 16; i++) {
+				futures.add(executor.submit(() -> environment.create(bindings)));
+			}
+			TType[] expected= futures.get(0).get();
+			for (Future<TType[]> future : futures) {
+				TType[] types= future.get();
+				for (int i= 0; i < types.length; i++) {
+					assertSame("Not same type", expected[i], types[i]);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+			unit.delete(true, null);
+		}
+	}
+
+	private static void editAndSave(ICompilationUnit unit, String oldText, String newText) throws Exception {
+		unit.becomeWorkingCopy(null);
+		try {
+			String source= unit.getSource();
+			unit.getBuffer().replace(source.indexOf(oldText), oldText.length(), newText);
+			unit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			unit.commitWorkingCopy(true, null);
+		} finally {
+			unit.discardWorkingCopy();
+		}
+	}
+
+	@Test
+	public void testSharedEnvironmentKeptOnBodyChange() throws Exception {
+		IJavaProject project= mts.getProject();
+		ICompilationUnit unit= MyTestSetup.getGenericPackage().createCompilationUnit("Body.java",
+				"package generic;\npublic class Body {\n	int m() {\n		return 1;\n	}\n}\n", true, null);
+		try {
+			TypeEnvironment shared= TypeEnvironment.getSharedEnvironment(project, false);
+			editAndSave(unit, "return 1;", "return 2;");
+			assertSame("Discarded after body change", shared, TypeEnvironment.getSharedEnvironment(project, false));
+
+			editAndSave(unit, "public class Body {", "public class Body extends Exception {");
+			assertNotSame("Not discarded after super type change", shared, TypeEnvironment.getSharedEnvironment(project, false));
+		} finally {
+			unit.delete(true, null);
+		}
+	}
+
+	@Test
+	public void testSubTypes() throws Exception {
+		ICompilationUnit unit= MyTestSetup.getGenericPackage().createCompilationUnit("Sub.java",
+				"package generic;\n" +
+				"public class Sub {\n" +
+				"	Number f1;\n" +
+				"	Integer f2;\n" +
+				"	Long f3;\n" +
+				"}\n", true, null);
+		try {
+			ITypeBinding[] bindings= createFieldTypeBindings(unit);
+			TypeEnvironment environment= new TypeEnvironment(true);
+			TType number= environment.create(bindings[0]);
+			TType integer= environment.create(bindings[1]);
+			TType[] subTypes= number.getSubTypes();
+			assertEquals(1, subTypes.length);
+			assertSame(integer, subTypes[0]);
+
+			TType longType= environment.create(bindings[2]);
+			TType[] newSubTypes= number.getSubTypes();
+			assertEquals(2, newSubTypes.length);
+			assertSame(longType, newSubTypes[1]);
+		} finally {
+			unit.delete(true, null);
+		}
+	}
+
 	public void _testAssignment() throws Exception {
 		ASTNode node= createAST(MyTestSetup.getGenericPackage());
 		TypeBindingCollector collector= new TypeBindingCollector();
@@ -17,11 +17,23 @@ package org.eclipse.jdt.ui.tests.performance;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
+import org.eclipse.jdt.ui.tests.performance.views.ExtractMethodPerfTest;
+import org.eclipse.jdt.ui.tests.performance.views.HistoryPerfTest;
+import org.eclipse.jdt.ui.tests.performance.views.InferTypeArgumentsPerfTest;
+import org.eclipse.jdt.ui.tests.performance.views.MethodOverrideTesterPerfTest;
+import org.eclipse.jdt.ui.tests.performance.views.MoveStaticMembersPerfTest;
+import org.eclipse.jdt.ui.tests.performance.views.RefactoringAvailabilityPerfTest;
 import org.eclipse.jdt.ui.tests.performance.views.TypeHierarchyPerfTest;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-	TypeHierarchyPerfTest.class
+	TypeHierarchyPerfTest.class,
+	HistoryPerfTest.class,
+	MethodOverrideTesterPerfTest.class,
+	InferTypeArgumentsPerfTest.class,
+	MoveStaticMembersPerfTest.class,
+	ExtractMethodPerfTest.class,
+	RefactoringAvailabilityPerfTest.class
 })
 public class PerformanceTestSuite {
 }
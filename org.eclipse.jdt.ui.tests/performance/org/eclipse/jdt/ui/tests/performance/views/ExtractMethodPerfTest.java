@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.views;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExternalResource;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.internal.corext.refactoring.code.ExtractMethodRefactoring;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
+
+/**
+ * Measures the flow analysis of Extract Method on a generated method with many locals and deeply
+ * nested statements.
+ */
+public class ExtractMethodPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int LOCALS= 400;
+	private static final int NESTING= 30;
+	private static final int ROUNDS= 10;
+
+	private static final String SELECTION_START= "/*[*/";
+	private static final String SELECTION_END= "/*]*/";
+
+	private static class MyTestSetup extends ExternalResource {
+		public static IJavaProject fJProject1;
+		public static ICompilationUnit fUnit;
+
+		@Override
+		public void before() throws Throwable {
+			fJProject1= JavaProjectHelper.createJavaProject("TestProject1", "bin");
+			assertNotNull("rt not found", JavaProjectHelper.addRTJar(fJProject1));
+			IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+			IPackageFragment pack= root.createPackageFragment("p", true, null);
+
+			StringBuilder source= new StringBuilder("package p;\npublic class A {\n\tint compute(int seed) {\n");
+			for (int i= 0; i < LOCALS; i++)
+				source.append("\t\tint v").append(i).append("= seed + ").append(i).append(";\n");
+			source.append("\t\t").append(SELECTION_START).append('\n');
+			for (int depth= 0; depth < NESTING; depth++)
+				source.append("\t\tif (v").append(depth).append(" > seed) {\n");
+			for (int i= 0; i < LOCALS; i++) {
+				int other= (i * 7 + 3) % LOCALS;
+				if (i % 3 == 0)
+					source.append("\t\tv").append(i).append("+= v").append(other).append(";\n");
+				else if (i % 3 == 1)
+					source.append("\t\tfor (int k= 0; k < v").append(other).append("; k++) { v").append(i).append("= k; }\n");
+				else
+					source.append("\t\tseed+= v").append(i).append(";\n");
+			}
+			for (int depth= 0; depth < NESTING; depth++)
+				source.append("\t\t}\n");
+			source.append("\t\t").append(SELECTION_END).append('\n');
+			// seed is the only value of the selection that is used afterwards
+			source.append("\t\treturn seed;\n\t}\n}\n");
+			fUnit= pack.createCompilationUnit("A.java", source.toString(), true, null);
+		}
+
+		@Override
+		public void after() {
+			try {
+				if (fJProject1 != null && fJProject1.exists())
+					JavaProjectHelper.delete(fJProject1);
+			} catch (CoreException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	@Rule
+	public MyTestSetup stup= new MyTestSetup();
+
+	@Test
+	public void testExtractMethodAnalyzer() throws Exception {
+		String source= MyTestSetup.fUnit.getSource();
+		int start= source.indexOf(SELECTION_START) + SELECTION_START.length();
+		int end= source.indexOf(SELECTION_END);
+		assertTrue(start < end);
+		CompilationUnit astRoot= new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parse(MyTestSetup.fUnit, true, null);
+
+		tagAsSummary("Extract Method analysis of " + LOCALS + " locals in " + NESTING + " nested statements", Dimension.ELAPSED_PROCESS);
+		checkInitialConditions(astRoot, start, end - start); // warm up
+		joinBackgroudActivities();
+		for (int i= 0; i < ROUNDS; i++) {
+			startMeasuring();
+			RefactoringStatus status= checkInitialConditions(astRoot, start, end - start);
+			stopMeasuring();
+			assertFalse(status.toString(), status.hasFatalError());
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+
+	private static RefactoringStatus checkInitialConditions(CompilationUnit astRoot, int start, int length) throws CoreException {
+		ExtractMethodRefactoring refactoring= new ExtractMethodRefactoring(astRoot, start, length);
+		return refactoring.checkInitialConditions(new NullProgressMonitor());
+	}
+}
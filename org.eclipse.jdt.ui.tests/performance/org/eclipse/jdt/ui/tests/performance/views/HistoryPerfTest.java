@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.views;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import org.w3c.dom.Element;
+
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+import org.eclipse.jdt.internal.corext.util.History;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Measures loading and saving of a {@link History} with tens of thousands of entries.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class HistoryPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final String FILE_NAME= "HistoryPerfTest.xml";
+	private static final String ROOT_NODE= "largeHistory";
+	private static final String INFO_NODE= "entry";
+	private static final String NAME_ATTRIBUTE= "name";
+
+	private static final int ENTRIES= 50000;
+	private static final int RUNS= 10;
+
+	private static final class LargeHistory extends History<String, String> {
+
+		public LargeHistory() {
+			super(FILE_NAME, ROOT_NODE, INFO_NODE, ENTRIES);
+		}
+		@Override
+		protected void setAttributes(Object object, Element element) {
+			element.setAttribute(NAME_ATTRIBUTE, (String) object);
+		}
+		@Override
+		protected String createFromElement(Element element) {
+			return element.getAttribute(NAME_ATTRIBUTE);
+		}
+		@Override
+		protected String getKey(String object) {
+			return object;
+		}
+	}
+
+	private static File getFile() {
+		return JavaPlugin.getDefault().getStateLocation().append(FILE_NAME).toFile();
+	}
+
+	@Before
+	public void createHistoryFile() throws IOException {
+		try (Writer writer= Files.newBufferedWriter(getFile().toPath(), StandardCharsets.UTF_8)) {
+			writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+			writer.write("<" + ROOT_NODE + ">\n");
+			for (int i= 0; i < ENTRIES; i++) {
+				writer.write("<" + INFO_NODE + " " + NAME_ATTRIBUTE + "=\"org.eclipse.test.pkg" + (i % 100) + ".Type" + i + "\"/>\n");
+			}
+			writer.write("</" + ROOT_NODE + ">\n");
+		}
+	}
+
+	@After
+	public void deleteHistoryFile() {
+		getFile().delete();
+	}
+
+	@Test
+	public void testALoad() throws Exception {
+		tagAsSummary("Load history with " + ENTRIES + " entries", Dimension.ELAPSED_PROCESS);
+		for (int i= 0; i < RUNS; i++) {
+			History<String, String> history= new LargeHistory();
+			startMeasuring();
+			history.load();
+			stopMeasuring();
+			assertTrue(history.containsKey("org.eclipse.test.pkg0.Type0"));
+			assertTrue(history.containsKey("org.eclipse.test.pkg99.Type" + (ENTRIES - 1)));
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+
+	@Test
+	public void testBSave() throws Exception {
+		tagAsSummary("Save history with " + ENTRIES + " entries", Dimension.ELAPSED_PROCESS);
+		History<String, String> history= new LargeHistory();
+		history.load();
+		for (int i= 0; i < RUNS; i++) {
+			startMeasuring();
+			history.save();
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+
+		History<String, String> reloaded= new LargeHistory();
+		reloaded.load();
+		assertFalse(reloaded.isEmpty());
+		assertTrue(reloaded.containsKey("org.eclipse.test.pkg99.Type" + (ENTRIES - 1)));
+	}
+}
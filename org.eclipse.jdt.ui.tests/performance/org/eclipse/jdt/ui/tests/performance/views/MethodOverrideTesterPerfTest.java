@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.views;
+
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExternalResource;
+import org.junit.runners.MethodSorters;
+
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+import org.eclipse.jdt.ui.tests.performance.SWTTestProject;
+
+import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
+
+/**
+ * Measures repeated look-ups of overridden methods on a deep hierarchy, once with a new
+ * {@link MethodOverrideTester} for every round and once with a shared tester that can reuse
+ * its memoized results.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MethodOverrideTesterPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final String FOCUS_TYPE= "org.eclipse.swt.custom.StyledText";
+	private static final int ROUNDS= 20;
+
+	private static class MyTestSetup extends ExternalResource {
+		private SWTTestProject fTestProject;
+
+		@Override
+		public void before() throws Throwable {
+			fTestProject= new SWTTestProject();
+		}
+
+		@Override
+		public void after() {
+			try {
+				fTestProject.delete();
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	@Rule
+	public MyTestSetup stup= new MyTestSetup();
+
+	private IType fFocusType;
+	private ITypeHierarchy fHierarchy;
+	private List<IMethod> fMethods;
+
+	private void setUpHierarchy() throws Exception {
+		fFocusType= stup.fTestProject.getProject().findType(FOCUS_TYPE);
+		assertNotNull(fFocusType);
+		fHierarchy= fFocusType.newSupertypeHierarchy(null);
+		fMethods= new ArrayList<>();
+		for (IType type : fHierarchy.getAllClasses()) {
+			if (!type.isBinary()) {
+				fMethods.addAll(List.of(type.getMethods()));
+			}
+		}
+	}
+
+	private void findDeclaringMethods(MethodOverrideTester tester) throws Exception {
+		for (IMethod method : fMethods) {
+			tester.findDeclaringMethod(method, true);
+			tester.findOverriddenMethod(method, true);
+		}
+	}
+
+	@Test
+	public void testANewTesterPerRound() throws Exception {
+		tagAsSummary("Find overridden methods, new MethodOverrideTester per round", Dimension.ELAPSED_PROCESS);
+		setUpHierarchy();
+		joinBackgroudActivities();
+		for (int i= 0; i < ROUNDS; i++) {
+			startMeasuring();
+			findDeclaringMethods(new MethodOverrideTester(fFocusType, fHierarchy));
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+
+	@Test
+	public void testBSharedTester() throws Exception {
+		tagAsSummary("Find overridden methods, shared MethodOverrideTester", Dimension.ELAPSED_PROCESS);
+		setUpHierarchy();
+		joinBackgroudActivities();
+		MethodOverrideTester tester= new MethodOverrideTester(fFocusType, fHierarchy);
+		for (int i= 0; i < ROUNDS; i++) {
+			startMeasuring();
+			findDeclaringMethods(tester);
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+}
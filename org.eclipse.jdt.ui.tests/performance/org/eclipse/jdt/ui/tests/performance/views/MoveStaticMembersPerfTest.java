@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.views;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExternalResource;
+import org.junit.runners.MethodSorters;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.participants.MoveRefactoring;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringScopeFactory;
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringSearchEngine2;
+import org.eclipse.jdt.internal.corext.refactoring.SearchResultGroup;
+import org.eclipse.jdt.internal.corext.refactoring.structure.MoveStaticMembersProcessor;
+
+import org.eclipse.jdt.internal.ui.preferences.JavaPreferencesSettings;
+
+/**
+ * Compares searching the references of many static members one by one with the combined
+ * search of {@link RefactoringSearchEngine2#searchElements(IJavaElement[], int, org.eclipse.core.runtime.IProgressMonitor)},
+ * and measures the final condition checking of Move Static Members, which uses the combined search.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MoveStaticMembersPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int METHODS= 40;
+	private static final int FIELDS= 20;
+	private static final int CLIENTS= 50;
+	private static final int ROUNDS= 10;
+
+	private static class MyTestSetup extends ExternalResource {
+		public static IJavaProject fJProject1;
+		public static IType fSourceType;
+
+		@Override
+		public void before() throws Throwable {
+			fJProject1= JavaProjectHelper.createJavaProject("TestProject1", "bin");
+			assertNotNull("rt not found", JavaProjectHelper.addRTJar(fJProject1));
+			IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+			IPackageFragment pack= root.createPackageFragment("p", true, null);
+
+			StringBuilder source= new StringBuilder("package p;\npublic class A {\n");
+			for (int i= 0; i < METHODS; i++)
+				source.append("\tstatic int m").append(i).append("() { return ").append(i).append("; }\n");
+			for (int i= 0; i < FIELDS; i++)
+				source.append("\tstatic int f").append(i).append("= ").append(i).append(";\n");
+			source.append("}\n");
+			fSourceType= pack.createCompilationUnit("A.java", source.toString(), true, null).getType("A");
+			pack.createCompilationUnit("B.java", "package p;\npublic class B {\n}\n", true, null);
+
+			for (int c= 0; c < CLIENTS; c++) {
+				StringBuilder client= new StringBuilder("package p;\nclass Client").append(c).append(" {\n\tint use() {\n\t\tint result= 0;\n");
+				for (int i= c % 2; i < METHODS; i+= 2)
+					client.append("\t\tresult+= A.m").append(i).append("();\n");
+				for (int i= c % 3; i < FIELDS; i+= 3)
+					client.append("\t\tresult+= A.f").append(i).append(";\n");
+				client.append("\t\treturn result;\n\t}\n}\n");
+				pack.createCompilationUnit("Client" + c + ".java", client.toString(), true, null);
+			}
+		}
+
+		@Override
+		public void after() {
+			try {
+				if (fJProject1 != null && fJProject1.exists())
+					JavaProjectHelper.delete(fJProject1);
+			} catch (CoreException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	@Rule
+	public MyTestSetup stup= new MyTestSetup();
+
+	private static IMember[] getMembers() throws Exception {
+		IType type= MyTestSetup.fSourceType;
+		IMember[] methods= type.getMethods();
+		IMember[] fields= type.getFields();
+		IMember[] members= new IMember[methods.length + fields.length];
+		System.arraycopy(methods, 0, members, 0, methods.length);
+		System.arraycopy(fields, 0, members, methods.length, fields.length);
+		return members;
+	}
+
+	private static RefactoringSearchEngine2 createEngine(IMember[] members) throws Exception {
+		RefactoringSearchEngine2 engine= new RefactoringSearchEngine2();
+		engine.setFiltering(true, true);
+		engine.setScope(RefactoringScopeFactory.create(members));
+		return engine;
+	}
+
+	private static int countMatches(SearchResultGroup[] groups) {
+		int count= 0;
+		for (SearchResultGroup group : groups)
+			count+= group.getSearchResults().length;
+		return count;
+	}
+
+	private static int searchOneByOne(IMember[] members) throws Exception {
+		int queries= 0;
+		for (IMember member : members) {
+			RefactoringSearchEngine2 engine= createEngine(members);
+			engine.setPattern(new IJavaElement[] { member }, IJavaSearchConstants.REFERENCES);
+			engine.searchPattern(new NullProgressMonitor());
+			assertTrue(countMatches((SearchResultGroup[]) engine.getResults()) > 0);
+			queries+= engine.getQueryCount();
+		}
+		return queries;
+	}
+
+	private static int searchCombined(IMember[] members) throws Exception {
+		RefactoringSearchEngine2 engine= createEngine(members);
+		Map<IJavaElement, SearchResultGroup[]> references= engine.searchElements(members, IJavaSearchConstants.REFERENCES, new NullProgressMonitor());
+		assertEquals(members.length, references.size());
+		for (IMember member : members) {
+			RefactoringSearchEngine2 single= createEngine(members);
+			single.setPattern(new IJavaElement[] { member }, IJavaSearchConstants.REFERENCES);
+			single.searchPattern(new NullProgressMonitor());
+			assertEquals(member.getElementName(), countMatches((SearchResultGroup[]) single.getResults()), countMatches(references.get(member)));
+		}
+		return engine.getQueryCount();
+	}
+
+	@Test
+	public void testASearchOneByOne() throws Exception {
+		IMember[] members= getMembers();
+		tagAsSummary("Search references of " + members.length + " members one by one", Dimension.ELAPSED_PROCESS);
+		searchOneByOne(members); // warm up
+		joinBackgroudActivities();
+		for (int i= 0; i < ROUNDS; i++) {
+			startMeasuring();
+			int queries= searchOneByOne(members);
+			stopMeasuring();
+			assertEquals(members.length, queries);
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+
+	@Test
+	public void testBSearchCombined() throws Exception {
+		IMember[] members= getMembers();
+		assertTrue(searchCombined(members) < members.length);
+		tagAsSummary("Search references of " + members.length + " members combined", Dimension.ELAPSED_PROCESS);
+		joinBackgroudActivities();
+		for (int i= 0; i < ROUNDS; i++) {
+			RefactoringSearchEngine2 engine= createEngine(members);
+			startMeasuring();
+			engine.searchElements(members, IJavaSearchConstants.REFERENCES, new NullProgressMonitor());
+			stopMeasuring();
+			assertTrue(engine.getQueryCount() < members.length);
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+
+	@Test
+	public void testCMoveStaticMembers() throws Exception {
+		IMember[] members= getMembers();
+		tagAsSummary("Move " + members.length + " static members, check final conditions", Dimension.ELAPSED_PROCESS);
+		joinBackgroudActivities();
+		for (int i= 0; i < ROUNDS; i++) {
+			MoveStaticMembersProcessor processor= new MoveStaticMembersProcessor(members, JavaPreferencesSettings.getCodeGenerationSettings(MyTestSetup.fJProject1));
+			processor.setDestinationTypeFullyQualifiedName("p.B");
+			MoveRefactoring refactoring= new MoveRefactoring(processor);
+			RefactoringStatus status= refactoring.checkInitialConditions(new NullProgressMonitor());
+			assertFalse(status.hasFatalError());
+			startMeasuring();
+			status= refactoring.checkFinalConditions(new NullProgressMonitor());
+			stopMeasuring();
+			assertFalse(status.hasFatalError());
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+}
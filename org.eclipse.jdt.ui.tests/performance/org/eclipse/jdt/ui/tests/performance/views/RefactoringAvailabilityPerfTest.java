@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.views;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExternalResource;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.jface.viewers.StructuredSelection;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringAvailabilityCache;
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringAvailabilityTester;
+
+/**
+ * Measures the availability checks that the refactoring actions run when thousands of members
+ * are selected, e.g. in the Package Explorer.
+ */
+public class RefactoringAvailabilityPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int MEMBERS= 2000;
+	private static final int ROUNDS= 10;
+
+	private static class MyTestSetup extends ExternalResource {
+		public static IJavaProject fJProject1;
+		public static List<IMember> fMembers;
+
+		@Override
+		public void before() throws Throwable {
+			fJProject1= JavaProjectHelper.createJavaProject("TestProject1", "bin");
+			assertNotNull("rt not found", JavaProjectHelper.addRTJar(fJProject1));
+			IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+			IPackageFragment pack= root.createPackageFragment("p", true, null);
+
+			StringBuilder source= new StringBuilder("package p;\npublic class A {\n");
+			for (int i= 0; i < MEMBERS / 2; i++) {
+				source.append("\tint f").append(i).append(";\n");
+				source.append("\tvoid m").append(i).append("() { f").append(i).append("++; }\n");
+			}
+			source.append("}\n");
+			IType type= pack.createCompilationUnit("A.java", source.toString(), true, null).getType("A");
+			fMembers= new ArrayList<>();
+			Collections.addAll(fMembers, type.getFields());
+			Collections.addAll(fMembers, type.getMethods());
+		}
+
+		@Override
+		public void after() {
+			try {
+				if (fJProject1 != null && fJProject1.exists())
+					JavaProjectHelper.delete(fJProject1);
+			} catch (CoreException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	@Rule
+	public MyTestSetup stup= new MyTestSetup();
+
+	/**
+	 * Runs the checks of the actions that test all selected elements, as the actions do when the
+	 * selection changes.
+	 *
+	 * @param selection the selection
+	 * @throws Exception if a check fails
+	 */
+	private static void checkAvailability(IStructuredSelection selection) throws Exception {
+		assertTrue(RefactoringAvailabilityTester.isDeleteAvailable(selection));
+		assertTrue(RefactoringAvailabilityTester.isPullUpAvailable(selection));
+		assertTrue(RefactoringAvailabilityTester.isPushDownAvailable(selection));
+		assertTrue(RefactoringAvailabilityTester.isExtractSupertypeAvailable(selection));
+		assertTrue(RefactoringAvailabilityTester.isInferTypeArgumentsAvailable(selection));
+		try (RefactoringAvailabilityCache cache= RefactoringAvailabilityCache.open(selection)) {
+			IJavaElement[] elements= MyTestSetup.fMembers.toArray(new IJavaElement[MyTestSetup.fMembers.size()]);
+			RefactoringAvailabilityTester.isMoveAvailable(new IResource[0], elements);
+		}
+	}
+
+	@Test
+	public void testSelectionChange() throws Exception {
+		tagAsSummary("Refactoring availability of " + MyTestSetup.fMembers.size() + " selected members", Dimension.ELAPSED_PROCESS);
+		checkAvailability(new StructuredSelection(MyTestSetup.fMembers)); // warm up
+		joinBackgroudActivities();
+		for (int i= 0; i < ROUNDS; i++) {
+			IStructuredSelection selection= new StructuredSelection(MyTestSetup.fMembers);
+			startMeasuring();
+			checkAvailability(selection);
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+}
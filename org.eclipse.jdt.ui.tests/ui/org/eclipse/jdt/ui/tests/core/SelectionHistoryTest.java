@@ -13,12 +13,18 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.core;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.text.Collator;
 import java.util.Arrays;
 import java.util.Comparator;
 
+import org.junit.After;
 import org.junit.Rule;
 import org.junit.Test;
 
@@ -26,6 +32,8 @@ import org.w3c.dom.Element;
 
 import org.eclipse.jdt.internal.corext.util.History;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
 public class SelectionHistoryTest {
@@ -124,6 +132,32 @@ public class SelectionHistoryTest {
 
 	}
 
+	private static final class PersistentTestHistory extends History<String, String> {
+
+		private static final String FILE_NAME= "SelectionHistoryTest.xml";
+
+		public PersistentTestHistory() {
+			super(FILE_NAME, "testHistory", "entry");
+		}
+		@Override
+		protected void setAttributes(Object object, Element element) {
+			element.setAttribute("name", (String) object);
+		}
+		@Override
+		protected String createFromElement(Element element) {return element.getAttribute("name");}
+		@Override
+		protected String getKey(String object) {return object;}
+
+		public static File getFile() {
+			return JavaPlugin.getDefault().getStateLocation().append(FILE_NAME).toFile();
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		PersistentTestHistory.getFile().delete();
+	}
+
 	@Test
 	public void organizeImportHistory01() throws Exception {
 		History<String, String> history= new TestHistory();
@@ -190,4 +224,51 @@ public class SelectionHistoryTest {
 		Arrays.sort(strings, comparator);
 		assertEquals(strings, expected);
 	}
+
+	@Test
+	public void saveAndLoad() throws Exception {
+		History<String, String> history= new PersistentTestHistory();
+		history.accessed("a");
+		history.accessed("b");
+		history.accessed("c & <d>");
+		history.accessed("a");
+		history.save();
+
+		File file= PersistentTestHistory.getFile();
+		assertTrue(file.exists());
+		assertFalse(new File(file.getParentFile(), file.getName() + ".tmp").exists());
+
+		History<String, String> loaded= new PersistentTestHistory();
+		loaded.load();
+		String[] strings= {"b", "c & <d>", "a"};
+		String[] expected= {"a", "c & <d>", "b"};
+
+		Arrays.sort(strings, new TestHistoryComparator(loaded));
+		assertEquals(strings, expected);
+	}
+
+	@Test
+	public void loadIndentedXml() throws Exception {
+		String content= """
+			<?xml version="1.0" encoding="UTF-8" standalone="no"?>
+			<testHistory>
+			    <entry name="b"/>
+			    <other name="x"/>
+			    <entry name="a">
+			        <entry name="nested"/>
+			    </entry>
+			</testHistory>
+			""";
+		Files.writeString(PersistentTestHistory.getFile().toPath(), content.strip(), StandardCharsets.UTF_8);
+
+		History<String, String> history= new PersistentTestHistory();
+		history.load();
+		String[] strings= {"b", "a"};
+		String[] expected= {"a", "b"};
+
+		Arrays.sort(strings, new TestHistoryComparator(history));
+		assertEquals(strings, expected);
+		assertFalse(history.containsKey("x"));
+		assertFalse(history.containsKey("nested"));
+	}
 }
@@ -15,6 +15,13 @@ package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.After;
 import org.junit.Before;
@@ -36,6 +43,7 @@ import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
 
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
@@ -268,4 +276,56 @@ public class TypeHierarchyTest {
 		assertEquals("Should contain 3 types, contains: " + allTypes.length, 3, allTypes.length);
 		assertEquals("Update count should be 1, is: " + updateCount[0], 1, updateCount[0]);
 	}
+
+	@Test
+	public void superTypeHierarchyCache() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJavaProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("pack1", true, null);
+
+		ICompilationUnit cu1= pack1.getCompilationUnit("A.java");
+		IType type1= cu1.createType("public class A {\n}\n", null, true, null);
+
+		ICompilationUnit cu2= pack1.getCompilationUnit("B.java");
+		IType type2= cu2.createType("public class B extends A {\n}\n", null, true, null);
+
+		int misses= SuperTypeHierarchyCache.getCacheMisses();
+		int hits= SuperTypeHierarchyCache.getCacheHits();
+
+		ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(type2);
+		assertEquals(misses + 1, SuperTypeHierarchyCache.getCacheMisses());
+
+		// the super type is found in the hierarchy of the sub type
+		assertTrue(SuperTypeHierarchyCache.hasInCache(type1));
+		assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(type1));
+		assertEquals(misses + 1, SuperTypeHierarchyCache.getCacheMisses());
+		assertTrue(SuperTypeHierarchyCache.getCacheHits() > hits);
+		assertTrue(SuperTypeHierarchyCache.getCachedTypesCount() >= hierarchy.getAllTypes().length);
+	}
+
+	@Test
+	public void superTypeHierarchyCacheConcurrentRequests() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJavaProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("pack1", true, null);
+
+		ICompilationUnit cu1= pack1.getCompilationUnit("C.java");
+		IType type= cu1.createType("public class C {\n}\n", null, true, null);
+
+		int misses= SuperTypeHierarchyCache.getCacheMisses();
+
+		ExecutorService executor= Executors.newFixedThreadPool(4);
+		try {
+			Callable<ITypeHierarchy> request= () -> SuperTypeHierarchyCache.getTypeHierarchy(type);
+			Future<?>[] results= new Future<?>[8];
+			for (int i= 0; i < results.length; i++) {
+				results[i]= executor.submit(request);
+			}
+			Object hierarchy= results[0].get();
+			for (Future<?> result : results) {
+				assertSame(hierarchy, result.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(misses + 1, SuperTypeHierarchyCache.getCacheMisses());
+	}
 }
@@ -14,10 +14,17 @@
 package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
 
 import org.junit.After;
 import org.junit.Before;
@@ -26,6 +33,13 @@ import org.junit.Test;
 
 import org.eclipse.jdt.testplugin.JavaProjectHelper;
 import org.eclipse.jdt.testplugin.JavaTestPlugin;
+import org.eclipse.jdt.testplugin.util.DisplayHelper;
+
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
 
 import org.eclipse.ui.IWorkbenchWindow;
 
@@ -34,11 +48,15 @@ import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.eclipse.jdt.ui.ITypeHierarchyViewPart;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyLifeCycle;
 import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyViewPart;
 import org.eclipse.jdt.internal.ui.util.OpenTypeHierarchyUtil;
 
@@ -50,11 +68,13 @@ public class TypeHierarchyViewPartTest {
 
 	private IJavaProject fJProject1;
 
+	private IPackageFragmentRoot fSourceFolder;
+
 	@Before
 	public void setUp() throws Exception {
 		fJProject1= projectSetup.getProject();
 
-		JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		fSourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
 
 		File junitSrcArchive= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.JUNIT_SRC_381);
 		JavaProjectHelper.addSourceContainerWithImport(fJProject1, SRC_CONTAINER, junitSrcArchive, JavaProjectHelper.JUNIT_SRC_ENCODING);
@@ -64,6 +84,7 @@ public class TypeHierarchyViewPartTest {
 	public void tearDown() throws Exception {
 		JavaProjectHelper.clear(fJProject1, projectSetup.getDefaultClasspath());
 		fJProject1= null;
+		fSourceFolder= null;
 	}
 
 	private void addAllCUs(IJavaElement[] children, List<IJavaElement> result) throws JavaModelException {
@@ -105,4 +126,116 @@ public class TypeHierarchyViewPartTest {
 		viewPart.setInputElements(javaElements2);
 		assertEquals("Wrong fourth history entry number ", 3, viewPart.getHistoryEntries().size());
     }
+
+	private static void waitForRefresh(TypeHierarchyViewPart viewPart, BooleanSupplier condition) {
+		TypeHierarchyLifeCycle lifeCycle= viewPart.getTypeHierarchyLifeCycle();
+		boolean refreshed= new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return !lifeCycle.isRefreshJobRunning() && lifeCycle.getHierarchy() != null && condition.getAsBoolean();
+			}
+		}.waitForCondition(Display.getCurrent(), 30 * 1000, 100);
+		assertTrue("Hierarchy not refreshed", refreshed);
+		DisplayHelper.driveEventQueue(Display.getCurrent());
+	}
+
+	/**
+	 * Returns the tree in which the given type is selected.
+	 */
+	private static Tree findSelectingTree(Control control, IType type) {
+		if (control instanceof Tree tree) {
+			TreeItem[] selection= tree.getSelection();
+			return selection.length == 1 && type.equals(selection[0].getData()) ? tree : null;
+		}
+		if (control instanceof Composite composite) {
+			for (Control child : composite.getChildren()) {
+				Tree tree= findSelectingTree(child, type);
+				if (tree != null)
+					return tree;
+			}
+		}
+		return null;
+	}
+
+	private static TreeItem findItem(TreeItem[] items, IType type) {
+		for (TreeItem item : items) {
+			if (type.equals(item.getData()))
+				return item;
+			TreeItem found= findItem(item.getItems(), type);
+			if (found != null)
+				return found;
+		}
+		return null;
+	}
+
+	private static Set<Object> getChildren(TreeItem item) {
+		Set<Object> children= new HashSet<>();
+		for (TreeItem child : item.getItems()) {
+			if (child.getData() != null)
+				children.add(child.getData());
+		}
+		return children;
+	}
+
+	/**
+	 * Shows the subtype hierarchy in the view, selects a type in it and returns the item of the
+	 * given type.
+	 */
+	private TreeItem openSubtypeHierarchy(TypeHierarchyViewPart viewPart, IType type, IType selected) {
+		viewPart.setHierarchyMode(ITypeHierarchyViewPart.HIERARCHY_MODE_SUBTYPES);
+		waitForRefresh(viewPart, () -> true);
+		viewPart.selectMember(selected);
+		DisplayHelper.driveEventQueue(Display.getCurrent());
+		Tree tree= findSelectingTree(JavaPlugin.getActiveWorkbenchWindow().getShell(), selected);
+		assertNotNull("Type not selected", tree);
+		TreeItem item= findItem(tree.getItems(), type);
+		assertNotNull(item);
+		return item;
+	}
+
+	@Test
+	public void testIncrementalRefreshOnAddedSubtype() throws Exception {
+		IPackageFragment pack= fSourceFolder.createPackageFragment("p", true, null);
+		IType a= pack.createCompilationUnit("A.java", "package p;\npublic class A {\n}\n", true, null).getType("A");
+		IType b= pack.createCompilationUnit("B.java", "package p;\npublic class B extends A {\n}\n", true, null).getType("B");
+		TypeHierarchyViewPart viewPart= OpenTypeHierarchyUtil.open(a, JavaPlugin.getActiveWorkbenchWindow());
+		TreeItem itemA= openSubtypeHierarchy(viewPart, a, b);
+		Tree tree= itemA.getParent();
+
+		IType c= pack.createCompilationUnit("C.java", "package p;\npublic class C extends A {\n}\n", true, null).getType("C");
+		waitForRefresh(viewPart, () -> viewPart.getTypeHierarchyLifeCycle().getHierarchy().contains(c));
+
+		ITypeHierarchy hierarchy= viewPart.getTypeHierarchyLifeCycle().getHierarchy();
+		assertEquals(a, hierarchy.getSuperclass(c));
+		// the viewer has been updated, not rebuilt: the items and the selection are kept
+		assertFalse(itemA.isDisposed());
+		assertSame(itemA, findItem(tree.getItems(), a));
+		assertEquals(Set.of(b, c), getChildren(itemA));
+		assertEquals(1, tree.getSelection().length);
+		assertEquals(b, tree.getSelection()[0].getData());
+	}
+
+	@Test
+	public void testIncrementalRefreshOnChangedSupertype() throws Exception {
+		IPackageFragment pack= fSourceFolder.createPackageFragment("p", true, null);
+		IType a= pack.createCompilationUnit("A.java", "package p;\npublic class A {\n}\n", true, null).getType("A");
+		IType b= pack.createCompilationUnit("B.java", "package p;\npublic class B extends A {\n}\n", true, null).getType("B");
+		IType c= pack.createCompilationUnit("C.java", "package p;\npublic class C extends A {\n}\n", true, null).getType("C");
+		TypeHierarchyViewPart viewPart= OpenTypeHierarchyUtil.open(a, JavaPlugin.getActiveWorkbenchWindow());
+		TreeItem itemA= openSubtypeHierarchy(viewPart, a, c);
+		Tree tree= itemA.getParent();
+
+		pack.createCompilationUnit("B.java", "package p;\npublic class B extends C {\n}\n", true, null);
+		waitForRefresh(viewPart, () -> c.equals(viewPart.getTypeHierarchyLifeCycle().getHierarchy().getSuperclass(b)));
+
+		ITypeHierarchy hierarchy= viewPart.getTypeHierarchyLifeCycle().getHierarchy();
+		assertEquals(1, hierarchy.getSubclasses(a).length);
+		assertEquals(b, hierarchy.getSubclasses(c)[0]);
+		// the viewer has been updated, not rebuilt: the items and the selection are kept
+		assertFalse(itemA.isDisposed());
+		assertSame(itemA, findItem(tree.getItems(), a));
+		assertEquals(Set.of(c), getChildren(itemA));
+		assertEquals(1, tree.getSelection().length);
+		assertEquals(c, tree.getSelection()[0].getData());
+	}
 }
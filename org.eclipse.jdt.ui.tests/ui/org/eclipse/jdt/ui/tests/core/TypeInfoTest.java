@@ -14,6 +14,7 @@
 package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -33,7 +34,10 @@ import org.eclipse.jdt.testplugin.JavaTestPlugin;
 import org.eclipse.jdt.testplugin.StringAsserts;
 
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.IJobManager;
+import org.eclipse.core.runtime.jobs.Job;
 
+import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
@@ -48,6 +52,7 @@ import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
 
+import org.eclipse.jdt.internal.corext.util.OpenTypeHistory;
 import org.eclipse.jdt.internal.corext.util.TypeInfoFilter;
 
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
@@ -300,4 +305,42 @@ public class TypeInfoTest {
 		assertEquals(null, filter.getPackagePattern());
    }
 
-}
\ No newline at end of file
+	@Test
+	public void testOpenTypeHistoryValidation() throws Exception {
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack= root.createPackageFragment("p", true, null);
+		IType typeA= pack.createCompilationUnit("A.java", "package p;\npublic class A {\n}\n", true, null).getType("A");
+		ICompilationUnit cuB= pack.createCompilationUnit("B.java", "package p;\npublic class B {\n}\n", true, null);
+		TypeNameMatch a= SearchEngine.createTypeNameMatch(typeA, Flags.AccPublic);
+		TypeNameMatch b= SearchEngine.createTypeNameMatch(cuB.getType("B"), Flags.AccPublic);
+
+		OpenTypeHistory history= OpenTypeHistory.getInstance();
+		IJobManager manager= Job.getJobManager();
+		try {
+			history.accessed(a);
+			history.accessed(b);
+			manager.join(OpenTypeHistory.CONSISTENCY_CHECK_FAMILY, null);
+
+			manager.suspend();
+			try {
+				// the removal schedules a consistency check, which cannot run yet
+				cuB.delete(true, null);
+				assertTrue(history.needConsistencyCheck());
+				history.scheduleConsistencyCheck();
+				assertTrue(history.contains(a));
+				assertTrue(history.contains(b));
+				TypeNameMatch[] infos= history.getTypeInfos();
+				assertEquals(b, infos[0]);
+				assertEquals(a, infos[1]);
+			} finally {
+				manager.resume();
+			}
+			manager.join(OpenTypeHistory.CONSISTENCY_CHECK_FAMILY, null);
+			assertTrue(history.contains(a));
+			assertFalse(history.contains(b));
+		} finally {
+			history.remove(a);
+			history.remove(b);
+		}
+	}
+}
@@ -721,4 +721,45 @@ public class NLSSearchTest {
 		NLSSearchTestHelper.assertNumberOfProblems(accessor, propertiesFile, 1);
 	}
 
+	@Test
+	public void testRerunAfterPropertiesFileChanged() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test", false, null);
+		String str= """
+			package test;
+			import org.eclipse.osgi.util.NLS;
+			public class Accessor extends NLS {
+			
+			    public static String Client_s1;
+			
+			    private Accessor() {}
+			    private static final String BUNDLE_NAME = "test.Accessor"; //$NON-NLS-1$
+			    static {NLS.initializeMessages(BUNDLE_NAME, Accessor.class);}
+			}
+			""";
+		ICompilationUnit accessor= pack1.createCompilationUnit("Accessor.java", str, false, null);
+
+		String str1= """
+			package test;
+			public class Client {
+			    public String s1= Accessor.Client_s1;
+			}
+			""";
+		pack1.createCompilationUnit("Client.java", str1, false, null);
+
+		String str2= """
+			Client_s1=s1
+			Client_s1=s1
+			""";
+		IFile propertiesFile= write((IFolder)pack1.getCorrespondingResource(), str2, "Accessor.properties");
+
+		NLSSearchTestHelper.assertNumberOfProblems(accessor, propertiesFile, 1);
+
+		String str3= """
+			Client_s1=s1
+			""";
+		propertiesFile.setContents(new ByteArrayInputStream(str3.getBytes(Charset.defaultCharset())), true, false, null);
+
+		NLSSearchTestHelper.assertNumberOfProblems(accessor, propertiesFile, 0);
+	}
+
 }
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.search.ui.text.Match;
+import org.eclipse.search.ui.text.MatchEvent;
+
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+
+import org.eclipse.jdt.ui.tests.core.rules.JUnitSourceSetup;
+
+import org.eclipse.jdt.internal.ui.search.JavaSearchResult;
+import org.eclipse.jdt.internal.ui.search.NewSearchResultCollector;
+
+public class NewSearchResultCollectorTest {
+
+	@Rule
+	public JUnitSourceSetup projectSetup = new JUnitSourceSetup();
+
+	private JavaSearchResult fResult;
+	private List<Integer> fBatchSizes;
+	private NewSearchResultCollector fCollector;
+	private SearchParticipant fParticipant;
+
+	@Before
+	public void setUp() throws Exception {
+		fResult= new JavaSearchResult(null);
+		fBatchSizes= new ArrayList<>();
+		fResult.addListener(event -> {
+			if (event instanceof MatchEvent && ((MatchEvent) event).getKind() == MatchEvent.ADDED)
+				fBatchSizes.add(Integer.valueOf(((MatchEvent) event).getMatches().length));
+		});
+		fCollector= new NewSearchResultCollector(fResult, false);
+		fParticipant= SearchEngine.getDefaultSearchParticipant();
+	}
+
+	private void reportMatches(int count) throws Exception {
+		IMethod method= SearchTestHelper.getMethod("junit.framework.TestCase", "getName", new String[0]);
+		for (int i= 0; i < count; i++)
+			fCollector.acceptSearchMatch(new SearchMatch(method, SearchMatch.A_ACCURATE, i, 1, fParticipant, method.getResource()));
+	}
+
+	@Test
+	public void testFlushOnExitParticipant() throws Exception {
+		fCollector.beginReporting();
+		fCollector.enterParticipant(fParticipant);
+		reportMatches(3);
+		// the matches are held back until the batch is full or the participant is done
+		assertEquals(0, fResult.getMatchCount());
+		fCollector.exitParticipant(fParticipant);
+		assertEquals(3, fResult.getMatchCount());
+		assertEquals(List.of(Integer.valueOf(3)), fBatchSizes);
+
+		fCollector.endReporting();
+		assertEquals(1, fBatchSizes.size());
+	}
+
+	@Test
+	public void testFlushOnEndReporting() throws Exception {
+		fCollector.beginReporting();
+		reportMatches(3);
+		assertEquals(0, fResult.getMatchCount());
+		fCollector.endReporting();
+		assertEquals(3, fResult.getMatchCount());
+		assertEquals(List.of(Integer.valueOf(3)), fBatchSizes);
+	}
+
+	@Test
+	public void testBatches() throws Exception {
+		int count= 2500;
+		fCollector.beginReporting();
+		reportMatches(count);
+		fCollector.endReporting();
+		assertEquals(count, fResult.getMatchCount());
+
+		// a batch holds at most 1000 matches and is added with a single event
+		int total= 0;
+		for (Integer size : fBatchSizes) {
+			assertTrue(fBatchSizes.toString(), size.intValue() <= 1000);
+			total+= size.intValue();
+		}
+		assertEquals(count, total);
+		assertTrue(fBatchSizes.toString(), fBatchSizes.size() >= 3 && fBatchSizes.size() < count);
+
+		// all matches share the enclosing element
+		Match[] matches= fResult.getMatches(fResult.getElements()[0]);
+		assertEquals(1, fResult.getElements().length);
+		for (Match match : matches)
+			assertSame(matches[0].getElement(), match.getElement());
+	}
+}
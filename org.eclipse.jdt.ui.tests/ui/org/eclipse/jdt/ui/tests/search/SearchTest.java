@@ -23,7 +23,8 @@ import org.junit.runners.Suite;
 	TreeContentProviderTestWrapper.class,
 	ParticipantTest.class,
 	FileAdapterTest.class,
-	NLSSearchTest.class
+	NLSSearchTest.class,
+	NewSearchResultCollectorTest.class
 })
 public class SearchTest {
 }
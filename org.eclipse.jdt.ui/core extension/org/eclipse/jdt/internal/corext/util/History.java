@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.util;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -20,35 +21,41 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Hashtable;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactoryConfigurationError;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.parsers.SAXParser;
+import javax.xml.stream.FactoryConfigurationError;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
+import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.CorextMessages;
@@ -63,7 +70,11 @@ import org.eclipse.jdt.internal.ui.util.XmlProcessorFactoryJdtUi;
  * MAX_HISTORY_SIZE. If the list exceeds this size the eldest element is removed
  * from the list. An element can be added/renewed with a call to <code>accessed(Object)</code>.
  *
- * The history can be stored to/loaded from an xml file.
+ * The history can be stored to/loaded from an xml file. The file is streamed in both
+ * directions, so no document of the whole history is ever built. Writes go to a temporary
+ * file first which then replaces the history file, so a crash while saving never leaves a
+ * truncated history behind. Clients can request a deferred save with {@link #scheduleSave()};
+ * several requests in short succession result in a single write.
  *
  * @param <K> key type
  * @param <V> value type
@@ -74,28 +85,60 @@ public abstract class History<K, V> {
 	private static final String DEFAULT_INFO_NODE_NAME= "infoNode"; //$NON-NLS-1$
 	private static final int MAX_HISTORY_SIZE= 60;
 
+	private static final String TEMP_FILE_SUFFIX= ".tmp"; //$NON-NLS-1$
+	/**
+	 * Delay in milliseconds after which a scheduled save is performed.
+	 */
+	private static final long SAVE_DELAY= 2000;
+
 	private static JavaUIException createException(Throwable t, String message) {
 		return new JavaUIException(JavaUIStatus.createError(IStatus.ERROR, message, t));
 	}
 
+	private class SaveJob extends Job {
+		public SaveJob() {
+			super(Messages.format(CorextMessages.History_save_job, BasicElementLabels.getResourceName(fFileName)));
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (monitor.isCanceled())
+				return Status.CANCEL_STATUS;
+			doSave();
+			return Status.OK_STATUS;
+		}
+	}
+
 	private final Map<K, V> fHistory;
 	private final Hashtable<K, Integer> fPositions;
 	private final String fFileName;
 	private final String fRootNodeName;
 	private final String fInfoNodeName;
+	private final SaveJob fSaveJob;
+	/**
+	 * Serializes writes to the history file. Never acquired while holding the lock on the
+	 * history itself.
+	 */
+	private final Object fFileLock= new Object();
 
 	public History(String fileName, String rootNodeName, String infoNodeName) {
-		fHistory= new LinkedHashMap<>(80, 0.75f, true) {
+		this(fileName, rootNodeName, infoNodeName, MAX_HISTORY_SIZE);
+	}
+
+	protected History(String fileName, String rootNodeName, String infoNodeName, int maxSize) {
+		fHistory= new LinkedHashMap<>(maxSize + maxSize / 3, 0.75f, true) {
 			private static final long serialVersionUID= 1L;
 			@Override
 			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
-				return size() > MAX_HISTORY_SIZE;
+				return size() > maxSize;
 			}
 		};
 		fFileName= fileName;
 		fRootNodeName= rootNodeName;
 		fInfoNodeName= infoNodeName;
-		fPositions= new Hashtable<>(MAX_HISTORY_SIZE);
+		fPositions= new Hashtable<>(maxSize);
+		fSaveJob= new SaveJob();
 	}
 
 	public History(String fileName) {
@@ -166,8 +209,7 @@ public abstract class History<K, V> {
 	}
 
 	public synchronized void load() {
-		IPath stateLocation= JavaPlugin.getDefault().getStateLocation().append(fFileName);
-		File file= stateLocation.toFile();
+		File file= getFile();
 		if (file.exists()) {
 			try (InputStreamReader reader= new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
 				load(new InputSource(reader));
@@ -177,16 +219,20 @@ public abstract class History<K, V> {
 		}
 	}
 
-	public synchronized void save() {
-		IPath stateLocation= JavaPlugin.getDefault().getStateLocation().append(fFileName);
-		File file= stateLocation.toFile();
-		try (OutputStream out= new FileOutputStream(file)) {
-			save(out);
-		} catch (IOException | CoreException | TransformerFactoryConfigurationError e) {
-			// The XML library can be misconficgured (e.g. via
-			// -Djava.endorsed.dirs=C:\notExisting\xerces-2_7_1)
-			JavaPlugin.log(e);
-		}
+	/**
+	 * Writes the history to its file. Cancels a pending save scheduled by {@link #scheduleSave()}.
+	 */
+	public void save() {
+		fSaveJob.cancel();
+		doSave();
+	}
+
+	/**
+	 * Requests the history to be written to its file in the background. The write happens
+	 * after a short delay, so that several modifications in a row are written at once.
+	 */
+	public void scheduleSave() {
+		fSaveJob.schedule(SAVE_DELAY);
 	}
 
 	protected Set<K> getKeys() {
@@ -230,65 +276,135 @@ public abstract class History<K, V> {
 		}
 	}
 
+	private void doSave() {
+		synchronized (fFileLock) {
+			try {
+				write(getFile(), createSnapshot());
+			} catch (CoreException | FactoryConfigurationError e) {
+				// The XML library can be misconficgured (e.g. via
+				// -Djava.endorsed.dirs=C:\notExisting\xerces-2_7_1)
+				JavaPlugin.log(e);
+			}
+		}
+	}
+
+	private File getFile() {
+		IPath stateLocation= JavaPlugin.getDefault().getStateLocation().append(fFileName);
+		return stateLocation.toFile();
+	}
+
 	private void load(InputSource inputSource) throws CoreException {
-		Element root;
 		try {
-			DocumentBuilder parser = XmlProcessorFactoryJdtUi.createDocumentBuilderFactoryWithErrorOnDOCTYPE().newDocumentBuilder();
-			parser.setErrorHandler(new DefaultHandler());
-			root = parser.parse(inputSource).getDocumentElement();
+			SAXParser parser= XmlProcessorFactoryJdtUi.createSAXParserWithErrorOnDOCTYPE();
+			DocumentBuilder builder= XmlProcessorFactoryJdtUi.createDocumentBuilderWithErrorOnDOCTYPE();
+			parser.parse(inputSource, new HistoryContentHandler(builder.newDocument()));
 		} catch (SAXException | ParserConfigurationException | IOException e) {
 			throw createException(e, Messages.format(CorextMessages.History_error_read, BasicElementLabels.getResourceName(fFileName)));
 		}
+		rebuildPositions();
+	}
 
-		if (root == null) return;
-		if (!root.getNodeName().equalsIgnoreCase(fRootNodeName)) {
-			return;
+	/**
+	 * Streams the history file and creates the objects one info node at a time. Every info node
+	 * is handed to {@link History#createFromElement(Element)} as an element that only lives in a
+	 * scratch document; the document is never populated.
+	 */
+	private class HistoryContentHandler extends DefaultHandler {
+
+		private final Document fScratchDocument;
+		private int fDepth;
+		private boolean fIgnore;
+
+		public HistoryContentHandler(Document scratchDocument) {
+			fScratchDocument= scratchDocument;
 		}
-		NodeList list= root.getChildNodes();
-		int length= list.getLength();
-		for (int i= 0; i < length; ++i) {
-			Node node= list.item(i);
-			if (node.getNodeType() == Node.ELEMENT_NODE) {
-				Element type= (Element) node;
-				if (type.getNodeName().equalsIgnoreCase(fInfoNodeName)) {
-					V object= createFromElement(type);
-					if (object != null) {
-						fHistory.put(getKey(object), object);
-					}
+
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+			fDepth++;
+			if (fDepth == 1) {
+				fIgnore= !qName.equalsIgnoreCase(fRootNodeName);
+			} else if (fDepth == 2 && !fIgnore && qName.equalsIgnoreCase(fInfoNodeName)) {
+				Element element= fScratchDocument.createElement(qName);
+				for (int i= 0; i < attributes.getLength(); i++) {
+					element.setAttribute(attributes.getQName(i), attributes.getValue(i));
+				}
+				V object= createFromElement(element);
+				if (object != null) {
+					fHistory.put(getKey(object), object);
 				}
 			}
 		}
-		rebuildPositions();
+
+		@Override
+		public void endElement(String uri, String localName, String qName) throws SAXException {
+			fDepth--;
+		}
 	}
 
-	private void save(OutputStream stream) throws CoreException {
+	/**
+	 * Captures the attributes of all entries, newest last. Each entry is a flat array of
+	 * alternating attribute names and values.
+	 *
+	 * @return the attributes of all entries
+	 * @throws CoreException if the scratch document cannot be created
+	 */
+	private synchronized List<String[]> createSnapshot() throws CoreException {
+		Document document;
 		try {
-			DocumentBuilderFactory factory= XmlProcessorFactoryJdtUi.createDocumentBuilderFactoryWithErrorOnDOCTYPE();
-			DocumentBuilder builder= factory.newDocumentBuilder();
-			Document document= builder.newDocument();
-
-			Element rootElement = document.createElement(fRootNodeName);
-			document.appendChild(rootElement);
-
-			Iterator<V> values= getValues().iterator();
-			while (values.hasNext()) {
-				Object object= values.next();
-				Element element= document.createElement(fInfoNodeName);
-				setAttributes(object, element);
-				rootElement.appendChild(element);
+			document= XmlProcessorFactoryJdtUi.createDocumentBuilderWithErrorOnDOCTYPE().newDocument();
+		} catch (ParserConfigurationException e) {
+			throw createException(e, Messages.format(CorextMessages.History_error_serialize, BasicElementLabels.getResourceName(fFileName)));
+		}
+		List<String[]> entries= new ArrayList<>(fHistory.size());
+		for (V object : getValues()) {
+			Element element= document.createElement(fInfoNodeName);
+			setAttributes(object, element);
+			NamedNodeMap attributes= element.getAttributes();
+			String[] entry= new String[attributes.getLength() * 2];
+			for (int i= 0; i < attributes.getLength(); i++) {
+				Node attribute= attributes.item(i);
+				entry[2 * i]= attribute.getNodeName();
+				entry[2 * i + 1]= attribute.getNodeValue();
 			}
+			entries.add(entry);
+		}
+		return entries;
+	}
 
-			Transformer transformer= XmlProcessorFactoryJdtUi.createTransformerFactoryWithErrorOnDOCTYPE().newTransformer();
-			transformer.setOutputProperty(OutputKeys.METHOD, "xml"); //$NON-NLS-1$
-			transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8"); //$NON-NLS-1$
-			transformer.setOutputProperty(OutputKeys.INDENT, "yes"); //$NON-NLS-1$
-			DOMSource source = new DOMSource(document);
-			StreamResult result = new StreamResult(stream);
-
-			transformer.transform(source, result);
-		} catch (TransformerException | ParserConfigurationException e) {
+	private void write(File file, List<String[]> entries) throws CoreException {
+		File tempFile= new File(file.getParentFile(), file.getName() + TEMP_FILE_SUFFIX);
+		try {
+			try (OutputStream stream= new BufferedOutputStream(new FileOutputStream(tempFile))) {
+				XMLStreamWriter writer= XmlProcessorFactoryJdtUi.createXMLOutputFactory().createXMLStreamWriter(stream, "UTF-8"); //$NON-NLS-1$
+				writer.writeStartDocument("UTF-8", "1.0"); //$NON-NLS-1$ //$NON-NLS-2$
+				writer.writeCharacters("\n"); //$NON-NLS-1$
+				writer.writeStartElement(fRootNodeName);
+				for (String[] entry : entries) {
+					writer.writeCharacters("\n"); //$NON-NLS-1$
+					writer.writeEmptyElement(fInfoNodeName);
+					for (int i= 0; i < entry.length; i+= 2) {
+						writer.writeAttribute(entry[i], entry[i + 1]);
+					}
+				}
+				writer.writeCharacters("\n"); //$NON-NLS-1$
+				writer.writeEndElement();
+				writer.writeEndDocument();
+				writer.close();
+			}
+			replaceFile(tempFile.toPath(), file.toPath());
+		} catch (IOException | XMLStreamException e) {
+			tempFile.delete();
 			throw createException(e, Messages.format(CorextMessages.History_error_serialize, BasicElementLabels.getResourceName(fFileName)));
 		}
 	}
 
+	private static void replaceFile(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
 }
@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -53,6 +54,9 @@ import org.eclipse.jdt.core.search.SearchEngine;
 import org.eclipse.jdt.core.search.TypeNameMatch;
 
 import org.eclipse.jdt.internal.corext.CorextMessages;
+import org.eclipse.jdt.internal.corext.refactoring.util.ParallelTaskRunner;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
 
 /**
  * History for the open type dialog. Object and keys are both {@link TypeNameMatch}s.
@@ -149,7 +153,6 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	}
 
 	private static class UpdateJob extends Job {
-		public static final String FAMILY= UpdateJob.class.getName();
 		public UpdateJob() {
 			super(CorextMessages.TypeInfoHistory_consistency_check);
 		}
@@ -161,7 +164,25 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		}
 		@Override
 		public boolean belongsTo(Object family) {
-			return FAMILY.equals(family);
+			return CONSISTENCY_CHECK_FAMILY.equals(family);
+		}
+	}
+
+	/**
+	 * Result of the validation of a single history entry.
+	 */
+	private static final class Validation {
+		final TypeNameMatch fType;
+		/** The up-to-date entry, <code>null</code> if nothing needs to be updated */
+		final TypeNameMatch fNewType;
+		final long fTimestamp;
+		final boolean fRemove;
+
+		Validation(TypeNameMatch type, TypeNameMatch newType, long timestamp, boolean remove) {
+			fType= type;
+			fNewType= newType;
+			fTimestamp= timestamp;
+			fRemove= remove;
 		}
 	}
 
@@ -173,6 +194,11 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	private final IElementChangedListener fDeltaListener;
 	private final UpdateJob fUpdateJob;
 
+	/**
+	 * The family of the job that checks the consistency of the history.
+	 */
+	public static final String CONSISTENCY_CHECK_FAMILY= UpdateJob.class.getName();
+
 	private static final String FILENAME= "OpenTypeHistory.xml"; //$NON-NLS-1$
 	private static final String NODE_ROOT= "typeInfoHistroy"; //$NON-NLS-1$
 	private static final String NODE_TYPE_INFO= "typeInfo"; //$NON-NLS-1$
@@ -221,20 +247,16 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		return fNeedsConsistencyCheck;
 	}
 
-	public void checkConsistency(IProgressMonitor monitor) throws OperationCanceledException {
+	/**
+	 * Makes sure that a consistency check of the history is under way if one is needed. The check
+	 * runs in the background and removes stale entries as soon as they are discovered, so the
+	 * history can be used right away and callers never wait for the validation to finish.
+	 */
+	public void scheduleConsistencyCheck() {
 		if (!fNeedsConsistencyCheck)
 			return;
-		if (fUpdateJob.getState() == Job.RUNNING) {
-			try {
-				Job.getJobManager().join(UpdateJob.FAMILY, monitor);
-			} catch (OperationCanceledException | InterruptedException e) {
-				// Ignore and do the consistency check without
-				// waiting for the update job.
-			}
-		}
-		if (!fNeedsConsistencyCheck)
-			return;
-		internalCheckConsistency(monitor);
+		if (fUpdateJob.getState() == Job.NONE)
+			fUpdateJob.schedule();
 	}
 
 	@Override
@@ -250,19 +272,27 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 			fTimestampMapping.put(info, getContainerTimestamp(info));
 		}
 		super.accessed(info);
+		scheduleSave();
 	}
 
 	@Override
 	public synchronized TypeNameMatch remove(TypeNameMatch info) {
 		fTimestampMapping.remove(info);
-		return (TypeNameMatch)super.remove(info);
+		TypeNameMatch removed= (TypeNameMatch)super.remove(info);
+		scheduleSave();
+		return removed;
 	}
 
 	public synchronized void replace(TypeNameMatch old, TypeNameMatch newMatch) {
+		replace(old, newMatch, getContainerTimestamp(newMatch));
+	}
+
+	private synchronized void replace(TypeNameMatch old, TypeNameMatch newMatch, long timestamp) {
 		fTimestampMapping.remove(old);
-		fTimestampMapping.put(newMatch, getContainerTimestamp(newMatch));
+		fTimestampMapping.put(newMatch, timestamp);
 		super.remove(old);
 		super.accessed(newMatch);
+		scheduleSave();
 	}
 
 	public synchronized TypeNameMatch[] getTypeInfos() {
@@ -293,42 +323,91 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		return object;
 	}
 
-	private synchronized void internalCheckConsistency(IProgressMonitor monitor) throws OperationCanceledException {
+	/**
+	 * Validates all entries of the history. The container time stamps and the existence of the
+	 * types are fetched concurrently by a {@link ParallelTaskRunner}, outside of the history lock.
+	 * The results are applied one by one in the order of the history, so readers of the history are
+	 * never blocked for the whole check and stale entries disappear as soon as they are found.
+	 *
+	 * @param monitor the progress monitor
+	 * @throws OperationCanceledException if the monitor got canceled
+	 */
+	private void internalCheckConsistency(IProgressMonitor monitor) throws OperationCanceledException {
 		// Setting fNeedsConsistencyCheck is necessary here since
 		// markAsInconsistent isn't synchronized.
 		fNeedsConsistencyCheck= true;
-		List<TypeNameMatch> typesToCheck= new ArrayList<>(getKeys());
-		monitor.beginTask(CorextMessages.TypeInfoHistory_consistency_check, typesToCheck.size());
+		Map<TypeNameMatch, Long> typesToCheck= new LinkedHashMap<>();
+		synchronized (this) {
+			for (TypeNameMatch type : getKeys()) {
+				typesToCheck.put(type, fTimestampMapping.get(type));
+			}
+		}
+		int size= typesToCheck.size();
+		monitor.beginTask(CorextMessages.TypeInfoHistory_consistency_check, size);
 		monitor.setTaskName(CorextMessages.TypeInfoHistory_consistency_check);
-		for (TypeNameMatch type : typesToCheck) {
-			long currentTimestamp= getContainerTimestamp(type);
-			Long lastTested= fTimestampMapping.get(type);
-			if (lastTested != null && currentTimestamp != IResource.NULL_STAMP && currentTimestamp == lastTested.longValue() && !isContainerDirty(type))
-				continue;
-			try {
-				IType jType= type.getType();
-				if (jType == null || !jType.exists()) {
-					remove(type);
-				} else {
-					// copy over the modifiers since they may have changed
-					int modifiers= jType.getFlags();
-					if (modifiers != type.getModifiers()) {
-						replace(type, SearchEngine.createTypeNameMatch(jType, modifiers));
-					} else {
-						fTimestampMapping.put(type, currentTimestamp);
-					}
+		if (size == 0) {
+			monitor.done();
+			fNeedsConsistencyCheck= false;
+			return;
+		}
+		// fetching a time stamp is mostly I/O bound (remote file systems, external Jars)
+		List<Map.Entry<TypeNameMatch, Long>> entries= new ArrayList<>(typesToCheck.entrySet());
+		try (ParallelTaskRunner<Map.Entry<TypeNameMatch, Long>, Validation> runner= new ParallelTaskRunner<>(entries, (entry, pm) -> validate(entry.getKey(), entry.getValue()), monitor)) {
+			for (int i= 0; i < size; i++) {
+				try {
+					applyValidation(runner.get(i));
+				} catch (CoreException e) {
+					JavaPlugin.log(e);
 				}
-			} catch (JavaModelException e) {
-				remove(type);
+				monitor.worked(1);
 			}
-			if (monitor.isCanceled())
-				throw new OperationCanceledException();
-			monitor.worked(1);
+		} finally {
+			monitor.done();
 		}
-		monitor.done();
 		fNeedsConsistencyCheck= false;
 	}
 
+	/**
+	 * Computes the validation result for the given history entry. Doesn't access the history and
+	 * can therefore run concurrently to other validations.
+	 *
+	 * @param type the history entry to validate
+	 * @param lastTested the time stamp of the entry's container when it was last validated, or
+	 *            <code>null</code> if unknown
+	 * @return the validation result
+	 */
+	private Validation validate(TypeNameMatch type, Long lastTested) {
+		long currentTimestamp= getContainerTimestamp(type);
+		if (lastTested != null && currentTimestamp != IResource.NULL_STAMP && currentTimestamp == lastTested.longValue() && !isContainerDirty(type))
+			return new Validation(type, null, currentTimestamp, false);
+		try {
+			IType jType= type.getType();
+			if (jType == null || !jType.exists())
+				return new Validation(type, null, currentTimestamp, true);
+			// copy over the modifiers since they may have changed
+			int modifiers= jType.getFlags();
+			if (modifiers != type.getModifiers())
+				return new Validation(type, SearchEngine.createTypeNameMatch(jType, modifiers), currentTimestamp, false);
+			return new Validation(type, type, currentTimestamp, false);
+		} catch (JavaModelException e) {
+			return new Validation(type, null, currentTimestamp, true);
+		}
+	}
+
+	private synchronized void applyValidation(Validation validation) {
+		TypeNameMatch type= validation.fType;
+		// The entry might have been removed or replaced while it got validated.
+		if (!containsKey(type))
+			return;
+		if (validation.fRemove) {
+			remove(type);
+		} else if (validation.fNewType == type) {
+			fTimestampMapping.put(type, validation.fTimestamp);
+		} else if (validation.fNewType != null) {
+			replace(type, validation.fNewType, validation.fTimestamp);
+		}
+	}
+
 	private long getContainerTimestamp(TypeNameMatch match) {
 		try {
 			IType type= match.getType();
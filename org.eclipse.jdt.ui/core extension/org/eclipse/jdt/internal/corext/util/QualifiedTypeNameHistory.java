@@ -58,7 +58,9 @@ public class QualifiedTypeNameHistory extends History<String, String> {
 	}
 
 	public static void remember(String fullyQualifiedTypeName) {
-		getDefault().accessed(fullyQualifiedTypeName);
+		QualifiedTypeNameHistory history= getDefault();
+		history.accessed(fullyQualifiedTypeName);
+		history.scheduleSave();
 	}
 
 }
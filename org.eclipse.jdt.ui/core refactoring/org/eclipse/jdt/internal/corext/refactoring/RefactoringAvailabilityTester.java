@@ -200,9 +200,11 @@ public final class RefactoringAvailabilityTester {
 	}
 
 	public static boolean isDeleteAvailable(final IStructuredSelection selection) {
-		if (!selection.isEmpty())
-			return isDeleteAvailable(selection.toArray());
-		return false;
+		try (RefactoringAvailabilityCache cache= RefactoringAvailabilityCache.open(selection)) {
+			if (!selection.isEmpty())
+				return isDeleteAvailable(selection.toArray());
+			return false;
+		}
 	}
 
 	public static boolean isDeleteAvailable(final Object[] objects) {
@@ -314,25 +316,27 @@ public final class RefactoringAvailabilityTester {
 	}
 
 	public static boolean isExtractSupertypeAvailable(final IStructuredSelection selection) throws JavaModelException {
-		if (!selection.isEmpty()) {
-			if (selection.size() == 1) {
-				if (selection.getFirstElement() instanceof ICompilationUnit)
-					return true; // Do not force opening
-				final IType type= getSingleSelectedType(selection);
-				if (type != null)
-					return Checks.isAvailable(type) && isExtractSupertypeAvailable(new IType[] { type});
-			}
-			for (Object member : selection) {
-				if (!(member instanceof IMember))
-					return false;
+		try (RefactoringAvailabilityCache cache= RefactoringAvailabilityCache.open(selection)) {
+			if (!selection.isEmpty()) {
+				if (selection.size() == 1) {
+					if (selection.getFirstElement() instanceof ICompilationUnit)
+						return true; // Do not force opening
+					final IType type= getSingleSelectedType(selection);
+					if (type != null)
+						return Checks.isAvailable(type) && isExtractSupertypeAvailable(new IType[] { type});
+				}
+				for (Object member : selection) {
+					if (!(member instanceof IMember))
+						return false;
+				}
+				final Set<IMember> members= new HashSet<>();
+				@SuppressWarnings("unchecked")
+				List<IMember> selectionList= (List<IMember>) (List<?>) Arrays.asList(selection.toArray());
+				members.addAll(selectionList);
+				return isExtractSupertypeAvailable(members.toArray(new IMember[members.size()]));
 			}
-			final Set<IMember> members= new HashSet<>();
-			@SuppressWarnings("unchecked")
-			List<IMember> selectionList= (List<IMember>) (List<?>) Arrays.asList(selection.toArray());
-			members.addAll(selectionList);
-			return isExtractSupertypeAvailable(members.toArray(new IMember[members.size()]));
+			return false;
 		}
-		return false;
 	}
 
 	public static boolean isExtractSupertypeAvailable(final JavaTextSelection selection) throws JavaModelException {
@@ -390,23 +394,25 @@ public final class RefactoringAvailabilityTester {
 	}
 
 	public static boolean isInferTypeArgumentsAvailable(final IStructuredSelection selection) throws JavaModelException {
-		if (selection.isEmpty())
-			return false;
-
-		for (Object element : selection) {
-			if (!(element instanceof IJavaElement))
+		try (RefactoringAvailabilityCache cache= RefactoringAvailabilityCache.open(selection)) {
+			if (selection.isEmpty())
 				return false;
-			if (element instanceof ICompilationUnit) {
-				ICompilationUnit unit= (ICompilationUnit) element;
-				if (!unit.exists() || unit.isReadOnly())
+
+			for (Object element : selection) {
+				if (!(element instanceof IJavaElement))
 					return false;
+				if (element instanceof ICompilationUnit) {
+					ICompilationUnit unit= (ICompilationUnit) element;
+					if (!unit.exists() || unit.isReadOnly())
+						return false;
 
-				return true;
+					return true;
+				}
+				if (!isInferTypeArgumentsAvailable((IJavaElement) element))
+					return false;
 			}
-			if (!isInferTypeArgumentsAvailable((IJavaElement) element))
-				return false;
+			return true;
 		}
-		return true;
 	}
 
 	public static boolean isInlineConstantAvailable(final IField field) throws JavaModelException {
@@ -567,7 +573,7 @@ public final class RefactoringAvailabilityTester {
 	public static boolean isMoveAvailable(final IResource[] resources, final IJavaElement[] elements) throws JavaModelException {
 		if (elements != null) {
 			for (IJavaElement element : elements) {
-				if (element == null || !element.exists())
+				if (element == null || !RefactoringAvailabilityCache.exists(element))
 					return false;
 				if ((element instanceof IType) && ((IType) element).isLocal())
 					return false;
@@ -670,25 +676,27 @@ public final class RefactoringAvailabilityTester {
 	}
 
 	public static boolean isPullUpAvailable(final IStructuredSelection selection) throws JavaModelException {
-		if (!selection.isEmpty()) {
-			if (selection.size() == 1) {
-				if (selection.getFirstElement() instanceof ICompilationUnit)
-					return true; // Do not force opening
-				final IType type= getSingleSelectedType(selection);
-				if (type != null)
-					return Checks.isAvailable(type) && isPullUpAvailable(new IType[] { type});
-			}
-			for (Object member : selection) {
-				if (!(member instanceof IMember))
-					return false;
+		try (RefactoringAvailabilityCache cache= RefactoringAvailabilityCache.open(selection)) {
+			if (!selection.isEmpty()) {
+				if (selection.size() == 1) {
+					if (selection.getFirstElement() instanceof ICompilationUnit)
+						return true; // Do not force opening
+					final IType type= getSingleSelectedType(selection);
+					if (type != null)
+						return Checks.isAvailable(type) && isPullUpAvailable(new IType[] { type});
+				}
+				for (Object member : selection) {
+					if (!(member instanceof IMember))
+						return false;
+				}
+				final Set<IMember> members= new HashSet<>();
+				@SuppressWarnings("unchecked")
+				List<IMember> selectionList= (List<IMember>) (List<?>) Arrays.asList(selection.toArray());
+				members.addAll(selectionList);
+				return isPullUpAvailable(members.toArray(new IMember[members.size()]));
 			}
-			final Set<IMember> members= new HashSet<>();
-			@SuppressWarnings("unchecked")
-			List<IMember> selectionList= (List<IMember>) (List<?>) Arrays.asList(selection.toArray());
-			members.addAll(selectionList);
-			return isPullUpAvailable(members.toArray(new IMember[members.size()]));
+			return false;
 		}
-		return false;
 	}
 
 	public static boolean isPullUpAvailable(final JavaTextSelection selection) throws JavaModelException {
@@ -707,25 +715,27 @@ public final class RefactoringAvailabilityTester {
 	}
 
 	public static boolean isPushDownAvailable(final IStructuredSelection selection) throws JavaModelException {
-		if (!selection.isEmpty()) {
-			if (selection.size() == 1) {
-				if (selection.getFirstElement() instanceof ICompilationUnit)
-					return true; // Do not force opening
-				final IType type= getSingleSelectedType(selection);
-				if (type != null)
-					return isPushDownAvailable(new IType[] { type});
-			}
-			for (Object member : selection) {
-				if (!(member instanceof IMember))
-					return false;
+		try (RefactoringAvailabilityCache cache= RefactoringAvailabilityCache.open(selection)) {
+			if (!selection.isEmpty()) {
+				if (selection.size() == 1) {
+					if (selection.getFirstElement() instanceof ICompilationUnit)
+						return true; // Do not force opening
+					final IType type= getSingleSelectedType(selection);
+					if (type != null)
+						return isPushDownAvailable(new IType[] { type});
+				}
+				for (Object member : selection) {
+					if (!(member instanceof IMember))
+						return false;
+				}
+				final Set<IMember> members= new HashSet<>();
+				@SuppressWarnings("unchecked")
+				List<IMember> selectionList= (List<IMember>) (List<?>) Arrays.asList(selection.toArray());
+				members.addAll(selectionList);
+				return isPushDownAvailable(members.toArray(new IMember[members.size()]));
 			}
-			final Set<IMember> members= new HashSet<>();
-			@SuppressWarnings("unchecked")
-			List<IMember> selectionList= (List<IMember>) (List<?>) Arrays.asList(selection.toArray());
-			members.addAll(selectionList);
-			return isPushDownAvailable(members.toArray(new IMember[members.size()]));
+			return false;
 		}
-		return false;
 	}
 
 	public static boolean isPushDownAvailable(final JavaTextSelection selection) throws JavaModelException {
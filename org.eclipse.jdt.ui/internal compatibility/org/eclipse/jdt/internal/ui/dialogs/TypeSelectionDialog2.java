@@ -66,7 +66,6 @@ import org.eclipse.jdt.internal.ui.IJavaHelpContextIds;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.JavaUIMessages;
 import org.eclipse.jdt.internal.ui.util.ExceptionHandler;
-import org.eclipse.jdt.internal.ui.util.Progress;
 
 
 /**
@@ -308,23 +307,20 @@ public class TypeSelectionDialog2 extends SelectionStatusDialog {
 					manager.join(JavaUI.ID_PLUGIN, monitor);
 				}
 				OpenTypeHistory history= OpenTypeHistory.getInstance();
+				history.scheduleConsistencyCheck();
 				if (fgFirstTime || history.isEmpty()) {
 					monitor.beginTask(JavaUIMessages.TypeSelectionDialog_progress_consistency, 100);
-					if (history.needConsistencyCheck()) {
-						refreshSearchIndices(Progress.subMonitor(monitor, 90));
-						history.checkConsistency(Progress.subMonitor(monitor, 10));
-					} else {
-						refreshSearchIndices(monitor);
-					}
+					refreshSearchIndices(monitor);
 					monitor.done();
 					fgFirstTime= false;
-				} else {
-					history.checkConsistency(monitor);
 				}
 			}
 			public boolean needsExecution() {
 				OpenTypeHistory history= OpenTypeHistory.getInstance();
-				return fgFirstTime || history.isEmpty() || history.needConsistencyCheck();
+				if (fgFirstTime || history.isEmpty())
+					return true;
+				history.scheduleConsistencyCheck();
+				return false;
 			}
 			private void refreshSearchIndices(IProgressMonitor monitor) throws InvocationTargetException {
 				try {
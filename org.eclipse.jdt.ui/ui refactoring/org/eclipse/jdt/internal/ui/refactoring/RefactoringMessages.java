@@ -268,6 +268,18 @@ public final class RefactoringMessages extends NLS {
 
 	public static String ExtractMethodInputPage_duplicates_none;
 
+	public static String ExtractMethodInputPage_duplicates_package;
+
+	public static String ExtractMethodInputPage_duplicates_project;
+
+	public static String ExtractMethodInputPage_duplicates_search_job;
+
+	public static String ExtractMethodInputPage_duplicates_search_package;
+
+	public static String ExtractMethodInputPage_duplicates_search_project;
+
+	public static String ExtractMethodInputPage_duplicates_searching;
+
 	public static String ExtractMethodInputPage_duplicates_single;
 
 	public static String ExtractMethodInputPage_generateJavadocComment;
@@ -68,6 +68,7 @@ import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
 import org.eclipse.jdt.internal.corext.refactoring.binary.SourceCreationOperation;
 import org.eclipse.jdt.internal.corext.refactoring.binary.StubCreationOperation;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringBatch;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
@@ -241,6 +242,9 @@ public abstract class BinaryRefactoringHistoryWizard extends RefactoringHistoryW
 	/** Is auto build enabled? */
 	private boolean fAutoBuild= true;
 
+	/** The batch of the performed refactorings, or <code>null</code> */
+	private RefactoringBatch fBatch= null;
+
 	/** Has the wizard been cancelled? */
 	protected boolean fCancelled= false;
 
@@ -294,6 +298,8 @@ public abstract class BinaryRefactoringHistoryWizard extends RefactoringHistoryW
 			fJavaProject= null;
 			fSourceFolder= null;
 			fProcessedFragments.clear();
+			closeBatch();
+			fBatch= new RefactoringBatch();
 			monitor.beginTask(JarImportMessages.JarImportWizard_prepare_import, 520);
 			status.merge(super.aboutToPerformHistory(Progress.subMonitorSupressed(monitor, 10)));
 			if (!status.hasFatalError()) {
@@ -339,13 +345,24 @@ public abstract class BinaryRefactoringHistoryWizard extends RefactoringHistoryW
 	protected RefactoringStatus aboutToPerformRefactoring(final Refactoring refactoring, final RefactoringDescriptor descriptor, final IProgressMonitor monitor) {
 		final RefactoringStatus status= new RefactoringStatus();
 		try {
-			// nothing to do
+			if (fBatch != null)
+				fBatch.beginRefactoring(refactoring, descriptor.getDescription());
 		} finally {
 			monitor.done();
 		}
 		return status;
 	}
 
+	/**
+	 * Ends the batch of the performed refactorings, if any.
+	 */
+	private void closeBatch() {
+		if (fBatch != null) {
+			fBatch.close();
+			fBatch= null;
+		}
+	}
+
 	/**
 	 * Can this wizard use the source attachment of the package fragment root if
 	 * necessary?
@@ -633,22 +650,22 @@ public abstract class BinaryRefactoringHistoryWizard extends RefactoringHistoryW
 	protected RefactoringStatus historyPerformed(final IProgressMonitor monitor) {
 		try {
 			monitor.beginTask(JarImportMessages.JarImportWizard_cleanup_import, 100);
+			closeBatch();
 			final RefactoringStatus status= super.historyPerformed(Progress.subMonitorSupressed(monitor, 10));
 			if (!status.hasFatalError()) {
 				try {
 					deconfigureClasspath(Progress.subMonitorSupressed(monitor, 90));
 				} catch (CoreException exception) {
 					status.addError(exception.getLocalizedMessage());
-				} finally {
-					try {
-						CoreUtility.setAutoBuilding(fAutoBuild);
-					} catch (CoreException exception) {
-						JavaPlugin.log(exception);
-					}
 				}
 			}
 			return status;
 		} finally {
+			try {
+				CoreUtility.setAutoBuilding(fAutoBuild);
+			} catch (CoreException exception) {
+				JavaPlugin.log(exception);
+			}
 			monitor.done();
 		}
 	}
@@ -656,6 +673,7 @@ public abstract class BinaryRefactoringHistoryWizard extends RefactoringHistoryW
 	@Override
 	public boolean performCancel() {
 		fCancelled= true;
+		closeBatch();
 		return super.performCancel();
 	}
 
@@ -663,6 +681,8 @@ public abstract class BinaryRefactoringHistoryWizard extends RefactoringHistoryW
 	protected RefactoringStatus refactoringPerformed(final Refactoring refactoring, final IProgressMonitor monitor) {
 		try {
 			monitor.beginTask("", 120); //$NON-NLS-1$
+			if (fBatch != null)
+				fBatch.endRefactoring();
 			final RefactoringStatus status= super.refactoringPerformed(refactoring, Progress.subMonitorSupressed(monitor, 100));
 			if (!status.hasFatalError()) {
 				if (fSourceFolder != null) {
@@ -25,9 +25,17 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Text;
 
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
 import org.eclipse.jface.dialogs.Dialog;
 import org.eclipse.jface.dialogs.IDialogSettings;
 
@@ -46,6 +54,7 @@ import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.refactoring.ParameterInfo;
+import org.eclipse.jdt.internal.corext.refactoring.code.DuplicateSnippetSearch;
 import org.eclipse.jdt.internal.corext.refactoring.code.ExtractMethodRefactoring;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
@@ -72,6 +81,7 @@ public class ExtractMethodInputPage extends UserInputWizardPage {
 	private JavaSourceViewer fSignaturePreview;
 	private IDialogSettings fSettings;
 	private Composite accessModifiersGroup;
+	private Job fDuplicateSearchJob;
 
 	private static final String DESCRIPTION = RefactoringMessages.ExtractMethodInputPage_description;
 	private static final String THROW_RUNTIME_EXCEPTIONS= "ThrowRuntimeExceptions"; //$NON-NLS-1$
@@ -242,6 +252,8 @@ public class ExtractMethodInputPage extends UserInputWizardPage {
 		});
 		layouter.perform(checkBox);
 
+		createDuplicateSearch(result, layouter);
+
 		label= new Label(result, SWT.SEPARATOR | SWT.HORIZONTAL);
 		label.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
 		layouter.perform(label);
@@ -252,6 +264,70 @@ public class ExtractMethodInputPage extends UserInputWizardPage {
 		PlatformUI.getWorkbench().getHelpSystem().setHelp(getControl(), IJavaHelpContextIds.EXTRACT_METHOD_WIZARD_PAGE);
 	}
 
+	private void createDuplicateSearch(Composite parent, RowLayouter layouter) {
+		Composite composite= new Composite(parent, SWT.NONE);
+		GridLayout layout= new GridLayout(3, false);
+		layout.marginWidth= 0;
+		layout.marginHeight= 0;
+		composite.setLayout(layout);
+		final Button packageButton= new Button(composite, SWT.PUSH);
+		packageButton.setText(RefactoringMessages.ExtractMethodInputPage_duplicates_search_package);
+		SWTUtil.setButtonDimensionHint(packageButton);
+		final Button projectButton= new Button(composite, SWT.PUSH);
+		projectButton.setText(RefactoringMessages.ExtractMethodInputPage_duplicates_search_project);
+		SWTUtil.setButtonDimensionHint(projectButton);
+		final Label label= new Label(composite, SWT.NONE);
+		label.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+		SelectionAdapter listener= new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				boolean project= e.widget == projectButton;
+				// a search of the project also covers the package
+				packageButton.setEnabled(false);
+				projectButton.setEnabled(!project);
+				if (fDuplicateSearchJob != null)
+					fDuplicateSearchJob.cancel();
+				label.setText(RefactoringMessages.ExtractMethodInputPage_duplicates_searching);
+				searchDuplicates(fRefactoring.createDuplicateSnippetSearch(), project, label);
+			}
+		};
+		packageButton.addSelectionListener(listener);
+		projectButton.addSelectionListener(listener);
+		composite.addDisposeListener(e -> {
+			if (fDuplicateSearchJob != null)
+				fDuplicateSearchJob.cancel();
+		});
+		layouter.perform(composite);
+	}
+
+	private void searchDuplicates(final DuplicateSnippetSearch search, final boolean project, final Label label) {
+		fDuplicateSearchJob= new Job(RefactoringMessages.ExtractMethodInputPage_duplicates_search_job) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				final int duplicates;
+				try {
+					duplicates= project ? search.countDuplicatesInProject(monitor) : search.countDuplicatesInPackage(monitor);
+				} catch (CoreException e) {
+					return e.getStatus();
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				}
+				final Job job= this;
+				Display.getDefault().asyncExec(() -> {
+					// running async: check first if the page still exists and the search is the current one
+					if (!label.isDisposed() && fDuplicateSearchJob == job) {
+						String message= project ? RefactoringMessages.ExtractMethodInputPage_duplicates_project : RefactoringMessages.ExtractMethodInputPage_duplicates_package;
+						label.setText(Messages.format(message, Integer.valueOf(duplicates)));
+						label.getParent().layout();
+					}
+				});
+				return Status.OK_STATUS;
+			}
+		};
+		fDuplicateSearchJob.setSystem(true);
+		fDuplicateSearchJob.schedule();
+	}
+
 	private void updateAccessModifiers() {
 		final Control[] radioButtons= accessModifiersGroup.getChildren();
 		if (fRefactoring.isDestinationInterface()) {
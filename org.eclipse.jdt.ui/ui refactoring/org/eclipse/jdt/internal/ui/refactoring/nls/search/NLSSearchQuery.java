@@ -14,6 +14,9 @@
 
 package org.eclipse.jdt.internal.ui.refactoring.nls.search;
 
+import java.util.List;
+import java.util.stream.IntStream;
+
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -41,6 +44,7 @@ import org.eclipse.jdt.core.search.SearchPattern;
 
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.refactoring.nls.NLSRefactoring;
+import org.eclipse.jdt.internal.corext.refactoring.util.ParallelTaskRunner;
 import org.eclipse.jdt.internal.corext.util.Messages;
 import org.eclipse.jdt.internal.corext.util.SearchUtils;
 
@@ -79,7 +83,10 @@ public class NLSSearchQuery implements ISearchQuery {
 	public IStatus run(IProgressMonitor monitor) {
 		monitor.beginTask("", 5 * fWrapperClass.length); //$NON-NLS-1$
 
-		try {
+		// the accessor classes are searched in parallel, their results are reported in order
+		List<Integer> indexes= IntStream.range(0, fWrapperClass.length).boxed().toList();
+		boolean parallel= ParallelTaskRunner.getThreadCount(indexes.size()) > 1;
+		try (ParallelTaskRunner<Integer, NLSSearchResultRequestor> runner= new ParallelTaskRunner<>(indexes, (index, pm) -> search(fWrapperClass[index], fPropertiesFile[index], pm), monitor)) {
 			final AbstractTextSearchResult textResult= (AbstractTextSearchResult) getSearchResult();
 			textResult.removeAll();
 
@@ -91,39 +98,13 @@ public class NLSSearchQuery implements ISearchQuery {
 				if (! propertieFile.exists())
 					return JavaUIStatus.createError(0, Messages.format(NLSSearchMessages.NLSSearchQuery_propertiesNotExists, BasicElementLabels.getResourceName(propertieFile)), null);
 
-				SearchPattern pattern= SearchPattern.createPattern(wrapperClass, IJavaSearchConstants.REFERENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
-				if (pattern == null) {
-					continue;
-				}
-				SearchParticipant[] participants= new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()};
-
-				NLSSearchResultRequestor requestor= new NLSSearchResultRequestor(propertieFile, fResult);
 				try {
-					SearchEngine engine= new SearchEngine();
-					engine.search(pattern, participants, fScope, requestor, Progress.subMonitor(monitor, 4));
-					requestor.reportUnusedPropertyNames(Progress.subMonitor(monitor, 1));
-
-					ICompilationUnit compilationUnit= ((IType)wrapperClass).getCompilationUnit();
-					CompilationUnitEntry groupElement= new CompilationUnitEntry(NLSSearchMessages.NLSSearchResultCollector_unusedKeys, compilationUnit);
-
-					boolean hasUnusedPropertie= false;
-					for (IField field : ((IType)wrapperClass).getFields()) {
-						if (isNLSField(field)) {
-							ISourceRange sourceRange= field.getSourceRange();
-							if (sourceRange != null) {
-								String fieldName= field.getElementName();
-								if (!requestor.hasPropertyKey(fieldName)) {
-									fResult.addMatch(new Match(compilationUnit, sourceRange.getOffset(), sourceRange.getLength()));
-								}
-								if (!requestor.isUsedPropertyKey(fieldName) && !requestor.isSpecifiedAsUsed(fieldName)) {
-									hasUnusedPropertie= true;
-									fResult.addMatch(new Match(groupElement, sourceRange.getOffset(), sourceRange.getLength()));
-								}
-							}
-						}
-					}
-					if (hasUnusedPropertie)
-						fResult.addCompilationUnitGroup(groupElement);
+					NLSSearchResultRequestor requestor= runner.get(i);
+					// searches in other threads do not report their progress
+					if (parallel)
+						monitor.worked(5);
+					if (requestor != null)
+						requestor.reportTo(fResult);
 				} catch (CoreException e) {
 					return new Status(e.getStatus().getSeverity(), JavaPlugin.getPluginId(), IStatus.OK, NLSSearchMessages.NLSSearchQuery_error, e);
 				}
@@ -134,6 +115,55 @@ public class NLSSearchQuery implements ISearchQuery {
 		return 	Status.OK_STATUS;
 	}
 
+	/**
+	 * Searches the references to an accessor class and the keys of its properties file that are
+	 * not used. This method may be called in any thread.
+	 *
+	 * @param wrapperClass the accessor class
+	 * @param propertiesFile the properties file
+	 * @param pm the progress monitor
+	 * @return the requestor that has collected the matches, or <code>null</code> if the accessor
+	 *         class or the properties file does not exist
+	 * @throws CoreException if the search fails
+	 */
+	private NLSSearchResultRequestor search(IJavaElement wrapperClass, IFile propertiesFile, IProgressMonitor pm) throws CoreException {
+		if (! wrapperClass.exists() || ! propertiesFile.exists())
+			return null;
+
+		SearchPattern pattern= SearchPattern.createPattern(wrapperClass, IJavaSearchConstants.REFERENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
+		if (pattern == null)
+			return null;
+		SearchParticipant[] participants= new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()};
+
+		NLSSearchResultRequestor requestor= new NLSSearchResultRequestor(propertiesFile);
+		SearchEngine engine= new SearchEngine();
+		engine.search(pattern, participants, fScope, requestor, Progress.subMonitor(pm, 4));
+		requestor.reportUnusedPropertyNames(Progress.subMonitor(pm, 1));
+
+		ICompilationUnit compilationUnit= ((IType)wrapperClass).getCompilationUnit();
+		CompilationUnitEntry groupElement= new CompilationUnitEntry(NLSSearchMessages.NLSSearchResultCollector_unusedKeys, compilationUnit);
+
+		boolean hasUnusedPropertie= false;
+		for (IField field : ((IType)wrapperClass).getFields()) {
+			if (isNLSField(field)) {
+				ISourceRange sourceRange= field.getSourceRange();
+				if (sourceRange != null) {
+					String fieldName= field.getElementName();
+					if (!requestor.hasPropertyKey(fieldName)) {
+						requestor.addMatch(new Match(compilationUnit, sourceRange.getOffset(), sourceRange.getLength()));
+					}
+					if (!requestor.isUsedPropertyKey(fieldName) && !requestor.isSpecifiedAsUsed(fieldName)) {
+						hasUnusedPropertie= true;
+						requestor.addMatch(new Match(groupElement, sourceRange.getOffset(), sourceRange.getLength()));
+					}
+				}
+			}
+		}
+		if (hasUnusedPropertie)
+			requestor.addCompilationUnitGroup(groupElement);
+		return requestor;
+	}
+
 	private boolean isNLSField(IField field) throws JavaModelException {
 		int flags= field.getFlags();
 		if (!Flags.isPublic(flags))
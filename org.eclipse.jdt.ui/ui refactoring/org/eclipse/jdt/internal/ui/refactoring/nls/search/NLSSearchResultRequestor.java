@@ -13,13 +13,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.refactoring.nls.search;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
@@ -28,11 +26,6 @@ import org.eclipse.core.runtime.IStatus;
 
 import org.eclipse.core.resources.IFile;
 
-import org.eclipse.core.filebuffers.FileBuffers;
-import org.eclipse.core.filebuffers.ITextFileBuffer;
-import org.eclipse.core.filebuffers.ITextFileBufferManager;
-import org.eclipse.core.filebuffers.LocationKind;
-
 import org.eclipse.jface.text.Position;
 
 import org.eclipse.search.ui.text.Match;
@@ -55,7 +48,6 @@ import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jdt.internal.corext.refactoring.nls.PropertyFileDocumentModel;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 
-import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.JavaUIStatus;
 import org.eclipse.jdt.internal.ui.util.StringMatcher;
 
@@ -69,7 +61,9 @@ class NLSSearchResultRequestor extends SearchRequestor {
 	protected static final int InternalTokenNameIdentifier= ITerminalSymbols.TokenNameIdentifier;
 
 	/*
-	 * Matches are added to fResult. Element (group key) is IJavaElement or FileEntry.
+	 * Matches are collected in fMatches and added to the search result by reportTo(..), so that
+	 * the accessor classes can be searched in parallel. Element (group key) is IJavaElement,
+	 * CompilationUnitEntry or FileEntry.
 	 */
 
 	private static final StringMatcher fgGetClassNameMatcher= new StringMatcher("*.class.getName()*", false, false);  //$NON-NLS-1$
@@ -81,15 +75,16 @@ class NLSSearchResultRequestor extends SearchRequestor {
 	 */
 	private static final String NO_KEY= ""; //$NON-NLS-1$
 
-	private NLSSearchResult fResult;
+	private final List<Match> fMatches= new ArrayList<>();
+	private final List<FileEntry> fFileEntryGroups= new ArrayList<>();
+	private final List<CompilationUnitEntry> fCompilationUnitGroups= new ArrayList<>();
 	private IFile fPropertiesFile;
+	private PropertiesFileIndex fIndex;
 	private Properties fProperties;
-	private Properties fSpecifiedAsUsedProperties;
 	private HashSet<String> fUsedPropertyNames;
 
-	public NLSSearchResultRequestor(IFile propertiesFile, NLSSearchResult result) {
+	public NLSSearchResultRequestor(IFile propertiesFile) {
 		fPropertiesFile= propertiesFile;
-		fResult= result;
 	}
 
 	/*
@@ -97,7 +92,9 @@ class NLSSearchResultRequestor extends SearchRequestor {
 	 */
 	@Override
 	public void beginReporting() {
-		loadProperties();
+		fIndex= PropertiesFileIndex.get(fPropertiesFile);
+		fProperties= fIndex.getProperties();
+		reportDuplicateKeys(fIndex.getDuplicateKeys());
 		fUsedPropertyNames= new HashSet<>(fProperties.size());
 	}
 
@@ -154,7 +151,28 @@ class NLSSearchResultRequestor extends SearchRequestor {
 		if (allCompilationUnits != null && allCompilationUnits.length == 1)
 			element= allCompilationUnits[0];
 
-		fResult.addMatch(new Match(element, mutableKeyPosition.getOffset(), mutableKeyPosition.getLength()));
+		addMatch(new Match(element, mutableKeyPosition.getOffset(), mutableKeyPosition.getLength()));
+	}
+
+	public void addMatch(Match match) {
+		fMatches.add(match);
+	}
+
+	public void addCompilationUnitGroup(CompilationUnitEntry group) {
+		fCompilationUnitGroups.add(group);
+	}
+
+	/**
+	 * Adds the collected matches and groups to the search result.
+	 *
+	 * @param result the search result
+	 */
+	public void reportTo(NLSSearchResult result) {
+		result.addMatches(fMatches.toArray(new Match[fMatches.size()]));
+		for (FileEntry group : fFileEntryGroups)
+			result.addFileEntryGroup(group);
+		for (CompilationUnitEntry group : fCompilationUnitGroups)
+			result.addCompilationUnitGroup(group);
 	}
 
 	public void reportUnusedPropertyNames(IProgressMonitor pm) {
@@ -166,14 +184,14 @@ class NLSSearchResultRequestor extends SearchRequestor {
 
 		for (Enumeration<?> enumeration= fProperties.propertyNames(); enumeration.hasMoreElements();) {
 			String propertyName= (String) enumeration.nextElement();
-			if (!fUsedPropertyNames.contains(propertyName) && !fSpecifiedAsUsedProperties.containsKey(propertyName)) {
+			if (!fUsedPropertyNames.contains(propertyName) && !fIndex.isSpecifiedAsUsed(propertyName)) {
 				addMatch(groupElement, propertyName);
 				hasUnused= true;
 			}
 			pm.worked(1);
 		}
 		if (hasUnused)
-			fResult.addFileEntryGroup(groupElement);
+			fFileEntryGroups.add(groupElement);
 		pm.done();
 	}
 
@@ -190,7 +208,7 @@ class NLSSearchResultRequestor extends SearchRequestor {
 		 * manner than what PropertyFileDocumentModel.unwindEscapeChars(.) produces.
 		 */
 		String escapedPropertyName= PropertyFileDocumentModel.escape(propertyName, false);
-		int start= findPropertyNameStartPosition(escapedPropertyName);
+		int start= fIndex.getOffset(escapedPropertyName);
 		int length;
 		if (start == -1) { // not found -> report at beginning
 			start= 0;
@@ -198,7 +216,7 @@ class NLSSearchResultRequestor extends SearchRequestor {
 		} else {
 			length= escapedPropertyName.length();
 		}
-		fResult.addMatch(new Match(groupElement, start, length));
+		addMatch(new Match(groupElement, start, length));
 	}
 
 	/**
@@ -228,7 +246,7 @@ class NLSSearchResultRequestor extends SearchRequestor {
 	}
 
 	public boolean isSpecifiedAsUsed(String key) {
-		return fSpecifiedAsUsedProperties.containsKey(key);
+		return fIndex.isSpecifiedAsUsed(key);
 	}
 
 	/**
@@ -331,96 +349,6 @@ class NLSSearchResultRequestor extends SearchRequestor {
 		}
 	}
 
-	/**
-	 * Finds the start position in the property file. We assume that
-	 * the key is the first match on a line.
-	 *
-	 * @param propertyName the property name
-	 * @return	the start position of the property name in the file, -1 if not found
-	 */
-	private int findPropertyNameStartPosition(String propertyName) {
-		// Fix for http://dev.eclipse.org/bugs/show_bug.cgi?id=19319
-		String encoding;
-		try {
-			encoding= fPropertiesFile.getCharset();
-		} catch (CoreException e1) {
-			encoding= "ISO-8859-1";  //$NON-NLS-1$
-		}
-		try (InputStream stream= createInputStream(fPropertiesFile); LineReader lineReader= new LineReader(stream, encoding)) {
-			int start= 0;
-			StringBuffer buf= new StringBuffer(80);
-			int eols= lineReader.readLine(buf);
-			int keyLength= propertyName.length();
-			while (eols > 0) {
-				String line= buf.toString();
-				int i= line.indexOf(propertyName);
-				int charPos= i + keyLength;
-				char terminatorChar= 0;
-				boolean hasNoValue= (charPos >= line.length());
-				if (i > -1 && !hasNoValue) {
-					terminatorChar= line.charAt(charPos);
-				}
-				if (line.trim().startsWith(propertyName) &&
-						(hasNoValue || Character.isWhitespace(terminatorChar) || terminatorChar == '=')) {
-					start+= line.indexOf(propertyName);
-					eols= -17; // found key
-				} else {
-					start+= line.length() + eols;
-					buf.setLength(0);
-					eols= lineReader.readLine(buf);
-				}
-			}
-			if (eols != -17) {
-				start= -1; //key not found in file. See bug 63794. This can happen if the key contains escaped characters.
-			}
-			return start;
-		} catch (CoreException | IOException ex) {
-			JavaPlugin.log(ex);
-			return -1;
-		}
-	}
-
-	private void loadProperties() {
-		Set<Object> duplicateKeys= new HashSet<>();
-		fProperties= new Properties(duplicateKeys);
-		Set<Object> duplicateKeys2= new HashSet<>();
-		fSpecifiedAsUsedProperties= new Properties(duplicateKeys2);
-		try (InputStream stream= new BufferedInputStream(createInputStream(fPropertiesFile))) {
-			fProperties.load(stream);
-		} catch (CoreException | IOException ex) {
-			fProperties= new Properties();
-			return;
-		} finally {
-			reportDuplicateKeys(duplicateKeys);
-		}
-		if (!"properties".equalsIgnoreCase(fPropertiesFile.getFileExtension())) { //$NON-NLS-1$
-			return;
-		}
-		String propertyFileName= fPropertiesFile.getName();
-		String ignorePropertyFileName=
-				propertyFileName.substring(0, propertyFileName.length() - ".properties".length()).concat(NLSSearchQuery.NLS_USED_PROPERTIES_EXT); //$NON-NLS-1$
-		IFile ignoredPropertiesFile= (IFile) fPropertiesFile.getParent().findMember(ignorePropertyFileName);
-		if (ignoredPropertiesFile != null) {
-			try (InputStream stream= new BufferedInputStream(createInputStream(ignoredPropertiesFile))) {
-				fSpecifiedAsUsedProperties.load(stream);
-			} catch (CoreException | IOException ex) {
-				fSpecifiedAsUsedProperties= new Properties();
-			}
-		}
-	}
-
-	private InputStream createInputStream(IFile propertiesFile) throws CoreException {
-		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
-		if (manager != null) {
-			ITextFileBuffer buffer= manager.getTextFileBuffer(propertiesFile.getFullPath(), LocationKind.IFILE);
-			if (buffer != null) {
-				return new ByteArrayInputStream(buffer.getDocument().get().getBytes());
-			}
-		}
-
-		return propertiesFile.getContents();
-	}
-
 	private void reportDuplicateKeys(Set<Object> duplicateKeys) {
 		if (duplicateKeys.isEmpty())
 			return;
@@ -431,7 +359,7 @@ class NLSSearchResultRequestor extends SearchRequestor {
 			String propertyName= (String) iter.next();
 			addMatch(groupElement, propertyName);
 		}
-		fResult.addFileEntryGroup(groupElement);
+		fFileEntryGroups.add(groupElement);
 	}
 
 }
@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.refactoring.nls.search;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * The keys of a properties file, the offsets at which they are defined, and the keys of the
+ * accompanying <code>.usedproperties</code> file.
+ * <p>
+ * The index of a file is computed in a single pass over the file and shared by the searches for
+ * all accessor classes that use the file. It is kept for later searches until the file, its
+ * encoding or its <code>.usedproperties</code> file change. The index of a file with unsaved
+ * changes in an open editor is not kept.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+final class PropertiesFileIndex {
+
+	/**
+	 * Drops the indexes of changed files. The listener is only registered while there are
+	 * indexes.
+	 */
+	private static final IResourceChangeListener fgListener= PropertiesFileIndex::resourceChanged;
+
+	private static final Map<IFile, SoftReference<PropertiesFileIndex>> fgIndexes= new ConcurrentHashMap<>();
+
+	/** Incremented whenever indexes are dropped */
+	private static long fgGeneration;
+
+	private static boolean fgListening;
+
+	/** Number of indexes that are being computed */
+	private static int fgComputing;
+
+	private final Properties fProperties;
+	private final Properties fSpecifiedAsUsedProperties;
+	private final Set<Object> fDuplicateKeys;
+	private final Map<String, Integer> fKeyOffsets;
+
+	private PropertiesFileIndex(IFile propertiesFile) {
+		byte[] contents;
+		try {
+			contents= readContents(propertiesFile);
+		} catch (CoreException | IOException ex) {
+			contents= null;
+		}
+		Set<Object> duplicateKeys= new HashSet<>();
+		fProperties= loadProperties(contents, duplicateKeys);
+		fDuplicateKeys= Collections.unmodifiableSet(duplicateKeys);
+		fSpecifiedAsUsedProperties= contents != null ? loadSpecifiedAsUsedProperties(propertiesFile) : new Properties();
+		fKeyOffsets= contents != null ? computeKeyOffsets(propertiesFile, contents) : Collections.emptyMap();
+	}
+
+	/**
+	 * Returns the index of a properties file.
+	 *
+	 * @param propertiesFile the properties file
+	 * @return the index, which is empty if the file cannot be read
+	 */
+	public static PropertiesFileIndex get(IFile propertiesFile) {
+		boolean dirty= isDirty(propertiesFile);
+		long generation;
+		synchronized (PropertiesFileIndex.class) {
+			if (!dirty) {
+				SoftReference<PropertiesFileIndex> reference= fgIndexes.get(propertiesFile);
+				PropertiesFileIndex index= reference != null ? reference.get() : null;
+				if (index != null)
+					return index;
+			}
+			if (!fgListening) {
+				ResourcesPlugin.getWorkspace().addResourceChangeListener(fgListener, IResourceChangeEvent.POST_CHANGE);
+				fgListening= true;
+			}
+			generation= fgGeneration;
+			fgComputing++;
+		}
+		PropertiesFileIndex index= null;
+		try {
+			index= new PropertiesFileIndex(propertiesFile);
+		} finally {
+			synchronized (PropertiesFileIndex.class) {
+				fgComputing--;
+				// an index computed while the workspace changed may be stale
+				if (index != null && !dirty && generation == fgGeneration)
+					fgIndexes.put(propertiesFile, new SoftReference<>(index));
+				stopListening();
+			}
+		}
+		return index;
+	}
+
+	public Properties getProperties() {
+		return fProperties;
+	}
+
+	public boolean isSpecifiedAsUsed(String key) {
+		return fSpecifiedAsUsedProperties.containsKey(key);
+	}
+
+	/**
+	 * Returns the keys that are defined more than once.
+	 *
+	 * @return the duplicate keys
+	 */
+	public Set<Object> getDuplicateKeys() {
+		return fDuplicateKeys;
+	}
+
+	/**
+	 * Returns the start position of a key in the file. We assume that the key is the first match
+	 * on a line.
+	 *
+	 * @param escapedKey the key as written in the file
+	 * @return the start position of the key in the file, -1 if not found
+	 */
+	public int getOffset(String escapedKey) {
+		Integer offset= fKeyOffsets.get(escapedKey);
+		return offset != null ? offset.intValue() : -1;
+	}
+
+	private static Properties loadProperties(byte[] contents, Set<Object> duplicateKeys) {
+		if (contents == null)
+			return new Properties();
+		Properties properties= new Properties(duplicateKeys);
+		try (InputStream stream= new ByteArrayInputStream(contents)) {
+			properties.load(stream);
+		} catch (IOException ex) {
+			return new Properties();
+		}
+		return properties;
+	}
+
+	private static Properties loadSpecifiedAsUsedProperties(IFile propertiesFile) {
+		Properties properties= new Properties(new HashSet<>());
+		if (!"properties".equalsIgnoreCase(propertiesFile.getFileExtension())) //$NON-NLS-1$
+			return properties;
+		String propertyFileName= propertiesFile.getName();
+		String ignorePropertyFileName=
+				propertyFileName.substring(0, propertyFileName.length() - ".properties".length()).concat(NLSSearchQuery.NLS_USED_PROPERTIES_EXT); //$NON-NLS-1$
+		IFile ignoredPropertiesFile= (IFile) propertiesFile.getParent().findMember(ignorePropertyFileName);
+		if (ignoredPropertiesFile != null) {
+			try (InputStream stream= new ByteArrayInputStream(readContents(ignoredPropertiesFile))) {
+				properties.load(stream);
+			} catch (CoreException | IOException ex) {
+				return new Properties();
+			}
+		}
+		return properties;
+	}
+
+	/**
+	 * Computes the start positions of the keys of all lines. A key ends at the first unescaped
+	 * white space or '='. If a key is defined several times, the first definition is kept.
+	 *
+	 * @param propertiesFile the properties file
+	 * @param contents the contents of the file
+	 * @return the start positions of the keys as written in the file
+	 */
+	private static Map<String, Integer> computeKeyOffsets(IFile propertiesFile, byte[] contents) {
+		// Fix for http://dev.eclipse.org/bugs/show_bug.cgi?id=19319
+		String encoding;
+		try {
+			encoding= propertiesFile.getCharset();
+		} catch (CoreException e1) {
+			encoding= "ISO-8859-1";  //$NON-NLS-1$
+		}
+		Map<String, Integer> offsets= new HashMap<>();
+		try (LineReader lineReader= new LineReader(new ByteArrayInputStream(contents), encoding)) {
+			int start= 0;
+			StringBuffer buf= new StringBuffer(80);
+			int eols;
+			do {
+				eols= lineReader.readLine(buf);
+				int keyStart= 0;
+				int length= buf.length();
+				while (keyStart < length && buf.charAt(keyStart) <= ' ')
+					keyStart++;
+				int keyEnd= keyStart;
+				while (keyEnd < length) {
+					char ch= buf.charAt(keyEnd);
+					if (ch == '\\' && keyEnd + 1 < length)
+						keyEnd++;
+					else if (ch == '=' || Character.isWhitespace(ch))
+						break;
+					keyEnd++;
+				}
+				if (keyEnd > keyStart)
+					offsets.putIfAbsent(buf.substring(keyStart, keyEnd), Integer.valueOf(start + keyStart));
+				start+= length + eols;
+			} while (eols > 0);
+		} catch (IOException ex) {
+			JavaPlugin.log(ex);
+		}
+		return offsets;
+	}
+
+	private static byte[] readContents(IFile file) throws CoreException, IOException {
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		if (manager != null) {
+			ITextFileBuffer buffer= manager.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE);
+			if (buffer != null) {
+				return buffer.getDocument().get().getBytes();
+			}
+		}
+
+		try (InputStream stream= file.getContents()) {
+			return stream.readAllBytes();
+		}
+	}
+
+	private static boolean isDirty(IFile file) {
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		if (manager == null)
+			return false;
+		ITextFileBuffer buffer= manager.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE);
+		return buffer != null && buffer.isDirty();
+	}
+
+	private static void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null)
+			return;
+		try {
+			delta.accept(child -> {
+				IResource resource= child.getResource();
+				if (resource.getType() == IResource.FILE) {
+					if (child.getKind() != IResourceDelta.CHANGED || (child.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.ENCODING | IResourceDelta.REPLACED)) != 0)
+						invalidate((IFile) resource);
+					return false;
+				}
+				if (child.getKind() == IResourceDelta.REMOVED || (child.getFlags() & IResourceDelta.OPEN) != 0) {
+					invalidate(resource.getFullPath());
+					return false;
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			JavaPlugin.log(e);
+		}
+	}
+
+	private static synchronized void invalidate(IFile file) {
+		fgGeneration++;
+		fgIndexes.remove(file);
+		if (("." + file.getFileExtension()).equalsIgnoreCase(NLSSearchQuery.NLS_USED_PROPERTIES_EXT)) { //$NON-NLS-1$
+			// the index of the properties file also covers its .usedproperties file
+			IPath folder= file.getParent().getFullPath();
+			fgIndexes.keySet().removeIf(propertiesFile -> folder.equals(propertiesFile.getParent().getFullPath()));
+		}
+		stopListening();
+	}
+
+	private static synchronized void invalidate(IPath container) {
+		fgGeneration++;
+		fgIndexes.keySet().removeIf(propertiesFile -> container.isPrefixOf(propertiesFile.getFullPath()));
+		stopListening();
+	}
+
+	private static void stopListening() {
+		if (fgIndexes.isEmpty() && fgComputing == 0 && fgListening) {
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(fgListener);
+			fgListening= false;
+		}
+	}
+}
@@ -95,7 +95,7 @@ public class DeleteAction extends SelectionDispatchAction {
 			setEnabled(createWorkbenchAction(selection).isEnabled());
 			return;
 		}
-		setEnabled(RefactoringAvailabilityTester.isDeleteAvailable(selection.toArray()));
+		setEnabled(RefactoringAvailabilityTester.isDeleteAvailable(selection));
 	}
 
 	private IAction createWorkbenchAction(IStructuredSelection selection) {
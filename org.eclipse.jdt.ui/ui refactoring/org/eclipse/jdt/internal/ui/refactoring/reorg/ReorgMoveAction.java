@@ -28,6 +28,7 @@ import org.eclipse.ui.actions.MoveProjectAction;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringAvailabilityCache;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringAvailabilityTester;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringExecutionStarter;
 import org.eclipse.jdt.internal.corext.refactoring.reorg.ReorgUtilsCore;
@@ -56,7 +57,7 @@ public class ReorgMoveAction extends SelectionDispatchAction {
 				setEnabled(createWorkbenchAction(selection).isEnabled());
 				return;
 			}
-			try {
+			try (RefactoringAvailabilityCache cache= RefactoringAvailabilityCache.open(selection)) {
 				List<?> elements= selection.toList();
 				IResource[] resources= ReorgUtilsCore.getResources(elements);
 				IJavaElement[] javaElements= ReorgUtilsCore.getJavaElements(elements);
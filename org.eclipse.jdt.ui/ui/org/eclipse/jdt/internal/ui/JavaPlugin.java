@@ -448,7 +448,7 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 	}
 
 	/* package */ static void initializeAfterLoad(IProgressMonitor monitor) {
-		OpenTypeHistory.getInstance().checkConsistency(monitor);
+		OpenTypeHistory.getInstance().scheduleConsistencyCheck();
 	}
 
 	/*
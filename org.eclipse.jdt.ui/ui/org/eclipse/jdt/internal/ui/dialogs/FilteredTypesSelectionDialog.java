@@ -541,7 +541,8 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 
 	/*
 	 * We only have to ensure history consistency here since the search engine
-	 * takes care of working copies.
+	 * takes care of working copies. The history itself is validated in the
+	 * background, stale entries get removed as they are discovered.
 	 */
 	private static class ConsistencyRunnable implements IRunnableWithProgress {
 		@Override
@@ -552,22 +553,18 @@ public class FilteredTypesSelectionDialog extends FilteredItemsSelectionDialog i
 				manager.join(JavaUI.ID_PLUGIN, monitor);
 			}
 			OpenTypeHistory history= OpenTypeHistory.getInstance();
+			history.scheduleConsistencyCheck();
 			if (fgFirstTime || history.isEmpty()) {
-				if (history.needConsistencyCheck()) {
-					SubMonitor subMonitor= SubMonitor.convert(monitor,JavaUIMessages.TypeSelectionDialog_progress_consistency, 10 );
-					refreshSearchIndices(subMonitor.split(9));
-					history.checkConsistency(subMonitor.split(1));
-				} else {
-					refreshSearchIndices(monitor);
-				}
+				refreshSearchIndices(monitor);
 				fgFirstTime= false;
-			} else {
-				history.checkConsistency(monitor);
 			}
 		}
 		public static boolean needsExecution() {
 			OpenTypeHistory history= OpenTypeHistory.getInstance();
-			return fgFirstTime || history.isEmpty() || history.needConsistencyCheck();
+			if (fgFirstTime || history.isEmpty())
+				return true;
+			history.scheduleConsistencyCheck();
+			return false;
 		}
 		private void refreshSearchIndices(IProgressMonitor monitor) throws InvocationTargetException {
 			try {
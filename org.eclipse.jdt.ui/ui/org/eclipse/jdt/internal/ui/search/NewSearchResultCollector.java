@@ -13,9 +13,16 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.search;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
+import org.eclipse.search.ui.text.Match;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.search.FieldDeclarationMatch;
@@ -27,9 +34,33 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchRequestor;
 
+/**
+ * Adds the reported matches to a search result.
+ * <p>
+ * The matches are added in batches, so that the result page is notified once per batch instead of
+ * once per match. A batch is added when it is full, when a match is reported a short time after
+ * the first match of the batch, and at the end of the search. Equal enclosing elements are shared
+ * by all matches, so that the element handles created by the search engine for each match can be
+ * garbage collected.
+ * </p>
+ */
 public class NewSearchResultCollector extends SearchRequestor {
+
+	/**
+	 * Maximal number of matches in a batch.
+	 */
+	private static final int MAX_BATCH_SIZE= 1000;
+
+	/**
+	 * Maximal time in nanoseconds for which matches are held back.
+	 */
+	private static final long MAX_BATCH_DELAY= TimeUnit.MILLISECONDS.toNanos(200);
+
 	private AbstractTextSearchResult fSearch;
 	private boolean fIgnorePotentials;
+	private final List<Match> fBatch= new ArrayList<>();
+	private final Map<IJavaElement, IJavaElement> fElements= new HashMap<>();
+	private long fBatchStart;
 
 	public NewSearchResultCollector(AbstractTextSearchResult search, boolean ignorePotentials) {
 		super();
@@ -43,6 +74,7 @@ public class NewSearchResultCollector extends SearchRequestor {
 		if (enclosingElement != null) {
 			if (fIgnorePotentials && (match.getAccuracy() == SearchMatch.A_INACCURATE))
 				return;
+			enclosingElement= fElements.computeIfAbsent(enclosingElement, element -> element);
 			boolean isWriteAccess= false;
 			boolean isReadAccess= false;
 			if (match instanceof FieldReferenceMatch) {
@@ -63,16 +95,33 @@ public class NewSearchResultCollector extends SearchRequestor {
 				MethodReferenceMatch methodRef= (MethodReferenceMatch) match;
 				isSuperInvocation= methodRef.isSuperInvocation();
 			}
-			fSearch.addMatch(new JavaElementMatch(enclosingElement, match.getRule(), match.getOffset(), match.getLength(), match.getAccuracy(), isReadAccess, isWriteAccess, match.isInsideDocComment(), isSuperInvocation));
+			addMatch(new JavaElementMatch(enclosingElement, match.getRule(), match.getOffset(), match.getLength(), match.getAccuracy(), isReadAccess, isWriteAccess, match.isInsideDocComment(), isSuperInvocation));
 		}
 	}
 
+	private void addMatch(Match match) {
+		if (fBatch.isEmpty())
+			fBatchStart= System.nanoTime();
+		fBatch.add(match);
+		if (fBatch.size() >= MAX_BATCH_SIZE || System.nanoTime() - fBatchStart >= MAX_BATCH_DELAY)
+			flush();
+	}
+
+	private void flush() {
+		if (fBatch.isEmpty())
+			return;
+		fSearch.addMatches(fBatch.toArray(new Match[fBatch.size()]));
+		fBatch.clear();
+	}
+
 	@Override
 	public void beginReporting() {
 	}
 
 	@Override
 	public void endReporting() {
+		flush();
+		fElements.clear();
 	}
 
 	@Override
@@ -81,6 +130,7 @@ public class NewSearchResultCollector extends SearchRequestor {
 
 	@Override
 	public void exitParticipant(SearchParticipant participant) {
+		flush();
 	}
 
 }
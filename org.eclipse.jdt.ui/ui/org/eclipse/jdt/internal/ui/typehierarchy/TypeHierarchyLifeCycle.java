@@ -16,7 +16,11 @@ package org.eclipse.jdt.internal.ui.typehierarchy;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.swt.widgets.Display;
 
@@ -56,7 +60,19 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
  */
 public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IElementChangedListener {
 
+	/**
+	 * Maximal number of types that may change their position in the hierarchy on a refresh
+	 * before the viewers are rebuilt instead of being updated incrementally.
+	 */
+	private static final int MAX_INCREMENTAL_CHANGES= 200;
+
 	private boolean fHierarchyRefreshNeeded;
+
+	/**
+	 * Indicates whether a classpath-level change happened since the last refresh, in which case
+	 * the viewers are rebuilt on the next refresh.
+	 */
+	private volatile boolean fFullRefreshNeeded;
 	private ITypeHierarchy fHierarchy;
 	private IJavaElement[] fInputElements;
 	private boolean fIsSuperTypesOnly;
@@ -269,7 +285,18 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 * @since 3.6
 	 */
 	protected void doHierarchyRefreshBackground(final IJavaElement[] elements, final IProgressMonitor pm) throws JavaModelException {
-		doHierarchyRefresh(elements, pm);
+		boolean fullRefresh= fFullRefreshNeeded || fHierarchy == null || !Arrays.equals(elements, fInputElements);
+		fFullRefreshNeeded= false;
+		HierarchySnapshot snapshot= fullRefresh ? null : new HierarchySnapshot(fHierarchy);
+		try {
+			doHierarchyRefresh(elements, pm);
+		} catch (JavaModelException | RuntimeException e) {
+			fFullRefreshNeeded= true;
+			throw e;
+		}
+		final boolean incremental= snapshot != null && snapshot.computeChanges(fHierarchy, MAX_INCREMENTAL_CHANGES);
+		final IType[] affectedTypes= incremental ? snapshot.getAffectedTypes() : null;
+		final boolean rootsChanged= incremental && snapshot.areRootsChanged();
 		if (!pm.isCanceled()) {
 			Display.getDefault().asyncExec(() -> {
 				synchronized (TypeHierarchyLifeCycle.this) {
@@ -280,8 +307,12 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 				}
 				if (pm.isCanceled())
 					return;
-				fTypeHierarchyViewPart.setViewersInput();
-				fTypeHierarchyViewPart.updateViewers();
+				if (incremental) {
+					fTypeHierarchyViewPart.updateViewers(affectedTypes, rootsChanged);
+				} else {
+					fTypeHierarchyViewPart.setViewersInput();
+					fTypeHierarchyViewPart.updateViewers();
+				}
 			});
 		}
 	}
@@ -355,6 +386,9 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 			return;
 		}
 
+		if (!fFullRefreshNeeded && isClasspathChange(event.getDelta())) {
+			fFullRefreshNeeded= true;
+		}
 		if (fHierarchyRefreshNeeded) {
 			return;
 		} else {
@@ -414,6 +448,37 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		}
 	}
 
+	/*
+	 * Changes that can affect the types visible to the hierarchy as a whole, like classpath changes
+	 * or opened and closed projects. Only visits deltas down to the package fragment roots.
+	 */
+	private boolean isClasspathChange(IJavaElementDelta delta) {
+		int flags= delta.getFlags();
+		switch (delta.getElement().getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED
+								| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				return delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+								| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_REORDER)) != 0;
+			default:
+				return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isClasspathChange(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private boolean isPossibleStructuralChange(int flags) {
 		return (flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED)) == IJavaElementDelta.F_CONTENT;
 	}
@@ -430,5 +495,85 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		}
 	}
 
+	/**
+	 * The direct supertypes of all types of a hierarchy, taken before the hierarchy is refreshed.
+	 * Comparing it with the refreshed hierarchy gives the types whose position in the hierarchy
+	 * changed, so that only these need to be refreshed in the viewers.
+	 */
+	private static final class HierarchySnapshot {
+
+		private final Map<IType, IType[]> fSupertypes;
+		private final Set<IType> fAffectedTypes;
+		private boolean fRootsChanged;
+
+		public HierarchySnapshot(ITypeHierarchy hierarchy) {
+			IType[] allTypes= hierarchy.getAllTypes();
+			fSupertypes= new HashMap<>(allTypes.length * 2);
+			for (IType type : allTypes) {
+				fSupertypes.put(type, hierarchy.getSupertypes(type));
+			}
+			fAffectedTypes= new LinkedHashSet<>();
+		}
+
+		/**
+		 * Compares the snapshot with the refreshed hierarchy. Can only be called once.
+		 *
+		 * @param hierarchy the refreshed hierarchy
+		 * @param limit the maximal number of affected types
+		 * @return <code>false</code> if more than <code>limit</code> types are affected
+		 */
+		public boolean computeChanges(ITypeHierarchy hierarchy, int limit) {
+			for (IType type : hierarchy.getAllTypes()) {
+				IType[] oldSupertypes= fSupertypes.remove(type);
+				IType[] newSupertypes= hierarchy.getSupertypes(type);
+				if (oldSupertypes == null || !Arrays.equals(oldSupertypes, newSupertypes)) {
+					addAffectedType(type, oldSupertypes, newSupertypes);
+					if (fAffectedTypes.size() > limit) {
+						return false;
+					}
+				}
+			}
+			// the remaining types are no longer in the hierarchy
+			for (Map.Entry<IType, IType[]> entry : fSupertypes.entrySet()) {
+				addAffectedType(entry.getKey(), entry.getValue(), null);
+				if (fAffectedTypes.size() > limit) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void addAffectedType(IType type, IType[] oldSupertypes, IType[] newSupertypes) {
+			fAffectedTypes.add(type);
+			if (oldSupertypes != null) {
+				fAffectedTypes.addAll(Arrays.asList(oldSupertypes));
+			}
+			if (newSupertypes != null) {
+				fAffectedTypes.addAll(Arrays.asList(newSupertypes));
+			}
+			// a type that is added or removed together with its supertypes leaves the roots unchanged
+			boolean wasRoot= oldSupertypes != null && oldSupertypes.length == 0;
+			boolean isRoot= newSupertypes != null && newSupertypes.length == 0;
+			if (wasRoot != isRoot) {
+				fRootsChanged= true;
+			}
+		}
+
+		/**
+		 * @return the types that changed their position in the hierarchy, together with their
+		 *         old and new direct supertypes
+		 */
+		public IType[] getAffectedTypes() {
+			return fAffectedTypes.toArray(new IType[fAffectedTypes.size()]);
+		}
+
+		/**
+		 * @return <code>true</code> if a type without supertypes was added or removed, or a type
+		 *         gained or lost all its supertypes
+		 */
+		public boolean areRootsChanged() {
+			return fRootsChanged;
+		}
+	}
 
 }
@@ -653,6 +653,33 @@ public class TypeHierarchyViewPart extends ViewPart implements ITypeHierarchyVie
 		fSelectInEditor= true;
 	}
 
+	/**
+	 * Updates the viewers after a refresh of the hierarchy that changed the position of only a few
+	 * types. Unlike {@link #updateViewers()}, the input, expansion, selection and member filter of
+	 * the viewers are kept.
+	 *
+	 * @param affectedTypes the types whose super- or subtypes changed
+	 * @param rootsChanged <code>true</code> if the root types of the hierarchy may have changed
+	 */
+	public void updateViewers(final IType[] affectedTypes, boolean rootsChanged) {
+		if (fInputElements == null)
+			return;
+		final TypeHierarchyViewer viewer= getCurrentViewer();
+		if (rootsChanged || viewer.isMethodFiltering() || viewer.containsElements() == null) {
+			updateHierarchyViewer(false);
+		} else {
+			Runnable runnable= () -> JavaCore.runReadOnly(() -> {
+				for (IType type : affectedTypes) {
+					viewer.refresh(type);
+				}
+			});
+			BusyIndicator.showWhile(getDisplay(), runnable);
+		}
+		fMethodsViewer.refresh();
+		updateToolbarButtons();
+		updateToolTipAndDescription();
+	}
+
 	private void processOutstandingEvents() {
 		Display display= getDisplay();
 		if (display != null && !display.isDisposed())
@@ -1559,8 +1586,11 @@ public class TypeHierarchyViewPart extends ViewPart implements ITypeHierarchyVie
 				} catch (InterruptedException e) {
 					return;
 				}
-				fMethodsViewer.refresh();
-				updateHierarchyViewer(false);
+				if (!fHierarchyLifeCycle.isRefreshJobRunning()) {
+					// otherwise the viewers are updated when the refresh job is done
+					fMethodsViewer.refresh();
+					updateHierarchyViewer(false);
+				}
 			} else {
 				// elements in hierarchy modified
 				Object methodViewerInput= fMethodsViewer.getInput();
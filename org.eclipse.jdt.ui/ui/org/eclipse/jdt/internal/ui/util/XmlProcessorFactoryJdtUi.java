@@ -16,6 +16,7 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLOutputFactory;
 import javax.xml.transform.TransformerFactory;
 
 import org.xml.sax.SAXException;
@@ -51,6 +52,19 @@ public class XmlProcessorFactoryJdtUi {
 		return factory;
 	}
 
+	/**
+	 * Creates XMLOutputFactory which writes namespaces and prefixes only as
+	 * given by the caller. Writers do not resolve entities, so no further
+	 * protection is needed.
+	 *
+	 * @return javax.xml.stream.XMLOutputFactory
+	 */
+	public static XMLOutputFactory createXMLOutputFactory() {
+		XMLOutputFactory factory = XMLOutputFactory.newInstance();
+		factory.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, Boolean.FALSE);
+		return factory;
+	}
+
 	/**
 	 * Creates DocumentBuilderFactory which throws SAXParseException when
 	 * detecting external entities. It's magnitudes faster to call